@@ -0,0 +1,37 @@
+package org.kar.archidata;
+
+import org.kar.archidata.api.UploadSessionResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Remove periodically the expired upload sessions (see {@link UploadSessionResource}). */
+public class UploadSessionSweeper extends Thread {
+	private static final Logger LOGGER = LoggerFactory.getLogger(UploadSessionSweeper.class);
+	boolean kill = false;
+
+	public UploadSessionSweeper() {
+		setDaemon(true);
+	}
+
+	@Override
+	public void run() {
+		while (!this.kill) {
+			try {
+				UploadSessionResource.removeExpiredSessions();
+			} catch (final Exception ex) {
+				LOGGER.error("Can not remove the expired upload sessions: {}", ex.getMessage());
+			}
+			try {
+				// check every 10 minutes
+				Thread.sleep(1000 * 60 * 10, 0);
+			} catch (final InterruptedException e) {
+				return;
+			}
+		}
+	}
+
+	public void kill() {
+		this.kill = true;
+		interrupt();
+	}
+}
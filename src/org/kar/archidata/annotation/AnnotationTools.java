@@ -9,6 +9,8 @@ import org.kar.archidata.annotation.checker.Checker;
 import org.kar.archidata.annotation.checker.CollectionItemNotNull;
 import org.kar.archidata.annotation.checker.CollectionItemUnique;
 import org.kar.archidata.annotation.checker.CollectionNotEmpty;
+import org.kar.archidata.dataAccess.EntityDescriptor;
+import org.kar.archidata.dataAccess.EntityDescriptor.ColumnDescriptor;
 import org.kar.archidata.dataAccess.QueryOptions;
 import org.kar.archidata.dataAccess.options.OptionRenameColumn;
 import org.kar.archidata.dataAccess.options.OverrideTableName;
@@ -43,13 +45,7 @@ public class AnnotationTools {
 
 	// For SQL declaration table Name
 	public static String getTableName(final Class<?> clazz, final QueryOptions options) throws DataAccessException {
-		if (options != null) {
-			final List<OverrideTableName> data = options.get(OverrideTableName.class);
-			if (data.size() == 1) {
-				return data.get(0).getName();
-			}
-		}
-		return AnnotationTools.getTableName(clazz);
+		return EntityDescriptor.get(clazz).getTableName(options);
 	}
 
 	// For SQL declaration table Name
@@ -60,7 +56,7 @@ public class AnnotationTools {
 			return element.getSimpleName();
 		}
 		final String tmp = ((Table) annotation[0]).name();
-		if (tmp == null) {
+		if (tmp == null || tmp.isEmpty()) {
 			return element.getSimpleName();
 		}
 		return tmp;
@@ -348,16 +344,8 @@ public class AnnotationTools {
 	}
 
 	public static Field getPrimaryKeyField(final Class<?> clazz) {
-		for (final Field field : clazz.getFields()) {
-			// static field is only for internal global declaration ==> remove it ..
-			if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-				continue;
-			}
-			if (AnnotationTools.isPrimaryKey(field)) {
-				return field;
-			}
-		}
-		return null;
+		final ColumnDescriptor column = EntityDescriptor.get(clazz).getPrimaryKey();
+		return column == null ? null : column.field();
 	}
 
 	public static boolean isPrimaryKey(final Field element) {
@@ -413,68 +401,22 @@ public class AnnotationTools {
 
 	// Note: delete field can not be renamed with OptionRenameColumn
 	public static String getDeletedFieldName(final Class<?> clazz) {
-		try {
-			for (final Field elem : clazz.getFields()) {
-				// static field is only for internal global declaration ==> remove it ..
-				if (java.lang.reflect.Modifier.isStatic(elem.getModifiers())) {
-					continue;
-				}
-				if (AnnotationTools.isDeletedField(elem)) {
-					return AnnotationTools.getFieldNameRaw(elem);
-				}
-			}
-		} catch (final Exception ex) {
-			ex.printStackTrace();
-		}
-		return null;
+		final ColumnDescriptor column = EntityDescriptor.get(clazz).getDeleted();
+		return column == null ? null : column.getName();
 	}
 
 	// Note: update field can not be renamed with OptionRenameColumn
 	public static String getUpdatedFieldName(final Class<?> clazz) {
-		try {
-			for (final Field elem : clazz.getFields()) {
-				// static field is only for internal global declaration ==> remove it ..
-				if (java.lang.reflect.Modifier.isStatic(elem.getModifiers())) {
-					continue;
-				}
-				if (AnnotationTools.isUpdateAtField(elem)) {
-					return AnnotationTools.getFieldNameRaw(elem);
-				}
-			}
-		} catch (final Exception ex) {
-			ex.printStackTrace();
-		}
-		return null;
+		final ColumnDescriptor column = EntityDescriptor.get(clazz).getUpdateTimestamp();
+		return column == null ? null : column.getName();
 	}
 
 	public static Field getIdField(final Class<?> clazz) {
-		try {
-			for (final Field field : clazz.getFields()) {
-				// static field is only for internal global declaration ==> remove it ..
-				if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-					continue;
-				}
-				if (AnnotationTools.isIdField(field)) {
-					return field;
-				}
-			}
-		} catch (final Exception ex) {
-			ex.printStackTrace();
-		}
-		return null;
+		return getPrimaryKeyField(clazz);
 	}
 
 	public static boolean hasFieldsName(final Class<?> clazz, final String name) {
-		for (final Field field : clazz.getFields()) {
-			// static field is only for internal global declaration ==> remove it ..
-			if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-				continue;
-			}
-			if (AnnotationTools.getFieldNameRaw(field).equals(name)) {
-				return true;
-			}
-		}
-		return false;
+		return EntityDescriptor.get(clazz).getColumn(name) != null;
 	}
 
 	public static List<String> getFieldsNames(final Class<?> clazz) {
@@ -487,15 +429,11 @@ public class AnnotationTools {
 
 	private static List<String> getFieldsNamesFilter(final Class<?> clazz, final boolean full) {
 		final List<String> out = new ArrayList<>();
-		for (final Field field : clazz.getFields()) {
-			// static field is only for internal global declaration ==> remove it ..
-			if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
+		for (final ColumnDescriptor column : EntityDescriptor.get(clazz).getColumns()) {
+			if (!full && column.isGeneric()) {
 				continue;
 			}
-			if (!full && AnnotationTools.isGenericField(field)) {
-				continue;
-			}
-			out.add(AnnotationTools.getFieldNameRaw(field));
+			out.add(column.getName());
 		}
 		return out;
 	}
@@ -506,29 +444,12 @@ public class AnnotationTools {
 	}
 
 	public static Field getFieldOfId(final Class<?> clazz) {
-		for (final Field field : clazz.getFields()) {
-			// static field is only for internal global declaration ==> remove it ..
-			if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-				continue;
-			}
-			if (AnnotationTools.isIdField(field)) {
-				return field;
-			}
-		}
-		return null;
+		return getPrimaryKeyField(clazz);
 	}
 
 	public static Field getFieldNamed(final Class<?> clazz, final String name) {
-		for (final Field field : clazz.getFields()) {
-			// static field is only for internal global declaration ==> remove it ..
-			if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-				continue;
-			}
-			if (AnnotationTools.getFieldNameRaw(field).equals(name)) {
-				return field;
-			}
-		}
-		return null;
+		final ColumnDescriptor column = EntityDescriptor.get(clazz).getColumn(name);
+		return column == null ? null : column.field();
 	}
 
 }
@@ -0,0 +1,29 @@
+package org.kar.archidata.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** Keep the elements read with their id (DBAccess.get) in a cache of the application, shared by all the accesses on the same DB. The cache is
+ * invalidated by the update and delete requests of the DBAccess (not by raw SQL requests or by an other application). It can not be used on a class
+ * with a OneToMany field (the insert of a remote element does not invalidate the list): the annotation is ignored. */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DataCache {
+	enum Policy {
+		LRU, // remove the element that is not read from the longest time
+		LFU // remove the element that is the less read
+	}
+
+	/** Maximum number of elements in the cache. */
+	int maxSize() default 1000;
+
+	/** Time to live of an element in the cache in seconds (0: no expiration). */
+	long ttl() default 300;
+
+	Policy policy() default Policy.LRU;
+
+	/** Read all the table when the cache is warmed up (only for the small tables). */
+	boolean warmUp() default false;
+}
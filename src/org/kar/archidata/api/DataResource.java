@@ -1,37 +1,30 @@
 package org.kar.archidata.api;
 
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Date;
+import java.sql.SQLException;
 import java.util.UUID;
 
-import javax.imageio.ImageIO;
-
 import org.bson.types.ObjectId;
 import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
 import org.glassfish.jersey.media.multipart.FormDataParam;
 import org.kar.archidata.annotation.security.PermitTokenInURI;
+import org.kar.archidata.dataAccess.DBAccess;
 import org.kar.archidata.dataAccess.DataAccess;
 import org.kar.archidata.dataAccess.QueryCondition;
 import org.kar.archidata.dataAccess.options.Condition;
+import org.kar.archidata.exception.DataAccessException;
 import org.kar.archidata.exception.FailException;
 import org.kar.archidata.filter.GenericContext;
 import org.kar.archidata.model.Data;
 import org.kar.archidata.tools.ConfigBaseVariable;
+import org.kar.archidata.tools.DataTools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,7 +33,6 @@ import jakarta.annotation.security.RolesAllowed;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.HeaderParam;
-import jakarta.ws.rs.InternalServerErrorException;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
@@ -52,7 +44,6 @@ import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
-import jakarta.ws.rs.core.StreamingOutput;
 
 // https://stackoverflow.com/questions/35367113/jersey-webservice-scalable-approach-to-download-file-and-reply-to-client
 // https://gist.github.com/aitoroses/4f7a2b197b732a6a691d
@@ -61,10 +52,6 @@ import jakarta.ws.rs.core.StreamingOutput;
 @Produces(MediaType.APPLICATION_JSON)
 public class DataResource {
 	private static final Logger LOGGER = LoggerFactory.getLogger(DataResource.class);
-	private final static int CHUNK_SIZE = 1024 * 1024; // 1MB chunks
-	private final static int CHUNK_SIZE_IN = 50 * 1024 * 1024; // 1MB chunks
-	/** Upload some datas */
-	private static long tmpFolderId = 1;
 
 	private static void createFolder(final String path) throws IOException {
 		if (!Files.exists(java.nio.file.Path.of(path))) {
@@ -74,7 +61,8 @@ public class DataResource {
 	}
 
 	public static long getTmpDataId() {
-		return tmpFolderId++;
+		// Shared with DataTools: the two counters use the same folder.
+		return DataTools.getTmpDataId();
 	}
 
 	public static String getTmpFileInData(final long tmpFolderId) {
@@ -158,36 +146,13 @@ public class DataResource {
 
 	public Data createNewData(final long tmpUID, final String originalFileName, final String sha512)
 			throws IOException {
-		// determine mime type:
-		Data injectedData = new Data();
-		String mimeType = "";
-		final String extension = originalFileName.substring(originalFileName.lastIndexOf('.') + 1);
-		mimeType = switch (extension.toLowerCase()) {
-			case "jpg", "jpeg" -> "image/jpeg";
-			case "png" -> "image/png";
-			case "webp" -> "image/webp";
-			case "mka" -> "audio/x-matroska";
-			case "mkv" -> "video/x-matroska";
-			case "webm" -> "video/webm";
-			default -> throw new IOException("Can not find the mime type of data input: '" + extension + "'");
-		};
-		injectedData.mimeType = mimeType;
-		injectedData.sha512 = sha512;
-		final String tmpPath = getTmpFileInData(tmpUID);
-		injectedData.size = Files.size(Paths.get(tmpPath));
-
-		try {
-			injectedData = DataAccess.insert(injectedData);
-		} catch (final Exception e) {
+		// The same content is stored only one time.
+		try (DBAccess db = DBAccess.createInterface()) {
+			return DataTools.createOrReuseData(db, tmpUID, originalFileName, sha512, null);
+		} catch (final SQLException | DataAccessException e) {
 			e.printStackTrace();
 			return null;
 		}
-		final String mediaPath = getFileData(injectedData.oid);
-		LOGGER.info("src = {}", tmpPath);
-		LOGGER.info("dst = {}", mediaPath);
-		Files.move(Paths.get(tmpPath), Paths.get(mediaPath), StandardCopyOption.ATOMIC_MOVE);
-		LOGGER.info("Move done");
-		return injectedData;
 	}
 
 	public static void modeFileOldModelToNewModel(final UUID uuid, final ObjectId oid) throws IOException {
@@ -228,36 +193,14 @@ public class DataResource {
 
 	// save uploaded file to a defined location on the server
 	static String saveFile(final InputStream uploadedInputStream, final String serverLocation) throws FailException {
-		String out = "";
-		MessageDigest md = null;
-		try (OutputStream outpuStream = new FileOutputStream(new File(serverLocation))) {
-			md = MessageDigest.getInstance("SHA-512");
+		try {
+			final String out = DataTools.copyAndHash(uploadedInputStream, Paths.get(serverLocation));
+			LOGGER.info("Flush input stream ... {}", serverLocation);
+			uploadedInputStream.close();
+			return out;
 		} catch (final IOException ex) {
 			throw new FailException(Response.Status.INTERNAL_SERVER_ERROR, "Can not write in temporary file", ex);
-		} catch (final NoSuchAlgorithmException ex) {
-			throw new FailException(Response.Status.INTERNAL_SERVER_ERROR, "Can not find sha512 algorithms", ex);
 		}
-		if (md != null) {
-			try (OutputStream outpuStream = new FileOutputStream(new File(serverLocation))) {
-				int read = 0;
-				final byte[] bytes = new byte[CHUNK_SIZE_IN];
-				while ((read = uploadedInputStream.read(bytes)) != -1) {
-					// logger.info("write {}", read);
-					md.update(bytes, 0, read);
-					outpuStream.write(bytes, 0, read);
-				}
-				LOGGER.info("Flush input stream ... {}", serverLocation);
-				outpuStream.flush();
-				// create the end of sha512
-				final byte[] sha512Digest = md.digest();
-				// convert in hexadecimal
-				out = bytesToHex(sha512Digest);
-				uploadedInputStream.close();
-			} catch (final IOException ex) {
-				throw new FailException(Response.Status.INTERNAL_SERVER_ERROR, "Can not write in temporary file", ex);
-			}
-		}
-		return out;
 	}
 
 	public static String bytesToHex(final byte[] bytes) {
@@ -293,7 +236,7 @@ public class DataResource {
 		LOGGER.info("===================================================");
 		// public NodeSmall uploadFile(final FormDataMultiPart form) {
 		LOGGER.info("Upload file: ");
-		final String filePath = ConfigBaseVariable.getTmpDataFolder() + File.separator + tmpFolderId++;
+		final String filePath = ConfigBaseVariable.getTmpDataFolder() + File.separator + getTmpDataId();
 		try {
 			createFolder(ConfigBaseVariable.getTmpDataFolder() + File.separator);
 		} catch (final IOException ex) {
@@ -311,6 +254,7 @@ public class DataResource {
 	@Operation(description = "Get back some data from the data environment", tags = "SYSTEM")
 	public Response retrieveDataId(
 			@Context final SecurityContext sc,
+			@Context final HttpHeaders headers,
 			@QueryParam(HttpHeaders.AUTHORIZATION) final String token,
 			@HeaderParam("Range") final String range,
 			@PathParam("oid") final ObjectId oid) throws FailException {
@@ -323,7 +267,7 @@ public class DataResource {
 			return Response.status(404).entity("media NOT FOUND: " + oid).type("text/plain").build();
 		}
 		try {
-			return buildStream(getFileData(oid), range,
+			return buildStream(getFileData(oid), headers, range,
 					value.mimeType == null ? "application/octet-stream" : value.mimeType);
 		} catch (final Exception ex) {
 			throw new FailException(Response.Status.INTERNAL_SERVER_ERROR, "Fail to build output stream", ex);
@@ -339,6 +283,7 @@ public class DataResource {
 	// @CacheMaxAge(time = 10, unit = TimeUnit.DAYS)
 	public Response retrieveDataThumbnailId(
 			@Context final SecurityContext sc,
+			@Context final HttpHeaders headers,
 			@QueryParam(HttpHeaders.AUTHORIZATION) final String token,
 			@HeaderParam("Range") final String range,
 			@PathParam("oid") final ObjectId oid) throws FailException {
@@ -359,50 +304,19 @@ public class DataResource {
 		if (value.mimeType.contentEquals("image/jpeg") || value.mimeType.contentEquals("image/png")
 		// || value.mimeType.contentEquals("image/webp")
 		) {
-			// reads input image
-			BufferedImage inputImage;
+			final File thumbnail;
 			try {
-				inputImage = ImageIO.read(inputFile);
+				thumbnail = ThumbnailCache.get(oid, inputFile, ThumbnailCache.DEFAULT_WIDTH);
 			} catch (final IOException ex) {
-				throw new FailException(Response.Status.INTERNAL_SERVER_ERROR, "Fail to READ the image", ex);
+				throw new FailException(Response.Status.INTERNAL_SERVER_ERROR, "Fail to resize the image", ex);
 			}
-			LOGGER.info("input size image: {}x{} type={}", inputImage.getWidth(), inputImage.getHeight(),
-					inputImage.getType());
-			final int scaledWidth = 250;
-			final int scaledHeight = (int) ((float) inputImage.getHeight() / (float) inputImage.getWidth()
-					* scaledWidth);
-
-			// creates output image
-			final BufferedImage outputImage = new BufferedImage(scaledWidth, scaledHeight, inputImage.getType());
-
-			// scales the input image to the output image
-			final Graphics2D g2d = outputImage.createGraphics();
-			LOGGER.info("output size image: {}x{}", scaledWidth, scaledHeight);
-			g2d.drawImage(inputImage, 0, 0, scaledWidth, scaledHeight, null);
-			g2d.dispose();
-			for (final String data : ImageIO.getWriterFormatNames()) {
-				LOGGER.info("availlable format: {}", data);
-			}
-			// create the output stream:
-			final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			final Response.ResponseBuilder out;
 			try {
-				// TODO: check how to remove buffer file !!! here, it is not needed at all...
-				//ImageIO.write(outputImage, "JPEG", baos);
-				//ImageIO.write(outputImage, "png", baos);
-				ImageIO.write(outputImage, "WebP", baos);
-			} catch (final IOException e) {
-				e.printStackTrace();
-				return Response.status(500).entity("Internal Error: resize fail: " + e.getMessage()).type("text/plain")
-						.build();
+				out = MediaStreamer.buildResponse(thumbnail, range, headers.getHeaderString("If-Range"),
+						ThumbnailCache.MIME_TYPE);
+			} catch (final IOException ex) {
+				throw new FailException(Response.Status.INTERNAL_SERVER_ERROR, "Fail to access to the thumbnail.", ex);
 			}
-			final byte[] imageData = baos.toByteArray();
-			LOGGER.info("output length {}", imageData.length);
-			// Response.ok(new ByteArrayInputStream(imageData)).build();
-			final Response.ResponseBuilder out = Response.ok(imageData).header(HttpHeaders.CONTENT_LENGTH,
-					imageData.length);
-			//out.type("image/jpeg");
-			out.type("image/webp");
-			//out.type("image/png");
 			// TODO: move this in a decorator !!!
 			final CacheControl cc = new CacheControl();
 			cc.setMaxAge(3600);
@@ -411,7 +325,7 @@ public class DataResource {
 			return out.build();
 		}
 		try {
-			return buildStream(filePathName, range, value.mimeType);
+			return buildStream(filePathName, headers, range, value.mimeType);
 		} catch (final Exception ex) {
 			throw new FailException(Response.Status.INTERNAL_SERVER_ERROR, "Fail to build output stream", ex);
 		}
@@ -425,6 +339,7 @@ public class DataResource {
 	@Operation(description = "Get back some data from the data environment (with a beautiful name (permit download with basic name)", tags = "SYSTEM")
 	public Response retrieveDataFull(
 			@Context final SecurityContext sc,
+			@Context final HttpHeaders headers,
 			@QueryParam(HttpHeaders.AUTHORIZATION) final String token,
 			@HeaderParam("Range") final String range,
 			@PathParam("oid") final ObjectId oid,
@@ -437,80 +352,28 @@ public class DataResource {
 		if (value == null) {
 			return Response.status(404).entity("media NOT FOUND: " + oid).type("text/plain").build();
 		}
-		return buildStream(getFileData(oid), range,
+		return buildStream(getFileData(oid), headers, range,
 				value.mimeType == null ? "application/octet-stream" : value.mimeType);
 	}
 
-	/** Adapted from http://stackoverflow.com/questions/12768812/video-streaming-to-ipad-does-not-work-with-tapestry5/12829541#12829541
-	 *
+	/** Build the response of a file with the support of the HTTP range requests.
+	 * @param filename Path of the file.
+	 * @param headers Headers of the request (for "If-Range").
 	 * @param range range header
+	 * @param mimeType Type of the file.
 	 * @return Streaming output
-	 * @throws FileNotFoundException
-	 * @throws Exception IOException if an error occurs in streaming. */
-	private Response buildStream(final String filename, final String range, final String mimeType)
-			throws FailException {
+	 * @throws FailException if the file can not be accessed. */
+	private Response buildStream(
+			final String filename,
+			final HttpHeaders headers,
+			final String range,
+			final String mimeType) throws FailException {
 		final File file = new File(filename);
 		// logger.info("request range : {}", range);
 		// range not requested : Firefox does not send range headers
-		if (range == null) {
-			final StreamingOutput output = new StreamingOutput() {
-				@Override
-				public void write(final OutputStream out) {
-					try (FileInputStream in = new FileInputStream(file)) {
-						final byte[] buf = new byte[1024 * 1024];
-						int len;
-						while ((len = in.read(buf)) != -1) {
-							try {
-								out.write(buf, 0, len);
-								out.flush();
-								// logger.info("---- wrote {} bytes file ----", len);
-							} catch (final IOException ex) {
-								LOGGER.info("remote close connection");
-								break;
-							}
-						}
-					} catch (final IOException ex) {
-						throw new InternalServerErrorException(ex);
-					}
-				}
-			};
-			final Response.ResponseBuilder out = Response.ok(output).header(HttpHeaders.CONTENT_LENGTH, file.length());
-			if (mimeType != null) {
-				out.type(mimeType);
-			}
-			return out.build();
-
-		}
-
-		final String[] ranges = range.split("=")[1].split("-");
-		final long from = Long.parseLong(ranges[0]);
-
-		// logger.info("request range : {}", ranges.length);
-		// Chunk media if the range upper bound is unspecified. Chrome, Opera sends "bytes=0-"
-		long to = CHUNK_SIZE + from;
-		if (ranges.length == 1) {
-			to = file.length() - 1;
-		} else if (to >= file.length()) {
-			to = file.length() - 1;
-		}
-		final String responseRange = String.format("bytes %d-%d/%d", from, to, file.length());
-		// LOGGER.info("responseRange: {}", responseRange);
+		final String ifRange = headers == null ? null : headers.getHeaderString("If-Range");
 		try {
-			final RandomAccessFile raf = new RandomAccessFile(file, "r");
-			raf.seek(from);
-
-			final long len = to - from + 1;
-			final MediaStreamer streamer = new MediaStreamer(len, raf);
-			final Response.ResponseBuilder out = Response.ok(streamer).status(Response.Status.PARTIAL_CONTENT)
-					.header("Accept-Ranges", "bytes").header("Content-Range", responseRange)
-					.header(HttpHeaders.CONTENT_LENGTH, streamer.getLenth())
-					.header(HttpHeaders.LAST_MODIFIED, new Date(file.lastModified()));
-			if (mimeType != null) {
-				out.type(mimeType);
-			}
-			return out.build();
-		} catch (final FileNotFoundException ex) {
-			throw new FailException(Response.Status.INTERNAL_SERVER_ERROR, "Fail to find the required file.", ex);
+			return MediaStreamer.buildResponse(file, range, ifRange, mimeType).build();
 		} catch (final IOException ex) {
 			throw new FailException(Response.Status.INTERNAL_SERVER_ERROR, "Fail to access to the required file.", ex);
 		}
@@ -14,6 +14,8 @@ import jakarta.ws.rs.NotSupportedException;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.PathSegment;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
@@ -30,7 +32,7 @@ public class FrontGeneric {
 		return "";
 	}
 
-	private Response retrive(final String fileName) throws Exception {
+	private Response retrive(final String fileName, final HttpHeaders headers) throws Exception {
 		String filePathName = this.baseFrontFolder + File.separator + fileName;
 		final String extention = getExtension(filePathName);
 		String mineType = null;
@@ -75,14 +77,15 @@ public class FrontGeneric {
 		if (!download.exists()) {
 			throw new NotFoundException("Not Found: '" + fileName + "' extension='" + extention + "'");
 		}
-		final ResponseBuilder response = Response.ok(download);
+		final ResponseBuilder response = MediaStreamer.buildResponse(download,
+				headers == null ? null : headers.getHeaderString("Range"),
+				headers == null ? null : headers.getHeaderString("If-Range"), mineType);
 		// use this if I want to download the file:
 		// response.header("Content-Disposition", "attachment; filename=" + fileName);
 		final CacheControl cc = new CacheControl();
 		cc.setMaxAge(60);
 		cc.setNoCache(false);
 		response.cacheControl(cc);
-		response.type(mineType);
 
 		return response.build();
 	}
@@ -92,8 +95,8 @@ public class FrontGeneric {
 	@Operation(description = "Retrieve native element (index)", tags = "SYSTEM")
 	// @Produces(MediaType.APPLICATION_OCTET_STREAM)
 	// @CacheMaxAge(time = 1, unit = TimeUnit.DAYS)
-	public Response retrive0() throws Exception {
-		return retrive("index.html");
+	public Response retrive0(@Context final HttpHeaders headers) throws Exception {
+		return retrive("index.html", headers);
 	}
 
 	@GET
@@ -102,7 +105,8 @@ public class FrontGeneric {
 	@Operation(description = "Get specific file from the front environment", tags = "SYSTEM")
 	// @Produces(MediaType.APPLICATION_OCTET_STREAM)
 	// @CacheMaxAge(time = 10, unit = TimeUnit.DAYS)
-	public Response retrive1(@PathParam("any") final List<PathSegment> segments) throws Exception {
+	public Response retrive1(@Context final HttpHeaders headers, @PathParam("any") final List<PathSegment> segments)
+			throws Exception {
 		String filename = "";
 		for (final PathSegment elem : segments) {
 			if (!filename.isEmpty()) {
@@ -110,6 +114,6 @@ public class FrontGeneric {
 			}
 			filename += elem.getPath();
 		}
-		return retrive(filename);
+		return retrive(filename, headers);
 	}
 }
@@ -0,0 +1,137 @@
+package org.kar.archidata.api;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/** A range of bytes requested with the HTTP "Range" header (RFC 7233).
+ * @param from First byte of the range.
+ * @param to Last byte of the range (included). */
+public record HttpRange(
+		long from,
+		long to) {
+	/** Above this number of ranges the header is ignored and the full content is sent. */
+	public static final int MAX_RANGES = 16;
+
+	public long length() {
+		return this.to - this.from + 1;
+	}
+
+	/** @return The value of the "Content-Range" header for this range. */
+	public String contentRange(final long size) {
+		return "bytes " + this.from + "-" + this.to + "/" + size;
+	}
+
+	/** Parse a "Range" header.
+	 * @param header Value of the header (can be null).
+	 * @param size Size of the content.
+	 * @param maxOpenSize Maximum size of a range without end ("bytes=500-"), 0 for no limit.
+	 * @return null if the full content must be sent (no header, invalid syntax or too many ranges), an empty list if no range can be satisfied, else the
+	 *         sorted ranges (the overlapping and the adjacent ranges are merged). */
+	public static List<HttpRange> parse(final String header, final long size, final long maxOpenSize) {
+		if (header == null) {
+			return null;
+		}
+		final String value = header.trim();
+		if (!value.regionMatches(true, 0, "bytes=", 0, 6)) {
+			return null;
+		}
+		final List<HttpRange> ranges = new ArrayList<>();
+		for (final String elem : value.substring(6).split(",")) {
+			final String spec = elem.trim();
+			if (spec.isEmpty()) {
+				continue;
+			}
+			final int separator = spec.indexOf('-');
+			if (separator < 0) {
+				return null;
+			}
+			final String first = spec.substring(0, separator).trim();
+			final String last = spec.substring(separator + 1).trim();
+			long from;
+			long to;
+			try {
+				if (first.isEmpty()) {
+					// suffix range: the last bytes of the content.
+					final long suffix = last.isEmpty() ? -1 : Long.parseLong(last);
+					if (suffix < 0) {
+						return null;
+					}
+					if (suffix == 0) {
+						continue;
+					}
+					from = Math.max(0, size - suffix);
+					to = size - 1;
+				} else {
+					from = Long.parseLong(first);
+					if (from < 0) {
+						return null;
+					}
+					if (last.isEmpty()) {
+						to = size - 1;
+						if (maxOpenSize > 0 && to - from + 1 > maxOpenSize) {
+							to = from + maxOpenSize - 1;
+						}
+					} else {
+						to = Long.parseLong(last);
+						if (to < from) {
+							return null;
+						}
+						to = Math.min(to, size - 1);
+					}
+				}
+			} catch (final NumberFormatException ex) {
+				return null;
+			}
+			if (from >= size) {
+				// not satisfiable
+				continue;
+			}
+			ranges.add(new HttpRange(from, to));
+		}
+		if (ranges.size() > MAX_RANGES) {
+			return null;
+		}
+		ranges.sort(Comparator.comparingLong(HttpRange::from));
+		final List<HttpRange> out = new ArrayList<>();
+		for (final HttpRange range : ranges) {
+			if (!out.isEmpty() && range.from() <= out.get(out.size() - 1).to() + 1) {
+				final HttpRange previous = out.remove(out.size() - 1);
+				out.add(new HttpRange(previous.from(), Math.max(previous.to(), range.to())));
+			} else {
+				out.add(range);
+			}
+		}
+		return out;
+	}
+
+	/** Create a strong entity tag of a file from its size and its modification time. */
+	public static String createETag(final long size, final long lastModified) {
+		return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+	}
+
+	/** Check the "If-Range" header: the range must be ignored when the content changed.
+	 * @param ifRange Value of the header (can be null).
+	 * @param etag Entity tag of the content.
+	 * @param lastModified Modification time of the content (in milliseconds).
+	 * @return true if the range can be sent. */
+	public static boolean ifRangeMatch(final String ifRange, final String etag, final long lastModified) {
+		if (ifRange == null) {
+			return true;
+		}
+		final String value = ifRange.trim();
+		if (value.startsWith("\"") || value.startsWith("W/")) {
+			// a weak entity tag never match (strong comparison).
+			return value.equals(etag);
+		}
+		try {
+			final ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+			return date.toEpochSecond() == lastModified / 1000;
+		} catch (final DateTimeParseException ex) {
+			return false;
+		}
+	}
+}
@@ -1,61 +1,191 @@
 package org.kar.archidata.api;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
+import org.kar.archidata.tools.ConfigBaseVariable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.ws.rs.InternalServerErrorException;
-import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
 
+/** Stream some parts of a file with {@link FileChannel#transferTo}: the copy use the pooled buffers of the JVM (or the zero-copy of the system when the
+ * output is a file or a socket channel) instead of a heap buffer for each request. The output is flushed by the container at the end of the response.
+ * When more than one part is streamed, the body is a "multipart/byteranges" content. */
 public class MediaStreamer implements StreamingOutput {
 	private static final Logger LOGGER = LoggerFactory.getLogger(MediaStreamer.class);
-	private final int CHUNK_SIZE = 1024 * 1024; // 1MB chunks
-	final byte[] buf = new byte[this.CHUNK_SIZE];
-	private long length;
-	private final RandomAccessFile raf;
+	private final Path file;
+	// File already opened by the caller (closed at the end of the stream), null to open the file when the response is written.
+	private final FileChannel channel;
+	private final List<HttpRange> ranges;
+	// Header of each part (only for the multipart content).
+	private final List<byte[]> partHeaders;
+	private final byte[] end;
+	private final long length;
 
-	public MediaStreamer(final long length, final RandomAccessFile raf) throws IOException {
+	/** @param file File to stream (opened when the response is written).
+	 * @param from First byte to stream.
+	 * @param length Number of bytes to stream. */
+	public MediaStreamer(final Path file, final long from, final long length) throws IOException {
 		// logger.info("request stream of {} data", length / 1024);
 		if (length < 0) {
 			throw new IOException("Wrong size of the file to stream: " + length);
 		}
+		this.file = file;
+		this.channel = null;
+		this.ranges = List.of(new HttpRange(from, from + length - 1));
+		this.partHeaders = null;
+		this.end = null;
 		this.length = length;
-		this.raf = raf;
+	}
+
+	/** Stream the beginning of a file that is already open (it can be deleted or replaced before the response is written).
+	 * @param channel Opened file to stream (closed at the end of the stream).
+	 * @param length Number of bytes to stream. */
+	public MediaStreamer(final FileChannel channel, final long length) throws IOException {
+		if (length < 0) {
+			channel.close();
+			throw new IOException("Wrong size of the file to stream: " + length);
+		}
+		this.file = null;
+		this.channel = channel;
+		this.ranges = List.of(new HttpRange(0, length - 1));
+		this.partHeaders = null;
+		this.end = null;
+		this.length = length;
+	}
+
+	/** Stream a "multipart/byteranges" content.
+	 * @param file File to stream (opened when the response is written).
+	 * @param ranges Parts of the file.
+	 * @param size Size of the file.
+	 * @param mimeType Type of the file.
+	 * @param boundary Separator of the parts. */
+	public MediaStreamer(final Path file, final List<HttpRange> ranges, final long size, final String mimeType,
+			final String boundary) {
+		this.file = file;
+		this.channel = null;
+		this.ranges = ranges;
+		this.partHeaders = new ArrayList<>();
+		long length = 0;
+		for (final HttpRange range : ranges) {
+			final StringBuilder header = new StringBuilder();
+			header.append("\r\n--").append(boundary).append("\r\n");
+			if (mimeType != null) {
+				header.append(HttpHeaders.CONTENT_TYPE).append(": ").append(mimeType).append("\r\n");
+			}
+			header.append("Content-Range: ").append(range.contentRange(size)).append("\r\n\r\n");
+			final byte[] data = header.toString().getBytes(StandardCharsets.US_ASCII);
+			this.partHeaders.add(data);
+			length += data.length + range.length();
+		}
+		this.end = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+		this.length = length + this.end.length;
 	}
 
 	@Override
 	public void write(final OutputStream outputStream) {
-		try {
-			while (this.length != 0) {
-				final int read = this.raf.read(this.buf, 0,
-						this.buf.length > this.length ? (int) this.length : this.buf.length);
-				try {
-					outputStream.write(this.buf, 0, read);
-				} catch (final IOException ex) {
-					LOGGER.info("remote close connection");
-					break;
+		try (FileChannel channel = this.channel != null ? this.channel
+				: FileChannel.open(this.file, StandardOpenOption.READ)) {
+			final WritableByteChannel target = Channels.newChannel(outputStream);
+			for (int iii = 0; iii < this.ranges.size(); iii++) {
+				if (this.partHeaders != null) {
+					outputStream.write(this.partHeaders.get(iii));
+				}
+				if (!transfer(channel, this.ranges.get(iii), target)) {
+					return;
 				}
-				this.length -= read;
+			}
+			if (this.end != null) {
+				outputStream.write(this.end);
 			}
 		} catch (final IOException ex) {
-			throw new InternalServerErrorException(ex);
-		} catch (final WebApplicationException ex) {
-			throw new InternalServerErrorException(ex);
-		} finally {
-			try {
-				this.raf.close();
-			} catch (final IOException ex) {
-				ex.printStackTrace();
-				throw new InternalServerErrorException(ex);
+			LOGGER.info("remote close connection");
+		}
+	}
+
+	private boolean transfer(final FileChannel channel, final HttpRange range, final WritableByteChannel target)
+			throws IOException {
+		long position = range.from();
+		long remaining = range.length();
+		while (remaining > 0) {
+			final long count = channel.transferTo(position, remaining, target);
+			if (count <= 0) {
+				// The file has been truncated.
+				LOGGER.warn("Stop streaming at {}, {} bytes are missing in the file {}", position, remaining, this.file);
+				return false;
 			}
+			position += count;
+			remaining -= count;
 		}
+		return true;
 	}
 
 	public long getLenth() {
 		return this.length;
 	}
+
+	/** Create the response to a request of a file, with the support of the "Range" and "If-Range" headers.
+	 * @param file File to send.
+	 * @param range Value of the "Range" header (can be null).
+	 * @param ifRange Value of the "If-Range" header (can be null).
+	 * @param mimeType Type of the file (can be null).
+	 * @return The response (full content, partial content or range not satisfiable). */
+	public static Response.ResponseBuilder buildResponse(
+			final File file,
+			final String range,
+			final String ifRange,
+			final String mimeType) throws IOException {
+		if (!file.exists()) {
+			throw new IOException("Fail to find the required file: " + file);
+		}
+		final long size = file.length();
+		final long lastModified = file.lastModified();
+		final String etag = HttpRange.createETag(size, lastModified);
+		List<HttpRange> ranges = null;
+		if (HttpRange.ifRangeMatch(ifRange, etag, lastModified)) {
+			ranges = HttpRange.parse(range, size, ConfigBaseVariable.getHttpRangeMaxSize());
+		}
+		final Response.ResponseBuilder out;
+		if (ranges == null) {
+			out = Response.ok(new MediaStreamer(file.toPath(), 0, size)).header(HttpHeaders.CONTENT_LENGTH, size);
+			if (mimeType != null) {
+				out.type(mimeType);
+			}
+		} else if (ranges.isEmpty()) {
+			return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE).header("Accept-Ranges", "bytes")
+					.header("Content-Range", "bytes */" + size);
+		} else if (ranges.size() == 1) {
+			final HttpRange elem = ranges.get(0);
+			final MediaStreamer streamer = new MediaStreamer(file.toPath(), elem.from(), elem.length());
+			out = Response.ok(streamer).status(Response.Status.PARTIAL_CONTENT)
+					.header("Content-Range", elem.contentRange(size))
+					.header(HttpHeaders.CONTENT_LENGTH, streamer.getLenth());
+			if (mimeType != null) {
+				out.type(mimeType);
+			}
+		} else {
+			final String boundary = UUID.randomUUID().toString();
+			final MediaStreamer streamer = new MediaStreamer(file.toPath(), ranges, size, mimeType, boundary);
+			out = Response.ok(streamer).status(Response.Status.PARTIAL_CONTENT)
+					.header(HttpHeaders.CONTENT_LENGTH, streamer.getLenth())
+					.type("multipart/byteranges; boundary=" + boundary);
+		}
+		return out.header("Accept-Ranges", "bytes").header(HttpHeaders.LAST_MODIFIED, new Date(lastModified))
+				.header(HttpHeaders.ETAG, etag);
+	}
 }
@@ -0,0 +1,256 @@
+package org.kar.archidata.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+
+import org.kar.archidata.tools.ContextGenericTools;
+import org.kar.archidata.tools.DataTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/** Disk cache of the proxied contents. The least recently used contents are removed when the cache is bigger than its maximum size; the freshness
+ * follows the Cache-Control of the server, the stale contents are revalidated with their ETag/Last-Modified. */
+public class ProxyCache {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProxyCache.class);
+
+	/** Description of a cached content (stored in a JSON file next to the content). */
+	public record Entry(
+			String url,
+			String contentType,
+			String etag,
+			String lastModified,
+			String cacheControl,
+			long expireAt,
+			long size) {
+
+		public boolean isFresh() {
+			return System.currentTimeMillis() < this.expireAt;
+		}
+	}
+
+	private final File folder;
+	private final long maxSize;
+	private final ObjectMapper mapper = ContextGenericTools.createObjectMapper();
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long totalSize = 0;
+	private boolean loaded = false;
+
+	/** @param folder Folder of the cached files.
+	 * @param maxSize Maximum size of the cached contents in bytes. */
+	public ProxyCache(final File folder, final long maxSize) {
+		this.folder = folder;
+		this.maxSize = maxSize;
+	}
+
+	/** Compute the expiration time of a content.
+	 * @param cacheControl Cache-Control header of the response (can be null).
+	 * @param now Current time in milliseconds.
+	 * @return The expiration time (now when the content must be revalidated), -1 if the content must not be stored. */
+	public static long getExpireAt(final String cacheControl, final long now) {
+		if (cacheControl == null) {
+			return now;
+		}
+		boolean noCache = false;
+		long maxAge = -1;
+		long sharedMaxAge = -1;
+		for (final String elem : cacheControl.split(",")) {
+			final String directive = elem.trim().toLowerCase(Locale.ROOT);
+			if (directive.equals("no-store") || directive.equals("private")) {
+				return -1;
+			}
+			if (directive.equals("no-cache")) {
+				noCache = true;
+			} else if (directive.startsWith("s-maxage=")) {
+				sharedMaxAge = parseSeconds(directive.substring(9));
+			} else if (directive.startsWith("max-age=")) {
+				maxAge = parseSeconds(directive.substring(8));
+			}
+		}
+		if (noCache) {
+			return now;
+		}
+		final long age = sharedMaxAge >= 0 ? sharedMaxAge : maxAge;
+		if (age <= 0) {
+			return now;
+		}
+		return now + age * 1000;
+	}
+
+	private static long parseSeconds(final String value) {
+		try {
+			return Long.parseLong(value.replace("\"", ""));
+		} catch (final NumberFormatException ex) {
+			return -1;
+		}
+	}
+
+	static String getKey(final String url) {
+		try {
+			final MessageDigest md = MessageDigest.getInstance("SHA-256");
+			return DataTools.bytesToHex(md.digest(url.getBytes(StandardCharsets.UTF_8)));
+		} catch (final NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("Can not find sha256 algorithms", ex);
+		}
+	}
+
+	private File getDataFile(final String key) {
+		return new File(this.folder, key + ".data");
+	}
+
+	private File getMetaFile(final String key) {
+		return new File(this.folder, key + ".json");
+	}
+
+	/** Load the entries stored by a previous run (the oldest used first). */
+	private void load() {
+		if (this.loaded) {
+			return;
+		}
+		this.loaded = true;
+		this.folder.mkdirs();
+		final File[] files = this.folder.listFiles((dir, name) -> name.endsWith(".json"));
+		if (files == null) {
+			return;
+		}
+		final List<File> metas = new ArrayList<>(List.of(files));
+		metas.sort(Comparator.comparingLong(File::lastModified));
+		for (final File meta : metas) {
+			final String key = meta.getName().substring(0, meta.getName().length() - 5);
+			try {
+				final Entry entry = this.mapper.readValue(meta, Entry.class);
+				if (!getDataFile(key).exists() || !key.equals(getKey(entry.url()))) {
+					throw new IOException("Inconsistent entry");
+				}
+				this.entries.put(key, entry);
+				this.totalSize += entry.size();
+			} catch (final IOException ex) {
+				LOGGER.warn("Remove the invalid proxy cache entry {}: {}", key, ex.getMessage());
+				removeFiles(key);
+			}
+		}
+		evict();
+	}
+
+	/** Get the cached content of an URL.
+	 * @param url URL of the content.
+	 * @return The entry or null if the URL is not cached. */
+	public synchronized Entry get(final String url) {
+		load();
+		return this.entries.get(getKey(url));
+	}
+
+	/** @return The file of a cached content. */
+	public File getFile(final Entry entry) {
+		return getDataFile(getKey(entry.url()));
+	}
+
+	/** Open the file of a cached content. The file is opened with the lock of the cache: a concurrent put or evict can not remove it before, and the
+	 * opened channel can still be read after.
+	 * @param entry Entry of the content.
+	 * @return The opened file, or null if the entry is no more the current one of its URL. */
+	public synchronized FileChannel open(final Entry entry) {
+		final String key = getKey(entry.url());
+		if (!entry.equals(this.entries.get(key))) {
+			return null;
+		}
+		try {
+			return FileChannel.open(getDataFile(key).toPath(), StandardOpenOption.READ);
+		} catch (final IOException ex) {
+			LOGGER.warn("Fail to open the proxy cache entry {}: {}", key, ex.getMessage());
+			remove(entry.url());
+			return null;
+		}
+	}
+
+	/** Remove the cached content of an URL.
+	 * @param url URL of the content. */
+	public synchronized void remove(final String url) {
+		load();
+		final String key = getKey(url);
+		final Entry previous = this.entries.remove(key);
+		if (previous != null) {
+			this.totalSize -= previous.size();
+			removeFiles(key);
+		}
+	}
+
+	/** @return A new temporary file where a content can be downloaded before being added. */
+	public File createTempFile() throws IOException {
+		this.folder.mkdirs();
+		return File.createTempFile("proxy_", ".tmp", this.folder);
+	}
+
+	/** Add (or replace) a content in the cache.
+	 * @param entry Description of the content.
+	 * @param file Temporary file of the content (moved in the cache). */
+	public synchronized void put(final Entry entry, final File file) throws IOException {
+		load();
+		final String key = getKey(entry.url());
+		if (entry.size() > this.maxSize) {
+			Files.deleteIfExists(file.toPath());
+			return;
+		}
+		Files.move(file.toPath(), getDataFile(key).toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		this.mapper.writeValue(getMetaFile(key), entry);
+		final Entry previous = this.entries.put(key, entry);
+		if (previous != null) {
+			this.totalSize -= previous.size();
+		}
+		this.totalSize += entry.size();
+		evict();
+	}
+
+	/** Update the description of a cached content (after a revalidation).
+	 * @param entry New description of the content. */
+	public synchronized void update(final Entry entry) {
+		final String key = getKey(entry.url());
+		if (!this.entries.containsKey(key)) {
+			return;
+		}
+		try {
+			this.mapper.writeValue(getMetaFile(key), entry);
+		} catch (final IOException ex) {
+			LOGGER.warn("Fail to update the proxy cache entry {}: {}", key, ex.getMessage());
+		}
+		this.entries.put(key, entry);
+	}
+
+	private void evict() {
+		final Iterator<java.util.Map.Entry<String, Entry>> iterator = this.entries.entrySet().iterator();
+		while (this.totalSize > this.maxSize && iterator.hasNext()) {
+			final java.util.Map.Entry<String, Entry> elem = iterator.next();
+			iterator.remove();
+			this.totalSize -= elem.getValue().size();
+			removeFiles(elem.getKey());
+		}
+	}
+
+	private void removeFiles(final String key) {
+		try {
+			Files.deleteIfExists(getMetaFile(key).toPath());
+			Files.deleteIfExists(getDataFile(key).toPath());
+		} catch (final IOException ex) {
+			LOGGER.warn("Fail to remove the proxy cache entry {}: {}", key, ex.getMessage());
+		}
+	}
+
+	public synchronized long getTotalSize() {
+		return this.totalSize;
+	}
+}
@@ -1,5 +1,27 @@
 package org.kar.archidata.api;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.kar.archidata.tools.ConfigBaseVariable;
+import org.kar.archidata.tools.DataTools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -7,17 +29,53 @@ import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
-import jakarta.ws.rs.client.Client;
-import jakarta.ws.rs.client.ClientBuilder;
-import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.core.StreamingOutput;
 
 @Path("/proxy")
 //@Produces(MediaType.APPLICATION_JSON)
 public class ProxyResource {
 	private static final Logger LOGGER = LoggerFactory.getLogger(ProxyResource.class);
+	private static HttpClient client = null;
+	private static ProxyCache cache = null;
+	private static boolean cacheConfigured = false;
+	// Close the proxied streams that send nothing during the read timeout (a blocked read has no timeout).
+	private static final ScheduledThreadPoolExecutor READ_WATCHDOG = createWatchdog();
+
+	private static ScheduledThreadPoolExecutor createWatchdog() {
+		final ScheduledThreadPoolExecutor out = new ScheduledThreadPoolExecutor(1, runnable -> {
+			final Thread thread = new Thread(runnable, "proxy-read-watchdog");
+			thread.setDaemon(true);
+			return thread;
+		});
+		out.setRemoveOnCancelPolicy(true);
+		return out;
+	}
+
+	/** @return The client shared by all the proxied requests (the connections are reused). */
+	private static synchronized HttpClient getClient() {
+		if (client == null) {
+			client = HttpClient.newBuilder()
+					.connectTimeout(Duration.ofMillis(ConfigBaseVariable.getProxyConnectTimeout()))
+					.followRedirects(Redirect.NORMAL).build();
+		}
+		return client;
+	}
+
+	/** @return The disk cache of the proxied contents, null if it is disabled. */
+	private static synchronized ProxyCache getCache() {
+		if (!cacheConfigured) {
+			cacheConfigured = true;
+			final long size = ConfigBaseVariable.getProxyCacheSize();
+			if (size > 0) {
+				cache = new ProxyCache(new File(ConfigBaseVariable.getTmpDataFolder(), "proxy_cache"), size);
+			}
+		}
+		return cache;
+	}
 
 	@GET
 	@Produces(MediaType.APPLICATION_OCTET_STREAM)
@@ -25,19 +83,258 @@ public class ProxyResource {
 		if (url == null || url.isEmpty()) {
 			return Response.status(Status.BAD_REQUEST).entity("URL manquante").build();
 		}
-		final Client client = ClientBuilder.newClient();
+		final URI uri;
+		try {
+			uri = URI.create(url);
+		} catch (final IllegalArgumentException ex) {
+			return Response.status(Status.BAD_REQUEST).entity("Wrong URL: " + ex.getMessage()).build();
+		}
+		if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+			return Response.status(Status.BAD_REQUEST).entity("Only the http(s) URL can be proxied").build();
+		}
+		final ProxyCache diskCache = getCache();
+		ProxyCache.Entry cached = diskCache == null ? null : diskCache.get(url);
+		if (cached != null && cached.isFresh()) {
+			final FileChannel channel = diskCache.open(cached);
+			if (channel != null) {
+				return buildCachedResponse(channel, cached);
+			}
+			// Removed or replaced since the get: request the full content.
+			cached = null;
+		}
+		HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(uri)
+				.timeout(Duration.ofMillis(ConfigBaseVariable.getProxyReadTimeout())).GET();
+		if (cached != null && cached.etag() != null) {
+			requestBuilder = requestBuilder.header("If-None-Match", cached.etag());
+		}
+		if (cached != null && cached.lastModified() != null) {
+			requestBuilder = requestBuilder.header("If-Modified-Since", cached.lastModified());
+		}
+		final HttpResponse<InputStream> response;
+		try {
+			response = getClient().send(requestBuilder.build(), HttpResponse.BodyHandlers.ofInputStream());
+		} catch (final IOException ex) {
+			return Response.status(Status.BAD_GATEWAY).entity("Can not get the image : " + ex.getMessage()).build();
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return Response.status(Status.INTERNAL_SERVER_ERROR).entity("SERVER internal error : interrupted")
+					.build();
+		}
+		final HttpHeaders headers = response.headers();
+		final long now = System.currentTimeMillis();
+		final String cacheControl = headers.firstValue("Cache-Control").orElse(null);
+		if (response.statusCode() == 304 && cached != null) {
+			close(response.body());
+			final String newCacheControl = cacheControl != null ? cacheControl : cached.cacheControl();
+			final long expireAt = ProxyCache.getExpireAt(newCacheControl, now);
+			final ProxyCache.Entry refreshed = new ProxyCache.Entry(cached.url(), cached.contentType(), cached.etag(),
+					cached.lastModified(), newCacheControl, Math.max(expireAt, now), cached.size());
+			// Opened before the remove: the content is still sent for this request.
+			final FileChannel channel = diskCache.open(cached);
+			if (expireAt < 0) {
+				// The server does not permit to store the content anymore.
+				diskCache.remove(url);
+			} else {
+				diskCache.update(refreshed);
+			}
+			if (channel == null) {
+				return Response.status(Status.BAD_GATEWAY).entity("The cached content has been removed").build();
+			}
+			return buildCachedResponse(channel, refreshed);
+		}
+		if (response.statusCode() != 200) {
+			close(response.body());
+			return Response.status(Status.BAD_GATEWAY).entity("Can not get the image : " + response.statusCode())
+					.build();
+		}
+		final long maxSize = ConfigBaseVariable.getProxyMaxSize();
+		final long contentLength = headers.firstValueAsLong("Content-Length").orElse(-1);
+		if (contentLength > maxSize) {
+			close(response.body());
+			return Response.status(Status.BAD_GATEWAY).entity("The image is too big : " + contentLength).build();
+		}
+		final String contentType = headers.firstValue("Content-Type").orElse(MediaType.APPLICATION_OCTET_STREAM);
+		final String etag = headers.firstValue("ETag").orElse(null);
+		final String lastModified = headers.firstValue("Last-Modified").orElse(null);
+		final long expireAt = diskCache == null ? -1 : ProxyCache.getExpireAt(cacheControl, now);
+		final boolean store = expireAt >= 0 && (expireAt > now || etag != null || lastModified != null);
+		final ProxyCache.Entry entry = store
+				? new ProxyCache.Entry(url, contentType, etag, lastModified, cacheControl, expireAt, contentLength)
+				: null;
+		final ProxyCache storeCache = store ? diskCache : null;
+		if (contentLength < 0) {
+			return buildBufferedResponse(response.body(), maxSize, storeCache, entry, contentType, etag, lastModified,
+					cacheControl);
+		}
+		final StreamingOutput stream = output -> copy(response.body(), output, maxSize, storeCache, entry);
+		final ResponseBuilder out = Response.ok(stream).type(contentType).header("Access-Control-Allow-Origin", "*")
+				.header("Content-Length", contentLength);
+		return addCacheHeaders(out, etag, lastModified, cacheControl).build();
+	}
+
+	/** Download a content without Content-Length before the response: a content bigger than the maximum size get an error instead of a truncated
+	 * response (the status is sent before the content when it is streamed). */
+	private static Response buildBufferedResponse(
+			final InputStream input,
+			final long maxSize,
+			final ProxyCache cache,
+			final ProxyCache.Entry entry,
+			final String contentType,
+			final String etag,
+			final String lastModified,
+			final String cacheControl) {
+		File tmpFile = null;
+		FileChannel channel = null;
+		try (input) {
+			tmpFile = cache != null ? cache.createTempFile()
+					: new File(DataTools.getTmpFileInData(DataTools.getTmpDataId()));
+			final long size;
+			try (OutputStream fileOutput = new FileOutputStream(tmpFile)) {
+				size = transfer(input, fileOutput, null, maxSize);
+			}
+			// The opened file can still be read after its move in the cache or its removal.
+			channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.READ);
+			if (cache != null) {
+				cache.put(new ProxyCache.Entry(entry.url(), entry.contentType(), entry.etag(), entry.lastModified(),
+						entry.cacheControl(), entry.expireAt(), size), tmpFile);
+			} else {
+				Files.delete(tmpFile.toPath());
+			}
+			tmpFile = null;
+			final ResponseBuilder out = Response.ok(new MediaStreamer(channel, size)).type(contentType)
+					.header("Access-Control-Allow-Origin", "*").header("Content-Length", size);
+			channel = null;
+			return addCacheHeaders(out, etag, lastModified, cacheControl).build();
+		} catch (final IOException ex) {
+			return Response.status(Status.BAD_GATEWAY).entity("Can not get the image : " + ex.getMessage()).build();
+		} finally {
+			if (channel != null) {
+				try {
+					channel.close();
+				} catch (final IOException ex) {
+					LOGGER.debug("Fail to close the proxied file: {}", ex.getMessage());
+				}
+			}
+			if (tmpFile != null && !tmpFile.delete()) {
+				LOGGER.warn("Fail to remove the temporary file {}", tmpFile);
+			}
+		}
+	}
+
+	private static Response buildCachedResponse(final FileChannel channel, final ProxyCache.Entry entry) {
+		final MediaStreamer stream;
 		try {
-			final WebTarget target = client.target(url);
-			final Response response = target.request().get();
-			if (response.getStatus() != 200) {
-				return Response.status(Status.BAD_GATEWAY).entity("Can not get the image : " + response.getStatus())
-						.build();
-			}
-			return Response.ok(response.readEntity(byte[].class)).header("Access-Control-Allow-Origin", "*")
-					.header("Content-Type", response.getHeaderString("Content-Type")).build();
-		} catch (final Exception e) {
-			return Response.status(Status.INTERNAL_SERVER_ERROR).entity("SERVER internal error : " + e.getMessage())
+			stream = new MediaStreamer(channel, entry.size());
+		} catch (final IOException ex) {
+			return Response.status(Status.INTERNAL_SERVER_ERROR).entity("Wrong cached content: " + ex.getMessage())
 					.build();
 		}
+		final ResponseBuilder out = Response.ok(stream).type(entry.contentType())
+				.header("Access-Control-Allow-Origin", "*").header("Content-Length", entry.size());
+		return addCacheHeaders(out, entry.etag(), entry.lastModified(), entry.cacheControl()).build();
+	}
+
+	private static ResponseBuilder addCacheHeaders(
+			ResponseBuilder out,
+			final String etag,
+			final String lastModified,
+			final String cacheControl) {
+		if (etag != null) {
+			out = out.header("ETag", etag);
+		}
+		if (lastModified != null) {
+			out = out.header("Last-Modified", lastModified);
+		}
+		if (cacheControl != null) {
+			out = out.header("Cache-Control", cacheControl);
+		}
+		return out;
+	}
+
+	/** Send the content to the client as it is received (and store it in the cache when it is complete). The size is already checked with the
+	 * Content-Length. */
+	private static void copy(
+			final InputStream input,
+			final OutputStream output,
+			final long maxSize,
+			final ProxyCache cache,
+			final ProxyCache.Entry entry) throws IOException {
+		File tmpFile = null;
+		OutputStream fileOutput = null;
+		try (input) {
+			if (cache != null) {
+				tmpFile = cache.createTempFile();
+				fileOutput = new FileOutputStream(tmpFile);
+			}
+			final long size = transfer(input, output, fileOutput, maxSize);
+			if (fileOutput != null) {
+				fileOutput.close();
+				fileOutput = null;
+				cache.put(new ProxyCache.Entry(entry.url(), entry.contentType(), entry.etag(), entry.lastModified(),
+						entry.cacheControl(), entry.expireAt(), size), tmpFile);
+				tmpFile = null;
+			}
+		} finally {
+			if (fileOutput != null) {
+				fileOutput.close();
+			}
+			if (tmpFile != null) {
+				Files.deleteIfExists(tmpFile.toPath());
+			}
+		}
+	}
+
+	/** Copy the proxied content, each read fails when the server send nothing during the read timeout.
+	 * @param copy Second output of the content (can be null).
+	 * @return The size of the content. */
+	private static long transfer(
+			final InputStream input,
+			final OutputStream output,
+			final OutputStream copy,
+			final long maxSize) throws IOException {
+		final long timeout = ConfigBaseVariable.getProxyReadTimeout();
+		final byte[] buffer = DataTools.getCopyBuffer();
+		long size = 0;
+		while (true) {
+			final AtomicBoolean expired = new AtomicBoolean(false);
+			final ScheduledFuture<?> watchdog = READ_WATCHDOG.schedule(() -> {
+				expired.set(true);
+				close(input);
+			}, timeout, TimeUnit.MILLISECONDS);
+			int read;
+			try {
+				read = input.read(buffer);
+			} catch (final IOException ex) {
+				if (expired.get()) {
+					throw new IOException("No data received from the proxied server during " + timeout + " ms");
+				}
+				throw ex;
+			} finally {
+				watchdog.cancel(false);
+			}
+			// A closed stream can be read as a end of stream.
+			if (expired.get()) {
+				throw new IOException("No data received from the proxied server during " + timeout + " ms");
+			}
+			if (read == -1) {
+				return size;
+			}
+			size += read;
+			if (size > maxSize) {
+				throw new IOException("The proxied content is bigger than " + maxSize + " bytes");
+			}
+			output.write(buffer, 0, read);
+			if (copy != null) {
+				copy.write(buffer, 0, read);
+			}
+		}
+	}
+
+	private static void close(final InputStream input) {
+		try {
+			input.close();
+		} catch (final IOException ex) {
+			LOGGER.debug("Fail to close the proxied stream: {}", ex.getMessage());
+		}
 	}
 }
@@ -0,0 +1,139 @@
+package org.kar.archidata.api;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Thumbnails (and WebP variants) of the images, stored on the disk next to the media. A thumbnail is generated at the first request (or when the media is
+ * newer than it), the concurrent requests of the same thumbnail wait the same generation. */
+public class ThumbnailCache {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ThumbnailCache.class);
+	public static final String FORMAT = "WebP";
+	public static final String MIME_TYPE = "image/webp";
+	public static final int DEFAULT_WIDTH = 250;
+	private static final Map<String, CompletableFuture<File>> IN_PROGRESS = new ConcurrentHashMap<>();
+
+	private ThumbnailCache() {}
+
+	/** Get the path of the thumbnail of a media.
+	 * @param oid Id of the media.
+	 * @param width Width of the thumbnail (0 for the WebP variant of the full image).
+	 * @return The path of the file (it can not exist). */
+	public static String getFileThumbnail(final ObjectId oid, final int width) {
+		if (width <= 0) {
+			return DataResource.getFileData(oid) + ".webp";
+		}
+		return DataResource.getFileData(oid) + ".thumbnail_" + width + ".webp";
+	}
+
+	/** Get the thumbnail of an image (generated if needed).
+	 * @param oid Id of the media.
+	 * @param source File of the media.
+	 * @param width Width of the thumbnail (0 for the WebP variant of the full image).
+	 * @return The file of the thumbnail. */
+	public static File get(final ObjectId oid, final File source, final int width) throws IOException {
+		final File file = new File(getFileThumbnail(oid, width));
+		if (file.exists() && file.lastModified() >= source.lastModified()) {
+			return file;
+		}
+		final CompletableFuture<File> future = new CompletableFuture<>();
+		final CompletableFuture<File> previous = IN_PROGRESS.putIfAbsent(file.getPath(), future);
+		if (previous != null) {
+			try {
+				return previous.join();
+			} catch (final CompletionException ex) {
+				if (ex.getCause() instanceof final IOException cause) {
+					throw cause;
+				}
+				throw ex;
+			}
+		}
+		try {
+			generate(source, file, width);
+			future.complete(file);
+			return file;
+		} catch (final IOException | RuntimeException ex) {
+			future.completeExceptionally(ex);
+			throw ex;
+		} finally {
+			IN_PROGRESS.remove(file.getPath(), future);
+		}
+	}
+
+	/** Read an image with a subsampling: the decoded image is not bigger than needed for the requested width. */
+	private static BufferedImage read(final File source, final int width) throws IOException {
+		try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+			if (input == null) {
+				throw new IOException("Can not open the image: " + source);
+			}
+			final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+			if (!readers.hasNext()) {
+				throw new IOException("No reader for the image: " + source);
+			}
+			final ImageReader reader = readers.next();
+			try {
+				reader.setInput(input, true, true);
+				final ImageReadParam param = reader.getDefaultReadParam();
+				if (width > 0) {
+					final int subsampling = Math.max(1, reader.getWidth(0) / width);
+					param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+				}
+				return reader.read(0, param);
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	private static void generate(final File source, final File destination, final int requestedWidth)
+			throws IOException {
+		final BufferedImage inputImage = read(source, requestedWidth);
+		LOGGER.info("input size image: {}x{} type={}", inputImage.getWidth(), inputImage.getHeight(),
+				inputImage.getType());
+		final int width = requestedWidth <= 0 ? inputImage.getWidth() : requestedWidth;
+		final int scaledHeight = Math.max(1,
+				(int) ((float) inputImage.getHeight() / (float) inputImage.getWidth() * width));
+		final int type = inputImage.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB
+				: BufferedImage.TYPE_INT_RGB;
+		final BufferedImage outputImage = new BufferedImage(width, scaledHeight, type);
+		final Graphics2D g2d = outputImage.createGraphics();
+		g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		g2d.drawImage(inputImage, 0, 0, width, scaledHeight, null);
+		g2d.dispose();
+		LOGGER.info("output size image: {}x{}", width, scaledHeight);
+		// Write in a temporary file: a concurrent reader never see a partial file.
+		final File tmpFile = new File(destination.getPath() + ".tmp");
+		try {
+			if (!ImageIO.write(outputImage, FORMAT, tmpFile)) {
+				throw new IOException("No writer for the format " + FORMAT);
+			}
+			try {
+				Files.move(tmpFile.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (final AtomicMoveNotSupportedException ex) {
+				Files.move(tmpFile.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tmpFile.toPath());
+		}
+	}
+}
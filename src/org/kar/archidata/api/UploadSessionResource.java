@@ -0,0 +1,286 @@
+package org.kar.archidata.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.kar.archidata.dataAccess.DBAccess;
+import org.kar.archidata.dataAccess.DataAccess;
+import org.kar.archidata.dataAccess.QueryCondition;
+import org.kar.archidata.dataAccess.options.Condition;
+import org.kar.archidata.exception.FailException;
+import org.kar.archidata.exception.InputException;
+import org.kar.archidata.model.Data;
+import org.kar.archidata.model.UploadSession;
+import org.kar.archidata.tools.ConfigBaseVariable;
+import org.kar.archidata.tools.DataTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/** Resumable upload of the big media: the client create a session, send the chunks of the file (in any order, a chunk can be sent again), read the received
+ * ranges after a disconnection and finalize the session to create the {@link Data}. The finalized session is kept until it expires: a finalize sent again
+ * returns the same data. The sessions are stored in the DB (table of {@link UploadSession}) and the expired sessions are removed by the
+ * {@link org.kar.archidata.UploadSessionSweeper}. */
+@Path("/data/upload/session")
+@Produces(MediaType.APPLICATION_JSON)
+public class UploadSessionResource {
+	private static final Logger LOGGER = LoggerFactory.getLogger(UploadSessionResource.class);
+	// The chunks of a session are written one at a time (the received ranges are updated after the write).
+	private static final Map<UUID, Object> LOCKS = new ConcurrentHashMap<>();
+
+	public static String getSessionFile(final UUID uuid) {
+		return ConfigBaseVariable.getTmpDataFolder() + File.separator + "upload_" + uuid.toString();
+	}
+
+	private static Object getLock(final UUID uuid) {
+		return LOCKS.computeIfAbsent(uuid, key -> new Object());
+	}
+
+	private static UploadSession getSession(final UUID uuid) throws Exception {
+		final UploadSession session = DataAccess.get(UploadSession.class, uuid);
+		if (session == null) {
+			throw new FailException(Response.Status.NOT_FOUND, "Upload session does not exist: " + uuid);
+		}
+		return session;
+	}
+
+	/** Add a range in the sorted list of ranges (the overlapping and the adjacent ranges are merged).
+	 * @param received List of [first, last] pairs.
+	 * @return The new list of pairs. */
+	public static List<Long> addRange(final List<Long> received, final long from, final long to) {
+		final List<Long> out = new ArrayList<>();
+		long newFrom = from;
+		long newTo = to;
+		boolean inserted = false;
+		for (int iii = 0; iii + 1 < received.size(); iii += 2) {
+			final long first = received.get(iii);
+			final long last = received.get(iii + 1);
+			if (last + 1 < newFrom) {
+				out.add(first);
+				out.add(last);
+			} else if (newTo + 1 < first) {
+				if (!inserted) {
+					out.add(newFrom);
+					out.add(newTo);
+					inserted = true;
+				}
+				out.add(first);
+				out.add(last);
+			} else {
+				newFrom = Math.min(newFrom, first);
+				newTo = Math.max(newTo, last);
+			}
+		}
+		if (!inserted) {
+			out.add(newFrom);
+			out.add(newTo);
+		}
+		return out;
+	}
+
+	public static boolean isComplete(final UploadSession session) {
+		return session.received.size() == 2 && session.received.get(0) == 0
+				&& session.received.get(1) == session.size - 1;
+	}
+
+	@POST
+	@RolesAllowed("ADMIN")
+	@Consumes(MediaType.APPLICATION_JSON)
+	@Operation(description = "Create an upload session (fileName and size are required)", tags = "SYSTEM")
+	public UploadSession create(final UploadSession input) throws Exception {
+		if (input == null || input.fileName == null || input.fileName.isBlank()) {
+			throw new InputException("fileName", "The file name is required");
+		}
+		if (input.size == null || input.size <= 0) {
+			throw new InputException("size", "The size must be > 0");
+		}
+		final UploadSession session = new UploadSession();
+		session.fileName = input.fileName;
+		session.size = input.size;
+		session.sha512 = input.sha512;
+		session.received = new ArrayList<>();
+		session.expireAt = new Date(System.currentTimeMillis() + ConfigBaseVariable.getUploadSessionTimeout());
+		final UploadSession out = DataAccess.insert(session);
+		DataTools.createFolder(ConfigBaseVariable.getTmpDataFolder());
+		// The chunks are written at their offset in this file.
+		Files.createFile(Paths.get(getSessionFile(out.uuid)));
+		LOGGER.info("Create upload session {} for '{}' ({} bytes)", out.uuid, out.fileName, out.size);
+		return out;
+	}
+
+	@GET
+	@Path("{uuid}")
+	@RolesAllowed("ADMIN")
+	@Operation(description = "Get an upload session and its received ranges", tags = "SYSTEM")
+	public UploadSession get(@PathParam("uuid") final UUID uuid) throws Exception {
+		return getSession(uuid);
+	}
+
+	@PUT
+	@Path("{uuid}")
+	@RolesAllowed("ADMIN")
+	@Consumes(MediaType.APPLICATION_OCTET_STREAM)
+	@Operation(description = "Write a chunk of the file at an offset (sha256 of the chunk in hexadecimal)", tags = "SYSTEM")
+	public UploadSession putChunk(
+			@PathParam("uuid") final UUID uuid,
+			@QueryParam("offset") final Long offset,
+			@QueryParam("sha256") final String sha256,
+			final InputStream input) throws Exception {
+		if (offset == null || offset < 0) {
+			throw new InputException("offset", "The offset must be >= 0");
+		}
+		final MessageDigest md;
+		try {
+			md = MessageDigest.getInstance("SHA-256");
+		} catch (final NoSuchAlgorithmException ex) {
+			throw new FailException(Response.Status.INTERNAL_SERVER_ERROR, "Can not find sha256 algorithms", ex);
+		}
+		final long size = getSession(uuid).size;
+		// The chunk is staged in a temporary file and checked before to be written in the session file (a wrong chunk can not overwrite the received bytes).
+		final java.nio.file.Path chunkFile = Paths.get(getSessionFile(uuid) + "_chunk_" + DataTools.getTmpDataId());
+		try {
+			long position = offset;
+			final byte[] buffer = DataTools.getCopyBuffer();
+			try (FileChannel channel = FileChannel.open(chunkFile, StandardOpenOption.CREATE_NEW,
+					StandardOpenOption.WRITE)) {
+				int read = 0;
+				while ((read = input.read(buffer)) != -1) {
+					if (position + read > size) {
+						throw new InputException("offset", "The chunk is out of the file size: " + size);
+					}
+					md.update(buffer, 0, read);
+					final ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+					while (data.hasRemaining()) {
+						position += channel.write(data);
+					}
+				}
+			}
+			if (sha256 != null && !sha256.equalsIgnoreCase(DataTools.bytesToHex(md.digest()))) {
+				throw new InputException("sha256", "The checksum of the chunk does not match");
+			}
+			synchronized (getLock(uuid)) {
+				final UploadSession session = getSession(uuid);
+				if (session.dataId != null) {
+					throw new FailException(Response.Status.CONFLICT, "Upload session is already finalized");
+				}
+				if (position == offset) {
+					return session;
+				}
+				try (FileChannel source = FileChannel.open(chunkFile, StandardOpenOption.READ);
+						FileChannel channel = FileChannel.open(Paths.get(getSessionFile(uuid)),
+								StandardOpenOption.WRITE)) {
+					long copied = 0;
+					final long length = position - offset;
+					while (copied < length) {
+						copied += channel.transferFrom(source, offset + copied, length - copied);
+					}
+				}
+				session.received = addRange(session.received, offset, position - 1);
+				session.expireAt = new Date(System.currentTimeMillis() + ConfigBaseVariable.getUploadSessionTimeout());
+				DataAccess.update(session, uuid, List.of("received", "expireAt"));
+				return session;
+			}
+		} finally {
+			Files.deleteIfExists(chunkFile);
+		}
+	}
+
+	@POST
+	@Path("{uuid}/finalize")
+	@RolesAllowed("ADMIN")
+	@Operation(description = "Create the data of a completely received upload session (a finalized session returns its data)", tags = "SYSTEM")
+	public Data finalizeUpload(@PathParam("uuid") final UUID uuid) throws Exception {
+		synchronized (getLock(uuid)) {
+			final UploadSession session = getSession(uuid);
+			if (session.dataId != null) {
+				// The response of the previous finalize is lost by the client.
+				return DataAccess.get(Data.class, session.dataId);
+			}
+			if (!isComplete(session)) {
+				throw new FailException(Response.Status.CONFLICT, "The file is not completely received");
+			}
+			final java.nio.file.Path file = Paths.get(getSessionFile(uuid));
+			final String sha512 = DataTools.computeSha512(file);
+			if (session.sha512 != null && !session.sha512.equalsIgnoreCase(sha512)) {
+				throw new InputException("sha512", "The sha512 of the file does not match");
+			}
+			final long tmpUID = DataTools.getTmpDataId();
+			Files.move(file, Paths.get(DataTools.getTmpFileInData(tmpUID)), StandardCopyOption.ATOMIC_MOVE);
+			final Data data;
+			try (DBAccess db = DBAccess.createInterface()) {
+				data = DataTools.createOrReuseData(db, tmpUID, session.fileName, sha512, null);
+			} catch (final Exception ex) {
+				DataTools.removeTemporaryFile(tmpUID);
+				throw ex;
+			}
+			if (data == null) {
+				remove(uuid);
+				return null;
+			}
+			session.dataId = data.oid;
+			session.expireAt = new Date(System.currentTimeMillis() + ConfigBaseVariable.getUploadSessionTimeout());
+			DataAccess.update(session, uuid, List.of("dataId", "expireAt"));
+			LOGGER.info("Upload session {} finalized in data {}", uuid, data.oid);
+			return data;
+		}
+	}
+
+	@DELETE
+	@Path("{uuid}")
+	@RolesAllowed("ADMIN")
+	@Operation(description = "Cancel an upload session", tags = "SYSTEM")
+	public void abort(@PathParam("uuid") final UUID uuid) throws Exception {
+		synchronized (getLock(uuid)) {
+			getSession(uuid);
+			remove(uuid);
+		}
+	}
+
+	private static void remove(final UUID uuid) throws Exception {
+		Files.deleteIfExists(Paths.get(getSessionFile(uuid)));
+		DataAccess.delete(UploadSession.class, uuid);
+		LOCKS.remove(uuid);
+	}
+
+	/** Remove the expired sessions and their files.
+	 * @return Number of removed sessions. */
+	public static int removeExpiredSessions() throws Exception {
+		final List<UploadSession> sessions = DataAccess.getsWhere(UploadSession.class,
+				new Condition(new QueryCondition("expireAt", "<", new Date())));
+		for (final UploadSession session : sessions) {
+			synchronized (getLock(session.uuid)) {
+				LOGGER.info("Remove the expired upload session {} ('{}')", session.uuid, session.fileName);
+				remove(session.uuid);
+			}
+		}
+		return sessions.size();
+	}
+}
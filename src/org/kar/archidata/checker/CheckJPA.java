@@ -20,6 +20,8 @@ import org.kar.archidata.annotation.checker.CollectionItemNotNull;
 import org.kar.archidata.annotation.checker.CollectionItemUnique;
 import org.kar.archidata.annotation.checker.CollectionNotEmpty;
 import org.kar.archidata.dataAccess.DBAccess;
+import org.kar.archidata.dataAccess.EntityDescriptor;
+import org.kar.archidata.dataAccess.EntityDescriptor.ColumnDescriptor;
 import org.kar.archidata.dataAccess.QueryCondition;
 import org.kar.archidata.dataAccess.QueryOptions;
 import org.kar.archidata.dataAccess.options.CheckFunctionInterface;
@@ -89,9 +91,10 @@ public class CheckJPA<T> implements CheckFunctionInterface {
 			this.checking = new HashMap<>();
 			// create Table:
 			final List<String> primaryKeys = new ArrayList<>();
-			for (final Field field : this.clazz.getFields()) {
+			for (final ColumnDescriptor column : EntityDescriptor.get(this.clazz).getColumns()) {
+				final Field field = column.field();
 				final String fieldName = field.getName(); // AnnotationTools.getFieldName(field);
-				if (AnnotationTools.isPrimaryKey(field)) {
+				if (column.primaryKey()) {
 					add(fieldName,
 							(
 									final DBAccess ioDb,
@@ -116,7 +119,7 @@ public class CheckJPA<T> implements CheckFunctionInterface {
 								}
 							});
 				}
-				if (AnnotationTools.isCreatedAtField(field) || AnnotationTools.isUpdateAtField(field)) {
+				if (column.creationTimestamp() || column.updateTimestamp()) {
 					add(fieldName,
 							(
 									final DBAccess ioDb,
@@ -0,0 +1,91 @@
+package org.kar.archidata.dataAccess;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Iterator on the result of a request that read the elements by chunk: the lazy requests are done for each chunk instead of at the end of the request.
+ * @param <T> Type of the elements. */
+public class ChunkIterator<T> implements Iterator<T> {
+	final static Logger LOGGER = LoggerFactory.getLogger(ChunkIterator.class);
+
+	/** Read the next element of the request.
+	 * @param <T> Type of the elements. */
+	public interface Reader<T> {
+		/** Read the next element.
+		 * @param lazyCall List where the element add its lazy requests.
+		 * @return The element or null at the end of the request. */
+		T readNext(List<LazyGetter> lazyCall) throws Exception;
+	}
+
+	private final int chunkSize;
+	private final Reader<T> reader;
+	private final Deque<T> chunk = new ArrayDeque<>();
+	private boolean end = false;
+
+	public ChunkIterator(final int chunkSize, final Reader<T> reader) {
+		this.chunkSize = Math.max(1, chunkSize);
+		this.reader = reader;
+	}
+
+	private void readChunk() {
+		final List<LazyGetter> lazyCall = new ArrayList<>();
+		try {
+			while (!this.end && this.chunk.size() < this.chunkSize) {
+				final T elem = this.reader.readNext(lazyCall);
+				if (elem == null) {
+					this.end = true;
+				} else {
+					this.chunk.addLast(elem);
+				}
+			}
+			for (final LazyGetter elem : LazyGetter.group(lazyCall)) {
+				elem.doRequest();
+			}
+		} catch (final Exception ex) {
+			ex.printStackTrace();
+			throw new IllegalStateException("Fail to read the next elements: " + ex.getMessage(), ex);
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (this.chunk.isEmpty() && !this.end) {
+			readChunk();
+		}
+		return !this.chunk.isEmpty();
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return this.chunk.pollFirst();
+	}
+
+	/** Create a stream on the iterator.
+	 * @param onClose Action to release the request when the stream is closed.
+	 * @return A stream that must be closed. */
+	public Stream<T> stream(final AutoCloseable onClose) {
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(() -> {
+					try {
+						onClose.close();
+					} catch (final Exception ex) {
+						LOGGER.error("Fail to close the stream: {}", ex.getMessage());
+					}
+				});
+	}
+}
@@ -5,13 +5,21 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.kar.archidata.annotation.AnnotationTools;
 import org.kar.archidata.annotation.AnnotationTools.FieldName;
+import org.kar.archidata.dataAccess.EntityDescriptor.ColumnDescriptor;
+import org.kar.archidata.dataAccess.options.After;
 import org.kar.archidata.dataAccess.options.Condition;
+import org.kar.archidata.dataAccess.options.CountTotal;
+import org.kar.archidata.dataAccess.options.FetchSize;
 import org.kar.archidata.dataAccess.options.FilterValue;
 import org.kar.archidata.dataAccess.options.Limit;
+import org.kar.archidata.dataAccess.options.Offset;
 import org.kar.archidata.dataAccess.options.OptionSpecifyType;
+import org.kar.archidata.dataAccess.options.OrderBy;
+import org.kar.archidata.dataAccess.options.OrderItem;
 import org.kar.archidata.dataAccess.options.QueryOption;
 import org.kar.archidata.dataAccess.options.TransmitKey;
 import org.kar.archidata.db.DbConfig;
@@ -29,10 +37,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.ws.rs.InternalServerErrorException;
 
-/* TODO list:
-   - Manage to group of SQL action to permit to commit only at the end.
- */
-
 /** Data access is an abstraction class that permit to access on the DB with a function wrapping that permit to minimize the SQL writing of SQL code. This interface support the SQL and SQLite
  * back-end. */
 public abstract class DBAccess implements Closeable {
@@ -67,6 +71,18 @@ public abstract class DBAccess implements Closeable {
 		throw new InternalServerErrorException("unknow DB interface ... ");
 	}
 
+	/** Execute a group of requests in a transaction: commit at the end, rollback if an exception is raised. A transaction inside a transaction is a
+	 * savepoint: its failure rollback only its own requests.
+	 * @param action Requests to execute (must use the access given as parameter). */
+	public void transaction(final TransactionAction action) throws Exception {
+		transaction(false, action);
+	}
+
+	/** Execute a group of requests in a transaction.
+	 * @param readOnly The transaction can not write in the DB (permit some optimization of the DB engine).
+	 * @param action Requests to execute (must use the access given as parameter). */
+	public abstract void transaction(final boolean readOnly, final TransactionAction action) throws Exception;
+
 	public boolean isDBExist(final String name, final QueryOption... option) throws InternalServerErrorException {
 		throw new InternalServerErrorException("Can Not manage the DB-access");
 	}
@@ -120,7 +136,29 @@ public abstract class DBAccess implements Closeable {
 		return new QueryCondition(fieldName.inTable(), "=", idKey);
 	}
 
-	// TODO: manage insert batch...
+	/** Get the condition to select a list of elements by their primary key.
+	 * @param clazz Model of the elements.
+	 * @param ids List of the primary keys.
+	 * @param options Options of the request.
+	 * @return The condition (IN list). */
+	public <ID_TYPE> QueryInList<ID_TYPE> getTableIdInListCondition(
+			final Class<?> clazz,
+			final List<ID_TYPE> ids,
+			final QueryOptions options) throws DataAccessException {
+		final Field idField = AnnotationTools.getIdField(clazz);
+		if (idField == null) {
+			throw new DataAccessException(
+					"The class have no annotation @Id ==> can not determine the default type searching");
+		}
+		final FieldName fieldName = AnnotationTools.getFieldName(idField, options);
+		return new QueryInList<>(fieldName.inTable(), ids);
+	}
+
+	/** Insert a list of objects (generic implementation: one insert for each element, the back-end can do better).
+	 * @param <T> Type of the objects to insert.
+	 * @param data List of the objects to insert.
+	 * @param options Options of the insertion.
+	 * @return The list of the inserted objects. */
 	public <T> List<T> insertMultiple(final List<T> data, final QueryOption... options) throws Exception {
 		final List<T> out = new ArrayList<>();
 		for (final T elem : data) {
@@ -200,6 +238,34 @@ public abstract class DBAccess implements Closeable {
 		return updateWhere(data, options);
 	}
 
+	/** Update a list of objects, each object is identified by its primary key (generic implementation: one update for each element, the back-end
+	 * can do better).
+	 * @param data List of the objects to update.
+	 * @param updateColomn List of the columns to update.
+	 * @param option Options of the update.
+	 * @return the affected rows. */
+	public <T> long updateMultiple(final List<T> data, final List<String> updateColomn, final QueryOption... option)
+			throws Exception {
+		long out = 0;
+		for (final T elem : data) {
+			out += update(elem, getPrimaryKeyValue(elem), updateColomn, option);
+		}
+		return out;
+	}
+
+	/** @return The value of the primary key of an object. */
+	protected Object getPrimaryKeyValue(final Object data) throws Exception {
+		final ColumnDescriptor primaryKey = EntityDescriptor.get(data.getClass()).getPrimaryKey();
+		if (primaryKey == null) {
+			throw new DataAccessException("The class " + data.getClass().getCanonicalName() + " have no @Id field");
+		}
+		final Object id = primaryKey.field().get(data);
+		if (id == null) {
+			throw new DataAccessException("Can not update an element without its @Id");
+		}
+		return id;
+	}
+
 	public <T> long updateWhere(final T data, final QueryOption... option) throws Exception {
 		final QueryOptions options = new QueryOptions(option);
 		return updateWhere(data, options);
@@ -232,29 +298,132 @@ public abstract class DBAccess implements Closeable {
 			return new Condition();
 		}
 		final List<Condition> conditions = options.get(Condition.class);
-		if (conditions.size() == 0) {
+		final List<After> afters = options.get(After.class);
+		if (conditions.size() == 0 && afters.size() == 0) {
 			if (throwIfEmpty) {
 				throw new DataAccessException("request a gets without any condition");
 			} else {
 				return new Condition();
 			}
 		}
-		Condition condition = null;
-		if (conditions.size() == 1) {
-			condition = conditions.get(0);
-		} else {
-			final QueryAnd andCondition = new QueryAnd();
-			for (final Condition cond : conditions) {
+		if (conditions.size() == 1 && afters.size() == 0) {
+			return conditions.get(0);
+		}
+		final QueryAnd andCondition = new QueryAnd();
+		for (final Condition cond : conditions) {
+			if (cond.condition != null) {
 				andCondition.add(cond.condition);
 			}
-			condition = new Condition(andCondition);
 		}
-		return condition;
+		for (final After after : afters) {
+			andCondition.add(after.condition);
+		}
+		if (andCondition.size() == 0) {
+			return new Condition();
+		}
+		return new Condition(andCondition);
 	}
 
 	abstract public <T> List<T> getsWhere(final Class<T> clazz, final QueryOptions options)
 			throws DataAccessException, IOException;
 
+	public <T> Stream<T> streamWhere(final Class<T> clazz, final QueryOption... option) throws Exception {
+		final QueryOptions options = new QueryOptions(option);
+		return streamWhere(clazz, options);
+	}
+
+	/** Get the elements that match the request without reading all of them in memory (use {@link FetchSize} to configure the number of elements read in one time).
+	 * @param <T> Type of the elements.
+	 * @param clazz Class of the elements.
+	 * @param options Options of the request.
+	 * @return A stream on the elements: it must be closed before closing the DB access. */
+	abstract public <T> Stream<T> streamWhere(final Class<T> clazz, final QueryOptions options)
+			throws DataAccessException, IOException;
+
+	public <T> Page<T> getPage(final Class<T> clazz, final QueryOption... option) throws Exception {
+		final QueryOptions options = new QueryOptions(option);
+		return getPage(clazz, options);
+	}
+
+	/** Get a page of elements. The size of the page is the {@link Limit} of the request, the position is set with an {@link Offset} or with an {@link After}
+	 * (keyset pagination, that need an {@link OrderBy}). Add {@link CountTotal} to get the number of elements that match the request.
+	 * @param <T> Type of the elements.
+	 * @param clazz Class of the elements.
+	 * @param options Options of the request.
+	 * @return The page of elements with the position of the next page. */
+	public <T> Page<T> getPage(final Class<T> clazz, final QueryOptions options) throws Exception {
+		final long pageSize = getPageSize(options);
+		final List<T> items = getsWhere(clazz, createPageOptions(options, pageSize));
+		Long total = null;
+		if (options.exist(CountTotal.class)) {
+			total = countWhere(clazz, createCountOptions(options));
+		}
+		return createPage(clazz, items, pageSize, options, total);
+	}
+
+	protected long getPageSize(final QueryOptions options) throws DataAccessException {
+		final List<Limit> limits = options.get(Limit.class);
+		if (limits.size() != 1) {
+			throw new DataAccessException("Request a page without a single 'limit' (the size of the page)");
+		}
+		if (limits.get(0).getValue() <= 0) {
+			throw new DataAccessException("Request a page with a wrong size: " + limits.get(0).getValue());
+		}
+		return limits.get(0).getValue();
+	}
+
+	/** The page request reads one more element to know if a next page exists. */
+	protected QueryOptions createPageOptions(final QueryOptions options, final long pageSize) {
+		final QueryOptions out = new QueryOptions();
+		for (final QueryOption elem : options.getAll()) {
+			if (elem instanceof Limit || elem instanceof CountTotal) {
+				continue;
+			}
+			out.add(elem);
+		}
+		out.add(new Limit(pageSize + 1));
+		return out;
+	}
+
+	/** The total is counted without the position of the page. */
+	protected QueryOptions createCountOptions(final QueryOptions options) {
+		final QueryOptions out = new QueryOptions();
+		for (final QueryOption elem : options.getAll()) {
+			if (elem instanceof Limit || elem instanceof Offset || elem instanceof After || elem instanceof OrderBy
+					|| elem instanceof CountTotal) {
+				continue;
+			}
+			out.add(elem);
+		}
+		return out;
+	}
+
+	protected <T> Page<T> createPage(
+			final Class<T> clazz,
+			final List<T> items,
+			final long pageSize,
+			final QueryOptions options,
+			final Long total) throws Exception {
+		if (items.size() <= pageSize) {
+			return new Page<>(items, null, total);
+		}
+		final List<T> pageItems = new ArrayList<>(items.subList(0, (int) pageSize));
+		// The cursor is the value of the order columns of the last element.
+		final T last = pageItems.get(pageItems.size() - 1);
+		final EntityDescriptor descriptor = EntityDescriptor.get(clazz);
+		final List<Object> next = new ArrayList<>();
+		for (final OrderBy order : options.get(OrderBy.class)) {
+			for (final OrderItem item : order.getChilds()) {
+				final ColumnDescriptor column = descriptor.getColumn(item.value);
+				if (column == null) {
+					throw new DataAccessException("Can not create the page cursor on the column: '" + item.value + "'");
+				}
+				next.add(column.field().get(last));
+			}
+		}
+		return new Page<>(pageItems, next, total);
+	}
+
 	public <ID_TYPE> long count(final Class<?> clazz, final ID_TYPE id, final QueryOption... option) throws Exception {
 		final QueryOptions options = new QueryOptions(option);
 		options.add(new Condition(getTableIdCondition(clazz, id, options)));
@@ -269,9 +438,57 @@ public abstract class DBAccess implements Closeable {
 	public abstract long countWhere(final Class<?> clazz, final QueryOptions options) throws Exception;
 
 	public <T, ID_TYPE> T get(final Class<T> clazz, final ID_TYPE id, final QueryOption... option) throws Exception {
+		// The cache contains only the elements read with the default options.
+		final EntityCache cache = option.length == 0 && canUseEntityCache() ? getEntityCache() : null;
+		long generation = -1;
+		if (cache != null) {
+			final T out = cache.get(clazz, id);
+			if (out != null) {
+				return out;
+			}
+			generation = cache.getGeneration(clazz);
+		}
 		final QueryOptions options = new QueryOptions(option);
 		options.add(new Condition(getTableIdCondition(clazz, id, options)));
-		return getWhere(clazz, options.getAllArray());
+		final T out = getWhere(clazz, options.getAllArray());
+		if (cache != null && out != null) {
+			cache.put(clazz, id, out, generation);
+		}
+		return out;
+	}
+
+	/** @return The cache of the elements of this DB (null if it is disabled). */
+	public abstract EntityCache getEntityCache();
+
+	/** @return false when the cache must not be read or filled (uncommitted data). */
+	protected boolean canUseEntityCache() {
+		return true;
+	}
+
+	/** Remove from the cache the elements modified by a request (the element of the TransmitKey or all the elements of the class). */
+	public void invalidateEntityCache(final Class<?> clazz, final QueryOptions options) {
+		final EntityCache cache = getEntityCache();
+		if (cache == null || !cache.isCached(clazz)) {
+			return;
+		}
+		final List<TransmitKey> keys = options == null ? List.of() : options.get(TransmitKey.class);
+		if (keys.size() == 1) {
+			cache.invalidate(clazz, keys.get(0).getKey());
+		} else {
+			cache.invalidateAll(clazz);
+		}
+	}
+
+	/** Fill the cache of some classes with the content of their tables.
+	 * @param classes Classes to read (only the classes with a cache are read). */
+	public void warmUpEntityCache(final Class<?>... classes) throws Exception {
+		final EntityCache cache = getEntityCache();
+		if (cache == null) {
+			return;
+		}
+		for (final Class<?> clazz : classes) {
+			cache.warmUp(this, clazz);
+		}
 	}
 
 	public <T> List<T> gets(final Class<T> clazz) throws Exception {
@@ -298,6 +515,21 @@ public abstract class DBAccess implements Closeable {
 		}
 	}
 
+	/** Delete a list of items in a single request. If the Entity is manage as a softDeleted model, then they are flag as removed.
+	 * @param clazz Data model that might remove element.
+	 * @param ids List of the primary keys of the elements to remove.
+	 * @param option (Optional) Options of the request.
+	 * @return Number of element that is removed. */
+	public <ID_TYPE> long deleteMultiple(final Class<?> clazz, final List<ID_TYPE> ids, final QueryOption... option)
+			throws Exception {
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		final QueryOptions options = new QueryOptions(option);
+		options.add(new Condition(getTableIdInListCondition(clazz, ids, options)));
+		return deleteWhere(clazz, options.getAllArray());
+	}
+
 	/** Delete items with the specific condition and some options. If the Entity is manage as a softDeleted model, then it is flag as removed (if not already done before).
 	 * @param clazz Data model that might remove element.
 	 * @param condition Condition to remove elements.
@@ -316,6 +548,7 @@ public abstract class DBAccess implements Closeable {
 			throws Exception {
 		final QueryOptions options = new QueryOptions(option);
 		options.add(new Condition(getTableIdCondition(clazz, id, options)));
+		options.add(new TransmitKey(id));
 		return deleteHardWhere(clazz, options.getAllArray());
 	}
 
@@ -325,19 +558,22 @@ public abstract class DBAccess implements Closeable {
 			throws Exception {
 		final QueryOptions options = new QueryOptions(option);
 		options.add(new Condition(getTableIdCondition(clazz, id, options)));
+		options.add(new TransmitKey(id));
 		return deleteSoftWhere(clazz, options.getAllArray());
 	}
 
 	public abstract long deleteSoftWhere(final Class<?> clazz, final QueryOption... option) throws Exception;
 
 	public <ID_TYPE> long unsetDelete(final Class<?> clazz, final ID_TYPE id) throws DataAccessException {
-		return unsetDeleteWhere(clazz, new Condition(getTableIdCondition(clazz, id, new QueryOptions())));
+		return unsetDeleteWhere(clazz, new Condition(getTableIdCondition(clazz, id, new QueryOptions())),
+				new TransmitKey(id));
 	}
 
 	public <ID_TYPE> long unsetDelete(final Class<?> clazz, final ID_TYPE id, final QueryOption... option)
 			throws DataAccessException {
 		final QueryOptions options = new QueryOptions(option);
 		options.add(new Condition(getTableIdCondition(clazz, id, options)));
+		options.add(new TransmitKey(id));
 		return unsetDeleteWhere(clazz, options.getAllArray());
 	}
 
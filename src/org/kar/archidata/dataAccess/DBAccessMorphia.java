@@ -1,7 +1,6 @@
 package org.kar.archidata.dataAccess;
 
 import java.io.IOException;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -13,35 +12,48 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
-import org.bson.types.ObjectId;
 import org.kar.archidata.annotation.AnnotationTools;
-import org.kar.archidata.annotation.CreationTimestamp;
-import org.kar.archidata.annotation.UpdateTimestamp;
+import org.kar.archidata.dataAccess.EntityDescriptor.ColumnDescriptor;
 import org.kar.archidata.dataAccess.addOnMongo.AddOnManyToOne;
 import org.kar.archidata.dataAccess.addOnMongo.AddOnOneToMany;
 import org.kar.archidata.dataAccess.addOnMongo.DataAccessAddOn;
+import org.kar.archidata.dataAccess.options.After;
+import org.kar.archidata.dataAccess.options.BulkOrdered;
 import org.kar.archidata.dataAccess.options.CheckFunction;
 import org.kar.archidata.dataAccess.options.Condition;
+import org.kar.archidata.dataAccess.options.FetchSize;
 import org.kar.archidata.dataAccess.options.FilterValue;
 import org.kar.archidata.dataAccess.options.Limit;
+import org.kar.archidata.dataAccess.options.Offset;
 import org.kar.archidata.dataAccess.options.OrderBy;
 import org.kar.archidata.dataAccess.options.QueryOption;
 import org.kar.archidata.db.DbIoMorphia;
 import org.kar.archidata.exception.DataAccessException;
+import org.kar.archidata.tools.ConfigBaseVariable;
 import org.kar.archidata.tools.UuidUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.InsertManyOptions;
 import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.InsertOneResult;
 import com.mongodb.client.result.UpdateResult;
@@ -90,6 +102,17 @@ public class DBAccessMorphia extends DBAccess {
 		return this.db;
 	}
 
+	@Override
+	public EntityCache getEntityCache() {
+		return EntityCache.get(this.db.getConfig());
+	}
+
+	/** Mongo transactions need a replica-set and a session given to every request: the actions are executed directly (no rollback). */
+	@Override
+	public void transaction(final boolean readOnly, final TransactionAction action) throws Exception {
+		action.run(this);
+	}
+
 	@Override
 	public boolean isDBExist(final String name, final QueryOption... option) throws InternalServerErrorException {
 		// in Mongo DB we do not need to create a DB, then we have no need to check if it exist
@@ -106,6 +129,8 @@ public class DBAccessMorphia extends DBAccess {
 	public boolean deleteDB(final String name) {
 		final MongoDatabase database = this.db.getClient().getDatabase(name);
 		database.drop();
+		// The counters are removed with the DB.
+		this.db.clearIdBlocks(name);
 		return true;
 	}
 
@@ -407,7 +432,7 @@ public class DBAccessMorphia extends DBAccess {
 		return findAddOnforField(field) != null;
 	}
 
-	public DataAccessAddOn findAddOnforField(final Field field) {
+	public static DataAccessAddOn findAddOnforField(final Field field) {
 		for (final DataAccessAddOn elem : addOn) {
 			if (elem.isCompatibleField(field)) {
 				return elem;
@@ -416,10 +441,26 @@ public class DBAccessMorphia extends DBAccess {
 		return null;
 	}
 
+	/** Get a new id for a Long primary key (hi-lo: a block of DB_SEQUENCE_BLOCK_SIZE ids is reserved with a single request).
+	 * @param collectionName Name of the collection.
+	 * @param fieldName Name of the primary key field.
+	 * @return The new unique id. */
 	public long getNextSequenceLongValue(final String collectionName, String fieldName) {
 		if (fieldName == null || fieldName.isEmpty()) {
 			fieldName = "sequence_id";
 		}
+		final long blockSize = ConfigBaseVariable.getDBSequenceBlockSize();
+		if (blockSize <= 1) {
+			return reserveSequenceBlock(collectionName, fieldName, 1);
+		}
+		final String sequenceFieldName = fieldName;
+		return this.db.getNextBlockId(this.db.getDatastore().getDatabase().getName(), collectionName + "/" + fieldName,
+				blockSize, () -> reserveSequenceBlock(collectionName, sequenceFieldName, blockSize));
+	}
+
+	/** Reserve a block of ids in the counters collection.
+	 * @return The last id of the block. */
+	private long reserveSequenceBlock(final String collectionName, final String fieldName, final long size) {
 		// Collection "counters" to store the sequences if Ids
 		final MongoCollection<Document> countersCollection = this.db.getDatastore().getDatabase()
 				.getCollection("counters");
@@ -427,8 +468,8 @@ public class DBAccessMorphia extends DBAccess {
 		// Filter to find the specific counter for the collections
 		final Document filter = new Document("_id", collectionName);
 
-		// Update the field <fieldName> of 1
-		final Document update = new Document("$inc", new Document(fieldName, 1L));
+		// Update the field <fieldName> of the size of the block
+		final Document update = new Document("$inc", new Document(fieldName, size));
 
 		// get the value after updated it
 		final FindOneAndUpdateOptions options = new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER)
@@ -441,116 +482,193 @@ public class DBAccessMorphia extends DBAccess {
 		return updatedCounter.getLong(fieldName);
 	}
 
-	@Override
-	@SuppressWarnings("unchecked")
-	public <T> T insert(final T data, final QueryOption... option) throws Exception {
+	/** Create the document of a new element (the primary key is generated).
+	 * @param data Object to insert.
+	 * @param collectionName Name of the collection.
+	 * @param options Options of the insertion.
+	 * @return The document to insert. */
+	private Document createInsertDocument(final Object data, final String collectionName, final QueryOptions options)
+			throws Exception {
 		final Class<?> clazz = data.getClass();
-		final QueryOptions options = new QueryOptions(option);
-
 		// External checker of data:
 		final List<CheckFunction> checks = options.get(CheckFunction.class);
 		for (final CheckFunction check : checks) {
 			check.getChecker().check(this, "", data, AnnotationTools.getFieldsNames(clazz), options);
 		}
-
-		final List<Field> asyncFieldUpdate = new ArrayList<>();
-		final String collectionName = AnnotationTools.getCollectionName(clazz, options);
-		Field primaryKeyField = null;
-		Object uniqueId = null;
-		// real add in the BDD:
-		ObjectId insertedId = null;
-		try {
-			final MongoCollection<Document> collection = this.db.getDatastore().getDatabase()
-					.getCollection(collectionName);
-			final Document doc = new Document();
-			for (final Field field : clazz.getFields()) {
-				// static field is only for internal global declaration ==> remove it ..
-				if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-					continue;
-				}
-				final String tableFieldName = AnnotationTools.getFieldName(field, options).inTable();
-				Object currentInsertValue = field.get(data);
-				if (AnnotationTools.isPrimaryKey(field)) {
-					primaryKeyField = field;
-					if (primaryKeyField.getType() == UUID.class) {
-						final UUID uuid = UuidUtils.nextUUID();
-						uniqueId = uuid;
-						doc.append(tableFieldName, uuid);
-						continue;
-					} else if (primaryKeyField.getType() == Long.class || primaryKeyField.getType() == long.class) {
-						// By default the MongoDB does not manage the
-						final long id = getNextSequenceLongValue(collectionName, tableFieldName);
-						uniqueId = id;
-						doc.append(tableFieldName, id);
-						continue;
-					}
+		final Document doc = new Document();
+		for (final ColumnDescriptor column : EntityDescriptor.get(clazz).getColumns()) {
+			final Field field = column.field();
+			final String tableFieldName = column.getFieldName(options).inTable();
+			Object currentInsertValue = field.get(data);
+			if (column.primaryKey()) {
+				if (field.getType() == UUID.class) {
+					doc.append(tableFieldName, UuidUtils.nextUUID());
+				} else if (field.getType() == Long.class || field.getType() == long.class) {
+					// By default the MongoDB does not manage the
+					doc.append(tableFieldName, getNextSequenceLongValue(collectionName, tableFieldName));
+				} else {
 					LOGGER.error("TODO: Manage the ID primary key for type: ");
-					continue;
 				}
-				final DataAccessAddOn addOn = findAddOnforField(field);
-				if (addOn != null && !addOn.canInsert(field)) {
-					if (addOn.isInsertAsync(field)) {
-						LOGGER.error("TODO: add async objects ...");
-						//asyncFieldUpdate.add(field);
-					}
-					continue;
-				}
-				final boolean createTime = field.getDeclaredAnnotationsByType(CreationTimestamp.class).length != 0;
-				if (createTime) {
-					doc.append(tableFieldName, Date.from(Instant.now()));
-					continue;
+				continue;
+			}
+			final DataAccessAddOn addOn = column.mongoAddOn();
+			if (addOn != null && !addOn.canInsert(field)) {
+				if (addOn.isInsertAsync(field)) {
+					LOGGER.error("TODO: add async objects ...");
 				}
-				final boolean updateTime = field.getDeclaredAnnotationsByType(UpdateTimestamp.class).length != 0;
-				if (updateTime) {
-					doc.append(tableFieldName, Date.from(Instant.now()));
+				continue;
+			}
+			if (column.creationTimestamp()) {
+				doc.append(tableFieldName, Date.from(Instant.now()));
+				continue;
+			}
+			if (column.updateTimestamp()) {
+				doc.append(tableFieldName, Date.from(Instant.now()));
+				continue;
+			}
+			if (currentInsertValue == null && !field.getClass().isPrimitive()) {
+				final DefaultValue[] defaultValue = field.getDeclaredAnnotationsByType(DefaultValue.class);
+				LOGGER.error("TODO: convert default value in the correct value for the DB...");
+				if (defaultValue.length == 0) {
 					continue;
-				}
-				if (currentInsertValue == null && !field.getClass().isPrimitive()) {
-					final DefaultValue[] defaultValue = field.getDeclaredAnnotationsByType(DefaultValue.class);
-					LOGGER.error("TODO: convert default value in the correct value for the DB...");
-					if (defaultValue.length == 0) {
+				} else {
+					final String value = defaultValue[0].value();
+					if (value == null) {
 						continue;
-					} else {
-						final String value = defaultValue[0].value();
-						if (value == null) {
-							continue;
-						}
-						currentInsertValue = convertDefaultField(value, field);
 					}
+					currentInsertValue = convertDefaultField(value, field);
 				}
-				doc.append(tableFieldName, currentInsertValue);
 			}
-			final InsertOneResult result = collection.insertOne(doc);
-			// Get the Object of inserted object:
-			insertedId = result.getInsertedId().asObjectId().getValue();
-			LOGGER.info("Document inserted with ID: " + insertedId);
-
-			// Rechercher et récupérer le document inséré à partir de son ObjectId
-			final Document insertedDocument = collection.find(new Document("_id", insertedId)).first();
+			doc.append(tableFieldName, currentInsertValue);
+		}
+		return doc;
+	}
 
-			// Afficher le document récupéré
-			LOGGER.trace("Inserted document: " + insertedDocument);
+	/** Create the object of an inserted document: the document is encoded and decoded by the codecs of the collection (the values have the same
+	 * types as when they are read from the DB) without a new request. */
+	private Object createInsertedObject(
+			final MongoCollection<Document> collection,
+			final Document doc,
+			final Class<?> clazz,
+			final QueryOptions options) throws Exception {
+		final CodecRegistry registry = collection.getCodecRegistry();
+		final BsonDocument bson = doc.toBsonDocument(BsonDocument.class, registry);
+		final List<LazyGetter> lazyCall = new ArrayList<>();
+		final Object out = EntityCodec.get(clazz, options).decode(new BsonDocumentReader(bson),
+				new EntityCodec.Context(this, registry), options, lazyCall);
+		for (final LazyGetter elem : LazyGetter.group(lazyCall)) {
+			elem.doRequest();
+		}
+		return out;
+	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T insert(final T data, final QueryOption... option) throws Exception {
+		final Class<?> clazz = data.getClass();
+		final QueryOptions options = new QueryOptions(option);
+		final String collectionName = AnnotationTools.getCollectionName(clazz, options);
+		final MongoCollection<Document> collection = this.db.getDatastore().getDatabase().getCollection(collectionName);
+		final Document doc;
+		try {
+			doc = createInsertDocument(data, collectionName, options);
+			final InsertOneResult result = collection.insertOne(doc);
+			LOGGER.trace("Document inserted with ID: {}", result.getInsertedId());
 		} catch (final Exception ex) {
 			LOGGER.error("Fail SQL request: {}", ex.getMessage());
 			ex.printStackTrace();
 			throw new DataAccessException("Fail to Insert data in DB : " + ex.getMessage());
 		}
-		final List<LazyGetter> asyncActions = new ArrayList<>();
-		for (final Field field : asyncFieldUpdate) {
-			final DataAccessAddOn addOn = findAddOnforField(field);
-			if (uniqueId instanceof final Long id) {
-				LOGGER.error("TODO: Add on not managed .1. ");
-				//addOn.asyncInsert(tableName, id, field, field.get(data), asyncActions);
-			} else if (uniqueId instanceof final UUID uuid) {
-				LOGGER.error("TODO: Add on not managed .2. ");
-				//addOn.asyncInsert(tableName, uuid, field, field.get(data), asyncActions);
+		return (T) createInsertedObject(collection, doc, clazz, options);
+	}
+
+	/** Insert a list of objects with a single insertMany (ordered or not with the option BulkOrdered). */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> List<T> insertMultiple(final List<T> data, final QueryOption... option) throws Exception {
+		if (data.isEmpty()) {
+			return new ArrayList<>();
+		}
+		final Class<?> clazz = data.get(0).getClass();
+		final QueryOptions options = new QueryOptions(option);
+		final String collectionName = AnnotationTools.getCollectionName(clazz, options);
+		final MongoCollection<Document> collection = this.db.getDatastore().getDatabase().getCollection(collectionName);
+		final List<Document> docs = new ArrayList<>(data.size());
+		try {
+			for (final T elem : data) {
+				if (elem.getClass() != clazz) {
+					throw new DataAccessException("insertMultiple with different classes: " + clazz.getCanonicalName()
+							+ " and " + elem.getClass().getCanonicalName());
+				}
+				docs.add(createInsertDocument(elem, collectionName, options));
+			}
+			collection.insertMany(docs, new InsertManyOptions().ordered(BulkOrdered.isOrdered(options)));
+		} catch (final Exception ex) {
+			LOGGER.error("Fail SQL request: {}", ex.getMessage());
+			throw new DataAccessException("Fail to Insert data in DB : " + ex.getMessage());
+		}
+		final List<T> out = new ArrayList<>(docs.size());
+		for (final Document doc : docs) {
+			out.add((T) createInsertedObject(collection, doc, clazz, options));
+		}
+		return out;
+	}
+
+	/** Create the $set/$unset actions of an update.
+	 * @param data Object with the new values.
+	 * @param filterKey Fields to update.
+	 * @param options Options of the update.
+	 * @return The actions (empty document if nothing to update). */
+	private Document createUpdateActions(final Object data, final FilterValue filterKey, final QueryOptions options)
+			throws Exception {
+		final Document docSet = new Document();
+		final Document docUnSet = new Document();
+		for (final ColumnDescriptor column : EntityDescriptor.get(data.getClass()).getColumns()) {
+			final Field field = column.field();
+			final String fieldName = column.getFieldName(options).inTable();
+			// update field is not conditioned by filter:
+			if (column.updateTimestamp()) {
+				docSet.append(fieldName, Date.from(Instant.now()));
+				continue;
+			}
+			if (!filterKey.getValues().contains(fieldName)) {
+				continue;
+			} else if (column.isGeneric()) {
+				continue;
+			}
+			final DataAccessAddOn addOn = column.mongoAddOn();
+			if (addOn != null && !addOn.canInsert(field)) {
+				if (addOn.isInsertAsync(field)) {
+					LOGGER.error("TODO: Add on not managed .3. ");
+					/*
+					final List<TransmitKey> transmitKey = options.get(TransmitKey.class);
+					if (transmitKey.size() != 1) {
+						throw new DataAccessException(
+								"Fail to transmit Key to update the async update... (must have only 1)");
+					}
+					addOn.asyncUpdate(tableName, transmitKey.get(0).getKey(), field, field.get(data), asyncActions);
+					*/
+				}
+				continue;
 			}
+			if (addOn != null) {
+				addOn.insertData(this, field, data, options, docSet, docUnSet);
+			} else {
+				final Class<?> type = field.getType();
+				if (column.defaultValue() && !type.isPrimitive() && field.get(data) == null) {
+					continue;
+				}
+				setValuedb(type, data, field, fieldName, docSet, docUnSet);
+			}
+		}
+		final Document actions = new Document();
+		if (!docSet.isEmpty()) {
+			actions.append("$set", docSet);
 		}
-		for (final LazyGetter action : asyncActions) {
-			action.doRequest();
+		if (!docUnSet.isEmpty()) {
+			actions.append("$unset", docUnSet);
 		}
-		return (T) getWhere(clazz, new Condition(new QueryCondition("_id", "=", insertedId)));
+		return actions;
 	}
 
 	@Override
@@ -559,7 +677,7 @@ public class DBAccessMorphia extends DBAccess {
 		if (options == null) {
 			options = new QueryOptions();
 		}
-		final Condition condition = conditionFusionOrEmpty(options, true);
+		final Condition condition = conditionFusionOrEmpty(clazz, options, true);
 		final List<FilterValue> filterKeys = options != null ? options.get(FilterValue.class) : new ArrayList<>();
 		if (filterKeys.size() != 1) {
 			throw new DataAccessException("request a gets without/or with more 1 filter of values");
@@ -572,195 +690,191 @@ public class DBAccessMorphia extends DBAccess {
 				check.getChecker().check(this, "", data, filterKey.getValues(), options);
 			}
 		}
-		final List<LazyGetter> asyncActions = new ArrayList<>();
-
 		// real add in the BDD:
 		try {
 			final String collectionName = AnnotationTools.getCollectionName(clazz, options);
-
 			final String deletedFieldName = AnnotationTools.getDeletedFieldName(clazz);
 			final Bson filters = condition.getFilter(collectionName, options, deletedFieldName);
-			final Document docSet = new Document();
-			final Document docUnSet = new Document();
-			for (final Field field : clazz.getFields()) {
-				// static field is only for internal global declaration ==> remove it ..
-				if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-					continue;
-				}
-				final String fieldName = AnnotationTools.getFieldName(field, options).inTable();
-				// update field is not conditioned by filter:
-				final boolean updateTime = field.getDeclaredAnnotationsByType(UpdateTimestamp.class).length != 0;
-				if (updateTime) {
-					docSet.append(fieldName, Date.from(Instant.now()));
-					continue;
-				}
-				if (!filterKey.getValues().contains(fieldName)) {
-					continue;
-				} else if (AnnotationTools.isGenericField(field)) {
-					continue;
-				}
-				final DataAccessAddOn addOn = findAddOnforField(field);
-				if (addOn != null && !addOn.canInsert(field)) {
-					if (addOn.isInsertAsync(field)) {
-						LOGGER.error("TODO: Add on not managed .3. ");
-						/*
-						final List<TransmitKey> transmitKey = options.get(TransmitKey.class);
-						if (transmitKey.size() != 1) {
-							throw new DataAccessException(
-									"Fail to transmit Key to update the async update... (must have only 1)");
-						}
-						addOn.asyncUpdate(tableName, transmitKey.get(0).getKey(), field, field.get(data), asyncActions);
-						*/
-					}
-					continue;
-				}
-				if (addOn != null) {
-					addOn.insertData(this, field, data, options, docSet, docUnSet);
-				} else {
-					final Class<?> type = field.getType();
-					if (!type.isPrimitive()) {
-						final Object tmp = field.get(data);
-						if (tmp == null && field.getDeclaredAnnotationsByType(DefaultValue.class).length != 0) {
-							continue;
-						}
-					}
-					setValuedb(type, data, field, fieldName, docSet, docUnSet);
-				}
-
-			}
+			final Document actions = createUpdateActions(data, filterKey, options);
 			// Do the query ...
-
 			final MongoCollection<Document> collection = this.db.getDatastore().getDatabase()
 					.getCollection(collectionName);
-			final Document actions = new Document();
-			if (!docSet.isEmpty()) {
-				actions.append("$set", docSet);
-			}
-			if (!docUnSet.isEmpty()) {
-				actions.append("$unset", docUnSet);
-			}
-			LOGGER.info("updateWhere with value: {}", actions.toJson());
+			LOGGER.trace("updateWhere with value: {}", actions.toJson());
 			final UpdateResult ret = collection.updateMany(filters, actions);
+			// Invalidated after the request (the concurrent reads are dropped by the EntityCache).
+			invalidateEntityCache(clazz, options);
 			return ret.getModifiedCount();
 		} catch (final Exception ex) {
 			ex.printStackTrace();
 		}
-		for (final LazyGetter action : asyncActions) {
-			action.doRequest();
-		}
 		return 0;
 	}
 
+	/** Update a list of objects with a single bulkWrite (ordered or not with the option BulkOrdered). */
+	@Override
+	public <T> long updateMultiple(final List<T> data, final List<String> updateColomn, final QueryOption... option)
+			throws Exception {
+		if (data.isEmpty()) {
+			return 0;
+		}
+		final Class<?> clazz = data.get(0).getClass();
+		final QueryOptions options = new QueryOptions(option);
+		final FilterValue filterKey = new FilterValue(updateColomn);
+		final String collectionName = AnnotationTools.getCollectionName(clazz, options);
+		final String deletedFieldName = AnnotationTools.getDeletedFieldName(clazz);
+		final List<UpdateOneModel<Document>> requests = new ArrayList<>(data.size());
+		for (final T elem : data) {
+			if (elem.getClass() != clazz) {
+				throw new DataAccessException("updateMultiple with different classes: " + clazz.getCanonicalName()
+						+ " and " + elem.getClass().getCanonicalName());
+			}
+			final List<CheckFunction> checks = options.get(CheckFunction.class);
+			for (final CheckFunction check : checks) {
+				check.getChecker().check(this, "", elem, filterKey.getValues(), options);
+			}
+			final Condition condition = new Condition(getTableIdCondition(clazz, getPrimaryKeyValue(elem), options));
+			final Document actions = createUpdateActions(elem, filterKey, options);
+			if (actions.isEmpty()) {
+				continue;
+			}
+			requests.add(new UpdateOneModel<>(condition.getFilter(collectionName, options, deletedFieldName), actions));
+		}
+		if (requests.isEmpty()) {
+			return 0;
+		}
+		final MongoCollection<Document> collection = this.db.getDatastore().getDatabase().getCollection(collectionName);
+		final BulkWriteResult ret = collection.bulkWrite(requests,
+				new BulkWriteOptions().ordered(BulkOrdered.isOrdered(options)));
+		invalidateEntityCache(clazz, options);
+		return ret.getModifiedCount();
+	}
+
 	public List<String> generateSelectField(final Class<?> clazz, final QueryOptions options) throws Exception {
 		// TODO: list of user select fields.
 		final boolean readAllfields = QueryOptions.readAllColomn(options);
 		final List<String> fieldsName = new ArrayList<>();
 
-		for (final Field elem : clazz.getFields()) {
-			// static field is only for internal global declaration ==> remove it ..
-			if (java.lang.reflect.Modifier.isStatic(elem.getModifiers())) {
-				continue;
-			}
-			final DataAccessAddOn addOn = findAddOnforField(elem);
+		for (final ColumnDescriptor column : EntityDescriptor.get(clazz).getColumns()) {
+			final Field elem = column.field();
+			final DataAccessAddOn addOn = column.mongoAddOn();
 			if (addOn != null && !addOn.canRetrieve(elem)) {
 				continue;
 			}
-			final boolean notRead = AnnotationTools.isDefaultNotRead(elem);
-			if (!readAllfields && notRead) {
+			if (!readAllfields && column.defaultNotRead()) {
 				continue;
 			}
-			final String name = AnnotationTools.getFieldName(elem, options).inTable();
+			final String name = column.getFieldName(options).inTable();
 			fieldsName.add(name);
 		}
 		return fieldsName;
 	}
 
-	@Override
-	public Condition conditionFusionOrEmpty(final QueryOptions options, final boolean throwIfEmpty)
-			throws DataAccessException {
-		if (options == null) {
-			return new Condition();
+	/** Merge the conditions and the keyset positions of a request, the columns of the positions are resolved with the names in the collection. */
+	private Condition conditionFusionOrEmpty(
+			final Class<?> clazz,
+			final QueryOptions options,
+			final boolean throwIfEmpty) throws DataAccessException {
+		if (options == null || options.get(After.class).size() == 0) {
+			return conditionFusionOrEmpty(options, throwIfEmpty);
 		}
-		final List<Condition> conditions = options.get(Condition.class);
-		if (conditions.size() == 0) {
-			if (throwIfEmpty) {
-				throw new DataAccessException("request a gets without any condition");
-			} else {
-				return new Condition();
+		final QueryAnd andCondition = new QueryAnd();
+		for (final Condition cond : options.get(Condition.class)) {
+			if (cond.condition != null) {
+				andCondition.add(cond.condition);
 			}
 		}
-		Condition condition = null;
-		if (conditions.size() == 1) {
-			condition = conditions.get(0);
+		for (final After after : options.get(After.class)) {
+			andCondition.add(after.condition.inCollection(clazz, options));
+		}
+		return new Condition(andCondition);
+	}
+
+	/** Generate the find request of a getsWhere. */
+	private FindIterable<RawBsonDocument> generateFind(
+			final MongoCollection<RawBsonDocument> collection,
+			final Class<?> clazz,
+			final QueryOptions options) throws Exception {
+		final Condition condition = conditionFusionOrEmpty(clazz, options, false);
+		final String deletedFieldName = AnnotationTools.getDeletedFieldName(clazz);
+		final String collectionName = collection.getNamespace().getCollectionName();
+		// Generate the filtering of the data:
+		final Bson filters = condition.getFilter(collectionName, options, deletedFieldName);
+		FindIterable<RawBsonDocument> retFind = null;
+		if (filters != null) {
+			//LOGGER.info("getsWhere Find filter: {}", filters.toBsonDocument().toJson());
+			retFind = collection.find(filters);
 		} else {
-			final QueryAnd andCondition = new QueryAnd();
-			for (final Condition cond : conditions) {
-				andCondition.add(cond.condition);
+			retFind = collection.find();
+		}
+		/* Not manage right now ...
+		final List<GroupBy> groups = options.get(GroupBy.class);
+		for (final GroupBy group : groups) {
+			group.generateQuery(query, tableName);
+		}
+		*/
+		final List<OrderBy> orders = options.get(OrderBy.class);
+		if (orders.size() != 0) {
+			final Document sorts = new Document();
+			for (final OrderBy order : orders) {
+				order.generateSort(sorts);
 			}
-			condition = new Condition(andCondition);
+			retFind = retFind.sort(sorts);
+		}
+
+		final List<Limit> limits = options.get(Limit.class);
+		if (limits.size() == 1) {
+			retFind = retFind.limit((int) limits.get(0).getValue());
+		} else if (limits.size() > 1) {
+			throw new DataAccessException("Request with multiple 'limit'...");
+		}
+		final List<Offset> offsets = options.get(Offset.class);
+		if (offsets.size() == 1) {
+			retFind = retFind.skip((int) offsets.get(0).getValue());
+		} else if (offsets.size() > 1) {
+			throw new DataAccessException("Request with multiple 'offset'...");
+		}
+		// Select values to read
+		final List<String> listFields = generateSelectField(clazz, options);
+		listFields.add("_id");
+		return retFind.projection(Projections.include(listFields.toArray(new String[0])));
+	}
+
+	/** Get the collection of a class, the documents are read as raw BSON (decoded by the EntityCodec). */
+	private MongoCollection<RawBsonDocument> getRawCollection(final Class<?> clazz, final QueryOptions options)
+			throws Exception {
+		final String collectionName = AnnotationTools.getCollectionName(clazz, options);
+		return this.db.getDatastore().getDatabase().getCollection(collectionName, RawBsonDocument.class);
+	}
+
+	private Object decodeDocument(
+			final EntityCodec codec,
+			final EntityCodec.Context context,
+			final RawBsonDocument doc,
+			final QueryOptions options,
+			final List<LazyGetter> lazyCall) throws Exception {
+		try (BsonBinaryReader reader = new BsonBinaryReader(doc.getByteBuffer().asNIO())) {
+			return codec.decode(reader, context, options, lazyCall);
 		}
-		return condition;
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T> List<T> getsWhere(final Class<T> clazz, final QueryOptions options)
 			throws DataAccessException, IOException {
-
-		final Condition condition = conditionFusionOrEmpty(options, false);
 		final List<LazyGetter> lazyCall = new ArrayList<>();
-		final String deletedFieldName = AnnotationTools.getDeletedFieldName(clazz);
-		final String collectionName = AnnotationTools.getCollectionName(clazz, options);
 		final List<T> outs = new ArrayList<>();
-		final MongoCollection<Document> collection = this.db.getDatastore().getDatabase().getCollection(collectionName);
 		try {
-			// Generate the filtering of the data:
-			final Bson filters = condition.getFilter(collectionName, options, deletedFieldName);
-			FindIterable<Document> retFind = null;
-			if (filters != null) {
-				//LOGGER.info("getsWhere Find filter: {}", filters.toBsonDocument().toJson());
-				retFind = collection.find(filters);
-			} else {
-				retFind = collection.find();
-			}
-			/* Not manage right now ...
-			final List<GroupBy> groups = options.get(GroupBy.class);
-			for (final GroupBy group : groups) {
-				group.generateQuery(query, tableName);
-			}
-			*/
-			final List<OrderBy> orders = options.get(OrderBy.class);
-			if (orders.size() != 0) {
-				final Document sorts = new Document();
-				for (final OrderBy order : orders) {
-					order.generateSort(sorts);
-				}
-				retFind = retFind.sort(sorts);
-			}
-
-			final List<Limit> limits = options.get(Limit.class);
-			if (limits.size() == 1) {
-				retFind = retFind.limit((int) limits.get(0).getValue());
-			} else if (limits.size() > 1) {
-				throw new DataAccessException("Request with multiple 'limit'...");
-			}
-			// Select values to read
-			final List<String> listFields = generateSelectField(clazz, options);
-			listFields.add("_id");
-			retFind = retFind.projection(Projections.include(listFields.toArray(new String[0])));
-
-			LOGGER.info("GetsWhere ...");
-			final MongoCursor<Document> cursor = retFind.iterator();
+			final MongoCollection<RawBsonDocument> collection = getRawCollection(clazz, options);
+			final EntityCodec codec = EntityCodec.get(clazz, options);
+			final EntityCodec.Context context = new EntityCodec.Context(this, collection.getCodecRegistry());
+			final MongoCursor<RawBsonDocument> cursor = generateFind(collection, clazz, options).iterator();
 			try (cursor) {
 				while (cursor.hasNext()) {
-					final Document doc = cursor.next();
-					LOGGER.info("    - getWhere value: {}", doc.toJson());
-					final Object data = createObjectFromDocument(doc, clazz, options, lazyCall);
-					final T out = (T) data;
-					outs.add(out);
+					outs.add((T) decodeDocument(codec, context, cursor.next(), options, lazyCall));
 				}
-				LOGGER.info("Async calls: {}", lazyCall.size());
-				for (final LazyGetter elem : lazyCall) {
+				LOGGER.trace("Async calls: {}", lazyCall.size());
+				// The relations of all the documents are retrieved together (one request by relation).
+				for (final LazyGetter elem : LazyGetter.group(lazyCall)) {
 					elem.doRequest();
 				}
 			}
@@ -771,6 +885,31 @@ public class DBAccessMorphia extends DBAccess {
 		return outs;
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> Stream<T> streamWhere(final Class<T> clazz, final QueryOptions options)
+			throws DataAccessException, IOException {
+		final List<FetchSize> fetchSizes = options.get(FetchSize.class);
+		final int fetchSize = fetchSizes.size() == 0 ? FetchSize.DEFAULT_FETCH_SIZE : fetchSizes.get(0).getValue();
+		try {
+			final MongoCollection<RawBsonDocument> collection = getRawCollection(clazz, options);
+			final EntityCodec codec = EntityCodec.get(clazz, options);
+			final EntityCodec.Context context = new EntityCodec.Context(this, collection.getCodecRegistry());
+			final MongoCursor<RawBsonDocument> cursor = generateFind(collection, clazz, options).batchSize(fetchSize)
+					.iterator();
+			final ChunkIterator<T> iterator = new ChunkIterator<>(fetchSize, lazyCall -> {
+				if (!cursor.hasNext()) {
+					return null;
+				}
+				return (T) decodeDocument(codec, context, cursor.next(), options, lazyCall);
+			});
+			return iterator.stream(cursor::close);
+		} catch (final Exception ex) {
+			ex.printStackTrace();
+			throw new DataAccessException("Catch an Exception: " + ex.getMessage());
+		}
+	}
+
 	public Object createObjectFromDocument(
 			final Document doc,
 			final Class<?> clazz,
@@ -778,28 +917,14 @@ public class DBAccessMorphia extends DBAccess {
 			final List<LazyGetter> lazyCall) throws Exception {
 		final boolean readAllfields = QueryOptions.readAllColomn(options);
 		// TODO: manage class that is defined inside a class ==> Not manage for now...
-		Object data = null;
-		for (final Constructor<?> contructor : clazz.getConstructors()) {
-			if (contructor.getParameterCount() == 0) {
-				data = contructor.newInstance();
-				break;
-			}
-		}
-		if (data == null) {
-			throw new DataAccessException(
-					"Can not find the default constructor for the class: " + clazz.getCanonicalName());
-		}
-		for (final Field elem : clazz.getFields()) {
-			// static field is only for internal global declaration ==> remove it ..
-			if (java.lang.reflect.Modifier.isStatic(elem.getModifiers())) {
-				continue;
-			}
-			final DataAccessAddOn addOn = findAddOnforField(elem);
+		final Object data = EntityDescriptor.get(clazz).newInstance();
+		for (final ColumnDescriptor column : EntityDescriptor.get(clazz).getColumns()) {
+			final Field elem = column.field();
+			final DataAccessAddOn addOn = column.mongoAddOn();
 			if (addOn != null && !addOn.canRetrieve(elem)) {
 				continue;
 			}
-			final boolean notRead = AnnotationTools.isDefaultNotRead(elem);
-			if (!readAllfields && notRead) {
+			if (!readAllfields && column.defaultNotRead()) {
 				continue;
 			}
 			if (addOn != null) {
@@ -827,7 +952,7 @@ public class DBAccessMorphia extends DBAccess {
 
 	@Override
 	public long countWhere(final Class<?> clazz, final QueryOptions options) throws Exception {
-		final Condition condition = conditionFusionOrEmpty(options, false);
+		final Condition condition = conditionFusionOrEmpty(clazz, options, false);
 		final String deletedFieldName = AnnotationTools.getDeletedFieldName(clazz);
 		final String collectionName = AnnotationTools.getCollectionName(clazz, options);
 		final MongoCollection<Document> collection = this.db.getDatastore().getDatabase().getCollection(collectionName);
@@ -844,13 +969,6 @@ public class DBAccessMorphia extends DBAccess {
 		}
 	}
 
-	@Override
-	public <T, ID_TYPE> T get(final Class<T> clazz, final ID_TYPE id, final QueryOption... option) throws Exception {
-		final QueryOptions options = new QueryOptions(option);
-		options.add(new Condition(getTableIdCondition(clazz, id, options)));
-		return this.getWhere(clazz, options.getAllArray());
-	}
-
 	@Override
 	public <ID_TYPE> long deleteHard(final Class<?> clazz, final ID_TYPE id, final QueryOption... option)
 			throws Exception {
@@ -862,7 +980,7 @@ public class DBAccessMorphia extends DBAccess {
 	@Override
 	public long deleteHardWhere(final Class<?> clazz, final QueryOption... option) throws Exception {
 		final QueryOptions options = new QueryOptions(option);
-		final Condition condition = conditionFusionOrEmpty(options, true);
+		final Condition condition = conditionFusionOrEmpty(clazz, options, true);
 		final String collectionName = AnnotationTools.getCollectionName(clazz, options);
 		final String deletedFieldName = AnnotationTools.getDeletedFieldName(clazz);
 		final MongoCollection<Document> collection = this.db.getDatastore().getDatabase().getCollection(collectionName);
@@ -873,6 +991,7 @@ public class DBAccessMorphia extends DBAccess {
 		} else {
 			throw new DataAccessException("Too dangerout to delete element with no filter values !!!");
 		}
+		invalidateEntityCache(clazz, options);
 		return retFind.getDeletedCount();
 	}
 
@@ -887,14 +1006,15 @@ public class DBAccessMorphia extends DBAccess {
 	@Override
 	public long deleteSoftWhere(final Class<?> clazz, final QueryOption... option) throws Exception {
 		final QueryOptions options = new QueryOptions(option);
-		final Condition condition = conditionFusionOrEmpty(options, true);
+		final Condition condition = conditionFusionOrEmpty(clazz, options, true);
 		final String collectionName = AnnotationTools.getCollectionName(clazz, options);
 		final String deletedFieldName = AnnotationTools.getDeletedFieldName(clazz);
 		final MongoCollection<Document> collection = this.db.getDatastore().getDatabase().getCollection(collectionName);
 		final Bson filters = condition.getFilter(collectionName, options, deletedFieldName);
 		final Document actions = new Document("$set", new Document(deletedFieldName, true));
-		LOGGER.info("update some values: {}", actions.toJson());
+		LOGGER.trace("update some values: {}", actions.toJson());
 		final UpdateResult ret = collection.updateMany(filters, actions);
+		invalidateEntityCache(clazz, options);
 		return ret.getModifiedCount();
 	}
 
@@ -914,7 +1034,7 @@ public class DBAccessMorphia extends DBAccess {
 	@Override
 	public long unsetDeleteWhere(final Class<?> clazz, final QueryOption... option) throws DataAccessException {
 		final QueryOptions options = new QueryOptions(option);
-		final Condition condition = conditionFusionOrEmpty(options, true);
+		final Condition condition = conditionFusionOrEmpty(clazz, options, true);
 		final String collectionName = AnnotationTools.getCollectionName(clazz, options);
 		final String deletedFieldName = AnnotationTools.getDeletedFieldName(clazz);
 		if (deletedFieldName == null) {
@@ -923,8 +1043,9 @@ public class DBAccessMorphia extends DBAccess {
 		final MongoCollection<Document> collection = this.db.getDatastore().getDatabase().getCollection(collectionName);
 		final Bson filters = condition.getFilter(collectionName, options, deletedFieldName);
 		final Document actions = new Document("$set", new Document(deletedFieldName, false));
-		LOGGER.info("update some values: {}", actions.toJson());
+		LOGGER.trace("update some values: {}", actions.toJson());
 		final UpdateResult ret = collection.updateMany(filters, actions);
+		invalidateEntityCache(clazz, options);
 		return ret.getModifiedCount();
 	}
 
@@ -934,6 +1055,7 @@ public class DBAccessMorphia extends DBAccess {
 		final String collectionName = AnnotationTools.getCollectionName(clazz, options);
 		final MongoCollection<Document> collection = this.db.getDatastore().getDatabase().getCollection(collectionName);
 		collection.drop();
+		invalidateEntityCache(clazz, options);
 	}
 
 	@Override
@@ -942,6 +1064,7 @@ public class DBAccessMorphia extends DBAccess {
 		final String collectionName = AnnotationTools.getCollectionName(clazz, options);
 		final MongoCollection<Document> collection = this.db.getDatastore().getDatabase().getCollection(collectionName);
 		collection.deleteMany(new Document());
+		invalidateEntityCache(clazz, options);
 	}
 
 }
@@ -1,61 +1,62 @@
 package org.kar.archidata.dataAccess;
 
 import java.io.IOException;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
-import java.sql.Timestamp;
-import java.sql.Types;
-import java.time.Instant;
-import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import org.bson.types.ObjectId;
 import org.kar.archidata.annotation.AnnotationTools;
 import org.kar.archidata.annotation.AnnotationTools.FieldName;
-import org.kar.archidata.annotation.CreationTimestamp;
-import org.kar.archidata.annotation.UpdateTimestamp;
+import org.kar.archidata.dataAccess.EntityDescriptor.ColumnDescriptor;
 import org.kar.archidata.dataAccess.addOnSQL.AddOnDataJson;
 import org.kar.archidata.dataAccess.addOnSQL.AddOnManyToMany;
 import org.kar.archidata.dataAccess.addOnSQL.AddOnManyToOne;
 import org.kar.archidata.dataAccess.addOnSQL.AddOnOneToMany;
 import org.kar.archidata.dataAccess.addOnSQL.DataAccessAddOn;
+import org.kar.archidata.dataAccess.options.After;
 import org.kar.archidata.dataAccess.options.CheckFunction;
 import org.kar.archidata.dataAccess.options.Condition;
+import org.kar.archidata.dataAccess.options.CountTotal;
 import org.kar.archidata.dataAccess.options.DBInterfaceRoot;
+import org.kar.archidata.dataAccess.options.FetchSize;
 import org.kar.archidata.dataAccess.options.FilterValue;
 import org.kar.archidata.dataAccess.options.GroupBy;
 import org.kar.archidata.dataAccess.options.Limit;
+import org.kar.archidata.dataAccess.options.Offset;
+import org.kar.archidata.dataAccess.options.OptionRenameColumn;
 import org.kar.archidata.dataAccess.options.OptionSpecifyType;
 import org.kar.archidata.dataAccess.options.OrderBy;
 import org.kar.archidata.dataAccess.options.QueryOption;
 import org.kar.archidata.dataAccess.options.TransmitKey;
+import org.kar.archidata.db.DbConfig;
+import org.kar.archidata.db.DbConnectionPool;
 import org.kar.archidata.db.DbIoSql;
+import org.kar.archidata.db.StatementCache;
 import org.kar.archidata.exception.DataAccessException;
 import org.kar.archidata.tools.ConfigBaseVariable;
-import org.kar.archidata.tools.DateTools;
 import org.kar.archidata.tools.UuidUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.InternalServerErrorException;
 
-/* TODO list:
-   - Manage to group of SQL action to permit to commit only at the end.
- */
-
 /** Data access is an abstraction class that permit to access on the DB with a function wrapping that permit to minimize the SQL writing of SQL code. This interface support the SQL and SQLite
  * back-end. */
 public class DBAccessSQL extends DBAccess {
@@ -64,20 +65,85 @@ public class DBAccessSQL extends DBAccess {
 	final static List<DataAccessAddOn> addOn = List.of(new AddOnManyToMany(), new AddOnManyToOne(),
 			new AddOnOneToMany(), new AddOnDataJson());
 
+	// Limits of a multi-row insert (SQLite accept 32766 parameters, MySQL 65535)
+	private static final int MAX_INSERT_ROWS = 1000;
+	private static final int MAX_INSERT_PARAMETERS = 30000;
+
+	/** Statistics of the cache of the generated requests. */
+	public record QueryCacheStats(
+			long hit,
+			long miss,
+			int cached) {};
+
+	/** Select part of a request (fields and joins), generated one time for a class and the options that change it. */
+	private record SelectQuery(
+			String select,
+			String join,
+			int count) {};
+
+	private record SelectKey(
+			Class<?> clazz,
+			String tableName,
+			boolean readAll) {};
+
+	private static final Map<SelectKey, SelectQuery> SELECT_QUERIES = new ConcurrentHashMap<>();
+	private static final AtomicLong selectQueryHit = new AtomicLong();
+	private static final AtomicLong selectQueryMiss = new AtomicLong();
+
 	private final DbIoSql db;
+	// Each access use its own connection of the pool, it is released when the access is closed.
+	private final DbConnectionPool pool;
+	private Connection connection;
+	private StatementCache statementCache;
+	// Number of transactions in progress (more than one are savepoints).
+	private int transactionDepth = 0;
+	// Classes modified in the transaction (their cache is invalidated again at the end of the transaction).
+	private final Set<Class<?>> transactionClasses = new HashSet<>();
 
 	public DBAccessSQL(final DbIoSql db) throws IOException {
 		this.db = db;
 		db.open();
+		try {
+			this.pool = db.getPool();
+			this.connection = this.pool.borrow();
+			this.statementCache = this.pool.getStatementCache(this.connection);
+		} catch (final IOException ex) {
+			db.close();
+			throw ex;
+		}
+	}
+
+	public DbIoSql getInterface() {
+		return this.db;
 	}
 
 	@Override
 	public void close() throws IOException {
+		if (this.connection != null) {
+			this.pool.release(this.connection);
+			this.connection = null;
+			this.statementCache = null;
+		}
 		this.db.close();
 	}
 
+	/** Prepare a request with the statement cache of the connection (the statement must be closed after use).
+	 * @param query SQL request.
+	 * @param generatedKeys The generated keys will be read after the execution. */
+	@SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+	public PreparedStatement prepareStatement(final String query, final boolean generatedKeys) throws SQLException {
+		if (this.statementCache == null) {
+			LOGGER.error("Prepare a request on a closed DB access !!!");
+			throw new SQLException("Prepare a request on a closed DB access");
+		}
+		return this.statementCache.prepare(query, generatedKeys);
+	}
+
 	public Connection getConnection() {
-		return this.db.getConnection();
+		if (this.connection == null) {
+			LOGGER.error("Retrieve a connection on a closed DB access !!!");
+		}
+		return this.connection;
 	}
 
 	@Override
@@ -150,14 +216,14 @@ public class DBAccessSQL extends DBAccess {
 						WHERE type = 'table'
 						AND name = ?;
 						""";
-				final PreparedStatement ps = this.db.getConnection().prepareStatement(request);
+				final PreparedStatement ps = getConnection().prepareStatement(request);
 				ps.setString(1, name);
 				final ResultSet ret = ps.executeQuery();
 				final int count = ret.getInt("total");
 				return count == 1;
 			} else {
 				// TODO : Maybe connect with a temporary not specified connection interface to a db ...
-				final PreparedStatement ps = this.db.getConnection()
+				final PreparedStatement ps = getConnection()
 						.prepareStatement("SHOW TABLES IN `" + this.db.getConfig().getDbName() + "`");
 				final ResultSet rs = ps.executeQuery();
 				// LOGGER.info("List all tables: equals? '{}'", name);
@@ -259,123 +325,7 @@ public class DBAccessSQL extends DBAccess {
 			final CountInOut iii,
 			final Field field,
 			final PreparedStatement ps) throws Exception {
-		if (type == ObjectId.class) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.BINARY);
-			} else {
-				final byte[] dataByte = ((ObjectId) tmp).toByteArray();
-				ps.setBytes(iii.value, dataByte);
-			}
-		} else if (type == UUID.class) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.BINARY);
-			} else {
-				final byte[] dataByte = UuidUtils.asBytes((UUID) tmp);
-				ps.setBytes(iii.value, dataByte);
-			}
-		} else if (type == Long.class) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.BIGINT);
-			} else {
-				ps.setLong(iii.value, (Long) tmp);
-			}
-		} else if (type == long.class) {
-			ps.setLong(iii.value, field.getLong(data));
-		} else if (type == Integer.class) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.INTEGER);
-			} else {
-				ps.setInt(iii.value, (Integer) tmp);
-			}
-		} else if (type == int.class) {
-			ps.setInt(iii.value, field.getInt(data));
-		} else if (type == Float.class) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.FLOAT);
-			} else {
-				ps.setFloat(iii.value, (Float) tmp);
-			}
-		} else if (type == float.class) {
-			ps.setFloat(iii.value, field.getFloat(data));
-		} else if (type == Double.class) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.DOUBLE);
-			} else {
-				ps.setDouble(iii.value, (Double) tmp);
-			}
-		} else if (type == Double.class) {
-			ps.setDouble(iii.value, field.getDouble(data));
-		} else if (type == Boolean.class) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.INTEGER);
-			} else {
-				ps.setBoolean(iii.value, (Boolean) tmp);
-			}
-		} else if (type == boolean.class) {
-			ps.setBoolean(iii.value, field.getBoolean(data));
-		} else if (type == Timestamp.class) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.INTEGER);
-			} else {
-				ps.setTimestamp(iii.value, (Timestamp) tmp);
-			}
-		} else if (type == Date.class) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.INTEGER);
-			} else {
-				final Timestamp sqlDate = java.sql.Timestamp.from(((Date) tmp).toInstant());
-				ps.setTimestamp(iii.value, sqlDate);
-			}
-		} else if (type == Instant.class) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.INTEGER);
-			} else {
-				final String sqlDate = ((Instant) tmp).toString();
-				ps.setString(iii.value, sqlDate);
-			}
-		} else if (type == LocalDate.class) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.INTEGER);
-			} else {
-				final java.sql.Date sqlDate = java.sql.Date.valueOf((LocalDate) tmp);
-				ps.setDate(iii.value, sqlDate);
-			}
-		} else if (type == LocalTime.class) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.INTEGER);
-			} else {
-				final java.sql.Time sqlDate = java.sql.Time.valueOf((LocalTime) tmp);
-				ps.setTime(iii.value, sqlDate);
-			}
-		} else if (type == String.class) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.VARCHAR);
-			} else {
-				ps.setString(iii.value, (String) tmp);
-			}
-		} else if (type.isEnum()) {
-			final Object tmp = field.get(data);
-			if (tmp == null) {
-				ps.setNull(iii.value, Types.VARCHAR);
-			} else {
-				ps.setString(iii.value, tmp.toString());
-			}
-		} else {
-			throw new DataAccessException("Unknown Field Type: " + type.getCanonicalName());
-		}
+		SqlFieldMapper.get(field, type).getBinder().bind(ps, iii.value, data);
 		iii.inc();
 	}
 
@@ -386,417 +336,15 @@ public class DBAccessSQL extends DBAccess {
 			final Field field,
 			final ResultSet rs,
 			final CountInOut countNotNull) throws Exception {
-		if (type == ObjectId.class) {
-			final byte[] tmp = rs.getBytes(count.value);
-			if (rs.wasNull()) {
-				field.set(data, null);
-			} else {
-				// field.set(data, tmp);
-				final ObjectId objectId = new ObjectId(tmp);
-				field.set(data, objectId);
-				countNotNull.inc();
-			}
-		} else if (type == UUID.class) {
-			final byte[] tmp = rs.getBytes(count.value);
-			// final UUID tmp = rs.getObject(count.value, UUID.class);
-			if (rs.wasNull()) {
-				field.set(data, null);
-			} else {
-				// field.set(data, tmp);
-				final UUID uuid = UuidUtils.asUuid(tmp);
-				field.set(data, uuid);
-				countNotNull.inc();
-			}
-		} else if (type == Long.class) {
-			final Long tmp = rs.getLong(count.value);
-			if (rs.wasNull()) {
-				field.set(data, null);
-			} else {
-				field.set(data, tmp);
-				countNotNull.inc();
-			}
-		} else if (type == long.class) {
-			final Long tmp = rs.getLong(count.value);
-			if (rs.wasNull()) {
-				// field.set(data, null);
-			} else {
-				field.setLong(data, tmp);
-				countNotNull.inc();
-			}
-		} else if (type == Integer.class) {
-			final Integer tmp = rs.getInt(count.value);
-			if (rs.wasNull()) {
-				field.set(data, null);
-			} else {
-				field.set(data, tmp);
-				countNotNull.inc();
-			}
-		} else if (type == int.class) {
-			final Integer tmp = rs.getInt(count.value);
-			if (rs.wasNull()) {
-				// field.set(data, null);
-			} else {
-				field.setInt(data, tmp);
-				countNotNull.inc();
-			}
-		} else if (type == Float.class) {
-			final Float tmp = rs.getFloat(count.value);
-			if (rs.wasNull()) {
-				field.set(data, null);
-			} else {
-				field.set(data, tmp);
-				countNotNull.inc();
-			}
-		} else if (type == float.class) {
-			final Float tmp = rs.getFloat(count.value);
-			if (rs.wasNull()) {
-				// field.set(data, null);
-			} else {
-				field.setFloat(data, tmp);
-				countNotNull.inc();
-			}
-		} else if (type == Double.class) {
-			final Double tmp = rs.getDouble(count.value);
-			if (rs.wasNull()) {
-				field.set(data, null);
-			} else {
-				field.set(data, tmp);
-				countNotNull.inc();
-			}
-		} else if (type == double.class) {
-			final Double tmp = rs.getDouble(count.value);
-			if (rs.wasNull()) {
-				// field.set(data, null);
-			} else {
-				field.setDouble(data, tmp);
-				countNotNull.inc();
-			}
-		} else if (type == Boolean.class) {
-			final Boolean tmp = rs.getBoolean(count.value);
-			if (rs.wasNull()) {
-				field.set(data, null);
-			} else {
-				field.set(data, tmp);
-				countNotNull.inc();
-			}
-		} else if (type == boolean.class) {
-			final Boolean tmp = rs.getBoolean(count.value);
-			if (rs.wasNull()) {
-				// field.set(data, null);
-			} else {
-				field.setBoolean(data, tmp);
-				countNotNull.inc();
-			}
-		} else if (type == Timestamp.class) {
-			final Timestamp tmp = rs.getTimestamp(count.value);
-			if (rs.wasNull()) {
-				field.set(data, null);
-			} else {
-				field.set(data, tmp);
-				countNotNull.inc();
-			}
-		} else if (type == Date.class) {
-			try {
-				final Timestamp tmp = rs.getTimestamp(count.value);
-				if (rs.wasNull()) {
-					field.set(data, null);
-				} else {
-					field.set(data, Date.from(tmp.toInstant()));
-					countNotNull.inc();
-				}
-			} catch (final SQLException ex) {
-				final String tmp = rs.getString(count.value);
-				LOGGER.error("Fail to parse the SQL time !!! {}", tmp);
-				if (rs.wasNull()) {
-					field.set(data, null);
-				} else {
-					final Date date = DateTools.parseDate(tmp);
-					LOGGER.error("Fail to parse the SQL time !!! {}", date);
-					field.set(data, date);
-					countNotNull.inc();
-				}
-			}
-		} else if (type == Instant.class) {
-			final String tmp = rs.getString(count.value);
-			if (rs.wasNull()) {
-				field.set(data, null);
-			} else {
-				field.set(data, Instant.parse(tmp));
-				countNotNull.inc();
-			}
-		} else if (type == LocalDate.class) {
-			final java.sql.Date tmp = rs.getDate(count.value);
-			if (rs.wasNull()) {
-				field.set(data, null);
-			} else {
-				field.set(data, tmp.toLocalDate());
-				countNotNull.inc();
-			}
-		} else if (type == LocalTime.class) {
-			final java.sql.Time tmp = rs.getTime(count.value);
-			if (rs.wasNull()) {
-				field.set(data, null);
-			} else {
-				field.set(data, tmp.toLocalTime());
-				countNotNull.inc();
-			}
-		} else if (type == String.class) {
-			final String tmp = rs.getString(count.value);
-			if (rs.wasNull()) {
-				field.set(data, null);
-			} else {
-				field.set(data, tmp);
-				countNotNull.inc();
-			}
-		} else if (type.isEnum()) {
-			final String tmp = rs.getString(count.value);
-			if (rs.wasNull()) {
-				field.set(data, null);
-			} else {
-				boolean find = false;
-				final Object[] arr = type.getEnumConstants();
-				for (final Object elem : arr) {
-					if (elem.toString().equals(tmp)) {
-						field.set(data, elem);
-						countNotNull.inc();
-						find = true;
-						break;
-					}
-				}
-				if (!find) {
-					throw new DataAccessException("Enum value does not exist in the Model: '" + tmp + "'");
-				}
-			}
-		} else {
-			throw new DataAccessException("Unknown Field Type: " + type.getCanonicalName());
+		if (SqlFieldMapper.get(field, type).getReader().read(rs, count.value, data)) {
+			countNotNull.inc();
 		}
 		count.inc();
 	}
 
-	// TODO: this function will replace the previous one !!!
 	protected RetreiveFromDB createSetValueFromDbCallback(final int count, final Field field) throws Exception {
-		final Class<?> type = field.getType();
-		if (type == ObjectId.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final byte[] tmp = rs.getBytes(count);
-				if (rs.wasNull()) {
-					field.set(obj, null);
-				} else {
-					// field.set(obj, tmp);
-					final ObjectId objectId = new ObjectId(tmp);
-					field.set(obj, objectId);
-				}
-			};
-		}
-		if (type == UUID.class) {
-			return (final ResultSet rs, final Object obj) -> {
-
-				final byte[] tmp = rs.getBytes(count);
-				// final UUID tmp = rs.getObject(count, UUID.class);
-				if (rs.wasNull()) {
-					field.set(obj, null);
-				} else {
-					// field.set(obj, tmp);
-					final UUID uuid = UuidUtils.asUuid(tmp);
-					field.set(obj, uuid);
-				}
-			};
-		}
-		if (type == Long.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final Long tmp = rs.getLong(count);
-				if (rs.wasNull()) {
-					field.set(obj, null);
-				} else {
-					field.set(obj, tmp);
-				}
-			};
-		}
-		if (type == long.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final Long tmp = rs.getLong(count);
-				if (rs.wasNull()) {
-					// field.set(data, null);
-				} else {
-					field.setLong(obj, tmp);
-				}
-			};
-		}
-		if (type == Integer.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final Integer tmp = rs.getInt(count);
-				if (rs.wasNull()) {
-					field.set(obj, null);
-				} else {
-					field.set(obj, tmp);
-				}
-			};
-		}
-		if (type == int.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final Integer tmp = rs.getInt(count);
-				if (rs.wasNull()) {
-					// field.set(obj, null);
-				} else {
-					field.setInt(obj, tmp);
-				}
-			};
-		}
-		if (type == Float.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final Float tmp = rs.getFloat(count);
-				if (rs.wasNull()) {
-					field.set(obj, null);
-				} else {
-					field.set(obj, tmp);
-				}
-			};
-		}
-		if (type == float.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final Float tmp = rs.getFloat(count);
-				if (rs.wasNull()) {
-					// field.set(obj, null);
-				} else {
-					field.setFloat(obj, tmp);
-				}
-			};
-		}
-		if (type == Double.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final Double tmp = rs.getDouble(count);
-				if (rs.wasNull()) {
-					field.set(obj, null);
-				} else {
-					field.set(obj, tmp);
-				}
-			};
-		}
-		if (type == double.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final Double tmp = rs.getDouble(count);
-				if (rs.wasNull()) {
-					// field.set(obj, null);
-				} else {
-					field.setDouble(obj, tmp);
-				}
-			};
-		}
-		if (type == Boolean.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final Boolean tmp = rs.getBoolean(count);
-				if (rs.wasNull()) {
-					field.set(obj, null);
-				} else {
-					field.set(obj, tmp);
-				}
-			};
-		}
-		if (type == boolean.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final Boolean tmp = rs.getBoolean(count);
-				if (rs.wasNull()) {
-					// field.set(obj, null);
-				} else {
-					field.setBoolean(obj, tmp);
-				}
-			};
-		}
-		if (type == Timestamp.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final Timestamp tmp = rs.getTimestamp(count);
-				if (rs.wasNull()) {
-					field.set(obj, null);
-				} else {
-					field.set(obj, tmp);
-				}
-			};
-		}
-		if (type == Date.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				try {
-					final Timestamp tmp = rs.getTimestamp(count);
-					if (rs.wasNull()) {
-						field.set(obj, null);
-					} else {
-						field.set(obj, Date.from(tmp.toInstant()));
-					}
-				} catch (final SQLException ex) {
-					final String tmp = rs.getString(count);
-					LOGGER.error("Fail to parse the SQL time !!! {}", tmp);
-					if (rs.wasNull()) {
-						field.set(obj, null);
-					} else {
-						final Date date = DateTools.parseDate(tmp);
-						LOGGER.error("Fail to parse the SQL time !!! {}", date);
-						field.set(obj, date);
-					}
-				}
-			};
-		}
-		if (type == Instant.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final String tmp = rs.getString(count);
-				if (rs.wasNull()) {
-					field.set(obj, null);
-				} else {
-					field.set(obj, Instant.parse(tmp));
-				}
-			};
-		}
-		if (type == LocalDate.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final java.sql.Date tmp = rs.getDate(count);
-				if (rs.wasNull()) {
-					field.set(obj, null);
-				} else {
-					field.set(obj, tmp.toLocalDate());
-				}
-			};
-		}
-		if (type == LocalTime.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final java.sql.Time tmp = rs.getTime(count);
-				if (rs.wasNull()) {
-					field.set(obj, null);
-				} else {
-					field.set(obj, tmp.toLocalTime());
-				}
-			};
-		}
-		if (type == String.class) {
-			return (final ResultSet rs, final Object obj) -> {
-				final String tmp = rs.getString(count);
-				if (rs.wasNull()) {
-					field.set(obj, null);
-				} else {
-					field.set(obj, tmp);
-				}
-			};
-		}
-		if (type.isEnum()) {
-			return (final ResultSet rs, final Object obj) -> {
-				final String tmp = rs.getString(count);
-				if (rs.wasNull()) {
-					field.set(obj, null);
-				} else {
-					boolean find = false;
-					final Object[] arr = type.getEnumConstants();
-					for (final Object elem : arr) {
-						if (elem.toString().equals(tmp)) {
-							field.set(obj, elem);
-							find = true;
-							break;
-						}
-					}
-					if (!find) {
-						throw new DataAccessException("Enum value does not exist in the Model: '" + tmp + "'");
-					}
-				}
-			};
-		}
-		throw new DataAccessException("Unknown Field Type");
-
+		final SqlFieldMapper.Reader reader = SqlFieldMapper.get(field).getReader();
+		return (final ResultSet rs, final Object obj) -> reader.read(rs, count, obj);
 	}
 
 	public static boolean isAddOnField(final Field field) {
@@ -813,260 +361,264 @@ public class DBAccessSQL extends DBAccess {
 	}
 
 	@Override
-	@SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
 	public <T> T insert(final T data, final QueryOption... option) throws Exception {
+		if (data == null) {
+			throw new DataAccessException("Try to check a null data ==> wrong API");
+		}
+		return insertMultiple(List.of(data), option).get(0);
+	}
+
+	/** Description of the insertion of one object: the list of the columns depend on the null values with a default value. */
+	private record InsertRow(
+			Object data,
+			Class<?> clazz,
+			Field primaryKeyField,
+			boolean generateUUID,
+			boolean generateOID,
+			List<Field> fields,
+			List<Field> asyncFields) {
+		// Two rows can be inserted with the same request if they have the same columns.
+		public boolean sameRequest(final InsertRow other) {
+			return this.clazz == other.clazz && this.fields.equals(other.fields);
+		}
+
+		public int countParameters() {
+			return this.fields.size() + (this.generateUUID || this.generateOID ? 1 : 0);
+		}
+	}
+
+	private InsertRow createInsertRow(final Object data, final QueryOptions options) throws Exception {
 		if (data == null) {
 			throw new DataAccessException("Try to check a null data ==> wrong API");
 		}
 		final Class<?> clazz = data.getClass();
-		final QueryOptions options = new QueryOptions(option);
+		final EntityDescriptor descriptor = EntityDescriptor.get(clazz);
+		final ColumnDescriptor primaryKey = descriptor.getPrimaryKey();
+		final Field primaryKeyField = primaryKey == null ? null : primaryKey.field();
+		final boolean generateUUID = primaryKeyField != null && primaryKeyField.getType() == UUID.class;
+		final boolean generateOID = primaryKeyField != null && primaryKeyField.getType() == ObjectId.class;
+		final List<Field> fields = new ArrayList<>();
+		final List<Field> asyncFields = new ArrayList<>();
+		for (final ColumnDescriptor column : descriptor.getColumns()) {
+			if (column.primaryKey()) {
+				continue;
+			}
+			final Field field = column.field();
+			final DataAccessAddOn addOn = column.addOn();
+			if (addOn != null && !addOn.canInsert(field)) {
+				if (addOn.isInsertAsync(field)) {
+					asyncFields.add(field);
+				}
+				continue;
+			}
+			if (column.creationTimestamp() || column.updateTimestamp()) {
+				continue;
+			}
+			if (column.defaultValue() && !field.getType().isPrimitive() && field.get(data) == null) {
+				continue;
+			}
+			fields.add(field);
+		}
+		return new InsertRow(data, clazz, primaryKeyField, generateUUID, generateOID, fields, asyncFields);
+	}
 
+	/** Insert a list of objects with a minimum of requests: the consecutive objects with the same columns are inserted with a single multi-row "INSERT ... VALUES (...), (...)".
+	 * @param <T> Type of the objects to insert.
+	 * @param data List of the objects to insert (the primary keys are updated).
+	 * @param option Options of the insertion.
+	 * @return The list of the inserted objects. */
+	@Override
+	public <T> List<T> insertMultiple(final List<T> data, final QueryOption... option) throws Exception {
+		final QueryOptions options = new QueryOptions(option);
 		// External checker of data:
 		final List<CheckFunction> checks = options.get(CheckFunction.class);
-		for (final CheckFunction check : checks) {
-			check.getChecker().check(this, "", data, AnnotationTools.getFieldsNames(clazz), options);
+		final List<InsertRow> rows = new ArrayList<>();
+		for (final T elem : data) {
+			if (elem == null) {
+				throw new DataAccessException("Try to check a null data ==> wrong API");
+			}
+			for (final CheckFunction check : checks) {
+				check.getChecker().check(this, "", elem, AnnotationTools.getFieldsNames(elem.getClass()), options);
+			}
+			rows.add(createInsertRow(elem, options));
 		}
-		final List<Field> asyncFieldUpdate = new ArrayList<>();
-		Long uniqueSQLID = null;
-		UUID uniqueSQLUUID = null;
-		ObjectId uniqueSQLOID = null;
-		final String tableName = AnnotationTools.getTableName(clazz, options);
-		Field primaryKeyField = null;
-		boolean generateUUID = false;
-		boolean generateOID = false;
+		final List<LazyGetter> asyncActions = new ArrayList<>();
+		int start = 0;
+		while (start < rows.size()) {
+			final InsertRow first = rows.get(start);
+			final int maxRows = Math.max(1,
+					Math.min(MAX_INSERT_ROWS, MAX_INSERT_PARAMETERS / Math.max(1, first.countParameters())));
+			int stop = start + 1;
+			while (stop < rows.size() && stop - start < maxRows && first.sameRequest(rows.get(stop))) {
+				stop++;
+			}
+			final List<InsertRow> batch = rows.subList(start, stop);
+			final String tableName = AnnotationTools.getTableName(first.clazz(), options);
+			final List<Object> keys = insertBatch(tableName, batch, options);
+			for (int iii = 0; iii < batch.size(); iii++) {
+				final InsertRow row = batch.get(iii);
+				final Object key = keys.get(iii);
+				for (final Field field : row.asyncFields()) {
+					final DataAccessAddOn addOn = findAddOnforField(field);
+					addOn.asyncInsert(this, tableName, key, field, field.get(row.data()), asyncActions, options);
+				}
+			}
+			start = stop;
+		}
+		// Group the actions that can be done in the same request (link of a ManyToMany...)
+		for (final LazyGetter action : LazyGetter.group(asyncActions)) {
+			action.doRequest();
+		}
+		return data;
+	}
+
+	/** Insert a group of objects with the same columns in a single request.
+	 * @return The primary keys of the inserted objects (in the same order). */
+	@SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+	private List<Object> insertBatch(final String tableName, final List<InsertRow> rows, final QueryOptions options)
+			throws Exception {
+		final InsertRow first = rows.get(0);
 		final List<OptionSpecifyType> specificTypes = options.get(OptionSpecifyType.class);
-		// real add in the BDD:
+		final List<Object> keys = new ArrayList<>();
 		try {
-			// boolean createIfNotExist = clazz.getDeclaredAnnotationsByType(SQLIfNotExists.class).length != 0;
 			final StringBuilder query = new StringBuilder();
 			query.append("INSERT INTO `");
 			query.append(tableName);
 			query.append("` (");
-
 			boolean firstField = true;
-			int count = 0;
-			for (final Field field : clazz.getFields()) {
-				//  field is only for internal global declaration ==> remove it ..
-				if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-					continue;
-				}
-				if (AnnotationTools.isPrimaryKey(field)) {
-					primaryKeyField = field;
-					if (primaryKeyField.getType() != UUID.class && primaryKeyField.getType() != ObjectId.class) {
-						break;
-					}
-					if (primaryKeyField.getType() == UUID.class) {
-						generateUUID = true;
-					} else {
-						generateOID = true;
-					}
-					count++;
-					final String name = AnnotationTools.getFieldName(field, options).inTable();
-					if (firstField) {
-						firstField = false;
-					} else {
-						query.append(",");
-					}
-					query.append(" `");
-					query.append(name);
-					query.append("`");
-					break;
-				}
+			if (first.generateUUID() || first.generateOID()) {
+				firstField = false;
+				query.append(" `");
+				query.append(AnnotationTools.getFieldName(first.primaryKeyField(), options).inTable());
+				query.append("`");
 			}
-			for (final Field field : clazz.getFields()) {
-				//  field is only for internal global declaration ==> remove it ..
-				if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-					continue;
-				}
-				if (AnnotationTools.isPrimaryKey(field)) {
-					continue;
-				}
-				final DataAccessAddOn addOn = findAddOnforField(field);
-				if (addOn != null && !addOn.canInsert(field)) {
-					if (addOn.isInsertAsync(field)) {
-						asyncFieldUpdate.add(field);
-					}
-					continue;
-				}
-				final boolean createTime = field.getDeclaredAnnotationsByType(CreationTimestamp.class).length != 0;
-				if (createTime) {
-					continue;
-				}
-				final boolean updateTime = field.getDeclaredAnnotationsByType(UpdateTimestamp.class).length != 0;
-				if (updateTime) {
-					continue;
-				}
-				if (!field.getClass().isPrimitive()) {
-					final Object tmp = field.get(data);
-					if (tmp == null && field.getDeclaredAnnotationsByType(DefaultValue.class).length != 0) {
-						continue;
-					}
-				}
-				count++;
-				final String name = AnnotationTools.getFieldName(field, options).inTable();
+			for (final Field field : first.fields()) {
 				if (firstField) {
 					firstField = false;
 				} else {
 					query.append(",");
 				}
 				query.append(" `");
-				query.append(name);
+				query.append(AnnotationTools.getFieldName(field, options).inTable());
 				query.append("`");
 			}
-			firstField = true;
-			query.append(") VALUES (");
-			for (int iii = 0; iii < count; iii++) {
-				if (firstField) {
-					firstField = false;
-				} else {
-					query.append(",");
+			query.append(") VALUES ");
+			final int count = first.countParameters();
+			for (int jjj = 0; jjj < rows.size(); jjj++) {
+				if (jjj != 0) {
+					query.append(", ");
 				}
-				query.append("?");
-			}
-			query.append(")");
-			final List<OrderBy> orders = options.get(OrderBy.class);
-			for (final OrderBy order : orders) {
-				order.generateQuery(query, tableName);
+				query.append("(");
+				for (int iii = 0; iii < count; iii++) {
+					if (iii != 0) {
+						query.append(",");
+					}
+					query.append("?");
+				}
+				query.append(")");
 			}
 			LOGGER.debug("generate the query: '{}'", query.toString());
 			// prepare the request:
-			final PreparedStatement ps = getConnection().prepareStatement(query.toString(),
-					Statement.RETURN_GENERATED_KEYS);
-
-			final CountInOut iii = new CountInOut(1);
-			UUID uuid = null;
-			if (generateUUID) {
-				firstField = false;
-				// uuid = UUID.randomUUID();
-				uuid = UuidUtils.nextUUID();
-				addElement(ps, uuid, iii);
-				iii.inc();
-			}
-			ObjectId oid = null;
-			if (generateOID) {
-				firstField = false;
-				oid = new ObjectId();
-				addElement(ps, oid, iii);
-				iii.inc();
-			}
-			for (final Field elem : clazz.getFields()) {
-				//  field is only for internal global declaration ==> remove it ..
-				if (java.lang.reflect.Modifier.isStatic(elem.getModifiers())) {
-					continue;
-				}
-				if (AnnotationTools.isPrimaryKey(elem)) {
-					continue;
-				}
-				final DataAccessAddOn addOn = findAddOnforField(elem);
-				if (addOn != null && !addOn.canInsert(elem)) {
-					continue;
-				}
-				final boolean createTime = elem.getDeclaredAnnotationsByType(CreationTimestamp.class).length != 0;
-				if (createTime) {
-					continue;
-				}
-				final boolean updateTime = elem.getDeclaredAnnotationsByType(UpdateTimestamp.class).length != 0;
-				if (updateTime) {
-					continue;
-				}
-				if (addOn != null) {
-					// Add-on specific insertion.
-					addOn.insertData(this, ps, elem, data, iii);
-				} else {
-					// Generic class insertion...
-					Class<?> type = elem.getType();
-					if (!type.isPrimitive()) {
-						final Object tmp = elem.get(data);
-						if (tmp == null && elem.getDeclaredAnnotationsByType(DefaultValue.class).length != 0) {
+			try (final PreparedStatement ps = prepareStatement(query.toString(), true)) {
+				final CountInOut iii = new CountInOut(1);
+				for (final InsertRow row : rows) {
+					if (row.generateUUID()) {
+						final UUID uuid = UuidUtils.nextUUID();
+						addElement(ps, uuid, iii);
+						iii.inc();
+						keys.add(uuid);
+					} else if (row.generateOID()) {
+						final ObjectId oid = new ObjectId();
+						addElement(ps, oid, iii);
+						iii.inc();
+						keys.add(oid);
+					}
+					for (final Field elem : row.fields()) {
+						final DataAccessAddOn addOn = findAddOnforField(elem);
+						if (addOn != null) {
+							// Add-on specific insertion.
+							addOn.insertData(this, ps, elem, row.data(), iii);
 							continue;
 						}
-					}
-					if (type == Object.class) {
-						for (final OptionSpecifyType specify : specificTypes) {
-							if (specify.name.equals(elem.getName())) {
-								type = specify.clazz;
-								LOGGER.trace("Detect overwrite of typing ... '{}' => '{}'",
-										elem.getType().getCanonicalName(), specify.clazz.getCanonicalName());
-								break;
+						// Generic class insertion...
+						Class<?> type = elem.getType();
+						if (type == Object.class) {
+							for (final OptionSpecifyType specify : specificTypes) {
+								if (specify.name.equals(elem.getName())) {
+									type = specify.clazz;
+									LOGGER.trace("Detect overwrite of typing ... '{}' => '{}'",
+											elem.getType().getCanonicalName(), specify.clazz.getCanonicalName());
+									break;
+								}
 							}
 						}
+						setValueToDb(type, row.data(), iii, elem, ps);
 					}
-					setValueToDb(type, data, iii, elem, ps);
 				}
-				count++;
-			}
-			// execute the request
-			final int affectedRows = ps.executeUpdate();
-			if (affectedRows == 0) {
-				throw new SQLException("Creating node failed, no rows affected.");
-			}
-			// Retrieve uid inserted
-			if (generateUUID) {
-				// we generate the UUID, otherwise we can not retrieve it
-				uniqueSQLUUID = uuid;
-			} else if (generateOID) {
-				// we generate the UUID, otherwise we can not retrieve it
-				uniqueSQLOID = oid;
-			} else {
-				try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
-					if (generatedKeys.next()) {
-						if (primaryKeyField.getType() == UUID.class) {
-							// uniqueSQLUUID = generatedKeys.getObject(1, UUID.class);
-							/* final Object obj = generatedKeys.getObject(1); final BigInteger bigint = (BigInteger) generatedKeys.getObject(1); uniqueSQLUUID = UuidUtils.asUuid(bigint); final UUID
-							 * generatedUUID = (UUID) generatedKeys.getObject(1); LOGGER.trace("UUID généré: " + generatedUUID); */
-							//final Object obj = generatedKeys.getObject(1);
-							final byte[] tmpid = generatedKeys.getBytes(1);
-							uniqueSQLUUID = UuidUtils.asUuid(tmpid);
-						} else if (primaryKeyField.getType() == ObjectId.class) {
-							final byte[] tmpid = generatedKeys.getBytes(1);
-							uniqueSQLOID = new ObjectId(tmpid);
-						} else {
-							uniqueSQLID = generatedKeys.getLong(1);
-						}
-					} else {
-						throw new SQLException("Creating node failed, no ID obtained (1).");
-					}
-				} catch (final Exception ex) {
-					LOGGER.error("Can not get the UID key inserted ... ");
-					ex.printStackTrace();
-					throw new SQLException("Creating node failed, no ID obtained (2).");
+				// execute the request
+				final int affectedRows = ps.executeUpdate();
+				if (affectedRows == 0) {
+					throw new SQLException("Creating node failed, no rows affected.");
 				}
-			}
-			ps.close();
-			if (primaryKeyField != null) {
-				if (primaryKeyField.getType() == Long.class) {
-					primaryKeyField.set(data, uniqueSQLID);
-				} else if (primaryKeyField.getType() == long.class) {
-					primaryKeyField.setLong(data, uniqueSQLID);
-				} else if (primaryKeyField.getType() == UUID.class) {
-					primaryKeyField.set(data, uniqueSQLUUID);
-				} else if (primaryKeyField.getType() == ObjectId.class) {
-					primaryKeyField.set(data, uniqueSQLOID);
-				} else {
-					LOGGER.error("Can not manage the primary filed !!!");
+				if (!first.generateUUID() && !first.generateOID()) {
+					// Retrieve uid inserted
+					retrieveGeneratedKeys(ps, rows.size(), keys);
 				}
 			}
-			// ps.execute();
+			for (int iii = 0; iii < rows.size(); iii++) {
+				setPrimaryKey(rows.get(iii), keys.get(iii));
+			}
 		} catch (final SQLException ex) {
 			LOGGER.error("Fail SQL request: {}", ex.getMessage());
 			ex.printStackTrace();
 			throw new DataAccessException("Fail to Insert data in DB : " + ex.getMessage());
 		}
-		final List<LazyGetter> asyncActions = new ArrayList<>();
-		for (final Field field : asyncFieldUpdate) {
-			final DataAccessAddOn addOn = findAddOnforField(field);
-			if (uniqueSQLID != null) {
-				addOn.asyncInsert(this, tableName, uniqueSQLID, field, field.get(data), asyncActions, options);
-			} else if (uniqueSQLUUID != null) {
-				addOn.asyncInsert(this, tableName, uniqueSQLUUID, field, field.get(data), asyncActions, options);
-			} else if (uniqueSQLOID != null) {
-				addOn.asyncInsert(this, tableName, uniqueSQLOID, field, field.get(data), asyncActions, options);
+		return keys;
+	}
+
+	private void retrieveGeneratedKeys(final PreparedStatement ps, final int nbRows, final List<Object> keys)
+			throws SQLException {
+		final List<Long> generated = new ArrayList<>();
+		try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+			while (generatedKeys.next()) {
+				generated.add(generatedKeys.getLong(1));
 			}
+		} catch (final Exception ex) {
+			LOGGER.error("Can not get the UID key inserted ... ");
+			ex.printStackTrace();
+			throw new SQLException("Creating node failed, no ID obtained (2).");
 		}
-		for (final LazyGetter action : asyncActions) {
-			action.doRequest();
+		if (generated.size() == nbRows) {
+			keys.addAll(generated);
+		} else if (generated.size() == 1) {
+			// Some drivers only give one ID for a multi-row insert, the IDs are consecutive in a single request:
+			// SQLite return the last inserted ID and MySQL the first one.
+			final long firstId = "sqlite".equals(ConfigBaseVariable.getDBType()) ? generated.get(0) - nbRows + 1
+					: generated.get(0);
+			for (int iii = 0; iii < nbRows; iii++) {
+				keys.add(firstId + iii);
+			}
+		} else {
+			throw new SQLException("Creating node failed, no ID obtained (1).");
+		}
+	}
+
+	private void setPrimaryKey(final InsertRow row, final Object key) throws Exception {
+		final Field primaryKeyField = row.primaryKeyField();
+		if (primaryKeyField == null) {
+			return;
+		}
+		if (primaryKeyField.getType() == Long.class) {
+			primaryKeyField.set(row.data(), key);
+		} else if (primaryKeyField.getType() == long.class) {
+			primaryKeyField.setLong(row.data(), (Long) key);
+		} else if (primaryKeyField.getType() == UUID.class) {
+			primaryKeyField.set(row.data(), key);
+		} else if (primaryKeyField.getType() == ObjectId.class) {
+			primaryKeyField.set(row.data(), key);
+		} else {
+			LOGGER.error("Can not manage the primary filed !!!");
 		}
-		return data;
 	}
 
 	@Override
@@ -1090,6 +642,7 @@ public class DBAccessSQL extends DBAccess {
 			}
 		}
 		final List<LazyGetter> asyncActions = new ArrayList<>();
+		long out = 0;
 		// real add in the BDD:
 		try {
 			final String tableName = AnnotationTools.getTableName(clazz, options);
@@ -1099,19 +652,17 @@ public class DBAccessSQL extends DBAccess {
 			query.append(tableName);
 			query.append("` SET ");
 
+			final EntityDescriptor descriptor = EntityDescriptor.get(clazz);
 			boolean firstField = true;
-			for (final Field field : clazz.getFields()) {
-				//  field is only for internal global declaration ==> remove it ..
-				if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-					continue;
-				}
-				final FieldName name = AnnotationTools.getFieldName(field, options);
+			for (final ColumnDescriptor column : descriptor.getColumns()) {
+				final Field field = column.field();
+				final FieldName name = column.getFieldName(options);
 				if (!filter.getValues().contains(name.inStruct())) {
 					continue;
-				} else if (AnnotationTools.isGenericField(field)) {
+				} else if (column.isGeneric()) {
 					continue;
 				}
-				final DataAccessAddOn addOn = findAddOnforField(field);
+				final DataAccessAddOn addOn = column.addOn();
 				if (addOn != null && !addOn.canInsert(field)) {
 					if (addOn.isInsertAsync(field)) {
 						final List<TransmitKey> transmitKey = options.get(TransmitKey.class);
@@ -1124,11 +675,8 @@ public class DBAccessSQL extends DBAccess {
 					}
 					continue;
 				}
-				if (!field.getClass().isPrimitive()) {
-					final Object tmp = field.get(data);
-					if (tmp == null && field.getDeclaredAnnotationsByType(DefaultValue.class).length != 0) {
-						continue;
-					}
+				if (column.defaultValue() && !field.getType().isPrimitive() && field.get(data) == null) {
+					continue;
 				}
 				if (firstField) {
 					firstField = false;
@@ -1145,124 +693,150 @@ public class DBAccessSQL extends DBAccess {
 				order.generateQuery(query, tableName);
 			}
 			query.append(" ");
-			final String deletedFieldName = AnnotationTools.getDeletedFieldName(clazz);
+			final String deletedFieldName = descriptor.getDeleted() == null ? null : descriptor.getDeleted().getName();
 			condition.whereAppendQuery(query, tableName, null, deletedFieldName);
 
 			// If the first field is not set, then nothing to update n the main base:
 			if (!firstField) {
 				LOGGER.debug("generate update query: '{}'", query.toString());
 				// prepare the request:
-				try (final PreparedStatement ps = this.db.getConnection().prepareStatement(query.toString(),
-						Statement.RETURN_GENERATED_KEYS)) {
+				try (final PreparedStatement ps = prepareStatement(query.toString(), false)) {
 					final CountInOut iii = new CountInOut(1);
-					for (final Field field : clazz.getFields()) {
-						//  field is only for internal global declaration ==> remove it ..
-						if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-							continue;
-						}
-						final String name = AnnotationTools.getFieldName(field, options).inStruct();
+					for (final ColumnDescriptor column : descriptor.getColumns()) {
+						final Field field = column.field();
+						final String name = column.getFieldName(options).inStruct();
 						if (!filter.getValues().contains(name)) {
 							continue;
-						} else if (AnnotationTools.isGenericField(field)) {
+						} else if (column.isGeneric()) {
 							continue;
 						}
-						final DataAccessAddOn addOn = findAddOnforField(field);
+						final DataAccessAddOn addOn = column.addOn();
 						if (addOn != null && !addOn.canInsert(field)) {
 							continue;
 						}
+						if (column.defaultValue() && !field.getType().isPrimitive() && field.get(data) == null) {
+							continue;
+						}
 						if (addOn == null) {
-							final Class<?> type = field.getType();
-							if (!type.isPrimitive()) {
-								final Object tmp = field.get(data);
-								if (tmp == null && field.getDeclaredAnnotationsByType(DefaultValue.class).length != 0) {
-									continue;
-								}
-							}
-							setValueToDb(type, data, iii, field, ps);
+							setValueToDb(field.getType(), data, iii, field, ps);
 						} else {
 							addOn.insertData(this, ps, field, data, iii);
 						}
 					}
 					condition.injectQuery(this, ps, iii);
-					final int out = ps.executeUpdate();
-					return out;
+					out = ps.executeUpdate();
 				}
 			}
 		} catch (final SQLException ex) {
 			ex.printStackTrace();
+			if (isInTransaction()) {
+				// The transaction must not be committed with a partial update.
+				throw ex;
+			}
 		}
-		for (final LazyGetter action : asyncActions) {
+		for (final LazyGetter action : LazyGetter.group(asyncActions)) {
 			action.doRequest();
 		}
-		return 0L;
+		// Invalidated after the request: the reads started before do not fill the cache (generation of the EntityCache).
+		invalidateEntityCache(clazz, options);
+		return out;
 	}
 
 	public void addElement(final PreparedStatement ps, final Object value, final CountInOut iii) throws Exception {
-		if (value == null) {
-			ps.setNull(iii.value, Types.INTEGER);
+		SqlFieldMapper.bindValue(ps, iii.value, value);
+	}
+
+	public boolean isInTransaction() {
+		return this.transactionDepth != 0;
+	}
+
+	@Override
+	public EntityCache getEntityCache() {
+		return EntityCache.get(this.db.getConfig());
+	}
+
+	@Override
+	protected boolean canUseEntityCache() {
+		return !isInTransaction();
+	}
+
+	@Override
+	public void invalidateEntityCache(final Class<?> clazz, final QueryOptions options) {
+		super.invalidateEntityCache(clazz, options);
+		if (isInTransaction()) {
+			// An other access can read the previous value before the commit.
+			this.transactionClasses.add(clazz);
+		}
+	}
+
+	@Override
+	public void transaction(final boolean readOnly, final TransactionAction action) throws Exception {
+		final Connection connection = getConnection();
+		if (this.transactionDepth != 0) {
+			final Savepoint savepoint = connection.setSavepoint();
+			this.transactionDepth++;
+			try {
+				action.run(this);
+				connection.releaseSavepoint(savepoint);
+			} catch (final Exception ex) {
+				LOGGER.warn("Rollback to savepoint: {}", ex.getMessage());
+				connection.rollback(savepoint);
+				throw ex;
+			} finally {
+				this.transactionDepth--;
+			}
 			return;
 		}
-		if (value instanceof final UUID tmp) {
-			LOGGER.debug("Inject uuid => {}", tmp);
-			final byte[] dataByte = UuidUtils.asBytes(tmp);
-			ps.setBytes(iii.value, dataByte);
-		} else if (value instanceof final ObjectId tmp) {
-			final byte[] dataByte = tmp.toByteArray();
-			LOGGER.debug("Inject oid => {}", tmp.toHexString());
-			ps.setBytes(iii.value, dataByte);
-		} else if (value instanceof final Long tmp) {
-			LOGGER.debug("Inject Long => {}", tmp);
-			ps.setLong(iii.value, tmp);
-		} else if (value instanceof final Integer tmp) {
-			LOGGER.debug("Inject Integer => {}", tmp);
-			ps.setInt(iii.value, tmp);
-		} else if (value instanceof final String tmp) {
-			LOGGER.debug("Inject String => {}", tmp);
-			ps.setString(iii.value, tmp);
-		} else if (value instanceof final Short tmp) {
-			LOGGER.debug("Inject Short => {}", tmp);
-			ps.setShort(iii.value, tmp);
-		} else if (value instanceof final Byte tmp) {
-			LOGGER.debug("Inject Byte => {}", tmp);
-			ps.setByte(iii.value, tmp);
-		} else if (value instanceof final Float tmp) {
-			LOGGER.debug("Inject Float => {}", tmp);
-			ps.setFloat(iii.value, tmp);
-		} else if (value instanceof final Double tmp) {
-			LOGGER.debug("Inject Double => {}", tmp);
-			ps.setDouble(iii.value, tmp);
-		} else if (value instanceof final Boolean tmp) {
-			LOGGER.debug("Inject Boolean => {}", tmp);
-			ps.setBoolean(iii.value, tmp);
-		} else if (value instanceof final Timestamp tmp) {
-			LOGGER.debug("Inject Timestamp => {}", tmp);
-			ps.setTimestamp(iii.value, tmp);
-		} else if (value instanceof final Date tmp) {
-			LOGGER.debug("Inject Date => {}", tmp);
-			ps.setTimestamp(iii.value, java.sql.Timestamp.from((tmp).toInstant()));
-		} else if (value instanceof final LocalDate tmp) {
-			LOGGER.debug("Inject LocalDate => {}", tmp);
-			ps.setDate(iii.value, java.sql.Date.valueOf(tmp));
-		} else if (value instanceof final LocalTime tmp) {
-			LOGGER.debug("Inject LocalTime => {}", tmp);
-			ps.setTime(iii.value, java.sql.Time.valueOf(tmp));
-		} else if (value.getClass().isEnum()) {
-			LOGGER.debug("Inject ENUM => {}", value.toString());
-			ps.setString(iii.value, value.toString());
-		} else {
-			throw new DataAccessException("Not manage type ==> need to add it ...");
+		final boolean sqlite = "sqlite".equals(ConfigBaseVariable.getDBType());
+		connection.setAutoCommit(false);
+		try {
+			if (readOnly) {
+				// The SQLite driver can not change the read-only flag of an open connection.
+				if (sqlite) {
+					executeQuery("PRAGMA query_only = ON");
+				} else {
+					connection.setReadOnly(true);
+				}
+			}
+			this.transactionDepth++;
+			try {
+				action.run(this);
+				connection.commit();
+			} catch (final Exception ex) {
+				LOGGER.warn("Rollback transaction: {}", ex.getMessage());
+				connection.rollback();
+				throw ex;
+			} finally {
+				this.transactionDepth--;
+				final EntityCache cache = getEntityCache();
+				if (cache != null) {
+					for (final Class<?> clazz : this.transactionClasses) {
+						cache.invalidateAll(clazz);
+					}
+				}
+				this.transactionClasses.clear();
+			}
+		} finally {
+			connection.setAutoCommit(true);
+			if (readOnly) {
+				if (sqlite) {
+					executeQuery("PRAGMA query_only = OFF");
+				} else {
+					connection.setReadOnly(false);
+				}
+			}
 		}
 	}
 
 	public long executeSimpleQuery(final String query, final QueryOption... option) throws SQLException, IOException {
 		LOGGER.info("Query : '{}'", query);
-		try (final Statement stmt = this.db.getConnection().createStatement()) {
+		try (final Statement stmt = getConnection().createStatement()) {
 			return stmt.executeUpdate(query);
 		}
 	}
 
 	public boolean executeQuery(final String query, final QueryOption... option) throws SQLException, IOException {
-		try (final Statement stmt = this.db.getConnection().createStatement()) {
+		try (final Statement stmt = getConnection().createStatement()) {
 			return stmt.execute(query);
 		}
 	}
@@ -1275,24 +849,21 @@ public class DBAccessSQL extends DBAccess {
 			final CountInOut count//
 	) throws Exception {
 		final boolean readAllfields = QueryOptions.readAllColomn(options);
-		final String tableName = AnnotationTools.getTableName(clazz, options);
-		final String primaryKey = AnnotationTools.getPrimaryKeyField(clazz).getName();
+		final EntityDescriptor descriptor = EntityDescriptor.get(clazz);
+		final String tableName = descriptor.getTableName(options);
+		final String primaryKey = descriptor.getPrimaryKey().field().getName();
 		boolean firstField = true;
 
-		for (final Field elem : clazz.getFields()) {
-			//  field is only for internal global declaration ==> remove it ..
-			if (java.lang.reflect.Modifier.isStatic(elem.getModifiers())) {
-				continue;
-			}
-			final DataAccessAddOn addOn = findAddOnforField(elem);
+		for (final ColumnDescriptor column : descriptor.getColumns()) {
+			final Field elem = column.field();
+			final DataAccessAddOn addOn = column.addOn();
 			if (addOn != null && !addOn.canRetrieve(elem)) {
 				continue;
 			}
-			final boolean notRead = AnnotationTools.isDefaultNotRead(elem);
-			if (!readAllfields && notRead) {
+			if (!readAllfields && column.defaultNotRead()) {
 				continue;
 			}
-			final String name = AnnotationTools.getFieldName(elem, options).inTable();
+			final String name = column.getFieldName(options).inTable();
 			if (firstField) {
 				firstField = false;
 			} else {
@@ -1310,64 +881,137 @@ public class DBAccessSQL extends DBAccess {
 		}
 	}
 
+	/** Same as generateSelectField with a cache of the generated text (not used with renamed columns). */
+	private static void appendSelectField(
+			final StringBuilder querySelect,
+			final StringBuilder query,
+			final Class<?> clazz,
+			final QueryOptions options,
+			final CountInOut count) throws Exception {
+		if (options.exist(OptionRenameColumn.class)) {
+			generateSelectField(querySelect, query, clazz, options, count);
+			return;
+		}
+		final SelectKey key = new SelectKey(clazz, AnnotationTools.getTableName(clazz, options),
+				QueryOptions.readAllColomn(options));
+		SelectQuery select = SELECT_QUERIES.get(key);
+		if (select == null) {
+			selectQueryMiss.incrementAndGet();
+			final StringBuilder tmpSelect = new StringBuilder();
+			final StringBuilder tmpJoin = new StringBuilder();
+			final CountInOut tmpCount = new CountInOut();
+			generateSelectField(tmpSelect, tmpJoin, clazz, options, tmpCount);
+			select = new SelectQuery(tmpSelect.toString(), tmpJoin.toString(), tmpCount.value);
+			SELECT_QUERIES.putIfAbsent(key, select);
+		} else {
+			selectQueryHit.incrementAndGet();
+		}
+		querySelect.append(select.select());
+		query.append(select.join());
+		count.value += select.count();
+	}
+
+	public static QueryCacheStats getSelectCacheStats() {
+		return new QueryCacheStats(selectQueryHit.get(), selectQueryMiss.get(), SELECT_QUERIES.size());
+	}
+
+	public StatementCache.Stats getStatementCacheStats() {
+		return this.db.getStatementCacheStats();
+	}
+
+	/** Generate and prepare the request of a getsWhere (forward-only and read-only, it can be used for the streaming).
+	 * @param withTotal Add a last column with the number of elements that match the request (without limit and offset).
+	 * @return The request ready to execute. */
+	@SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+	private PreparedStatement prepareGetsWhere(
+			final Class<?> clazz,
+			final QueryOptions options,
+			final boolean withTotal) throws Exception {
+		final Condition condition = conditionFusionOrEmpty(options, false);
+		final String deletedFieldName = AnnotationTools.getDeletedFieldName(clazz);
+		final CountInOut count = new CountInOut();
+		final StringBuilder querySelect = new StringBuilder();
+		StringBuilder query = new StringBuilder();
+		final String tableName = AnnotationTools.getTableName(clazz, options);
+		querySelect.append("SELECT ");
+		query.append(" FROM `");
+		query.append(tableName);
+		query.append("` ");
+
+		appendSelectField(querySelect, query, clazz, options, count);
+		if (withTotal) {
+			// The window is computed before the limit and the offset.
+			querySelect.append(", COUNT(*) OVER() AS `__total`");
+		}
+		querySelect.append(query.toString());
+		query = querySelect;
+		condition.whereAppendQuery(query, tableName, options, deletedFieldName);
+		final List<GroupBy> groups = options.get(GroupBy.class);
+		for (final GroupBy group : groups) {
+			group.generateQuery(query, tableName);
+		}
+		final List<OrderBy> orders = options.get(OrderBy.class);
+		for (final OrderBy order : orders) {
+			order.generateQuery(query, tableName);
+		}
+		final List<Limit> limits = options.get(Limit.class);
+		final List<Offset> offsets = options.get(Offset.class);
+		if (limits.size() > 1) {
+			throw new DataAccessException("Request with multiple 'limit'...");
+		}
+		if (offsets.size() > 1) {
+			throw new DataAccessException("Request with multiple 'offset'...");
+		}
+		if (limits.size() == 1) {
+			limits.get(0).generateQuery(query, tableName);
+		} else if (offsets.size() == 1) {
+			// SQLite and MySQL do not accept an OFFSET without LIMIT.
+			query.append(" LIMIT ");
+			query.append(Long.MAX_VALUE);
+			query.append(" \n");
+		}
+		if (offsets.size() == 1) {
+			offsets.get(0).generateQuery(query, tableName);
+		}
+		LOGGER.debug("generate the query: '{}'", query.toString());
+		// prepare the request:
+		final PreparedStatement ps = prepareStatement(query.toString(), false);
+		try {
+			final CountInOut iii = new CountInOut(1);
+			condition.injectQuery(this, ps, iii);
+			if (limits.size() == 1) {
+				limits.get(0).injectQuery(this, ps, iii);
+			}
+			if (offsets.size() == 1) {
+				offsets.get(0).injectQuery(this, ps, iii);
+			}
+		} catch (final Exception ex) {
+			ps.close();
+			throw ex;
+		}
+		return ps;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T> List<T> getsWhere(final Class<T> clazz, final QueryOptions options)
 			throws DataAccessException, IOException {
-		final Condition condition = conditionFusionOrEmpty(options, false);
 		final List<LazyGetter> lazyCall = new ArrayList<>();
-		final String deletedFieldName = AnnotationTools.getDeletedFieldName(clazz);
 		final List<T> outs = new ArrayList<>();
-		try {
+		try (final PreparedStatement ps = prepareGetsWhere(clazz, options, false)) {
 			final CountInOut count = new CountInOut();
-			final StringBuilder querySelect = new StringBuilder();
-			StringBuilder query = new StringBuilder();
-			final String tableName = AnnotationTools.getTableName(clazz, options);
-			querySelect.append("SELECT ");
-			query.append(" FROM `");
-			query.append(tableName);
-			query.append("` ");
-
-			generateSelectField(querySelect, query, clazz, options, count);
-			querySelect.append(query.toString());
-			query = querySelect;
-			condition.whereAppendQuery(query, tableName, options, deletedFieldName);
-			final List<GroupBy> groups = options.get(GroupBy.class);
-			for (final GroupBy group : groups) {
-				group.generateQuery(query, tableName);
-			}
-			final List<OrderBy> orders = options.get(OrderBy.class);
-			for (final OrderBy order : orders) {
-				order.generateQuery(query, tableName);
-			}
-			final List<Limit> limits = options.get(Limit.class);
-			if (limits.size() == 1) {
-				limits.get(0).generateQuery(query, tableName);
-			} else if (limits.size() > 1) {
-				throw new DataAccessException("Request with multiple 'limit'...");
+			// execute the request
+			final ResultSet rs = ps.executeQuery();
+			while (rs.next()) {
+				count.value = 1;
+				final CountInOut countNotNull = new CountInOut(0);
+				final Object data = createObjectFromSQLRequest(rs, clazz, count, countNotNull, options, lazyCall);
+				final T out = (T) data;
+				outs.add(out);
 			}
-			LOGGER.debug("generate the query: '{}'", query.toString());
-			// prepare the request:
-			try (final PreparedStatement ps = this.db.getConnection().prepareStatement(query.toString(),
-					Statement.RETURN_GENERATED_KEYS)) {
-				final CountInOut iii = new CountInOut(1);
-				condition.injectQuery(this, ps, iii);
-				if (limits.size() == 1) {
-					limits.get(0).injectQuery(this, ps, iii);
-				}
-				// execute the request
-				final ResultSet rs = ps.executeQuery();
-				while (rs.next()) {
-					count.value = 1;
-					final CountInOut countNotNull = new CountInOut(0);
-					final Object data = createObjectFromSQLRequest(rs, clazz, count, countNotNull, options, lazyCall);
-					final T out = (T) data;
-					outs.add(out);
-				}
-				LOGGER.info("Async calls: {}", lazyCall.size());
-				for (final LazyGetter elem : lazyCall) {
-					elem.doRequest();
-				}
+			LOGGER.info("Async calls: {}", lazyCall.size());
+			for (final LazyGetter elem : LazyGetter.group(lazyCall)) {
+				elem.doRequest();
 			}
 		} catch (final SQLException ex) {
 			ex.printStackTrace();
@@ -1379,6 +1023,89 @@ public class DBAccessSQL extends DBAccess {
 		return outs;
 	}
 
+	/** Set the number of rows read in one time by the driver for a stream (MySQL needs useCursorFetch=true in the URL, see {@link DbConfig#getUrl()}).
+	 * @param ps Statement of the stream.
+	 * @param fetchSize Number of rows. */
+	protected void setStreamFetchSize(final PreparedStatement ps, final int fetchSize) throws SQLException {
+		ps.setFetchSize(fetchSize);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> Stream<T> streamWhere(final Class<T> clazz, final QueryOptions options)
+			throws DataAccessException, IOException {
+		final List<FetchSize> fetchSizes = options.get(FetchSize.class);
+		final int fetchSize = fetchSizes.size() == 0 ? FetchSize.DEFAULT_FETCH_SIZE : fetchSizes.get(0).getValue();
+		PreparedStatement ps = null;
+		try {
+			ps = prepareGetsWhere(clazz, options, false);
+			setStreamFetchSize(ps, fetchSize);
+			// execute the request
+			final PreparedStatement request = ps;
+			final ResultSet rs = request.executeQuery();
+			final CountInOut count = new CountInOut();
+			final ChunkIterator<T> iterator = new ChunkIterator<>(fetchSize, lazyCall -> {
+				if (!rs.next()) {
+					return null;
+				}
+				count.value = 1;
+				final CountInOut countNotNull = new CountInOut(0);
+				return (T) createObjectFromSQLRequest(rs, clazz, count, countNotNull, options, lazyCall);
+			});
+			return iterator.stream(() -> {
+				rs.close();
+				request.close();
+			});
+		} catch (final Exception ex) {
+			ex.printStackTrace();
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (final SQLException ex2) {
+					LOGGER.error("Fail to close the request: {}", ex2.getMessage());
+				}
+			}
+			throw new DataAccessException("Catch an Exception: " + ex.getMessage());
+		}
+	}
+
+	/** Read the page and the total in a single request with a window function (the keyset pagination count the total in a second request). The
+	 * servers without window functions (before MySQL 8.0, MariaDB 10.2 or SQLite 3.25) count the total in a second request too. */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> Page<T> getPage(final Class<T> clazz, final QueryOptions options) throws Exception {
+		if (!options.exist(CountTotal.class) || options.exist(After.class)
+				|| !this.db.isWindowFunctionSupported(getConnection())) {
+			return super.getPage(clazz, options);
+		}
+		final long pageSize = getPageSize(options);
+		final QueryOptions pageOptions = createPageOptions(options, pageSize);
+		final List<LazyGetter> lazyCall = new ArrayList<>();
+		final List<T> items = new ArrayList<>();
+		Long total = null;
+		try (final PreparedStatement ps = prepareGetsWhere(clazz, pageOptions, true)) {
+			final CountInOut count = new CountInOut();
+			final ResultSet rs = ps.executeQuery();
+			while (rs.next()) {
+				count.value = 1;
+				final CountInOut countNotNull = new CountInOut(0);
+				items.add((T) createObjectFromSQLRequest(rs, clazz, count, countNotNull, pageOptions, lazyCall));
+				total = rs.getLong(count.value);
+			}
+			for (final LazyGetter elem : LazyGetter.group(lazyCall)) {
+				elem.doRequest();
+			}
+		} catch (final SQLException ex) {
+			ex.printStackTrace();
+			throw new DataAccessException("Catch a SQL Exception: " + ex.getMessage());
+		}
+		if (total == null) {
+			// The offset is after the last element: no row to transport the total.
+			total = countWhere(clazz, createCountOptions(options));
+		}
+		return createPage(clazz, items, pageSize, options, total);
+	}
+
 	public Object createObjectFromSQLRequest(
 			final ResultSet rs,
 			final Class<?> clazz,
@@ -1389,31 +1116,24 @@ public class DBAccessSQL extends DBAccess {
 		final boolean readAllfields = QueryOptions.readAllColomn(options);
 		final List<OptionSpecifyType> specificTypes = options.get(OptionSpecifyType.class);
 		// TODO: manage class that is defined inside a class ==> Not manage for now...
-		Object data = null;
-		for (final Constructor<?> contructor : clazz.getConstructors()) {
-			if (contructor.getParameterCount() == 0) {
-				data = contructor.newInstance();
-			}
-		}
-		if (data == null) {
-			throw new DataAccessException(
-					"Can not find the default constructor for the class: " + clazz.getCanonicalName());
-		}
-		for (final Field elem : clazz.getFields()) {
-			//  field is only for internal global declaration ==> remove it ..
-			if (java.lang.reflect.Modifier.isStatic(elem.getModifiers())) {
-				continue;
-			}
-			final DataAccessAddOn addOn = findAddOnforField(elem);
+		final EntityDescriptor descriptor = EntityDescriptor.get(clazz);
+		final Object data = descriptor.newInstance();
+		for (final ColumnDescriptor column : descriptor.getColumns()) {
+			final Field elem = column.field();
+			final DataAccessAddOn addOn = column.addOn();
 			if (addOn != null && !addOn.canRetrieve(elem)) {
 				continue;
 			}
-			final boolean notRead = AnnotationTools.isDefaultNotRead(elem);
-			if (!readAllfields && notRead) {
+			if (!readAllfields && column.defaultNotRead()) {
 				continue;
 			}
 			if (addOn != null) {
 				addOn.fillFromQuery(this, rs, elem, data, count, options, lazyCall);
+			} else if (column.sqlMapper() != null) {
+				if (column.sqlMapper().getReader().read(rs, count.value, data)) {
+					countNotNull.inc();
+				}
+				count.inc();
 			} else {
 				Class<?> type = elem.getType();
 				if (type == Object.class) {
@@ -1453,17 +1173,17 @@ public class DBAccessSQL extends DBAccess {
 			}
 			LOGGER.debug("generate the query: '{}'", query.toString());
 			// prepare the request:
-			final PreparedStatement ps = this.db.getConnection().prepareStatement(query.toString(),
-					Statement.RETURN_GENERATED_KEYS);
-			final CountInOut iii = new CountInOut(1);
-			condition.injectQuery(this, ps, iii);
-			if (limits.size() == 1) {
-				limits.get(0).injectQuery(this, ps, iii);
-			}
-			// execute the request
-			final ResultSet rs = ps.executeQuery();
-			if (rs.next()) {
-				count = rs.getLong("count");
+			try (final PreparedStatement ps = prepareStatement(query.toString(), false)) {
+				final CountInOut iii = new CountInOut(1);
+				condition.injectQuery(this, ps, iii);
+				if (limits.size() == 1) {
+					limits.get(0).injectQuery(this, ps, iii);
+				}
+				// execute the request
+				final ResultSet rs = ps.executeQuery();
+				if (rs.next()) {
+					count = rs.getLong("count");
+				}
 			}
 		} catch (final SQLException ex) {
 			ex.printStackTrace();
@@ -1487,10 +1207,12 @@ public class DBAccessSQL extends DBAccess {
 		query.append("` ");
 		condition.whereAppendQuery(query, tableName, null, deletedFieldName);
 		LOGGER.debug("APPLY: {}", query.toString());
-		final PreparedStatement ps = this.db.getConnection().prepareStatement(query.toString());
+		final PreparedStatement ps = getConnection().prepareStatement(query.toString());
 		final CountInOut iii = new CountInOut(1);
 		condition.injectQuery(this, ps, iii);
-		return ps.executeUpdate();
+		final long count = ps.executeUpdate();
+		invalidateEntityCache(clazz, options);
+		return count;
 	}
 
 	@Override
@@ -1512,10 +1234,12 @@ public class DBAccessSQL extends DBAccess {
 		condition.whereAppendQuery(query, tableName, null, deletedFieldName);
 
 		LOGGER.debug("APPLY UPDATE: {}", query.toString());
-		final PreparedStatement ps = this.db.getConnection().prepareStatement(query.toString());
+		final PreparedStatement ps = getConnection().prepareStatement(query.toString());
 		final CountInOut iii = new CountInOut(1);
 		condition.injectQuery(this, ps, iii);
-		return ps.executeUpdate();
+		final long count = ps.executeUpdate();
+		invalidateEntityCache(clazz, options);
+		return count;
 
 	}
 
@@ -1537,10 +1261,12 @@ public class DBAccessSQL extends DBAccess {
 		// need to disable the deleted false because the model must be unselected to be updated.
 		options.add(QueryOptions.ACCESS_DELETED_ITEMS);
 		condition.whereAppendQuery(query, tableName, options, deletedFieldName);
-		try (final PreparedStatement ps = this.db.getConnection().prepareStatement(query.toString())) {
+		try (final PreparedStatement ps = getConnection().prepareStatement(query.toString())) {
 			final CountInOut iii = new CountInOut(1);
 			condition.injectQuery(this, ps, iii);
-			return ps.executeUpdate();
+			final long count = ps.executeUpdate();
+			invalidateEntityCache(clazz, options);
+			return count;
 		} catch (final SQLException ex) {
 			throw new DataAccessException("Catch SQL error:" + ex.getMessage());
 		} catch (final Exception ex) {
@@ -1558,22 +1284,19 @@ public class DBAccessSQL extends DBAccess {
 		query.append("`");
 		LOGGER.trace("Execute Query: {}", query.toString());
 		// Remove main table
-		final PreparedStatement ps = this.db.getConnection().prepareStatement(query.toString());
+		final PreparedStatement ps = getConnection().prepareStatement(query.toString());
 		ps.executeUpdate();
 		// search subTable:
-		for (final Field field : clazz.getFields()) {
-			//  field is only for internal global declaration ==> remove it ..
-			if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
+		for (final ColumnDescriptor column : EntityDescriptor.get(clazz).getColumns()) {
+			if (column.isGeneric()) {
 				continue;
 			}
-			if (AnnotationTools.isGenericField(field)) {
-				continue;
-			}
-			final DataAccessAddOn addOn = findAddOnforField(field);
-			if (addOn != null && !addOn.canInsert(field)) {
-				addOn.drop(this, tableName, field, options);
+			final DataAccessAddOn addOn = column.addOn();
+			if (addOn != null && !addOn.canInsert(column.field())) {
+				addOn.drop(this, tableName, column.field(), options);
 			}
 		}
+		invalidateEntityCache(clazz, options);
 	}
 
 	@Override
@@ -1586,22 +1309,19 @@ public class DBAccessSQL extends DBAccess {
 		query.append("`");
 		LOGGER.trace("Execute Query: {}", query.toString());
 		// Remove main table
-		final PreparedStatement ps = this.db.getConnection().prepareStatement(query.toString());
+		final PreparedStatement ps = getConnection().prepareStatement(query.toString());
 		ps.executeUpdate();
 		// search subTable:
-		for (final Field field : clazz.getFields()) {
-			//  field is only for internal global declaration ==> remove it ..
-			if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
+		for (final ColumnDescriptor column : EntityDescriptor.get(clazz).getColumns()) {
+			if (column.isGeneric()) {
 				continue;
 			}
-			if (AnnotationTools.isGenericField(field)) {
-				continue;
-			}
-			final DataAccessAddOn addOn = findAddOnforField(field);
-			if (addOn != null && !addOn.canInsert(field)) {
-				addOn.cleanAll(this, tableName, field, options);
+			final DataAccessAddOn addOn = column.addOn();
+			if (addOn != null && !addOn.canInsert(column.field())) {
+				addOn.cleanAll(this, tableName, column.field(), options);
 			}
 		}
+		invalidateEntityCache(clazz, options);
 	}
 
 	/** Execute a simple query with external property.
@@ -1627,6 +1347,7 @@ public class DBAccessSQL extends DBAccess {
 			final List<Object> parameters,
 			final QueryOptions options) throws Exception {
 		final List<LazyGetter> lazyCall = new ArrayList<>();
+		final EntityDescriptor descriptor = EntityDescriptor.get(clazz);
 		final Condition condition = conditionFusionOrEmpty(options, false);
 		final StringBuilder query = new StringBuilder(queryBase);
 		final List<TYPE> outs = new ArrayList<>();
@@ -1651,7 +1372,7 @@ public class DBAccessSQL extends DBAccess {
 			}
 			LOGGER.debug("generate the query: '{}'", query.toString());
 			// prepare the request:
-			final PreparedStatement ps = this.db.getConnection().prepareStatement(query.toString(),
+			final PreparedStatement ps = getConnection().prepareStatement(query.toString(),
 					Statement.RETURN_GENERATED_KEYS);
 			final CountInOut iii = new CountInOut(1);
 			if (parameters != null) {
@@ -1684,25 +1405,16 @@ public class DBAccessSQL extends DBAccess {
 
 			while (rs.next()) {
 				count.value = 1;
-				Object data = null;
-				for (final Constructor<?> contructor : clazz.getConstructors()) {
-					if (contructor.getParameterCount() == 0) {
-						data = contructor.newInstance();
-					}
-				}
-				if (data == null) {
-					// TODO...
-				} else {
-					for (final RetreiveFromDB action : actionToRetreive) {
-						action.doRequest(rs, data);
-					}
+				final Object data = descriptor.newInstance();
+				for (final RetreiveFromDB action : actionToRetreive) {
+					action.doRequest(rs, data);
 				}
 				@SuppressWarnings("unchecked")
 				final TYPE out = (TYPE) data;
 				outs.add(out);
 			}
 			LOGGER.info("Async calls: {}", lazyCall.size());
-			for (final LazyGetter elem : lazyCall) {
+			for (final LazyGetter elem : LazyGetter.group(lazyCall)) {
 				elem.doRequest();
 			}
 		} catch (final SQLException ex) {
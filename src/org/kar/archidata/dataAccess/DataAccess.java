@@ -2,6 +2,7 @@ package org.kar.archidata.dataAccess;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.kar.archidata.dataAccess.options.Condition;
 import org.kar.archidata.dataAccess.options.QueryOption;
@@ -12,10 +13,6 @@ import org.slf4j.LoggerFactory;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import jakarta.ws.rs.InternalServerErrorException;
 
-/* TODO list:
-   - Manage to group of SQL action to permit to commit only at the end.
- */
-
 /** Data access is an abstraction class that permit to access on the DB with a function wrapping that permit to minimize the SQL writing of SQL code. This interface support the SQL and SQLite
  * back-end. */
 public class DataAccess {
@@ -46,7 +43,18 @@ public class DataAccess {
 		}
 	}
 
-	// TODO: manage insert batch...
+	public static void transaction(final TransactionAction action) throws Exception {
+		try (DBAccess db = DBAccess.createInterface()) {
+			db.transaction(action);
+		}
+	}
+
+	public static void transaction(final boolean readOnly, final TransactionAction action) throws Exception {
+		try (DBAccess db = DBAccess.createInterface()) {
+			db.transaction(readOnly, action);
+		}
+	}
+
 	public static <T> List<T> insertMultiple(final List<T> data, final QueryOption... options) throws Exception {
 		try (DBAccess db = DBAccess.createInterface()) {
 			return db.insertMultiple(data, options);
@@ -156,6 +164,23 @@ public class DataAccess {
 		}
 	}
 
+	/** Stream the elements that match the request, the DB access is kept open until the stream is closed. */
+	public static <T> Stream<T> streamWhere(final Class<T> clazz, final QueryOption... options) throws Exception {
+		final DBAccess db = DBAccess.createInterface();
+		try {
+			return db.streamWhere(clazz, options).onClose(() -> {
+				try {
+					db.close();
+				} catch (final IOException ex) {
+					LOGGER.error("Fail to close the DB access of a stream: {}", ex.getMessage());
+				}
+			});
+		} catch (final Exception ex) {
+			db.close();
+			throw ex;
+		}
+	}
+
 	public static Condition conditionFusionOrEmpty(final QueryOptions options, final boolean throwIfEmpty)
 			throws DataAccessException, IOException {
 		try (DBAccess db = DBAccess.createInterface()) {
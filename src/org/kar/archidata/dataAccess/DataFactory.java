@@ -15,6 +15,7 @@ import org.kar.archidata.annotation.AnnotationTools;
 import org.kar.archidata.annotation.CreationTimestamp;
 import org.kar.archidata.annotation.DataIfNotExists;
 import org.kar.archidata.annotation.UpdateTimestamp;
+import org.kar.archidata.dataAccess.EntityDescriptor.ColumnDescriptor;
 import org.kar.archidata.dataAccess.addOnSQL.DataAccessAddOn;
 import org.kar.archidata.dataAccess.options.CreateDropTable;
 import org.kar.archidata.dataAccess.options.OptionSpecifyType;
@@ -26,6 +27,9 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.annotation.JsonValue;
 
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 
 public class DataFactory {
 	private static final Logger LOGGER = LoggerFactory.getLogger(DataFactory.class);
@@ -321,10 +325,10 @@ public class DataFactory {
 		if (superClass == null) {
 			return false;
 		}
-		for (final Field field : superClass.getFields()) {
+		for (final ColumnDescriptor column : EntityDescriptor.get(superClass).getColumns()) {
 			String name;
 			try {
-				name = AnnotationTools.getFieldName(field, options).inTable();
+				name = column.getFieldName(options).inTable();
 				if (filedName.equals(name)) {
 					return true;
 				}
@@ -336,6 +340,172 @@ public class DataFactory {
 		return false;
 	}
 
+	/** Column of an index. */
+	public record IndexColumn(
+			String name,
+			boolean descending) {}
+
+	/** Secondary index of a table.
+	 * @param partial The index contains only the not deleted rows. */
+	public record IndexDefinition(
+			String name,
+			List<IndexColumn> columns,
+			boolean unique,
+			boolean partial) {}
+
+	private static final int INDEX_NAME_MAX_SIZE = 64;
+
+	private static String generateIndexName(final String tableName, final List<IndexColumn> columns) {
+		final StringBuilder out = new StringBuilder("idx_");
+		out.append(tableName);
+		for (final IndexColumn column : columns) {
+			out.append("_");
+			out.append(column.name());
+		}
+		if (out.length() <= INDEX_NAME_MAX_SIZE) {
+			return out.toString();
+		}
+		// MySQL limit the size of the names.
+		final String hash = Integer.toHexString(out.toString().hashCode());
+		return out.substring(0, INDEX_NAME_MAX_SIZE - hash.length() - 1) + "_" + hash;
+	}
+
+	private static boolean isIndexed(final List<IndexDefinition> indexes, final String columnName) {
+		for (final IndexDefinition index : indexes) {
+			if (index.columns().get(0).name().equals(columnName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** Get the secondary indexes of an entity: the {@link Table#indexes()} declarations, the unique columns (except the primary key) and the ManyToOne
+	 * references.
+	 * @param clazz Class of the entity.
+	 * @param tableName Name of the table (or collection), used to generate the name of the indexes.
+	 * @param options Options of the request (renamed columns).
+	 * @return The list of the indexes. */
+	public static List<IndexDefinition> getIndexes(
+			final Class<?> clazz,
+			final String tableName,
+			final QueryOptions options) throws DataAccessException {
+		final EntityDescriptor descriptor = EntityDescriptor.get(clazz);
+		final boolean partial = descriptor.getDeleted() != null && ConfigBaseVariable.getDBIndexPartialDeleted();
+		final List<IndexDefinition> out = new ArrayList<>();
+		final Table table = clazz.getDeclaredAnnotation(Table.class);
+		if (table != null) {
+			for (final Index index : table.indexes()) {
+				final List<IndexColumn> columns = new ArrayList<>();
+				for (final String elem : index.columnList().split(",")) {
+					if (elem.isBlank()) {
+						continue;
+					}
+					final String[] values = elem.trim().split("\\s+");
+					columns.add(new IndexColumn(values[0], values.length > 1 && "DESC".equalsIgnoreCase(values[1])));
+				}
+				if (columns.isEmpty()) {
+					throw new DataAccessException("Index without column on the table: " + tableName);
+				}
+				final String name = index.name().isEmpty() ? generateIndexName(tableName, columns) : index.name();
+				out.add(new IndexDefinition(name, columns, index.unique(), partial && !index.unique()));
+			}
+		}
+		for (final ColumnDescriptor column : descriptor.getColumns()) {
+			if (column.primaryKey()) {
+				continue;
+			}
+			final Field field = column.field();
+			final boolean unique = AnnotationTools.isUnique(field);
+			if (!unique && field.getDeclaredAnnotation(ManyToOne.class) == null) {
+				continue;
+			}
+			final String name = column.getFieldName(options).inTable();
+			if (isIndexed(out, name)) {
+				continue;
+			}
+			final List<IndexColumn> columns = List.of(new IndexColumn(name, false));
+			out.add(new IndexDefinition(generateIndexName(tableName, columns), columns, unique, partial && !unique));
+		}
+		return out;
+	}
+
+	private static void appendIndexColumns(
+			final StringBuilder out,
+			final EntityDescriptor descriptor,
+			final IndexDefinition index) throws DataAccessException {
+		out.append(" (");
+		boolean first = true;
+		for (final IndexColumn column : index.columns()) {
+			if (!first) {
+				out.append(", ");
+			}
+			first = false;
+			out.append("`");
+			out.append(column.name());
+			out.append("`");
+			final ColumnDescriptor columnDescriptor = descriptor.getColumn(column.name());
+			if (columnDescriptor != null && columnDescriptor.getType() == String.class
+					&& AnnotationTools.getLimitSize(columnDescriptor.field()) <= 0
+					&& !"sqlite".equals(ConfigBaseVariable.getDBType())) {
+				if (index.unique()) {
+					// A unique prefix would reject the values that only differ after the prefix.
+					throw new DataAccessException("Can not create the unique index '" + index.name()
+							+ "' on the unbounded text column '" + column.name() + "', set its @Column(length)");
+				}
+				// MySQL can only index a prefix of the text columns.
+				out.append("(255)");
+			}
+			if (column.descending()) {
+				out.append(" DESC");
+			}
+		}
+		out.append(")");
+	}
+
+	private static String createIndexRequest(
+			final String tableName,
+			final EntityDescriptor descriptor,
+			final IndexDefinition index,
+			final QueryOptions options) throws DataAccessException {
+		final boolean sqlite = "sqlite".equals(ConfigBaseVariable.getDBType());
+		final StringBuilder out = new StringBuilder();
+		out.append(index.unique() ? "CREATE UNIQUE INDEX " : "CREATE INDEX ");
+		if (sqlite) {
+			out.append("IF NOT EXISTS ");
+		}
+		out.append("`");
+		out.append(index.name());
+		out.append("` ON `");
+		out.append(tableName);
+		out.append("`");
+		appendIndexColumns(out, descriptor, index);
+		if (index.partial() && sqlite) {
+			out.append(" WHERE `");
+			out.append(descriptor.getDeleted().getFieldName(options).inTable());
+			out.append("` = false");
+		}
+		out.append(";");
+		return out.toString();
+	}
+
+	public static List<String> createIndexes(final Class<?> clazz) throws Exception {
+		return createIndexes(clazz, null);
+	}
+
+	/** Generate the requests that create the secondary indexes of an existing table (the table creation already contains them).
+	 * @param clazz Class of the entity.
+	 * @param options Options of the request (override of the table name).
+	 * @return The list of the SQL requests. */
+	public static List<String> createIndexes(final Class<?> clazz, final QueryOptions options) throws Exception {
+		final String tableName = AnnotationTools.getTableName(clazz, options);
+		final EntityDescriptor descriptor = EntityDescriptor.get(clazz);
+		final List<String> out = new ArrayList<>();
+		for (final IndexDefinition index : getIndexes(clazz, tableName, options)) {
+			out.add(createIndexRequest(tableName, descriptor, index, options));
+		}
+		return out;
+	}
+
 	public static List<String> createTable(final Class<?> clazz) throws Exception {
 		return createTable(clazz, null);
 	}
@@ -368,12 +538,11 @@ public class DataFactory {
 		LOGGER.debug("===> TABLE `{}`", tableName);
 		final List<String> primaryKeys = new ArrayList<>();
 
+		final EntityDescriptor descriptor = EntityDescriptor.get(clazz);
 		final Field primaryField = AnnotationTools.getPrimaryKeyField(clazz);
-		for (final Field elem : clazz.getFields()) {
-			// DEtect the primary key (support only one primary key right now...
-			if (AnnotationTools.isPrimaryKey(elem)) {
-				primaryKeys.add(AnnotationTools.getFieldName(elem, options).inTable());
-			}
+		// DEtect the primary key (support only one primary key right now...
+		if (descriptor.getPrimaryKey() != null) {
+			primaryKeys.add(descriptor.getPrimaryKey().getFieldName(options).inTable());
 		}
 		// Here we insert the data in the reverse mode ==> the parent class add there parameter at the start (we reorder the field with the parenting).
 		StringBuilder tmpOut = new StringBuilder();
@@ -384,12 +553,9 @@ public class DataFactory {
 		while (currentClazz != null) {
 			fieldId = 0;
 			LOGGER.trace("parse class: '{}'", currentClazz.getCanonicalName());
-			for (final Field elem : clazz.getFields()) {
-				// static field is only for internal global declaration ==> remove it ..
-				if (java.lang.reflect.Modifier.isStatic(elem.getModifiers())) {
-					continue;
-				}
-				final String dataName = AnnotationTools.getFieldName(elem, options).inTable();
+			for (final ColumnDescriptor column : descriptor.getColumns()) {
+				final Field elem = column.field();
+				final String dataName = column.getFieldName(options).inTable();
 				if (isFieldFromSuperClass(currentClazz, dataName, options)) {
 					LOGGER.trace("        SKIP:  '{}'", elem.getName());
 					continue;
@@ -416,21 +582,13 @@ public class DataFactory {
 					}
 				}
 				LOGGER.trace("        + '{}'", elem.getName());
-				if (DBAccessSQL.isAddOnField(elem)) {
-					final DataAccessAddOn addOn = DBAccessSQL.findAddOnforField(elem);
-					LOGGER.trace("Create type for: {} ==> {} (ADD-ON)",
-							AnnotationTools.getFieldName(elem, options).inTable(), basicType);
-					if (addOn != null) {
-						addOn.createTables(tableName, primaryField, elem, tmpOut, preActionList, postActionList,
-								createIfNotExist, createDrop, fieldId, options);
-					} else {
-						throw new DataAccessException("Element matked as add-on but add-on does not loaded: table:"
-								+ tableName + " field name=" + AnnotationTools.getFieldName(elem, options).inTable()
-								+ " type=" + basicType);
-					}
+				final DataAccessAddOn addOn = column.addOn();
+				if (addOn != null) {
+					LOGGER.trace("Create type for: {} ==> {} (ADD-ON)", dataName, basicType);
+					addOn.createTables(tableName, primaryField, elem, tmpOut, preActionList, postActionList,
+							createIfNotExist, createDrop, fieldId, options);
 				} else {
-					LOGGER.trace("Create type for: {} ==> {}", AnnotationTools.getFieldName(elem, options).inTable(),
-							basicType);
+					LOGGER.trace("Create type for: {} ==> {}", dataName, basicType);
 					DataFactory.createTablesSpecificType(tableName, tablePrimaryKeyField, elem, tmpOut, preActionList,
 							postActionList, createIfNotExist, createDrop, fieldId, basicType, options);
 				}
@@ -463,12 +621,25 @@ public class DataFactory {
 			}
 			out.append("`)");
 		}
+		final List<IndexDefinition> indexes = getIndexes(clazz, tableName, options);
+		final List<String> indexActionList = new ArrayList<>();
+		for (final IndexDefinition index : indexes) {
+			if ("sqlite".equals(ConfigBaseVariable.getDBType())) {
+				indexActionList.add(createIndexRequest(tableName, descriptor, index, options));
+			} else {
+				out.append(index.unique() ? ",\n\tUNIQUE INDEX `" : ",\n\tINDEX `");
+				out.append(index.name());
+				out.append("`");
+				appendIndexColumns(out, descriptor, index);
+			}
+		}
 		out.append("\n\t)");
 		if (!"sqlite".equals(ConfigBaseVariable.getDBType())) {
 			out.append(" ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci");
 		}
 		out.append(";");
 		preActionList.add(out.toString());
+		preActionList.addAll(indexActionList);
 		preActionList.addAll(postActionList);
 		return preActionList;
 	}
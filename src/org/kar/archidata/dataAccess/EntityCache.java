@@ -0,0 +1,320 @@
+package org.kar.archidata.dataAccess;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.kar.archidata.annotation.DataCache;
+import org.kar.archidata.dataAccess.EntityDescriptor.ColumnDescriptor;
+import org.kar.archidata.dataAccess.options.Limit;
+import org.kar.archidata.db.DbConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.persistence.OneToMany;
+
+/** Second level cache of the elements read by id, one cache by DB configuration. Only the classes with the {@link DataCache} annotation (or configured
+ * with {@link #configure(Class, Config)}) are cached. The cache store a copy of the elements and give a copy to each reader (the fields are copied, the
+ * lists are duplicated but the sub-objects are shared). Each invalidation change the generation of the class: a value read before an invalidation is
+ * not stored (a concurrent reader can not put back the previous value of a modified element).
+ * The classes with a {@link OneToMany} field are not cached: the list depends on the remote elements that do not invalidate it. */
+public class EntityCache {
+	final static Logger LOGGER = LoggerFactory.getLogger(EntityCache.class);
+
+	/** Configuration of the cache of a class.
+	 * @param maxSize Maximum number of elements.
+	 * @param ttl Time to live of an element in milliseconds (0: no expiration).
+	 * @param policy Eviction policy when the cache is full.
+	 * @param warmUp Read all the table when the cache is warmed up. */
+	public record Config(
+			int maxSize,
+			long ttl,
+			DataCache.Policy policy,
+			boolean warmUp) {
+		public static Config from(final DataCache annotation) {
+			return new Config(annotation.maxSize(), annotation.ttl() * 1000L, annotation.policy(),
+					annotation.warmUp());
+		}
+	};
+
+	/** Statistics of the cache of a class. */
+	public record Stats(
+			long hit,
+			long miss,
+			long evicted,
+			long expired,
+			long invalidated,
+			int size) {};
+
+	private static class Entry {
+		final Object value;
+		final long expireTime;
+		long frequency = 0;
+
+		Entry(final Object value, final long expireTime) {
+			this.value = value;
+			this.expireTime = expireTime;
+		}
+	}
+
+	/** Cache of a single class. */
+	private static class Region {
+		private final Config config;
+		private final LinkedHashMap<Object, Entry> entries;
+		private long hit = 0;
+		private long miss = 0;
+		private long evicted = 0;
+		private long expired = 0;
+		private long invalidated = 0;
+		// Changed by each invalidation.
+		private long generation = 0;
+
+		Region(final Config config) {
+			this.config = config;
+			// The access order is only needed for the LRU.
+			this.entries = new LinkedHashMap<>(16, 0.75f, config.policy() == DataCache.Policy.LRU);
+		}
+
+		synchronized Object get(final Object id) {
+			final Entry entry = this.entries.get(id);
+			if (entry == null) {
+				this.miss++;
+				return null;
+			}
+			if (entry.expireTime != 0 && entry.expireTime < System.currentTimeMillis()) {
+				this.entries.remove(id);
+				this.expired++;
+				this.miss++;
+				return null;
+			}
+			entry.frequency++;
+			this.hit++;
+			return entry.value;
+		}
+
+		synchronized long getGeneration() {
+			return this.generation;
+		}
+
+		synchronized void put(final Object id, final Object value, final long generation) {
+			if (generation != this.generation) {
+				// Read before an invalidation: the value can be the previous one.
+				return;
+			}
+			final long expireTime = this.config.ttl() <= 0 ? 0 : System.currentTimeMillis() + this.config.ttl();
+			this.entries.put(id, new Entry(value, expireTime));
+			while (this.entries.size() > this.config.maxSize()) {
+				evictOne();
+			}
+		}
+
+		private void evictOne() {
+			Object key = null;
+			if (this.config.policy() == DataCache.Policy.LRU) {
+				key = this.entries.keySet().iterator().next();
+			} else {
+				// LFU: the caches are small, a scan is simpler than a frequency index.
+				long minFrequency = Long.MAX_VALUE;
+				final Iterator<Map.Entry<Object, Entry>> iterator = this.entries.entrySet().iterator();
+				while (iterator.hasNext()) {
+					final Map.Entry<Object, Entry> elem = iterator.next();
+					if (elem.getValue().frequency < minFrequency) {
+						minFrequency = elem.getValue().frequency;
+						key = elem.getKey();
+					}
+				}
+			}
+			this.entries.remove(key);
+			this.evicted++;
+		}
+
+		synchronized void invalidate(final Object id) {
+			this.generation++;
+			if (this.entries.remove(id) != null) {
+				this.invalidated++;
+			}
+		}
+
+		synchronized void invalidateAll() {
+			this.generation++;
+			this.invalidated += this.entries.size();
+			this.entries.clear();
+		}
+
+		synchronized Stats getStats() {
+			return new Stats(this.hit, this.miss, this.evicted, this.expired, this.invalidated, this.entries.size());
+		}
+	}
+
+	private static final Map<DbConfig, EntityCache> CACHES = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, Config> CONFIGS = new ConcurrentHashMap<>();
+	// Configuration of the classes without cache (the annotation is read only one time).
+	private static final Config NO_CACHE = new Config(0, 0, DataCache.Policy.LRU, false);
+
+	private final Map<Class<?>, Region> regions = new ConcurrentHashMap<>();
+
+	/** Get the cache of a DB.
+	 * @param config Configuration of the DB.
+	 * @return The cache or null if the cache is disabled for this DB. */
+	public static EntityCache get(final DbConfig config) {
+		if (config == null || !config.isEntityCacheEnabled()) {
+			return null;
+		}
+		return CACHES.computeIfAbsent(config, key -> new EntityCache());
+	}
+
+	/** Remove all the elements of the cache of a DB (the DB is closed or removed). */
+	public static void flush(final DbConfig config) {
+		if (config == null) {
+			return;
+		}
+		final EntityCache cache = CACHES.remove(config);
+		if (cache != null) {
+			for (final Region region : cache.regions.values()) {
+				region.invalidateAll();
+			}
+		}
+	}
+
+	/** Set the cache configuration of a class (when the class can not have the {@link DataCache} annotation).
+	 * @param clazz Class to cache.
+	 * @param config Configuration of the cache (null to remove the cache of the class). */
+	public static void configure(final Class<?> clazz, final Config config) {
+		CONFIGS.put(clazz, config == null || hasOneToMany(clazz) ? NO_CACHE : config);
+		for (final EntityCache cache : CACHES.values()) {
+			cache.regions.remove(clazz);
+		}
+	}
+
+	public static Config getConfig(final Class<?> clazz) {
+		final Config config = CONFIGS.computeIfAbsent(clazz, key -> {
+			final DataCache annotation = key.getAnnotation(DataCache.class);
+			return annotation == null || hasOneToMany(key) ? NO_CACHE : Config.from(annotation);
+		});
+		return config == NO_CACHE ? null : config;
+	}
+
+	private static boolean hasOneToMany(final Class<?> clazz) {
+		for (final ColumnDescriptor column : EntityDescriptor.get(clazz).getColumns()) {
+			if (column.field().isAnnotationPresent(OneToMany.class)) {
+				LOGGER.warn("The class {} has a OneToMany field '{}': it can not be cached", clazz.getSimpleName(),
+						column.getName());
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Region getRegion(final Class<?> clazz) {
+		final Region region = this.regions.get(clazz);
+		if (region != null) {
+			return region;
+		}
+		final Config config = getConfig(clazz);
+		if (config == null || config.maxSize() <= 0) {
+			return null;
+		}
+		return this.regions.computeIfAbsent(clazz, key -> new Region(config));
+	}
+
+	public boolean isCached(final Class<?> clazz) {
+		return getRegion(clazz) != null;
+	}
+
+	/** Get a copy of an element.
+	 * @return The element or null if it is not in the cache. */
+	@SuppressWarnings("unchecked")
+	public <T> T get(final Class<T> clazz, final Object id) throws Exception {
+		final Region region = getRegion(clazz);
+		if (region == null || id == null) {
+			return null;
+		}
+		final Object value = region.get(id);
+		if (value == null) {
+			return null;
+		}
+		return (T) copy(value);
+	}
+
+	/** Get the generation of a class, to read before the request of an element that will be stored.
+	 * @return The current generation (-1 if the class is not cached). */
+	public long getGeneration(final Class<?> clazz) {
+		final Region region = getRegion(clazz);
+		if (region == null) {
+			return -1;
+		}
+		return region.getGeneration();
+	}
+
+	/** Store a copy of an element.
+	 * @param generation Generation of the class before the element has been read (the element is not stored if the class has been invalidated). */
+	public void put(final Class<?> clazz, final Object id, final Object value, final long generation)
+			throws Exception {
+		final Region region = getRegion(clazz);
+		if (region == null || id == null || value == null) {
+			return;
+		}
+		region.put(id, copy(value), generation);
+	}
+
+	public void invalidate(final Class<?> clazz, final Object id) {
+		final Region region = this.regions.get(clazz);
+		if (region != null) {
+			region.invalidate(id);
+		}
+	}
+
+	public void invalidateAll(final Class<?> clazz) {
+		final Region region = this.regions.get(clazz);
+		if (region != null) {
+			region.invalidateAll();
+		}
+	}
+
+	/** Fill the cache of a class with the content of the table (limited to the size of the cache).
+	 * @param db Access to the DB.
+	 * @param clazz Class to read.
+	 * @return Number of elements in the cache. */
+	public int warmUp(final DBAccess db, final Class<?> clazz) throws Exception {
+		final Region region = getRegion(clazz);
+		if (region == null) {
+			return 0;
+		}
+		final ColumnDescriptor primaryKey = EntityDescriptor.get(clazz).getPrimaryKey();
+		if (primaryKey == null) {
+			return 0;
+		}
+		final long generation = region.getGeneration();
+		final List<?> elements = db.getsWhere(clazz, new Limit(region.config.maxSize()));
+		for (final Object elem : elements) {
+			region.put(primaryKey.field().get(elem), copy(elem), generation);
+		}
+		LOGGER.info("Warm up the cache of {}: {} elements", clazz.getSimpleName(), elements.size());
+		return elements.size();
+	}
+
+	public Stats getStats(final Class<?> clazz) {
+		final Region region = this.regions.get(clazz);
+		if (region == null) {
+			return new Stats(0, 0, 0, 0, 0, 0);
+		}
+		return region.getStats();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object copy(final Object value) throws Exception {
+		final EntityDescriptor descriptor = EntityDescriptor.get(value.getClass());
+		final Object out = descriptor.newInstance();
+		for (final ColumnDescriptor column : descriptor.getColumns()) {
+			Object elem = column.field().get(value);
+			if (elem instanceof final List<?> list) {
+				elem = new ArrayList<>((List<Object>) list);
+			}
+			column.field().set(out, elem);
+		}
+		return out;
+	}
+}
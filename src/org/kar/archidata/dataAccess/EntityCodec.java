@@ -0,0 +1,265 @@
+package org.kar.archidata.dataAccess;
+
+import java.lang.reflect.Field;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.codecs.BsonValueCodec;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.kar.archidata.dataAccess.EntityDescriptor.ColumnDescriptor;
+import org.kar.archidata.dataAccess.addOnMongo.DataAccessAddOn;
+import org.kar.archidata.dataAccess.options.OptionRenameColumn;
+import org.kar.archidata.exception.DataAccessException;
+
+/** Decoder of the BSON documents of an entity: the values are read from the BSON stream and set in the object without an intermediate Document. The
+ * reflection and the annotations are analyzed only one time by class (cached), the add-on fields are given to their add-on in a Document that contains
+ * only them. */
+public class EntityCodec {
+	private static final Map<Key, EntityCodec> CODECS = new ConcurrentHashMap<>();
+
+	private record Key(
+			Class<?> clazz,
+			boolean readAll) {};
+
+	/** Codecs of the DB used by a request. */
+	public static class Context {
+		final DBAccessMorphia ioDb;
+		final Codec<UUID> uuidCodec;
+		final Codec<Document> documentCodec;
+		final BsonValueCodec bsonValueCodec;
+		final DecoderContext decoderContext = DecoderContext.builder().build();
+
+		public Context(final DBAccessMorphia ioDb, final CodecRegistry registry) {
+			this.ioDb = ioDb;
+			this.uuidCodec = registry.get(UUID.class);
+			this.documentCodec = registry.get(Document.class);
+			this.bsonValueCodec = new BsonValueCodec(registry);
+		}
+
+		/** Read a value as the Document codec does (used for the generic types). */
+		Object readGeneric(final BsonReader reader) {
+			final BsonValue value = this.bsonValueCodec.decode(reader, this.decoderContext);
+			return this.documentCodec.decode(new BsonDocumentReader(new BsonDocument("v", value)), this.decoderContext)
+					.get("v");
+		}
+	}
+
+	@FunctionalInterface
+	private interface ValueReader {
+		Object read(BsonReader reader, Context context, List<LazyGetter> lazyCall) throws Exception;
+	}
+
+	private record FieldDecoder(
+			Field field,
+			String name,
+			int index,
+			ValueReader reader,
+			DataAccessAddOn addOn) {};
+
+	private final EntityDescriptor descriptor;
+	private final Map<String, FieldDecoder> fields = new HashMap<>();
+	private final List<FieldDecoder> nativeFields = new ArrayList<>();
+	private final List<FieldDecoder> addOnFields = new ArrayList<>();
+
+	private EntityCodec(final Class<?> clazz, final QueryOptions options) {
+		this.descriptor = EntityDescriptor.get(clazz);
+		final boolean readAllfields = QueryOptions.readAllColomn(options);
+		for (final ColumnDescriptor column : this.descriptor.getColumns()) {
+			final Field field = column.field();
+			final DataAccessAddOn addOn = column.mongoAddOn();
+			if (addOn != null && !addOn.canRetrieve(field)) {
+				continue;
+			}
+			if (!readAllfields && column.defaultNotRead()) {
+				continue;
+			}
+			final String name = column.getFieldName(options).inTable();
+			if (addOn == null) {
+				final FieldDecoder decoder = new FieldDecoder(field, name, this.nativeFields.size(), createReader(field),
+						null);
+				this.fields.put(name, decoder);
+				this.nativeFields.add(decoder);
+			} else {
+				final FieldDecoder decoder = new FieldDecoder(field, name, -1, null, addOn);
+				this.fields.put(name, decoder);
+				this.addOnFields.add(decoder);
+			}
+		}
+	}
+
+	/** Get the decoder of a class.
+	 * @param clazz Class of the entity.
+	 * @param options Options of the request (read of all the columns, renamed columns).
+	 * @return The decoder (cached when the columns are not renamed). */
+	public static EntityCodec get(final Class<?> clazz, final QueryOptions options) {
+		if (options != null && options.exist(OptionRenameColumn.class)) {
+			return new EntityCodec(clazz, options);
+		}
+		final Key key = new Key(clazz, QueryOptions.readAllColomn(options));
+		// Note: no computeIfAbsent, the creation can request the descriptor of an other class.
+		final EntityCodec out = CODECS.get(key);
+		if (out != null) {
+			return out;
+		}
+		final EntityCodec codec = new EntityCodec(clazz, options);
+		final EntityCodec previous = CODECS.putIfAbsent(key, codec);
+		return previous != null ? previous : codec;
+	}
+
+	private static long readLong(final BsonReader reader) {
+		final BsonType type = reader.getCurrentBsonType();
+		if (type == BsonType.INT32) {
+			return reader.readInt32();
+		}
+		if (type == BsonType.DOUBLE) {
+			return (long) reader.readDouble();
+		}
+		return reader.readInt64();
+	}
+
+	private static double readDouble(final BsonReader reader) {
+		final BsonType type = reader.getCurrentBsonType();
+		if (type == BsonType.INT32) {
+			return reader.readInt32();
+		}
+		if (type == BsonType.INT64) {
+			return reader.readInt64();
+		}
+		return reader.readDouble();
+	}
+
+	private static ValueReader createReader(final Field field) {
+		final Class<?> type = field.getType();
+		if (type == UUID.class) {
+			return (reader, context, lazyCall) -> context.uuidCodec.decode(reader, context.decoderContext);
+		}
+		if (type == Long.class || type == long.class) {
+			return (reader, context, lazyCall) -> readLong(reader);
+		}
+		if (type == Integer.class || type == int.class) {
+			return (reader, context, lazyCall) -> (int) readLong(reader);
+		}
+		if (type == Float.class || type == float.class) {
+			return (reader, context, lazyCall) -> (float) readDouble(reader);
+		}
+		if (type == Double.class || type == double.class) {
+			return (reader, context, lazyCall) -> readDouble(reader);
+		}
+		if (type == Boolean.class || type == boolean.class) {
+			return (reader, context, lazyCall) -> reader.readBoolean();
+		}
+		if (type == Timestamp.class) {
+			return (reader, context, lazyCall) -> new Timestamp(reader.readDateTime());
+		}
+		if (type == Date.class) {
+			return (reader, context, lazyCall) -> new Date(reader.readDateTime());
+		}
+		if (type == Instant.class) {
+			return (reader, context, lazyCall) -> Instant.ofEpochMilli(reader.readDateTime());
+		}
+		if (type == LocalDate.class) {
+			return (reader, context, lazyCall) -> Instant.ofEpochMilli(reader.readDateTime())
+					.atZone(ZoneId.systemDefault()).toLocalDate();
+		}
+		if (type == LocalTime.class) {
+			return (reader, context, lazyCall) -> LocalTime.ofNanoOfDay(readLong(reader));
+		}
+		if (type == String.class) {
+			return (reader, context, lazyCall) -> reader.readString();
+		}
+		if (type.isEnum()) {
+			final Map<String, Object> values = new HashMap<>();
+			for (final Object elem : type.getEnumConstants()) {
+				values.put(elem.toString(), elem);
+			}
+			return (reader, context, lazyCall) -> {
+				final String value = reader.readString();
+				final Object out = values.get(value);
+				if (out == null) {
+					throw new DataAccessException("Enum value does not exist in the Model: '" + value + "'");
+				}
+				return out;
+			};
+		}
+		if (type == List.class || type == Object.class) {
+			return (reader, context, lazyCall) -> context.readGeneric(reader);
+		}
+		// Sub-object: decoded with its own codec.
+		return (reader, context, lazyCall) -> get(type, null).decode(reader, context, null, lazyCall);
+	}
+
+	/** Create an object from a BSON document.
+	 * @param reader Reader positioned on the document.
+	 * @param context Codecs of the DB.
+	 * @param options Options of the request (given to the add-ons).
+	 * @param lazyCall List where the add-ons add their deferred requests.
+	 * @return The new object. */
+	public Object decode(
+			final BsonReader reader,
+			final Context context,
+			final QueryOptions options,
+			final List<LazyGetter> lazyCall) throws Exception {
+		final Object data = this.descriptor.newInstance();
+		BsonDocument addOnValues = null;
+		final boolean[] found = new boolean[this.nativeFields.size()];
+		reader.readStartDocument();
+		while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			final String name = reader.readName();
+			final FieldDecoder decoder = this.fields.get(name);
+			if (decoder == null) {
+				reader.skipValue();
+				continue;
+			}
+			if (decoder.addOn() != null) {
+				if (addOnValues == null) {
+					addOnValues = new BsonDocument();
+				}
+				addOnValues.put(name, context.bsonValueCodec.decode(reader, context.decoderContext));
+				continue;
+			}
+			found[decoder.index()] = true;
+			if (reader.getCurrentBsonType() == BsonType.NULL) {
+				reader.readNull();
+				if (!decoder.field().getType().isPrimitive()) {
+					decoder.field().set(data, null);
+				}
+				continue;
+			}
+			decoder.field().set(data, decoder.reader().read(reader, context, lazyCall));
+		}
+		reader.readEndDocument();
+		// The fields that are not in the DB are null (not the default value of the class).
+		for (int iii = 0; iii < found.length; iii++) {
+			final Field field = this.nativeFields.get(iii).field();
+			if (!found[iii] && !field.getType().isPrimitive()) {
+				field.set(data, null);
+			}
+		}
+		if (!this.addOnFields.isEmpty()) {
+			final Document doc = addOnValues == null ? new Document()
+					: context.documentCodec.decode(new BsonDocumentReader(addOnValues), context.decoderContext);
+			for (final FieldDecoder decoder : this.addOnFields) {
+				decoder.addOn().fillFromDoc(context.ioDb, doc, decoder.field(), data, options, lazyCall);
+			}
+		}
+		return data;
+	}
+}
@@ -0,0 +1,203 @@
+package org.kar.archidata.dataAccess;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.kar.archidata.annotation.AnnotationTools;
+import org.kar.archidata.annotation.AnnotationTools.FieldName;
+import org.kar.archidata.dataAccess.addOnSQL.DataAccessAddOn;
+import org.kar.archidata.dataAccess.options.OptionRenameColumn;
+import org.kar.archidata.dataAccess.options.OverrideTableName;
+import org.kar.archidata.exception.DataAccessException;
+
+import jakarta.ws.rs.DefaultValue;
+
+/** Description of an entity class: the reflection and the annotations of a class are analyzed only one time and cached. The descriptor is immutable. */
+public class EntityDescriptor {
+	private static final Map<Class<?>, EntityDescriptor> DESCRIPTORS = new ConcurrentHashMap<>();
+
+	/** Description of a column (a public non-static field of the class). */
+	public record ColumnDescriptor(
+			Field field,
+			FieldName fieldName,
+			boolean primaryKey,
+			boolean deleted,
+			boolean creationTimestamp,
+			boolean updateTimestamp,
+			boolean defaultNotRead,
+			boolean defaultValue,
+			DataAccessAddOn addOn,
+			org.kar.archidata.dataAccess.addOnMongo.DataAccessAddOn mongoAddOn,
+			SqlFieldMapper sqlMapper) {
+
+		/** Get the name of the column with the rename options.
+		 * @param options Options of the request (can be null).
+		 * @return The name in the structure and in the table. */
+		public FieldName getFieldName(final QueryOptions options) {
+			if (options == null || !options.exist(OptionRenameColumn.class)) {
+				return this.fieldName;
+			}
+			return AnnotationTools.getFieldName(this.field, options);
+		}
+
+		public String getName() {
+			return this.fieldName.inStruct();
+		}
+
+		public Class<?> getType() {
+			return this.field.getType();
+		}
+
+		/** Primary key, creation/update timestamp or soft-delete field. */
+		public boolean isGeneric() {
+			return this.primaryKey || this.deleted || this.creationTimestamp || this.updateTimestamp;
+		}
+	}
+
+	private final Class<?> clazz;
+	private final String tableName;
+	private final List<ColumnDescriptor> columns;
+	private final Map<String, ColumnDescriptor> columnsByName;
+	private final ColumnDescriptor primaryKey;
+	private final ColumnDescriptor deleted;
+	private final ColumnDescriptor creationTimestamp;
+	private final ColumnDescriptor updateTimestamp;
+	private final Constructor<?> constructor;
+
+	private EntityDescriptor(final Class<?> clazz) {
+		this.clazz = clazz;
+		this.tableName = AnnotationTools.getTableName(clazz);
+		final List<ColumnDescriptor> columns = new ArrayList<>();
+		final Map<String, ColumnDescriptor> columnsByName = new HashMap<>();
+		ColumnDescriptor primaryKey = null;
+		ColumnDescriptor deleted = null;
+		ColumnDescriptor creationTimestamp = null;
+		ColumnDescriptor updateTimestamp = null;
+		for (final Field field : clazz.getFields()) {
+			// static field is only for internal global declaration ==> remove it ..
+			if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
+				continue;
+			}
+			final ColumnDescriptor column = new ColumnDescriptor(field, AnnotationTools.getFieldName(field, null),
+					AnnotationTools.isPrimaryKey(field), AnnotationTools.isDeletedField(field),
+					AnnotationTools.isCreatedAtField(field), AnnotationTools.isUpdateAtField(field),
+					AnnotationTools.isDefaultNotRead(field),
+					field.getDeclaredAnnotationsByType(DefaultValue.class).length != 0,
+					DBAccessSQL.findAddOnforField(field), DBAccessMorphia.findAddOnforField(field),
+					createSqlMapper(field));
+			columns.add(column);
+			columnsByName.putIfAbsent(column.getName(), column);
+			if (primaryKey == null && column.primaryKey()) {
+				primaryKey = column;
+			}
+			if (deleted == null && column.deleted()) {
+				deleted = column;
+			}
+			if (creationTimestamp == null && column.creationTimestamp()) {
+				creationTimestamp = column;
+			}
+			if (updateTimestamp == null && column.updateTimestamp()) {
+				updateTimestamp = column;
+			}
+		}
+		this.columns = Collections.unmodifiableList(columns);
+		this.columnsByName = Collections.unmodifiableMap(columnsByName);
+		this.primaryKey = primaryKey;
+		this.deleted = deleted;
+		this.creationTimestamp = creationTimestamp;
+		this.updateTimestamp = updateTimestamp;
+		Constructor<?> constructor = null;
+		for (final Constructor<?> elem : clazz.getConstructors()) {
+			if (elem.getParameterCount() == 0) {
+				constructor = elem;
+				break;
+			}
+		}
+		this.constructor = constructor;
+	}
+
+	/** The native columns are converted with a precomputed mapper, null for the add-on and dynamic typed (Object) fields. */
+	private static SqlFieldMapper createSqlMapper(final Field field) {
+		if (field.getType() == Object.class || DBAccessSQL.isAddOnField(field)) {
+			return null;
+		}
+		try {
+			return SqlFieldMapper.get(field);
+		} catch (final DataAccessException ex) {
+			return null;
+		}
+	}
+
+	/** Get the descriptor of a class (created at the first call).
+	 * @param clazz Class of the entity.
+	 * @return The descriptor of the class. */
+	public static EntityDescriptor get(final Class<?> clazz) {
+		// Note: no computeIfAbsent, the creation can request the descriptor of an other class.
+		final EntityDescriptor out = DESCRIPTORS.get(clazz);
+		if (out != null) {
+			return out;
+		}
+		final EntityDescriptor descriptor = new EntityDescriptor(clazz);
+		final EntityDescriptor previous = DESCRIPTORS.putIfAbsent(clazz, descriptor);
+		return previous != null ? previous : descriptor;
+	}
+
+	public Class<?> getClazz() {
+		return this.clazz;
+	}
+
+	/** Get the name of the table with the override options.
+	 * @param options Options of the request (can be null).
+	 * @return The name of the table. */
+	public String getTableName(final QueryOptions options) {
+		if (options != null) {
+			final List<OverrideTableName> data = options.get(OverrideTableName.class);
+			if (data.size() == 1) {
+				return data.get(0).getName();
+			}
+		}
+		return this.tableName;
+	}
+
+	/** @return All the columns of the class (in the declaration order). */
+	public List<ColumnDescriptor> getColumns() {
+		return this.columns;
+	}
+
+	/** @return The column with this name (not renamed) or null. */
+	public ColumnDescriptor getColumn(final String name) {
+		return this.columnsByName.get(name);
+	}
+
+	public ColumnDescriptor getPrimaryKey() {
+		return this.primaryKey;
+	}
+
+	public ColumnDescriptor getDeleted() {
+		return this.deleted;
+	}
+
+	public ColumnDescriptor getCreationTimestamp() {
+		return this.creationTimestamp;
+	}
+
+	public ColumnDescriptor getUpdateTimestamp() {
+		return this.updateTimestamp;
+	}
+
+	/** Create a new instance with the default constructor.
+	 * @return The new object. */
+	public Object newInstance() throws Exception {
+		if (this.constructor == null) {
+			throw new DataAccessException(
+					"Can not find the default constructor for the class: " + this.clazz.getCanonicalName());
+		}
+		return this.constructor.newInstance();
+	}
+}
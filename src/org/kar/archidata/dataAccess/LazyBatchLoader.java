@@ -0,0 +1,152 @@
+package org.kar.archidata.dataAccess;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.kar.archidata.dataAccess.EntityDescriptor.ColumnDescriptor;
+import org.kar.archidata.dataAccess.options.Condition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Lazy loading of the remote objects of a relation. All the loaders on the same remote class and the same column are merged, then the objects are retrieved with one "IN" request (by chunk) and
+ * dispatched to the parents objects (instead of one request for each parent). */
+public class LazyBatchLoader implements LazyGetter {
+	final static Logger LOGGER = LoggerFactory.getLogger(LazyBatchLoader.class);
+	// Maximum number of keys in a "IN (...)" request.
+	public static final int MAX_KEYS_BY_REQUEST = 500;
+
+	/** Receive the remote objects that match the requested keys (in the order of the keys). */
+	public interface Receiver {
+		void set(List<Object> values) throws Exception;
+	}
+
+	private record Request(
+			List<?> keys,
+			boolean list,
+			Receiver receiver) {};
+
+	private final DBAccess ioDb;
+	private final Class<?> clazz;
+	private final String column;
+	private final List<Request> requests = new ArrayList<>();
+
+	/** Create a loader
+	 * @param ioDb Access on the DB.
+	 * @param clazz Class of the remote objects.
+	 * @param column Column (in the remote table) that must match the keys.
+	 * @param keys List of keys to retrieve.
+	 * @param list The receiver is a list relation: it is called with an empty list if no object is found (else it is not called).
+	 * @param receiver Receiver of the objects. */
+	public LazyBatchLoader(final DBAccess ioDb, final Class<?> clazz, final String column, final List<?> keys,
+			final boolean list, final Receiver receiver) {
+		this.ioDb = ioDb;
+		this.clazz = clazz;
+		this.column = column;
+		this.requests.add(new Request(keys, list, receiver));
+	}
+
+	@Override
+	public boolean merge(final LazyGetter other) {
+		if (other instanceof final LazyBatchLoader otherLoader && otherLoader.ioDb == this.ioDb
+				&& otherLoader.clazz == this.clazz && otherLoader.column.equals(this.column)) {
+			this.requests.addAll(otherLoader.requests);
+			return true;
+		}
+		return false;
+	}
+
+	private Field getColumnField() {
+		for (final ColumnDescriptor elem : EntityDescriptor.get(this.clazz).getColumns()) {
+			if (elem.fieldName().inTable().equals(this.column)) {
+				return elem.field();
+			}
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Object> getsWhere(final List<?> keys) throws Exception {
+		return (List<Object>) this.ioDb.getsWhere(this.clazz,
+				new Condition(new QueryInList<>(this.column, new ArrayList<Object>(keys))));
+	}
+
+	/** Check if the value of the field is the raw key (and not a relation object like a @ManyToOne on an object).
+	 * @param field Field of the column.
+	 * @param keys Requested keys.
+	 * @return true if the objects can be dispatched with the value of the field. */
+	private static boolean isKeyField(final Field field, final Collection<Object> keys) {
+		if (field.getType().isPrimitive()) {
+			return true;
+		}
+		for (final Object key : keys) {
+			if (!field.getType().isInstance(key)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Request the objects of each parent separately (when the result can not be dispatched). */
+	private void doRequestByParent() throws Exception {
+		for (final Request request : this.requests) {
+			final List<Object> values = getsWhere(request.keys());
+			if (request.list() || values != null && values.size() != 0) {
+				request.receiver().set(values == null ? new ArrayList<>() : values);
+			}
+		}
+	}
+
+	@Override
+	public void doRequest() throws Exception {
+		final Field columnField = getColumnField();
+		if (columnField == null) {
+			// Can not dispatch the result ==> one request for each parent.
+			LOGGER.warn("Can not find the field of the column '{}' in {}", this.column,
+					this.clazz.getCanonicalName());
+			doRequestByParent();
+			return;
+		}
+		final LinkedHashSet<Object> keys = new LinkedHashSet<>();
+		for (final Request request : this.requests) {
+			keys.addAll(request.keys());
+		}
+		if (!isKeyField(columnField, keys)) {
+			// The field is a relation object: its value is not the key ==> one request for each parent.
+			LOGGER.trace("The field of the column '{}' in {} is not a key: request by parent", this.column,
+					this.clazz.getCanonicalName());
+			doRequestByParent();
+			return;
+		}
+		final List<Object> allKeys = new ArrayList<>(keys);
+		final Map<Object, List<Object>> values = new HashMap<>();
+		for (int iii = 0; iii < allKeys.size(); iii += MAX_KEYS_BY_REQUEST) {
+			final List<Object> chunk = allKeys.subList(iii, Math.min(allKeys.size(), iii + MAX_KEYS_BY_REQUEST));
+			final List<Object> elements = getsWhere(chunk);
+			for (final Object elem : elements) {
+				final Object key = columnField.get(elem);
+				if (key != null) {
+					values.computeIfAbsent(key, k -> new ArrayList<>()).add(elem);
+				}
+			}
+		}
+		LOGGER.trace("Load {} keys of {} for {} requests", allKeys.size(), this.clazz.getCanonicalName(),
+				this.requests.size());
+		for (final Request request : this.requests) {
+			final List<Object> out = new ArrayList<>();
+			for (final Object key : request.keys()) {
+				final List<Object> tmp = values.get(key);
+				if (tmp != null) {
+					out.addAll(tmp);
+				}
+			}
+			if (request.list() || out.size() != 0) {
+				request.receiver().set(out);
+			}
+		}
+	}
+}
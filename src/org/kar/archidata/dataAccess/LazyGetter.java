@@ -1,5 +1,35 @@
 package org.kar.archidata.dataAccess;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface LazyGetter {
 	void doRequest() throws Exception;
+
+	/** Try to group an other request in this one (permit to do a single request for all the elements of a multiple insert).
+	 * @param other Request to add in this one.
+	 * @return true if the other request has been merged in this one (it must not be called anymore). */
+	default boolean merge(final LazyGetter other) {
+		return false;
+	}
+
+	/** Group the requests that can be done together.
+	 * @param actions List of requests.
+	 * @return The list of requests to execute. */
+	static List<LazyGetter> group(final List<LazyGetter> actions) {
+		final List<LazyGetter> out = new ArrayList<>();
+		for (final LazyGetter action : actions) {
+			boolean merged = false;
+			for (final LazyGetter elem : out) {
+				if (elem.merge(action)) {
+					merged = true;
+					break;
+				}
+			}
+			if (!merged) {
+				out.add(action);
+			}
+		}
+		return out;
+	}
 }
@@ -0,0 +1,18 @@
+package org.kar.archidata.dataAccess;
+
+import java.util.List;
+
+/** A page of elements.
+ * @param items Elements of the page.
+ * @param next Values of the order columns of the last element to request the next page with the After option (null if it is the last page, empty
+ *        if the request has no order: use an Offset).
+ * @param total Total number of elements that match the request (null if not requested with the CountTotal option). */
+public record Page<T>(
+		List<T> items,
+		List<Object> next,
+		Long total) {
+
+	public boolean hasNext() {
+		return this.next != null;
+	}
+}
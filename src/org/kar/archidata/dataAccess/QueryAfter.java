@@ -0,0 +1,149 @@
+package org.kar.archidata.dataAccess;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.conversions.Bson;
+import org.kar.archidata.dataAccess.EntityDescriptor.ColumnDescriptor;
+import org.kar.archidata.dataAccess.options.OrderItem;
+import org.kar.archidata.dataAccess.options.OrderItem.Order;
+
+import com.mongodb.client.model.Filters;
+
+/** Condition of a keyset pagination: the elements strictly after a position in an order. When all the columns have the same order the SQL uses a row
+ * comparison "(a, b) > (?, ?)" that can use the index, otherwise it is expanded as "a > ? OR (a = ? AND b < ?)". */
+public class QueryAfter implements QueryItem {
+	private final List<OrderItem> order;
+	private final List<Object> values;
+
+	public QueryAfter(final List<OrderItem> order, final List<Object> values) {
+		if (order == null || values == null || order.size() == 0 || order.size() != values.size()) {
+			throw new IllegalArgumentException("After: need the same number of order columns and values");
+		}
+		this.order = order;
+		this.values = values;
+	}
+
+	/** Get the same position with the names of the columns in the collection (the order can use the names of the fields of the class).
+	 * @param clazz Class of the elements.
+	 * @param options Options of the request (rename of the columns).
+	 * @return The position with the stored names. */
+	public QueryAfter inCollection(final Class<?> clazz, final QueryOptions options) {
+		final EntityDescriptor descriptor = EntityDescriptor.get(clazz);
+		final List<OrderItem> order = new ArrayList<>();
+		for (final OrderItem elem : this.order) {
+			ColumnDescriptor column = descriptor.getColumn(elem.value);
+			if (column == null) {
+				for (final ColumnDescriptor current : descriptor.getColumns()) {
+					if (current.field().getName().equals(elem.value)) {
+						column = current;
+						break;
+					}
+				}
+			}
+			order.add(column == null ? elem : new OrderItem(column.getFieldName(options).inTable(), elem.order));
+		}
+		return new QueryAfter(order, this.values);
+	}
+
+	private boolean isSameOrder() {
+		for (final OrderItem elem : this.order) {
+			if (elem.order != this.order.get(0).order) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String comparator(final OrderItem elem) {
+		return elem.order == Order.DESC ? " < " : " > ";
+	}
+
+	private static void appendColumn(final StringBuilder query, final String tableName, final OrderItem elem) {
+		if (tableName != null) {
+			query.append(tableName);
+			query.append(".");
+		}
+		query.append(elem.value);
+	}
+
+	@Override
+	public void generateQuery(final StringBuilder query, final String tableName) {
+		if (this.order.size() == 1) {
+			appendColumn(query, tableName, this.order.get(0));
+			query.append(comparator(this.order.get(0)));
+			query.append("?");
+			return;
+		}
+		if (isSameOrder()) {
+			query.append("(");
+			for (int iii = 0; iii < this.order.size(); iii++) {
+				if (iii != 0) {
+					query.append(", ");
+				}
+				appendColumn(query, tableName, this.order.get(iii));
+			}
+			query.append(")");
+			query.append(comparator(this.order.get(0)));
+			query.append("(");
+			for (int iii = 0; iii < this.order.size(); iii++) {
+				query.append(iii == 0 ? "?" : ", ?");
+			}
+			query.append(")");
+			return;
+		}
+		query.append("(");
+		for (int iii = 0; iii < this.order.size(); iii++) {
+			if (iii != 0) {
+				query.append(" OR ");
+			}
+			query.append("(");
+			for (int jjj = 0; jjj < iii; jjj++) {
+				appendColumn(query, tableName, this.order.get(jjj));
+				query.append(" = ? AND ");
+			}
+			appendColumn(query, tableName, this.order.get(iii));
+			query.append(comparator(this.order.get(iii)));
+			query.append("?)");
+		}
+		query.append(")");
+	}
+
+	@Override
+	public void injectQuery(final DBAccessSQL ioDb, final PreparedStatement ps, final CountInOut iii) throws Exception {
+		if (this.order.size() == 1 || isSameOrder()) {
+			for (final Object value : this.values) {
+				ioDb.addElement(ps, value, iii);
+				iii.inc();
+			}
+			return;
+		}
+		// Same order as the generation of the expanded condition.
+		for (int jjj = 0; jjj < this.order.size(); jjj++) {
+			for (int kkk = 0; kkk <= jjj; kkk++) {
+				ioDb.addElement(ps, this.values.get(kkk), iii);
+				iii.inc();
+			}
+		}
+	}
+
+	@Override
+	public void generateFilter(final List<Bson> filters) {
+		final List<Bson> filtersOr = new ArrayList<>();
+		for (int iii = 0; iii < this.order.size(); iii++) {
+			final List<Bson> filtersAnd = new ArrayList<>();
+			for (int jjj = 0; jjj < iii; jjj++) {
+				filtersAnd.add(Filters.eq(this.order.get(jjj).value, this.values.get(jjj)));
+			}
+			final OrderItem elem = this.order.get(iii);
+			if (elem.order == Order.DESC) {
+				filtersAnd.add(Filters.lt(elem.value, this.values.get(iii)));
+			} else {
+				filtersAnd.add(Filters.gt(elem.value, this.values.get(iii)));
+			}
+			filtersOr.add(filtersAnd.size() == 1 ? filtersAnd.get(0) : Filters.and(filtersAnd.toArray(new Bson[0])));
+		}
+		filters.add(filtersOr.size() == 1 ? filtersOr.get(0) : Filters.or(filtersOr.toArray(new Bson[0])));
+	}
+}
@@ -0,0 +1,367 @@
+package org.kar.archidata.dataAccess;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.types.ObjectId;
+import org.kar.archidata.exception.DataAccessException;
+import org.kar.archidata.tools.DateTools;
+import org.kar.archidata.tools.UuidUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Precomputed conversion between a field of an object and a SQL column. The type is analyzed only one time for a couple (field, type), the access to the
+ * field is done with a VarHandle and the primitive types never go through a boxed value. */
+public class SqlFieldMapper {
+	final static Logger LOGGER = LoggerFactory.getLogger(SqlFieldMapper.class);
+
+	/** Write the value of the field of an object in a request. */
+	public interface Binder {
+		void bind(PreparedStatement ps, int index, Object data) throws Exception;
+	}
+
+	/** Read a column of the result and set the field of an object.
+	 * Return true if the value in the DB is not null. */
+	public interface Reader {
+		boolean read(ResultSet rs, int index, Object data) throws Exception;
+	}
+
+	/** Write a value in a request. */
+	private interface ValueBinder {
+		void bind(PreparedStatement ps, int index, Object value) throws Exception;
+	}
+
+	private record Key(
+			Field field,
+			Class<?> type) {}
+
+	private static final Map<Key, SqlFieldMapper> MAPPERS = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, ValueBinder> VALUE_BINDERS = new HashMap<>();
+	static {
+		VALUE_BINDERS.put(UUID.class, (ps, index, value) -> ps.setBytes(index, UuidUtils.asBytes((UUID) value)));
+		VALUE_BINDERS.put(ObjectId.class, (ps, index, value) -> ps.setBytes(index, ((ObjectId) value).toByteArray()));
+		VALUE_BINDERS.put(Long.class, (ps, index, value) -> ps.setLong(index, (Long) value));
+		VALUE_BINDERS.put(Integer.class, (ps, index, value) -> ps.setInt(index, (Integer) value));
+		VALUE_BINDERS.put(String.class, (ps, index, value) -> ps.setString(index, (String) value));
+		VALUE_BINDERS.put(Short.class, (ps, index, value) -> ps.setShort(index, (Short) value));
+		VALUE_BINDERS.put(Byte.class, (ps, index, value) -> ps.setByte(index, (Byte) value));
+		VALUE_BINDERS.put(Float.class, (ps, index, value) -> ps.setFloat(index, (Float) value));
+		VALUE_BINDERS.put(Double.class, (ps, index, value) -> ps.setDouble(index, (Double) value));
+		VALUE_BINDERS.put(Boolean.class, (ps, index, value) -> ps.setBoolean(index, (Boolean) value));
+		VALUE_BINDERS.put(Timestamp.class, (ps, index, value) -> ps.setTimestamp(index, (Timestamp) value));
+		VALUE_BINDERS.put(Date.class,
+				(ps, index, value) -> ps.setTimestamp(index, Timestamp.from(((Date) value).toInstant())));
+		VALUE_BINDERS.put(LocalDate.class,
+				(ps, index, value) -> ps.setDate(index, java.sql.Date.valueOf((LocalDate) value)));
+		VALUE_BINDERS.put(LocalTime.class,
+				(ps, index, value) -> ps.setTime(index, java.sql.Time.valueOf((LocalTime) value)));
+	}
+
+	private final Binder binder;
+	private final Reader reader;
+
+	private SqlFieldMapper(final Binder binder, final Reader reader) {
+		this.binder = binder;
+		this.reader = reader;
+	}
+
+	public Binder getBinder() {
+		return this.binder;
+	}
+
+	public Reader getReader() {
+		return this.reader;
+	}
+
+	/** Get the mapper of a field (created at the first call).
+	 * @param field Field of the object.
+	 * @param type Type of the data in the DB (can be different of the field type when it is an Object).
+	 * @return The mapper of the field. */
+	public static SqlFieldMapper get(final Field field, final Class<?> type) throws DataAccessException {
+		final Key key = new Key(field, type);
+		final SqlFieldMapper out = MAPPERS.get(key);
+		if (out != null) {
+			return out;
+		}
+		final SqlFieldMapper mapper = create(field, type);
+		final SqlFieldMapper previous = MAPPERS.putIfAbsent(key, mapper);
+		return previous != null ? previous : mapper;
+	}
+
+	/** Get the mapper of a field with its declared type. */
+	public static SqlFieldMapper get(final Field field) throws DataAccessException {
+		return get(field, field.getType());
+	}
+
+	/** Write a single value in a request (the type is detected with the class of the value).
+	 * @param ps Request to fill.
+	 * @param index Position of the value in the request.
+	 * @param value Value to write (null is written as a NULL INTEGER). */
+	public static void bindValue(final PreparedStatement ps, final int index, final Object value) throws Exception {
+		if (value == null) {
+			ps.setNull(index, Types.INTEGER);
+			return;
+		}
+		final ValueBinder binder = VALUE_BINDERS.get(value.getClass());
+		if (binder != null) {
+			binder.bind(ps, index, value);
+		} else if (value instanceof final Timestamp tmp) {
+			ps.setTimestamp(index, tmp);
+		} else if (value instanceof final Date tmp) {
+			ps.setTimestamp(index, Timestamp.from(tmp.toInstant()));
+		} else if (value instanceof Enum) {
+			ps.setString(index, value.toString());
+		} else {
+			throw new DataAccessException("Not manage type ==> need to add it ...");
+		}
+	}
+
+	private static VarHandle createVarHandle(final Field field) throws DataAccessException {
+		try {
+			return MethodHandles.lookup().unreflectVarHandle(field);
+		} catch (final IllegalAccessException ex) {
+			throw new DataAccessException("Can not access to the field: " + field.getDeclaringClass().getCanonicalName()
+					+ "." + field.getName() + " : " + ex.getMessage());
+		}
+	}
+
+	private static SqlFieldMapper create(final Field field, final Class<?> type) throws DataAccessException {
+		final VarHandle vh = createVarHandle(field);
+		if (type == long.class) {
+			return new SqlFieldMapper(//
+					(ps, index, data) -> ps.setLong(index, (long) vh.get(data)), //
+					(rs, index, data) -> {
+						final long tmp = rs.getLong(index);
+						if (rs.wasNull()) {
+							return false;
+						}
+						vh.set(data, tmp);
+						return true;
+					});
+		}
+		if (type == int.class) {
+			return new SqlFieldMapper(//
+					(ps, index, data) -> ps.setInt(index, (int) vh.get(data)), //
+					(rs, index, data) -> {
+						final int tmp = rs.getInt(index);
+						if (rs.wasNull()) {
+							return false;
+						}
+						vh.set(data, tmp);
+						return true;
+					});
+		}
+		if (type == float.class) {
+			return new SqlFieldMapper(//
+					(ps, index, data) -> ps.setFloat(index, (float) vh.get(data)), //
+					(rs, index, data) -> {
+						final float tmp = rs.getFloat(index);
+						if (rs.wasNull()) {
+							return false;
+						}
+						vh.set(data, tmp);
+						return true;
+					});
+		}
+		if (type == double.class) {
+			return new SqlFieldMapper(//
+					(ps, index, data) -> ps.setDouble(index, (double) vh.get(data)), //
+					(rs, index, data) -> {
+						final double tmp = rs.getDouble(index);
+						if (rs.wasNull()) {
+							return false;
+						}
+						vh.set(data, tmp);
+						return true;
+					});
+		}
+		if (type == boolean.class) {
+			return new SqlFieldMapper(//
+					(ps, index, data) -> ps.setBoolean(index, (boolean) vh.get(data)), //
+					(rs, index, data) -> {
+						final boolean tmp = rs.getBoolean(index);
+						if (rs.wasNull()) {
+							return false;
+						}
+						vh.set(data, tmp);
+						return true;
+					});
+		}
+		if (type == ObjectId.class) {
+			return createObject(vh, Types.BINARY, //
+					(ps, index, value) -> ps.setBytes(index, ((ObjectId) value).toByteArray()), //
+					(rs, index) -> {
+						final byte[] tmp = rs.getBytes(index);
+						return rs.wasNull() ? null : new ObjectId(tmp);
+					});
+		}
+		if (type == UUID.class) {
+			return createObject(vh, Types.BINARY, //
+					(ps, index, value) -> ps.setBytes(index, UuidUtils.asBytes((UUID) value)), //
+					(rs, index) -> {
+						final byte[] tmp = rs.getBytes(index);
+						return rs.wasNull() ? null : UuidUtils.asUuid(tmp);
+					});
+		}
+		if (type == Long.class) {
+			return createObject(vh, Types.BIGINT, //
+					(ps, index, value) -> ps.setLong(index, (Long) value), //
+					(rs, index) -> {
+						final long tmp = rs.getLong(index);
+						return rs.wasNull() ? null : tmp;
+					});
+		}
+		if (type == Integer.class) {
+			return createObject(vh, Types.INTEGER, //
+					(ps, index, value) -> ps.setInt(index, (Integer) value), //
+					(rs, index) -> {
+						final int tmp = rs.getInt(index);
+						return rs.wasNull() ? null : tmp;
+					});
+		}
+		if (type == Float.class) {
+			return createObject(vh, Types.FLOAT, //
+					(ps, index, value) -> ps.setFloat(index, (Float) value), //
+					(rs, index) -> {
+						final float tmp = rs.getFloat(index);
+						return rs.wasNull() ? null : tmp;
+					});
+		}
+		if (type == Double.class) {
+			return createObject(vh, Types.DOUBLE, //
+					(ps, index, value) -> ps.setDouble(index, (Double) value), //
+					(rs, index) -> {
+						final double tmp = rs.getDouble(index);
+						return rs.wasNull() ? null : tmp;
+					});
+		}
+		if (type == Boolean.class) {
+			return createObject(vh, Types.INTEGER, //
+					(ps, index, value) -> ps.setBoolean(index, (Boolean) value), //
+					(rs, index) -> {
+						final boolean tmp = rs.getBoolean(index);
+						return rs.wasNull() ? null : tmp;
+					});
+		}
+		if (type == Timestamp.class) {
+			return createObject(vh, Types.INTEGER, //
+					(ps, index, value) -> ps.setTimestamp(index, (Timestamp) value), //
+					(rs, index) -> {
+						final Timestamp tmp = rs.getTimestamp(index);
+						return rs.wasNull() ? null : tmp;
+					});
+		}
+		if (type == Date.class) {
+			return createObject(vh, Types.INTEGER, //
+					(ps, index, value) -> ps.setTimestamp(index, Timestamp.from(((Date) value).toInstant())), //
+					(rs, index) -> {
+						try {
+							final Timestamp tmp = rs.getTimestamp(index);
+							return rs.wasNull() ? null : Date.from(tmp.toInstant());
+						} catch (final SQLException ex) {
+							final String tmp = rs.getString(index);
+							LOGGER.error("Fail to parse the SQL time !!! {}", tmp);
+							if (rs.wasNull()) {
+								return null;
+							}
+							final Date date = DateTools.parseDate(tmp);
+							LOGGER.error("Fail to parse the SQL time !!! {}", date);
+							return date;
+						}
+					});
+		}
+		if (type == Instant.class) {
+			return createObject(vh, Types.INTEGER, //
+					(ps, index, value) -> ps.setString(index, ((Instant) value).toString()), //
+					(rs, index) -> {
+						final String tmp = rs.getString(index);
+						return rs.wasNull() ? null : Instant.parse(tmp);
+					});
+		}
+		if (type == LocalDate.class) {
+			return createObject(vh, Types.INTEGER, //
+					(ps, index, value) -> ps.setDate(index, java.sql.Date.valueOf((LocalDate) value)), //
+					(rs, index) -> {
+						final java.sql.Date tmp = rs.getDate(index);
+						return rs.wasNull() ? null : tmp.toLocalDate();
+					});
+		}
+		if (type == LocalTime.class) {
+			return createObject(vh, Types.INTEGER, //
+					(ps, index, value) -> ps.setTime(index, java.sql.Time.valueOf((LocalTime) value)), //
+					(rs, index) -> {
+						final java.sql.Time tmp = rs.getTime(index);
+						return rs.wasNull() ? null : tmp.toLocalTime();
+					});
+		}
+		if (type == String.class) {
+			return createObject(vh, Types.VARCHAR, //
+					(ps, index, value) -> ps.setString(index, (String) value), //
+					(rs, index) -> {
+						final String tmp = rs.getString(index);
+						return rs.wasNull() ? null : tmp;
+					});
+		}
+		if (type.isEnum()) {
+			// The enum are stored with there "toString()" value.
+			final Map<String, Object> values = new HashMap<>();
+			for (final Object elem : type.getEnumConstants()) {
+				values.putIfAbsent(elem.toString(), elem);
+			}
+			return createObject(vh, Types.VARCHAR, //
+					(ps, index, value) -> ps.setString(index, value.toString()), //
+					(rs, index) -> {
+						final String tmp = rs.getString(index);
+						if (rs.wasNull()) {
+							return null;
+						}
+						final Object out = values.get(tmp);
+						if (out == null) {
+							throw new DataAccessException("Enum value does not exist in the Model: '" + tmp + "'");
+						}
+						return out;
+					});
+		}
+		throw new DataAccessException("Unknown Field Type: " + type.getCanonicalName());
+	}
+
+	private interface ObjectReader {
+		Object read(ResultSet rs, int index) throws Exception;
+	}
+
+	/** Create the mapper of a nullable field. */
+	private static SqlFieldMapper createObject(
+			final VarHandle vh,
+			final int sqlNullType,
+			final ValueBinder valueBinder,
+			final ObjectReader valueReader) {
+		return new SqlFieldMapper(//
+				(ps, index, data) -> {
+					final Object tmp = vh.get(data);
+					if (tmp == null) {
+						ps.setNull(index, sqlNullType);
+					} else {
+						valueBinder.bind(ps, index, tmp);
+					}
+				}, //
+				(rs, index, data) -> {
+					final Object tmp = valueReader.read(rs, index);
+					vh.set(data, tmp);
+					return tmp != null;
+				});
+	}
+}
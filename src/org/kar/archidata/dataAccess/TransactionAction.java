@@ -0,0 +1,8 @@
+package org.kar.archidata.dataAccess;
+
+/** Group of actions executed in a single transaction (see {@link DBAccess#transaction(TransactionAction)}). */
+public interface TransactionAction {
+	/** @param tx Access to use for all the requests of the transaction.
+	 * @throws Exception Any exception rollback the transaction. */
+	void run(DBAccess tx) throws Exception;
+}
@@ -10,6 +10,7 @@ import org.kar.archidata.annotation.AnnotationTools.FieldName;
 import org.kar.archidata.dataAccess.CountInOut;
 import org.kar.archidata.dataAccess.DBAccessMorphia;
 import org.kar.archidata.dataAccess.DataFactory;
+import org.kar.archidata.dataAccess.LazyBatchLoader;
 import org.kar.archidata.dataAccess.LazyGetter;
 import org.kar.archidata.dataAccess.QueryOptions;
 import org.slf4j.Logger;
@@ -172,36 +173,17 @@ public class AddOnManyToOne implements DataAccessAddOn {
 
 			final Field remotePrimaryKeyField = AnnotationTools.getFieldOfId(objectClass);
 			final Class<?> remotePrimaryKeyType = remotePrimaryKeyField.getType();
+			final String remotePrimaryKeyName = AnnotationTools.getFieldName(remotePrimaryKeyField, options).inTable();
+			Object foreignKey = null;
 			if (remotePrimaryKeyType == Long.class) {
-				// here we have the field, the data and the the remote value ==> can create callback that generate the update of the value ...
-				final Long foreignKey = doc.getLong(fieldName);
-				if (foreignKey != null) {
-					// In the lazy mode, the request is done in asynchronous mode, they will be done after...
-					final LazyGetter lambda = () -> {
-						// TODO: update to have get with abstract types ....
-						final Object foreignData = ioDb.get(decorators.targetEntity(), foreignKey);
-						if (foreignData == null) {
-							return;
-						}
-						field.set(data, foreignData);
-					};
-					lazyCall.add(lambda);
-				}
+				foreignKey = doc.getLong(fieldName.inTable());
 			} else if (remotePrimaryKeyType == UUID.class) {
-				// here we have the field, the data and the the remote value ==> can create callback that generate the update of the value ...
-				final UUID foreignKey = doc.get(fieldName, UUID.class);
-				if (foreignKey != null) {
-					// In the lazy mode, the request is done in asynchronous mode, they will be done after...
-					final LazyGetter lambda = () -> {
-						// TODO: update to have get with abstract types ....
-						final Object foreignData = ioDb.get(decorators.targetEntity(), foreignKey);
-						if (foreignData == null) {
-							return;
-						}
-						field.set(data, foreignData);
-					};
-					lazyCall.add(lambda);
-				}
+				foreignKey = doc.get(fieldName.inTable(), UUID.class);
+			}
+			if (foreignKey != null) {
+				// In the lazy mode, the request is done in asynchronous mode, they will be done after (grouped with the other documents)...
+				lazyCall.add(new LazyBatchLoader(ioDb, decorators.targetEntity(), remotePrimaryKeyName,
+						List.of(foreignKey), false, values -> field.set(data, values.get(0))));
 			}
 		}
 	}
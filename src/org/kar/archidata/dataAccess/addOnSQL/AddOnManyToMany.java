@@ -16,15 +16,17 @@ import org.kar.archidata.dataAccess.DBAccess;
 import org.kar.archidata.dataAccess.DBAccessMorphia;
 import org.kar.archidata.dataAccess.DBAccessSQL;
 import org.kar.archidata.dataAccess.DataFactory;
+import org.kar.archidata.dataAccess.LazyBatchLoader;
 import org.kar.archidata.dataAccess.LazyGetter;
 import org.kar.archidata.dataAccess.QueryAnd;
 import org.kar.archidata.dataAccess.QueryCondition;
-import org.kar.archidata.dataAccess.QueryInList;
 import org.kar.archidata.dataAccess.QueryOptions;
 import org.kar.archidata.dataAccess.addOnSQL.model.LinkTableGeneric;
 import org.kar.archidata.dataAccess.options.Condition;
 import org.kar.archidata.dataAccess.options.OptionSpecifyType;
 import org.kar.archidata.dataAccess.options.OverrideTableName;
+import org.kar.archidata.dataAccess.options.QueryOption;
+import org.kar.archidata.dataAccess.options.TransmitKey;
 import org.kar.archidata.exception.DataAccessException;
 import org.kar.archidata.tools.ConfigBaseVariable;
 import org.slf4j.Logger;
@@ -250,19 +252,9 @@ public class AddOnManyToMany implements DataAccessAddOn {
 				if (idList != null && idList.size() > 0) {
 					final FieldName idField = AnnotationTools.getFieldName(AnnotationTools.getIdField(objectClass),
 							options);
-					// In the lazy mode, the request is done in asynchronous mode, they will be done after...
-					final LazyGetter lambda = () -> {
-						final List<Long> childs = new ArrayList<>(idList);
-						// TODO: update to have get with abstract types ....
-						@SuppressWarnings("unchecked")
-						final Object foreignData = ioDb.getsWhere(decorators.targetEntity(),
-								new Condition(new QueryInList<>(idField.inTable(), childs)));
-						if (foreignData == null) {
-							return;
-						}
-						field.set(data, foreignData);
-					};
-					lazyCall.add(lambda);
+					// In the lazy mode, the request is done in asynchronous mode, they will be done after (grouped with the other rows)...
+					lazyCall.add(new LazyBatchLoader(ioDb, decorators.targetEntity(), idField.inTable(), idList,
+							true, values -> field.set(data, values)));
 				}
 			} else if (foreignKeyType == UUID.class) {
 				final List<UUID> idList = ioDb.getListOfRawUUIDs(rs, count.value);
@@ -271,19 +263,9 @@ public class AddOnManyToMany implements DataAccessAddOn {
 				if (idList != null && idList.size() > 0) {
 					final FieldName idField = AnnotationTools.getFieldName(AnnotationTools.getIdField(objectClass),
 							options);
-					// In the lazy mode, the request is done in asynchronous mode, they will be done after...
-					final LazyGetter lambda = () -> {
-						final List<UUID> childs = new ArrayList<>(idList);
-						// TODO: update to have get with abstract types ....
-						@SuppressWarnings("unchecked")
-						final Object foreignData = ioDb.getsWhere(decorators.targetEntity(),
-								new Condition(new QueryInList<>(idField.inTable(), childs)));
-						if (foreignData == null) {
-							return;
-						}
-						field.set(data, foreignData);
-					};
-					lazyCall.add(lambda);
+					// In the lazy mode, the request is done in asynchronous mode, they will be done after (grouped with the other rows)...
+					lazyCall.add(new LazyBatchLoader(ioDb, decorators.targetEntity(), idField.inTable(), idList,
+							true, values -> field.set(data, values)));
 				}
 			}
 		}
@@ -315,14 +297,57 @@ public class AddOnManyToMany implements DataAccessAddOn {
 		}
 		final FieldName columnName = AnnotationTools.getFieldName(field, options);
 		final String linkTableName = generateLinkTableName(tableName, columnName.inTable());
+		final List<Object> remoteKeys = new ArrayList<>();
+		if (data != null) {
+			@SuppressWarnings("unchecked")
+			final List<Object> dataCasted = (List<Object>) data;
+			for (final Object remoteKey : dataCasted) {
+				if (remoteKey == null) {
+					throw new DataAccessException("Try to insert remote key with null value");
+				}
+				remoteKeys.add(remoteKey);
+			}
+		}
+		actions.add(new UpdateLinkAction(ioDb, linkTableName, localKey, objectClass, remoteKeys));
+	}
 
-		actions.add(() -> {
-			ioDb.deleteWhere(LinkTableGeneric.class, new OverrideTableName(linkTableName),
-					new Condition(new QueryCondition("object1Id", "=", localKey)),
-					new OptionSpecifyType("object1Id", localKey.getClass()),
-					new OptionSpecifyType("object2Id", objectClass));
-		});
-		asyncInsert(ioDb, tableName, localKey, field, data, actions, options);
+	/** Update of the links of an object: only the links that are not in the new list are removed and only the missing links are inserted. */
+	private record UpdateLinkAction(
+			DBAccessSQL ioDb,
+			String linkTableName,
+			Object localKey,
+			Class<?> remoteType,
+			List<Object> remoteKeys) implements LazyGetter {
+
+		@Override
+		public void doRequest() throws Exception {
+			final QueryOption[] linkOptions = { new OverrideTableName(this.linkTableName),
+					new OptionSpecifyType("object1Id", this.localKey.getClass()),
+					new OptionSpecifyType("object2Id", this.remoteType) };
+			this.ioDb.transaction(tx -> {
+				final List<LinkTableGeneric> current = this.ioDb.getsWhere(LinkTableGeneric.class,
+						new Condition(new QueryCondition("object1Id", "=", this.localKey)), linkOptions[0],
+						linkOptions[1], linkOptions[2]);
+				final List<Object> missing = new ArrayList<>(this.remoteKeys);
+				final List<Object> removed = new ArrayList<>();
+				for (final LinkTableGeneric link : current) {
+					// Each link of the new list keep one existing link (the list can contain duplicates).
+					if (!missing.remove(link.object2Id)) {
+						removed.add(link.oid);
+					}
+				}
+				if (!removed.isEmpty()) {
+					this.ioDb.deleteMultiple(LinkTableGeneric.class, removed, linkOptions);
+				}
+				if (!missing.isEmpty()) {
+					final List<LinkTableGeneric> insertElements = new ArrayList<>();
+					for (final Object remoteKey : missing) {
+						insertElements.add(new LinkTableGeneric(this.localKey, remoteKey));
+					}
+					this.ioDb.insertMultiple(insertElements, linkOptions);
+				}
+			});
+		}
 	}
 
 	@Override
@@ -370,11 +395,34 @@ public class AddOnManyToMany implements DataAccessAddOn {
 			LOGGER.warn("Insert multiple link without any value (may have null in the list): {}", dataCasted);
 			return;
 		}
-		actions.add(() -> {
-			ioDb.insertMultiple(insertElements, new OverrideTableName(linkTableName),
-					new OptionSpecifyType("object1Id", localKey.getClass()),
-					new OptionSpecifyType("object2Id", objectClass));
-		});
+		actions.add(new InsertLinkAction(ioDb, linkTableName, localKey.getClass(), objectClass, insertElements));
+	}
+
+	/** Insertion of links in a link table, all the links of the same table are grouped in a single multiple insert. */
+	private record InsertLinkAction(
+			DBAccessSQL ioDb,
+			String linkTableName,
+			Class<?> localType,
+			Class<?> remoteType,
+			List<LinkTableGeneric> elements) implements LazyGetter {
+
+		@Override
+		public void doRequest() throws Exception {
+			this.ioDb.insertMultiple(this.elements, new OverrideTableName(this.linkTableName),
+					new OptionSpecifyType("object1Id", this.localType),
+					new OptionSpecifyType("object2Id", this.remoteType));
+		}
+
+		@Override
+		public boolean merge(final LazyGetter other) {
+			if (other instanceof final InsertLinkAction otherLink && otherLink.ioDb == this.ioDb
+					&& otherLink.linkTableName.equals(this.linkTableName) && otherLink.localType == this.localType
+					&& otherLink.remoteType == this.remoteType) {
+				this.elements.addAll(otherLink.elements);
+				return true;
+			}
+			return false;
+		}
 	}
 
 	@Override
@@ -406,6 +454,8 @@ public class AddOnManyToMany implements DataAccessAddOn {
 			daSQL.insert(insertElement, new OverrideTableName(linkTableName),
 					new OptionSpecifyType("object1Id", localKey.getClass()),
 					new OptionSpecifyType("object2Id", remoteKey.getClass()));
+			// The cached owner contains the list of the links.
+			daSQL.invalidateEntityCache(clazz, new QueryOptions(new TransmitKey(localKey)));
 		} else if (ioDb instanceof final DBAccessMorphia dam) {
 
 		} else {
@@ -423,11 +473,13 @@ public class AddOnManyToMany implements DataAccessAddOn {
 		if (ioDb instanceof final DBAccessSQL daSQL) {
 			final String tableName = AnnotationTools.getTableName(clazz);
 			final String linkTableName = generateLinkTableName(tableName, column);
-			return daSQL.deleteWhere(LinkTableGeneric.class, new OverrideTableName(linkTableName),
+			final long count = daSQL.deleteWhere(LinkTableGeneric.class, new OverrideTableName(linkTableName),
 					new Condition(new QueryAnd(new QueryCondition("object1Id", "=", localKey),
 							new QueryCondition("object2Id", "=", remoteKey))),
 					new OptionSpecifyType("object1Id", localKey.getClass()),
 					new OptionSpecifyType("object2Id", remoteKey.getClass()));
+			daSQL.invalidateEntityCache(clazz, new QueryOptions(new TransmitKey(localKey)));
+			return count;
 		} else if (ioDb instanceof final DBAccessMorphia dam) {
 			return 0L;
 		} else {
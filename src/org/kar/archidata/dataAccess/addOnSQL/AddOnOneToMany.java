@@ -15,10 +15,9 @@ import org.kar.archidata.annotation.AnnotationTools.FieldName;
 import org.kar.archidata.dataAccess.CountInOut;
 import org.kar.archidata.dataAccess.DBAccessSQL;
 import org.kar.archidata.dataAccess.DataFactory;
+import org.kar.archidata.dataAccess.LazyBatchLoader;
 import org.kar.archidata.dataAccess.LazyGetter;
-import org.kar.archidata.dataAccess.QueryCondition;
 import org.kar.archidata.dataAccess.QueryOptions;
-import org.kar.archidata.dataAccess.options.Condition;
 import org.kar.archidata.exception.DataAccessException;
 import org.kar.archidata.tools.ConfigBaseVariable;
 import org.slf4j.Logger;
@@ -281,28 +280,12 @@ public class AddOnOneToMany implements DataAccessAddOn {
 				if (decorators.fetch() == FetchType.EAGER) {
 					throw new DataAccessException("EAGER is not supported for list of element...");
 				} else if (parentId != null) {
-					// In the lazy mode, the request is done in asynchronous mode, they will be done after...
-					final LazyGetter lambda = () -> {
-						@SuppressWarnings("unchecked")
-						final Object foreignData = ioDb.getsWhere(decorators.targetEntity(),
-								new Condition(new QueryCondition(mappingKey, "=", parentId)));
-						if (foreignData == null) {
-							return;
-						}
-						field.set(data, foreignData);
-					};
-					lazyCall.add(lambda);
+					// In the lazy mode, the request is done in asynchronous mode, they will be done after (grouped with the other rows)...
+					lazyCall.add(new LazyBatchLoader(ioDb, decorators.targetEntity(), mappingKey, List.of(parentId),
+							true, values -> field.set(data, values)));
 				} else if (parendUuid != null) {
-					final LazyGetter lambda = () -> {
-						@SuppressWarnings("unchecked")
-						final Object foreignData = ioDb.getsWhere(decorators.targetEntity(),
-								new Condition(new QueryCondition(mappingKey, "=", parendUuid)));
-						if (foreignData == null) {
-							return;
-						}
-						field.set(data, foreignData);
-					};
-					lazyCall.add(lambda);
+					lazyCall.add(new LazyBatchLoader(ioDb, decorators.targetEntity(), mappingKey, List.of(parendUuid),
+							true, values -> field.set(data, values)));
 				}
 			}
 		}
@@ -4,7 +4,11 @@ import org.kar.archidata.model.OIDGenericDataSoftDelete;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.Column;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
+// The name of the table is given by the ManyToMany field.
+@Table(indexes = { @Index(columnList = "object1Id, object2Id"), @Index(columnList = "object2Id") })
 public class LinkTableGeneric extends OIDGenericDataSoftDelete {
 	public LinkTableGeneric() {
 		// nothing to do...
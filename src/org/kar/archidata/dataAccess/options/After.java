@@ -0,0 +1,21 @@
+package org.kar.archidata.dataAccess.options;
+
+import java.util.List;
+
+import org.kar.archidata.dataAccess.QueryAfter;
+
+/** Keyset pagination: read only the elements that are after the last element of the previous page (in the order of the columns). The columns must be
+ * the same as the {@link OrderBy} of the request. */
+public class After extends QueryOption {
+	public final QueryAfter condition;
+
+	/** @param order Columns of the order of the request (the last one must be unique, generally the primary key).
+	 * @param lastValues Values of these columns in the last element of the previous page. */
+	public After(final List<OrderItem> order, final List<Object> lastValues) {
+		this.condition = new QueryAfter(order, lastValues);
+	}
+
+	public After(final OrderBy order, final List<Object> lastValues) {
+		this(order.getChilds(), lastValues);
+	}
+}
@@ -0,0 +1,25 @@
+package org.kar.archidata.dataAccess.options;
+
+import java.util.List;
+
+import org.kar.archidata.dataAccess.QueryOptions;
+
+/** Mode of the bulk requests (insertMultiple, updateMultiple): ordered (default) the request stops at the first error, unordered all the elements are
+ * tried and the back-end can execute them in parallel. */
+public class BulkOrdered extends QueryOption {
+	private final boolean ordered;
+
+	public BulkOrdered(final boolean ordered) {
+		this.ordered = ordered;
+	}
+
+	public boolean isOrdered() {
+		return this.ordered;
+	}
+
+	/** @return The mode requested in the options (ordered by default). */
+	public static boolean isOrdered(final QueryOptions options) {
+		final List<BulkOrdered> modes = options.get(BulkOrdered.class);
+		return modes.size() == 0 || modes.get(0).isOrdered();
+	}
+}
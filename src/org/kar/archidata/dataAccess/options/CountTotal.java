@@ -0,0 +1,6 @@
+package org.kar.archidata.dataAccess.options;
+
+/** Request the total number of elements that match the request when reading a page. */
+public class CountTotal extends QueryOption {
+	public CountTotal() {}
+}
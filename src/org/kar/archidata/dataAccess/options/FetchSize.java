@@ -0,0 +1,15 @@
+package org.kar.archidata.dataAccess.options;
+
+/** Number of elements read in a single time from the DB when streaming a request (and size of the chunks for the lazy requests). */
+public class FetchSize extends QueryOption {
+	public static final int DEFAULT_FETCH_SIZE = 500;
+	protected final int size;
+
+	public FetchSize(final int size) {
+		this.size = size;
+	}
+
+	public int getValue() {
+		return this.size;
+	}
+}
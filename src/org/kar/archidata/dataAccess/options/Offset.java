@@ -0,0 +1,28 @@
+package org.kar.archidata.dataAccess.options;
+
+import java.sql.PreparedStatement;
+
+import org.kar.archidata.dataAccess.CountInOut;
+import org.kar.archidata.dataAccess.DBAccessSQL;
+
+/** Skip the first elements of a request (use it with a {@link OrderBy} to have a stable result). */
+public class Offset extends QueryOption {
+	protected final long offset;
+
+	public Offset(final long offset) {
+		this.offset = offset;
+	}
+
+	public void generateQuery(final StringBuilder query, final String tableName) {
+		query.append(" OFFSET ? \n");
+	}
+
+	public void injectQuery(final DBAccessSQL ioDb, final PreparedStatement ps, final CountInOut iii) throws Exception {
+		ioDb.addElement(ps, this.offset, iii);
+		iii.inc();
+	}
+
+	public long getValue() {
+		return this.offset;
+	}
+}
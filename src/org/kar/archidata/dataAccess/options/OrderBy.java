@@ -18,6 +18,10 @@ public class OrderBy extends QueryOption {
 		this.childs = List.of(childs);
 	}
 
+	public List<OrderItem> getChilds() {
+		return this.childs;
+	}
+
 	public void generateQuery(final StringBuilder query, final String tableName) {
 		if (this.childs.size() == 0) {
 			return;
@@ -19,6 +19,12 @@ public class DbConfig {
 	private String dbName;
 	private final boolean keepConnected;
 	private final List<Class<?>> classes;
+	private final int poolMinSize;
+	private final int poolMaxSize;
+	private final long poolBorrowTimeout;
+	private final long poolIdleTimeout;
+	private final int statementCacheSize;
+	private final boolean entityCacheEnabled;
 
 	public DbConfig() throws DataAccessException {
 		this(ConfigBaseVariable.getDBType(), ConfigBaseVariable.getDBHost(), ConfigBaseVariable.getDBPort(),
@@ -56,7 +62,16 @@ public class DbConfig {
 		this.dbName = dbName;
 		this.keepConnected = keepConnected;
 		this.classes = classes;
-
+		this.poolMinSize = ConfigBaseVariable.getDBPoolMinSize();
+		this.poolMaxSize = ConfigBaseVariable.getDBPoolMaxSize();
+		this.poolBorrowTimeout = ConfigBaseVariable.getDBPoolBorrowTimeout();
+		this.poolIdleTimeout = ConfigBaseVariable.getDBPoolIdleTimeout();
+		this.statementCacheSize = ConfigBaseVariable.getDBStatementCacheSize();
+		this.entityCacheEnabled = ConfigBaseVariable.getDBEntityCache();
+		if (this.poolMinSize < 0 || this.poolMaxSize < 1 || this.poolMinSize > this.poolMaxSize) {
+			throw new DataAccessException(
+					"Wrong DB pool size: min=" + this.poolMinSize + " max=" + this.poolMaxSize);
+		}
 	}
 
 	@Override
@@ -102,6 +117,36 @@ public class DbConfig {
 		return this.classes;
 	}
 
+	public int getPoolMinSize() {
+		return this.poolMinSize;
+	}
+
+	public int getPoolMaxSize() {
+		return this.poolMaxSize;
+	}
+
+	public long getPoolBorrowTimeout() {
+		return this.poolBorrowTimeout;
+	}
+
+	public long getPoolIdleTimeout() {
+		return this.poolIdleTimeout;
+	}
+
+	public int getStatementCacheSize() {
+		return this.statementCacheSize;
+	}
+
+	public boolean isEntityCacheEnabled() {
+		return this.entityCacheEnabled;
+	}
+
+	/** An in-memory SQLite DB only exist inside the connection that create it, it can not be spread on multiple connections.
+	 * @return true if all the users must share the same connection. */
+	public boolean isSingleConnection() {
+		return "sqlite".equals(this.type) && "memory".equals(this.hostname);
+	}
+
 	public String getUrl() {
 		if (this.type.equals("sqlite")) {
 			if (this.hostname.equals("memory")) {
@@ -116,10 +161,11 @@ public class DbConfig {
 			if (this.dbName == null || this.dbName.isEmpty()) {
 				LOGGER.warn("Request log on SQL: root");
 				return "jdbc:" + this.type + "://" + this.hostname + ":" + this.port
-						+ "/?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC";
+						+ "/?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC&useCursorFetch=true";
 			}
+			// useCursorFetch: the driver read the rows by block of the fetch size (else it load all the result in memory).
 			return "jdbc:" + this.type + "://" + this.hostname + ":" + this.port + "/" + this.dbName
-					+ "?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC";
+					+ "?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC&useCursorFetch=true";
 		}
 		return "dead_code";
 	}
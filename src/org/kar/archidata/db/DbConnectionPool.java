@@ -0,0 +1,310 @@
+package org.kar.archidata.db;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Simple JDBC connection pool: each DBAccessSQL lease its own connection and give it back when it is closed. */
+public class DbConnectionPool implements Closeable {
+	final static Logger LOGGER = LoggerFactory.getLogger(DbConnectionPool.class);
+	// Time (in second) allowed to the driver to check a connection is still alive.
+	private static final int VALIDATION_TIMEOUT_SECOND = 2;
+
+	/** Statistics of the pool at a specific time. */
+	public record Stats(
+			int idle,
+			int leased,
+			int maxSize,
+			long created,
+			long destroyed,
+			long borrowed,
+			long waited,
+			long timeout,
+			long validationFailed) {};
+
+	private record IdleConnection(
+			Connection connection,
+			long releaseTime) {};
+
+	private final String url;
+	private final String login;
+	private final String password;
+	private final int minSize;
+	private final int maxSize;
+	private final long borrowTimeout;
+	private final long idleTimeout;
+	private final int statementCacheSize;
+	// All the connection in the pool are the same one (only for in-memory SQLite)
+	private final boolean single;
+
+	private final Deque<IdleConnection> idles = new ArrayDeque<>();
+	// Number of connections that are created or validated by a borrow (outside the lock of the pool).
+	private int pending = 0;
+	private final Map<Connection, Integer> leased = new IdentityHashMap<>();
+	private final Map<Connection, StatementCache> statementCaches = new IdentityHashMap<>();
+	private final StatementCache.Counters statementCounters = new StatementCache.Counters();
+	private boolean closed = false;
+	private long statCreated = 0;
+	private long statDestroyed = 0;
+	private long statBorrowed = 0;
+	private long statWaited = 0;
+	private long statTimeout = 0;
+	private long statValidationFailed = 0;
+
+	public DbConnectionPool(final DbConfig config) throws IOException {
+		this.url = config.getUrl();
+		this.login = config.getLogin();
+		this.password = config.getPassword();
+		this.single = config.isSingleConnection();
+		this.maxSize = this.single ? 1 : config.getPoolMaxSize();
+		this.minSize = this.single ? 1 : config.getPoolMinSize();
+		this.borrowTimeout = config.getPoolBorrowTimeout();
+		this.idleTimeout = config.getPoolIdleTimeout();
+		this.statementCacheSize = config.getStatementCacheSize();
+		synchronized (this) {
+			for (int iii = 0; iii < this.minSize; iii++) {
+				final Connection connection = openConnection();
+				registerConnection(connection);
+				this.idles.addLast(new IdleConnection(connection, System.currentTimeMillis()));
+			}
+		}
+	}
+
+	/** Open a new connection on the DB (can be called without the lock of the pool). */
+	private Connection openConnection() throws IOException {
+		final Connection connection;
+		try {
+			connection = DriverManager.getConnection(this.url, this.login, this.password);
+		} catch (final SQLException ex) {
+			LOGGER.error("Connection db fail: " + ex.getMessage() + " On URL: " + this.url);
+			throw new IOException("Connection db fail: " + ex.getMessage() + " On URL: " + this.url);
+		}
+		if (connection == null) {
+			throw new IOException("Connection db fail: NULL On URL: " + this.url);
+		}
+		return connection;
+	}
+
+	private void registerConnection(final Connection connection) {
+		this.statCreated++;
+		this.statementCaches.put(connection,
+				new StatementCache(connection, this.statementCacheSize, this.statementCounters));
+	}
+
+	private void destroyConnection(final Connection connection) {
+		this.statDestroyed++;
+		final StatementCache cache = this.statementCaches.remove(connection);
+		if (cache != null) {
+			cache.close();
+		}
+		try {
+			connection.close();
+		} catch (final SQLException ex) {
+			LOGGER.warn("Fail to close a pooled connection: {}", ex.getMessage());
+		}
+	}
+
+	private int size() {
+		return this.idles.size() + this.leased.size() + this.pending;
+	}
+
+	private boolean isValid(final Connection connection) {
+		try {
+			return !connection.isClosed() && connection.isValid(VALIDATION_TIMEOUT_SECOND);
+		} catch (final SQLException ex) {
+			return false;
+		}
+	}
+
+	/** Close the connection that are unused from a too long time (keep the minimum size of the pool). */
+	private void evictIdle() {
+		final long limit = System.currentTimeMillis() - this.idleTimeout;
+		final Iterator<IdleConnection> iterator = this.idles.iterator();
+		while (iterator.hasNext() && size() > this.minSize) {
+			final IdleConnection elem = iterator.next();
+			if (elem.releaseTime() < limit) {
+				iterator.remove();
+				destroyConnection(elem.connection());
+			}
+		}
+	}
+
+	/** Get a connection of the pool (wait if all the connection are used). The slot of the connection is reserved with the lock of the pool, the creation or
+	 * the validation of the connection is done without it (a slow DB does not block the other users of the pool).
+	 * @return A valid connection, that need to be release with {@link #release(Connection)}.
+	 * @throws IOException The pool is closed or no connection is available before the borrow timeout. */
+	public Connection borrow() throws IOException {
+		final long endTime = System.currentTimeMillis() + this.borrowTimeout;
+		boolean hasWaited = false;
+		while (true) {
+			// Connection to validate, or null to create a new one.
+			Connection connection = null;
+			synchronized (this) {
+				if (this.closed) {
+					throw new IOException("Request a connection on a closed pool");
+				}
+				if (this.single && this.leased.size() != 0) {
+					// in-memory DB: every user share the same connection.
+					final Connection shared = this.leased.keySet().iterator().next();
+					this.leased.put(shared, this.leased.get(shared) + 1);
+					this.statBorrowed++;
+					return shared;
+				}
+				evictIdle();
+				if (!this.idles.isEmpty()) {
+					connection = this.idles.pollFirst().connection();
+					this.pending++;
+				} else if (size() < this.maxSize) {
+					this.pending++;
+				} else {
+					final long waitTime = endTime - System.currentTimeMillis();
+					if (waitTime <= 0) {
+						this.statTimeout++;
+						throw new IOException("No DB connection available after " + this.borrowTimeout
+								+ " ms (pool size=" + this.maxSize + ")");
+					}
+					if (!hasWaited) {
+						hasWaited = true;
+						this.statWaited++;
+					}
+					try {
+						wait(waitTime);
+					} catch (final InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						throw new IOException("Interrupted when waiting a DB connection");
+					}
+					continue;
+				}
+			}
+			if (connection == null) {
+				final Connection created;
+				try {
+					created = openConnection();
+				} catch (final IOException ex) {
+					synchronized (this) {
+						// Give back the reserved slot.
+						this.pending--;
+						notifyAll();
+					}
+					throw ex;
+				}
+				synchronized (this) {
+					this.pending--;
+					registerConnection(created);
+					if (this.closed) {
+						destroyConnection(created);
+						notifyAll();
+						throw new IOException("Request a connection on a closed pool");
+					}
+					this.leased.put(created, 1);
+					this.statBorrowed++;
+					notifyAll();
+					return created;
+				}
+			}
+			final boolean valid = isValid(connection);
+			synchronized (this) {
+				this.pending--;
+				if (valid && !this.closed) {
+					this.leased.put(connection, 1);
+					this.statBorrowed++;
+					notifyAll();
+					return connection;
+				}
+				if (!valid) {
+					LOGGER.warn("Remove an invalid connection from the pool");
+					this.statValidationFailed++;
+				}
+				destroyConnection(connection);
+				notifyAll();
+			}
+		}
+	}
+
+	/** Give back a connection that has been borrowed.
+	 * @param connection Connection to release. */
+	public synchronized void release(final Connection connection) {
+		final Integer count = this.leased.get(connection);
+		if (count == null) {
+			LOGGER.error("Release a connection that is not managed by the pool");
+			return;
+		}
+		if (count > 1) {
+			this.leased.put(connection, count - 1);
+			return;
+		}
+		this.leased.remove(connection);
+		if (this.closed) {
+			destroyConnection(connection);
+			return;
+		}
+		try {
+			// Never give a connection with a pending transaction to the next user.
+			if (!connection.getAutoCommit()) {
+				connection.rollback();
+				connection.setAutoCommit(true);
+			}
+			if (connection.isReadOnly()) {
+				connection.setReadOnly(false);
+			}
+		} catch (final SQLException ex) {
+			LOGGER.warn("Fail to reset the connection, drop it: {}", ex.getMessage());
+			destroyConnection(connection);
+			notifyAll();
+			return;
+		}
+		this.idles.addFirst(new IdleConnection(connection, System.currentTimeMillis()));
+		notifyAll();
+	}
+
+	/** Get the cache of prepared statements of a connection of the pool.
+	 * @param connection A connection borrowed in this pool.
+	 * @return The cache of the connection. */
+	public synchronized StatementCache getStatementCache(final Connection connection) {
+		return this.statementCaches.get(connection);
+	}
+
+	public synchronized StatementCache.Stats getStatementCacheStats() {
+		int cached = 0;
+		for (final StatementCache cache : this.statementCaches.values()) {
+			cached += cache.size();
+		}
+		return new StatementCache.Stats(this.statementCounters.hit.get(), this.statementCounters.miss.get(),
+				this.statementCounters.evicted.get(), cached);
+	}
+
+	public synchronized Stats getStats() {
+		return new Stats(this.idles.size(), this.leased.size(), this.maxSize, this.statCreated, this.statDestroyed,
+				this.statBorrowed, this.statWaited, this.statTimeout, this.statValidationFailed);
+	}
+
+	/** Close all the idle connection, the leased connection are closed when they are released. */
+	@Override
+	public synchronized void close() {
+		this.closed = true;
+		for (final IdleConnection elem : this.idles) {
+			destroyConnection(elem.connection());
+		}
+		this.idles.clear();
+		notifyAll();
+	}
+
+	/** Close all the connection even if they are still used. */
+	public synchronized void closeForce() {
+		close();
+		for (final Connection connection : this.leased.keySet()) {
+			destroyConnection(connection);
+		}
+		this.leased.clear();
+	}
+}
@@ -3,6 +3,7 @@ package org.kar.archidata.db;
 import java.io.Closeable;
 import java.io.IOException;
 
+import org.kar.archidata.dataAccess.EntityCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +54,7 @@ public abstract class DbIo implements Closeable {
 		}
 		this.count = 0;
 		LOGGER.trace("[{}] Force close", this.id);
+		EntityCache.flush(this.config);
 		closeImplement();
 	}
 
@@ -2,19 +2,37 @@ package org.kar.archidata.db;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
+import org.bson.Document;
 import org.bson.UuidRepresentation;
 import org.bson.codecs.configuration.CodecRegistries;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PojoCodecProvider;
+import org.bson.conversions.Bson;
+import org.kar.archidata.annotation.AnnotationTools;
 import org.kar.archidata.converter.morphia.SqlTimestampCodec;
+import org.kar.archidata.dataAccess.DataFactory;
+import org.kar.archidata.dataAccess.DataFactory.IndexColumn;
+import org.kar.archidata.dataAccess.DataFactory.IndexDefinition;
+import org.kar.archidata.dataAccess.EntityDescriptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCommandException;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
 
 import dev.morphia.Datastore;
 import dev.morphia.Morphia;
@@ -24,6 +42,20 @@ public class DbIoMorphia extends DbIo implements Closeable {
 	private MongoClient mongoClient = null;
 	private Datastore datastore = null;
 
+	/** Block of ids reserved in the counters collection, the ids are given without request and without lock. */
+	private static class IdBlock {
+		final AtomicLong next;
+		final long last;
+
+		IdBlock(final long first, final long last) {
+			this.next = new AtomicLong(first);
+			this.last = last;
+		}
+	}
+
+	/** Reserved blocks of ids of this server, by "database/collection/field". */
+	private final Map<String, IdBlock> idBlocks = new ConcurrentHashMap<>();
+
 	public DbIoMorphia(final DbConfig config) throws IOException {
 		super(config);
 	}
@@ -36,6 +68,43 @@ public class DbIoMorphia extends DbIo implements Closeable {
 		return this.mongoClient;
 	}
 
+	/** Get a new id from the reserved block of a sequence (a new block is reserved when it is empty).
+	 * @param dbName Name of the database.
+	 * @param sequence Name of the sequence in the database ("collection/field").
+	 * @param blockSize Number of ids of a block.
+	 * @param reserve Reserve a block in the DB and return its last id.
+	 * @return The new unique id. */
+	public long getNextBlockId(
+			final String dbName,
+			final String sequence,
+			final long blockSize,
+			final LongSupplier reserve) {
+		final String key = dbName + "/" + sequence;
+		while (true) {
+			final IdBlock block = this.idBlocks.get(key);
+			if (block != null) {
+				final long id = block.next.getAndIncrement();
+				if (id <= block.last) {
+					return id;
+				}
+			}
+			// The block is empty: only one thread reserves the next one.
+			this.idBlocks.compute(key, (k, current) -> {
+				if (current != block) {
+					return current;
+				}
+				final long last = reserve.getAsLong();
+				return new IdBlock(last - blockSize + 1, last);
+			});
+		}
+	}
+
+	/** Forget the reserved blocks of a database (when it is removed).
+	 * @param dbName Name of the database. */
+	public void clearIdBlocks(final String dbName) {
+		this.idBlocks.keySet().removeIf(key -> key.startsWith(dbName + "/"));
+	}
+
 	@Override
 	synchronized public void closeImplement() throws IOException {
 		this.mongoClient.close();
@@ -79,5 +148,40 @@ public class DbIoMorphia extends DbIo implements Closeable {
 		this.datastore.getMapper().map(classes);
 		// Ensure indexes
 		this.datastore.ensureIndexes();
+		// Ensure the secondary indexes declared with the JPA annotations (same as the SQL tables)
+		for (final Class<?> clazz : classes) {
+			ensureIndexes(clazz);
+		}
+	}
+
+	private void ensureIndexes(final Class<?> clazz) throws IOException {
+		final String collectionName = AnnotationTools.getCollectionName(clazz);
+		final List<IndexDefinition> indexes;
+		try {
+			indexes = DataFactory.getIndexes(clazz, collectionName, null);
+		} catch (final Exception ex) {
+			throw new IOException("Fail to get the indexes of " + clazz.getCanonicalName(), ex);
+		}
+		if (indexes.isEmpty()) {
+			return;
+		}
+		final MongoCollection<Document> collection = this.datastore.getDatabase().getCollection(collectionName);
+		for (final IndexDefinition index : indexes) {
+			final List<Bson> keys = new ArrayList<>();
+			for (final IndexColumn column : index.columns()) {
+				keys.add(column.descending() ? Indexes.descending(column.name()) : Indexes.ascending(column.name()));
+			}
+			final IndexOptions indexOptions = new IndexOptions().name(index.name()).unique(index.unique());
+			if (index.partial()) {
+				indexOptions.partialFilterExpression(
+						Filters.eq(EntityDescriptor.get(clazz).getDeleted().getFieldName(null).inTable(), false));
+			}
+			try {
+				collection.createIndex(Indexes.compoundIndex(keys), indexOptions);
+			} catch (final MongoCommandException ex) {
+				// An index already exist with other options: keep it.
+				LOGGER.warn("Fail to create the index '{}' on '{}': {}", index.name(), collectionName, ex.getMessage());
+			}
+		}
 	}
 }
@@ -2,55 +2,118 @@ package org.kar.archidata.db;
 
 import java.io.IOException;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.Locale;
 
+import org.kar.archidata.dataAccess.EntityCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class DbIoSql extends DbIo {
 	final static Logger LOGGER = LoggerFactory.getLogger(DbIoSql.class);
 
-	private Connection connection = null;
+	private DbConnectionPool pool = null;
+	// Support of the window functions by the server (checked on the first request that need it).
+	private Boolean windowFunctionSupported = null;
 
 	public DbIoSql(final DbConfig config) throws IOException {
 		super(config);
 	}
 
-	public Connection getConnection() {
-		if (this.connection == null) {
-			LOGGER.error("[{}] Retrieve a closed connection !!!", this.id);
+	/** Get the pool of connection of the DB, each user need to borrow its own connection.
+	 * @return The current pool (null if the DB is closed). */
+	public synchronized DbConnectionPool getPool() {
+		if (this.pool == null) {
+			LOGGER.error("[{}] Retrieve a closed connection pool !!!", this.id);
 		}
-		return this.connection;
+		return this.pool;
 	}
 
-	@Override
-	synchronized public void openImplement() throws IOException {
-		final String dbUrl = this.config.getUrl();
-		final String login = this.config.getLogin();
-		final String password = this.config.getPassword();
+	public synchronized DbConnectionPool.Stats getPoolStats() {
+		if (this.pool == null) {
+			return null;
+		}
+		return this.pool.getStats();
+	}
+
+	public synchronized StatementCache.Stats getStatementCacheStats() {
+		if (this.pool == null) {
+			return null;
+		}
+		return this.pool.getStatementCacheStats();
+	}
+
+	/** Check if the server support the window functions ("COUNT(*) OVER()"), the result is kept for the next requests.
+	 * @param connection A connection on the server.
+	 * @return true if the window functions can be used. */
+	public synchronized boolean isWindowFunctionSupported(final Connection connection) {
+		if (this.windowFunctionSupported == null) {
+			try {
+				final DatabaseMetaData meta = connection.getMetaData();
+				this.windowFunctionSupported = isWindowFunctionSupported(meta.getDatabaseProductName(),
+						meta.getDatabaseProductVersion());
+			} catch (final SQLException ex) {
+				LOGGER.warn("Fail to read the version of the DB: {}", ex.getMessage());
+				this.windowFunctionSupported = false;
+			}
+			LOGGER.info("Window functions supported by the DB: {}", this.windowFunctionSupported);
+		}
+		return this.windowFunctionSupported;
+	}
+
+	/** Check the minimum versions of the window functions: MySQL 8.0, MariaDB 10.2 and SQLite 3.25.
+	 * @param product Name of the server.
+	 * @param version Version of the server.
+	 * @return true if the window functions can be used. */
+	public static boolean isWindowFunctionSupported(final String product, final String version) {
+		if (product == null || version == null) {
+			return false;
+		}
+		final String name = product.toLowerCase(Locale.ROOT);
+		final boolean mariaDb = name.contains("mariadb") || version.contains("MariaDB");
+		// The MariaDB servers add a "5.5.5-" prefix for the old MySQL clients.
+		final String value = version.startsWith("5.5.5-") ? version.substring(6) : version;
+		final String[] numbers = value.split("[^0-9]+");
+		if (numbers.length < 2) {
+			return false;
+		}
+		final int major;
+		final int minor;
 		try {
-			this.connection = DriverManager.getConnection(dbUrl, login, password);
-		} catch (final SQLException ex) {
-			LOGGER.error("Connection db fail: " + ex.getMessage() + " On URL: " + dbUrl);
-			throw new IOException("Connection db fail: " + ex.getMessage() + " On URL: " + dbUrl);
+			major = Integer.parseInt(numbers[0]);
+			minor = Integer.parseInt(numbers[1]);
+		} catch (final NumberFormatException ex) {
+			return false;
+		}
+		if (name.contains("sqlite")) {
+			return major > 3 || (major == 3 && minor >= 25);
+		}
+		if (mariaDb) {
+			return major > 10 || (major == 10 && minor >= 2);
 		}
-		if (this.connection == null) {
-			throw new IOException("Connection db fail: NULL On URL: " + dbUrl);
+		if (name.contains("mysql")) {
+			return major >= 8;
 		}
+		return false;
+	}
+
+	@Override
+	synchronized public void openImplement() throws IOException {
+		this.pool = new DbConnectionPool(this.config);
 	}
 
 	@Override
 	synchronized public void closeImplement() throws IOException {
-		if (this.connection == null) {
+		if (this.pool == null) {
 			LOGGER.error("Request close of un-open connection !!!");
 			return;
 		}
-		try {
-			this.connection.close();
-			this.connection = null;
-		} catch (final SQLException ex) {
-			throw new IOException("Dis-connection db fail: " + ex.getMessage());
+		this.pool.close();
+		this.pool = null;
+		if (this.config.isSingleConnection()) {
+			// The in-memory DB is removed with its connection.
+			EntityCache.flush(this.config);
 		}
 	}
 }
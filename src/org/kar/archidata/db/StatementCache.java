@@ -0,0 +1,176 @@
+package org.kar.archidata.db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** LRU cache of the prepared statements of a connection, keyed by the SQL text. A cached statement is used by a single request at a time: closing it
+ * give it back to the cache (its result sets are closed and its parameters cleared) instead of closing it in the driver. */
+public class StatementCache {
+	final static Logger LOGGER = LoggerFactory.getLogger(StatementCache.class);
+
+	/** Statistics of all the caches of a pool. */
+	public record Stats(
+			long hit,
+			long miss,
+			long evicted,
+			int cached) {};
+
+	/** Counters shared by all the caches of a pool. */
+	static class Counters {
+		final AtomicLong hit = new AtomicLong();
+		final AtomicLong miss = new AtomicLong();
+		final AtomicLong evicted = new AtomicLong();
+	}
+
+	private record Key(
+			String sql,
+			boolean generatedKeys) {};
+
+	private static class Entry {
+		PreparedStatement statement;
+		PreparedStatement proxy;
+		final List<ResultSet> resultSets = new ArrayList<>();
+		boolean used = false;
+		boolean evicted = false;
+	}
+
+	private final Connection connection;
+	private final int maxSize;
+	private final Counters counters;
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	StatementCache(final Connection connection, final int maxSize, final Counters counters) {
+		this.connection = connection;
+		this.maxSize = maxSize;
+		this.counters = counters;
+	}
+
+	private PreparedStatement create(final String sql, final boolean generatedKeys) throws SQLException {
+		if (generatedKeys) {
+			return this.connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+		}
+		return this.connection.prepareStatement(sql);
+	}
+
+	/** Get a prepared statement for a SQL request (it must be closed after use, as a normal statement).
+	 * @param sql Request to prepare.
+	 * @param generatedKeys The generated keys can be read after the execution.
+	 * @return The prepared statement. */
+	public synchronized PreparedStatement prepare(final String sql, final boolean generatedKeys) throws SQLException {
+		if (this.maxSize <= 0) {
+			return create(sql, generatedKeys);
+		}
+		final Key key = new Key(sql, generatedKeys);
+		Entry entry = this.entries.get(key);
+		if (entry != null) {
+			if (!entry.used) {
+				this.counters.hit.incrementAndGet();
+				entry.used = true;
+				return entry.proxy;
+			}
+			// The same request is already in progress (a nested request): use a temporary statement.
+			this.counters.miss.incrementAndGet();
+			return create(sql, generatedKeys);
+		}
+		this.counters.miss.incrementAndGet();
+		entry = new Entry();
+		entry.statement = create(sql, generatedKeys);
+		entry.proxy = createProxy(entry);
+		entry.used = true;
+		this.entries.put(key, entry);
+		evict();
+		return entry.proxy;
+	}
+
+	private void evict() {
+		final Iterator<Entry> iterator = this.entries.values().iterator();
+		while (this.entries.size() > this.maxSize && iterator.hasNext()) {
+			final Entry entry = iterator.next();
+			iterator.remove();
+			this.counters.evicted.incrementAndGet();
+			if (entry.used) {
+				// closed when it is released.
+				entry.evicted = true;
+			} else {
+				closeStatement(entry);
+			}
+		}
+	}
+
+	private PreparedStatement createProxy(final Entry entry) {
+		return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+					final String name = method.getName();
+					if ("close".equals(name) && method.getParameterCount() == 0) {
+						release(entry);
+						return null;
+					}
+					if ("isClosed".equals(name)) {
+						return !entry.used;
+					}
+					try {
+						final Object out = method.invoke(entry.statement, args);
+						if (out instanceof final ResultSet rs) {
+							entry.resultSets.add(rs);
+						}
+						return out;
+					} catch (final InvocationTargetException ex) {
+						throw ex.getCause();
+					}
+				});
+	}
+
+	private synchronized void release(final Entry entry) {
+		if (!entry.used) {
+			return;
+		}
+		entry.used = false;
+		try {
+			for (final ResultSet rs : entry.resultSets) {
+				rs.close();
+			}
+			entry.statement.clearParameters();
+		} catch (final SQLException ex) {
+			LOGGER.warn("Fail to reset a cached statement, drop it: {}", ex.getMessage());
+			this.entries.values().remove(entry);
+			entry.evicted = true;
+		}
+		entry.resultSets.clear();
+		if (entry.evicted) {
+			closeStatement(entry);
+		}
+	}
+
+	private static void closeStatement(final Entry entry) {
+		try {
+			entry.statement.close();
+		} catch (final SQLException ex) {
+			LOGGER.warn("Fail to close a cached statement: {}", ex.getMessage());
+		}
+	}
+
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/** Close all the statements (when the connection is closed). */
+	public synchronized void close() {
+		for (final Entry entry : this.entries.values()) {
+			closeStatement(entry);
+		}
+		this.entries.clear();
+	}
+}
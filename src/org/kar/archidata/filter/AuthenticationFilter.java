@@ -13,6 +13,7 @@ import org.kar.archidata.annotation.security.PermitTokenInURI;
 import org.kar.archidata.catcher.RestErrorResponse;
 import org.kar.archidata.exception.SystemException;
 import org.kar.archidata.model.UserByToken;
+import org.kar.archidata.tools.ConfigBaseVariable;
 import org.kar.archidata.tools.JWTWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +45,8 @@ public class AuthenticationFilter implements ContainerRequestFilter {
 	private ResourceInfo resourceInfo;
 	protected final String applicationName;
 	protected final String issuer;
+	protected final UserByTokenCache tokenCache = new UserByTokenCache(ConfigBaseVariable.getAuthTokenCacheSize(),
+			ConfigBaseVariable.getAuthTokenCacheTimeout());
 
 	public static final String AUTHENTICATION_SCHEME = "Bearer";
 	public static final String APIKEY = "ApiKey";
@@ -229,6 +232,11 @@ public class AuthenticationFilter implements ContainerRequestFilter {
 	// must be override to be good implementation
 	protected UserByToken validateJwtToken(final String authorization) throws Exception {
 		// logger.debug(" validate token : " + authorization);
+		final UserByToken cachedUser = this.tokenCache.get(authorization);
+		if (cachedUser != null) {
+			return cachedUser;
+		}
+		final long keyGeneration = JWTWrapper.getKeyGeneration();
 		final JWTClaimsSet ret = JWTWrapper.validateToken(authorization, this.issuer, null);
 		// check the token is valid !!! (signed and coherent issuer...
 		if (ret == null) {
@@ -256,6 +264,7 @@ public class AuthenticationFilter implements ContainerRequestFilter {
 			*/
 		}
 		// logger.debug("request user: '{}' right: '{}' row='{}'", userUID, user.right, rowRight);
+		this.tokenCache.put(authorization, user, ret.getExpirationTime(), keyGeneration);
 		return user;
 		// return UserDB.getUserOrCreate(id, (String)ret.getClaim("login") );
 	}
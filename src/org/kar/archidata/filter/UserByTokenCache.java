@@ -0,0 +1,118 @@
+package org.kar.archidata.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kar.archidata.model.UserByToken;
+import org.kar.archidata.tools.JWTWrapper;
+
+/** Cache of the validated JWT: the signature verification and the conversion of the claims are done one time for each token. The tokens are stored by
+ * their hash, an entry is removed at the expiration of its token or when the public key change. The cached users are shared and must not be modified. */
+public class UserByTokenCache {
+	/** Statistics of the cache. */
+	public record Stats(
+			long hit,
+			long miss,
+			int size) {};
+
+	private record Entry(
+			UserByToken user,
+			long expireTime,
+			long keyGeneration) {};
+
+	private final int maxSize;
+	private final long maxTime;
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	private final AtomicLong hit = new AtomicLong();
+	private final AtomicLong miss = new AtomicLong();
+
+	/** @param maxSize Maximum number of tokens in the cache (0 to disable the cache).
+	 * @param maxTime Maximum time an entry is kept (in milliseconds), even if the token expire later. */
+	public UserByTokenCache(final int maxSize, final long maxTime) {
+		this.maxSize = maxSize;
+		this.maxTime = maxTime;
+	}
+
+	private static String hash(final String token) {
+		try {
+			final MessageDigest md = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (final NoSuchAlgorithmException ex) {
+			// SHA-256 is available in all the JVM.
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/** Get the user of a token already validated.
+	 * @param token Token of the request.
+	 * @return The user or null if the token is not in the cache (or it is expired or signed with an other key). */
+	public UserByToken get(final String token) {
+		if (this.maxSize <= 0 || token == null) {
+			return null;
+		}
+		final String key = hash(token);
+		final Entry entry = this.entries.get(key);
+		if (entry == null) {
+			this.miss.incrementAndGet();
+			return null;
+		}
+		if (entry.expireTime() <= System.currentTimeMillis() || entry.keyGeneration() != JWTWrapper.getKeyGeneration()) {
+			this.entries.remove(key, entry);
+			this.miss.incrementAndGet();
+			return null;
+		}
+		this.hit.incrementAndGet();
+		return entry.user();
+	}
+
+	/** Store the user of a validated token.
+	 * @param token Token of the request.
+	 * @param user User generated from the token.
+	 * @param expiration Expiration of the token (null if not defined).
+	 * @param keyGeneration Generation of the public key used to validate the token (value of {@link JWTWrapper#getKeyGeneration()} before the
+	 *            validation). */
+	public void put(final String token, final UserByToken user, final Date expiration, final long keyGeneration) {
+		if (this.maxSize <= 0 || token == null || user == null) {
+			return;
+		}
+		final long now = System.currentTimeMillis();
+		long expireTime = now + this.maxTime;
+		if (expiration != null && expiration.getTime() < expireTime) {
+			expireTime = expiration.getTime();
+		}
+		if (expireTime <= now) {
+			return;
+		}
+		if (this.entries.size() >= this.maxSize) {
+			removeOldEntries(now);
+		}
+		this.entries.put(hash(token), new Entry(user, expireTime, keyGeneration));
+	}
+
+	private void removeOldEntries(final long now) {
+		final long keyGeneration = JWTWrapper.getKeyGeneration();
+		this.entries.values().removeIf(entry -> entry.expireTime() <= now || entry.keyGeneration() != keyGeneration);
+		// All the tokens are valid: remove some of them to keep the cache bounded.
+		final Iterator<String> iterator = this.entries.keySet().iterator();
+		while (this.entries.size() >= this.maxSize && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+
+	/** Remove all the tokens (the rights of the users changed). */
+	public void clear() {
+		this.entries.clear();
+	}
+
+	public Stats getStats() {
+		return new Stats(this.hit.get(), this.miss.get(), this.entries.size());
+	}
+}
@@ -0,0 +1,13 @@
+package org.kar.archidata.media;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/** Information read in the media, stored in the meta-data file of the media. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MediaMetadata {
+	public String mimeType;
+	public Integer width;
+	public Integer height;
+	// in seconds
+	public Double duration;
+}
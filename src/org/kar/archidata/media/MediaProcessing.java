@@ -0,0 +1,314 @@
+package org.kar.archidata.media;
+
+import java.io.File;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kar.archidata.api.DataResource;
+import org.kar.archidata.api.ThumbnailCache;
+import org.kar.archidata.dataAccess.DBAccess;
+import org.kar.archidata.dataAccess.QueryAnd;
+import org.kar.archidata.dataAccess.QueryCondition;
+import org.kar.archidata.dataAccess.QueryOptions;
+import org.kar.archidata.dataAccess.options.Condition;
+import org.kar.archidata.dataAccess.options.FilterValue;
+import org.kar.archidata.dataAccess.options.Limit;
+import org.kar.archidata.dataAccess.options.OrderBy;
+import org.kar.archidata.dataAccess.options.OrderItem;
+import org.kar.archidata.dataAccess.options.OrderItem.Order;
+import org.kar.archidata.db.DbConfig;
+import org.kar.archidata.model.Data;
+import org.kar.archidata.model.MediaJob;
+import org.kar.archidata.tools.ConfigBaseVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Processing of the media after their upload (thumbnails, WebP variant, probe...). The jobs are stored in the table of {@link MediaJob}: the upload only
+ * insert the jobs, a poller read the pending jobs when a worker is free (the table is the queue, the executor queue is bounded) and a failed job is retried
+ * later with an increasing delay. A running job is owned by an instance of the application for a lease time, the jobs of a stopped instance are executed
+ * again when their lease is expired (the stages are idempotent).
+ *
+ * The processing is disabled until {@link #start(DbConfig)} is called (the application must create the table of {@link MediaJob}). Each poll and each job
+ * use their own access to the DB (an access and its connection can not be shared between the threads). */
+public class MediaProcessing {
+	private static final Logger LOGGER = LoggerFactory.getLogger(MediaProcessing.class);
+	// Delay of the first retry, doubled at each failure.
+	private static final long RETRY_DELAY = 30_000L;
+	private static final long POLL_INTERVAL = 10_000L;
+	private static final List<MediaProcessingStage> STAGES = new CopyOnWriteArrayList<>();
+	private static MediaProcessing instance = null;
+
+	private final DbConfig config;
+	// Id of this instance in the jobs that it executes.
+	private final String owner = UUID.randomUUID().toString();
+	private final long lease;
+	private final ThreadPoolExecutor executor;
+	private final Thread poller;
+	private final int maxTry;
+	private final Object signal = new Object();
+	private boolean wakeUp = false;
+	private volatile boolean stop = false;
+
+	/** Add a stage executed for all the new media (the stages must be registered before the upload of the media). */
+	public static void register(final MediaProcessingStage stage) {
+		for (final MediaProcessingStage elem : STAGES) {
+			if (elem.getName().equals(stage.getName())) {
+				LOGGER.warn("A media processing stage is already registered with the name: {}", stage.getName());
+				return;
+			}
+		}
+		STAGES.add(stage);
+	}
+
+	/** Register the stages provided by the library: thumbnail, WebP variant and probe of the images. */
+	public static void registerDefaultStages() {
+		register(new ThumbnailStage(ThumbnailCache.DEFAULT_WIDTH));
+		register(new ThumbnailStage(0));
+		register(new ProbeStage());
+	}
+
+	public static List<MediaProcessingStage> getStages() {
+		return List.copyOf(STAGES);
+	}
+
+	/** Start the processing of the media.
+	 * @param config Configuration of the DB that contains the table of the jobs and of the data. */
+	public static synchronized void start(final DbConfig config) throws Exception {
+		if (instance != null) {
+			return;
+		}
+		instance = new MediaProcessing(config);
+		instance.poller.start();
+	}
+
+	/** Stop the processing (the running jobs are finished). */
+	public static synchronized void stop() throws InterruptedException {
+		if (instance == null) {
+			return;
+		}
+		instance.stop = true;
+		instance.wakeUp();
+		instance.poller.join();
+		instance.executor.shutdown();
+		instance.executor.awaitTermination(1, TimeUnit.MINUTES);
+		instance = null;
+	}
+
+	public static synchronized boolean isStarted() {
+		return instance != null;
+	}
+
+	/** Create the jobs of a new media (nothing is done if the processing is not started).
+	 * @param data The media (installed in its final place). */
+	public static void submit(final Data data) {
+		final MediaProcessing engine;
+		synchronized (MediaProcessing.class) {
+			engine = instance;
+		}
+		if (engine == null || data == null) {
+			return;
+		}
+		try {
+			engine.createJobs(data);
+		} catch (final Exception ex) {
+			LOGGER.error("Fail to create the processing jobs of the media {}: {}", data.oid, ex.getMessage());
+		}
+	}
+
+	private MediaProcessing(final DbConfig config) throws Exception {
+		this.config = config;
+		this.maxTry = ConfigBaseVariable.getMediaProcessingMaxTry();
+		this.lease = ConfigBaseVariable.getMediaProcessingLease();
+		final int threads = ConfigBaseVariable.getMediaProcessingThreads();
+		final AtomicInteger threadId = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(ConfigBaseVariable.getMediaProcessingQueueSize()), runnable -> {
+					final Thread thread = new Thread(runnable, "media-processing-" + threadId.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		this.poller = new Thread(this::poll, "media-processing-poller");
+		this.poller.setDaemon(true);
+	}
+
+	/** Set back in the queue the running jobs whose lease is expired. */
+	private void reclaimExpiredJobs(final DBAccess db) throws Exception {
+		final MediaJob reset = new MediaJob();
+		reset.status = MediaJob.Status.PENDING;
+		reset.owner = null;
+		reset.claimedAt = null;
+		final long count = db.updateWhere(reset,
+				new Condition(new QueryAnd(new QueryCondition("status", "=", MediaJob.Status.RUNNING),
+						new QueryCondition("claimedAt", "<", new Date(System.currentTimeMillis() - this.lease)))),
+				new FilterValue("status", "owner", "claimedAt"));
+		if (count != 0) {
+			LOGGER.warn("{} media jobs of a stopped instance are executed again", count);
+		}
+	}
+
+	private static MediaJob getJob(final DBAccess db, final Data data, final MediaProcessingStage stage)
+			throws Exception {
+		return db.getWhere(MediaJob.class, new Condition(new QueryAnd(new QueryCondition("dataId", "=", data.oid),
+				new QueryCondition("stage", "=", stage.getName()))));
+	}
+
+	private void createJobs(final Data data) throws Exception {
+		boolean created = false;
+		try (DBAccess db = DBAccess.createInterface(this.config)) {
+			for (final MediaProcessingStage stage : STAGES) {
+				if (!stage.accept(data)) {
+					continue;
+				}
+				// A job is created only one time for a media and a stage (unique index of the table).
+				if (getJob(db, data, stage) != null) {
+					continue;
+				}
+				final MediaJob job = new MediaJob();
+				job.dataId = data.oid;
+				job.stage = stage.getName();
+				job.status = MediaJob.Status.PENDING;
+				job.tryCount = 0;
+				job.nextTry = new Date();
+				try {
+					db.insert(job);
+				} catch (final Exception ex) {
+					if (getJob(db, data, stage) != null) {
+						// Created by a concurrent upload of the same media.
+						continue;
+					}
+					throw ex;
+				}
+				created = true;
+			}
+		}
+		if (created) {
+			wakeUp();
+		}
+	}
+
+	private void wakeUp() {
+		synchronized (this.signal) {
+			this.wakeUp = true;
+			this.signal.notifyAll();
+		}
+	}
+
+	private void poll() {
+		while (!this.stop) {
+			try {
+				schedulePendingJobs();
+			} catch (final Exception ex) {
+				LOGGER.error("Fail to read the pending media jobs: {}", ex.getMessage());
+			}
+			synchronized (this.signal) {
+				if (!this.wakeUp && !this.stop) {
+					try {
+						this.signal.wait(POLL_INTERVAL);
+					} catch (final InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+				this.wakeUp = false;
+			}
+		}
+	}
+
+	private void schedulePendingJobs() throws Exception {
+		final int free = this.executor.getQueue().remainingCapacity();
+		if (free <= 0) {
+			// back-pressure: the jobs stay in the table until a worker is free.
+			return;
+		}
+		try (DBAccess db = DBAccess.createInterface(this.config)) {
+			reclaimExpiredJobs(db);
+			final List<MediaJob> jobs = db.getsWhere(MediaJob.class,
+					new Condition(new QueryAnd(new QueryCondition("status", "=", MediaJob.Status.PENDING),
+							new QueryCondition("nextTry", "<=", new Date()))),
+					new OrderBy(new OrderItem("nextTry", Order.ASC)), new Limit(free));
+			for (final MediaJob job : jobs) {
+				// Claim the job: an other instance of the application can read the same job.
+				final MediaJob running = new MediaJob();
+				running.status = MediaJob.Status.RUNNING;
+				running.owner = this.owner;
+				running.claimedAt = new Date();
+				final long count = db.updateWhere(running,
+						new Condition(new QueryAnd(db.getTableIdCondition(MediaJob.class, job.id, new QueryOptions()),
+								new QueryCondition("status", "=", MediaJob.Status.PENDING))),
+						new FilterValue("status", "owner", "claimedAt"));
+				if (count != 1) {
+					continue;
+				}
+				try {
+					this.executor.execute(() -> execute(job));
+				} catch (final RejectedExecutionException ex) {
+					running.status = MediaJob.Status.PENDING;
+					running.owner = null;
+					running.claimedAt = null;
+					db.update(running, job.id, List.of("status", "owner", "claimedAt"));
+					return;
+				}
+			}
+		}
+	}
+
+	private MediaProcessingStage getStage(final String name) {
+		for (final MediaProcessingStage stage : STAGES) {
+			if (stage.getName().equals(name)) {
+				return stage;
+			}
+		}
+		return null;
+	}
+
+	private void execute(final MediaJob job) {
+		final List<String> columns = List.of("status", "tryCount", "nextTry", "error", "owner", "claimedAt");
+		try (DBAccess db = DBAccess.createInterface(this.config)) {
+			final MediaProcessingStage stage = getStage(job.stage);
+			if (stage == null) {
+				throw new IllegalStateException("No media processing stage: " + job.stage);
+			}
+			final Data data = db.get(Data.class, job.dataId);
+			if (data != null) {
+				stage.process(db, data, new File(DataResource.getFileData(data.oid)));
+			}
+			// A removed media has nothing to process.
+			job.status = MediaJob.Status.DONE;
+			job.error = null;
+		} catch (final Exception ex) {
+			job.tryCount = job.tryCount == null ? 1 : job.tryCount + 1;
+			job.error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+			if (job.tryCount >= this.maxTry) {
+				LOGGER.error("Media job {} ({} of {}) failed: {}", job.id, job.stage, job.dataId, job.error);
+				job.status = MediaJob.Status.FAILED;
+			} else {
+				LOGGER.warn("Media job {} ({} of {}) failed, retry later: {}", job.id, job.stage, job.dataId,
+						job.error);
+				job.status = MediaJob.Status.PENDING;
+				job.nextTry = new Date(System.currentTimeMillis() + (RETRY_DELAY << Math.min(job.tryCount - 1, 10)));
+			}
+		}
+		job.owner = null;
+		job.claimedAt = null;
+		try (DBAccess db = DBAccess.createInterface(this.config)) {
+			// Not updated if the lease is expired and the job is owned by an other instance.
+			final long count = db.updateWhere(job,
+					new Condition(new QueryAnd(db.getTableIdCondition(MediaJob.class, job.id, new QueryOptions()),
+							new QueryCondition("owner", "=", this.owner))),
+					new FilterValue(columns));
+			if (count != 1) {
+				LOGGER.warn("The media job {} is owned by an other instance, its result is dropped", job.id);
+			}
+		} catch (final Exception ex) {
+			LOGGER.error("Fail to update the media job {}: {}", job.id, ex.getMessage());
+		}
+		wakeUp();
+	}
+}
@@ -0,0 +1,22 @@
+package org.kar.archidata.media;
+
+import java.io.File;
+
+import org.kar.archidata.dataAccess.DBAccess;
+import org.kar.archidata.model.Data;
+
+/** A processing done on a media after its upload. A stage can be executed more than one time for the same media (retry or restart), it must be
+ * idempotent. */
+public interface MediaProcessingStage {
+	/** @return Unique name of the stage (stored in the job table). */
+	String getName();
+
+	/** @return true if the stage must be executed for this media. */
+	boolean accept(Data data);
+
+	/** Process a media (an exception schedule a retry of the job).
+	 * @param db Access to the DB.
+	 * @param data Media to process.
+	 * @param file File of the media. */
+	void process(DBAccess db, Data data, File file) throws Exception;
+}
@@ -0,0 +1,63 @@
+package org.kar.archidata.media;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.kar.archidata.api.DataResource;
+import org.kar.archidata.dataAccess.DBAccess;
+import org.kar.archidata.model.Data;
+import org.kar.archidata.tools.ContextGenericTools;
+
+/** Read the dimension of the images (only the header is decoded) and store it in the meta-data file of the media. */
+public class ProbeStage implements MediaProcessingStage {
+
+	@Override
+	public String getName() {
+		return "probe";
+	}
+
+	@Override
+	public boolean accept(final Data data) {
+		return data.mimeType != null && data.mimeType.startsWith("image/");
+	}
+
+	@Override
+	public void process(final DBAccess db, final Data data, final File file) throws Exception {
+		final MediaMetadata metadata = new MediaMetadata();
+		metadata.mimeType = data.mimeType;
+		try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+			if (input == null) {
+				throw new IOException("Can not open the image: " + file);
+			}
+			final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+			if (!readers.hasNext()) {
+				throw new IOException("No reader for the image: " + file);
+			}
+			final ImageReader reader = readers.next();
+			try {
+				reader.setInput(input, true, true);
+				metadata.width = reader.getWidth(0);
+				metadata.height = reader.getHeight(0);
+			} finally {
+				reader.dispose();
+			}
+		}
+		final File metadataFile = new File(DataResource.getFileMetaData(data.oid));
+		ContextGenericTools.createObjectMapper().writeValue(metadataFile, metadata);
+	}
+
+	/** Read the meta-data of a media.
+	 * @return The meta-data or null if the media is not probed. */
+	public static MediaMetadata read(final Data data) throws IOException {
+		final File metadataFile = new File(DataResource.getFileMetaData(data.oid));
+		if (!metadataFile.exists()) {
+			return null;
+		}
+		return ContextGenericTools.createObjectMapper().readValue(metadataFile, MediaMetadata.class);
+	}
+}
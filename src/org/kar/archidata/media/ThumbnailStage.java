@@ -0,0 +1,35 @@
+package org.kar.archidata.media;
+
+import java.io.File;
+
+import org.kar.archidata.api.ThumbnailCache;
+import org.kar.archidata.dataAccess.DBAccess;
+import org.kar.archidata.model.Data;
+
+/** Generate a thumbnail (or the WebP variant when the width is 0) of the JPEG and PNG images. */
+public class ThumbnailStage implements MediaProcessingStage {
+	private final int width;
+
+	public ThumbnailStage(final int width) {
+		this.width = width;
+	}
+
+	@Override
+	public String getName() {
+		if (this.width <= 0) {
+			return "webp";
+		}
+		return "thumbnail_" + this.width;
+	}
+
+	@Override
+	public boolean accept(final Data data) {
+		return "image/jpeg".equals(data.mimeType) || "image/png".equals(data.mimeType);
+	}
+
+	@Override
+	public void process(final DBAccess db, final Data data, final File file) throws Exception {
+		// The cache does nothing if the thumbnail is already generated.
+		ThumbnailCache.get(data.oid, file, this.width);
+	}
+}
@@ -172,6 +172,15 @@ public class MigrationSqlStep implements MigrationInterface {
 		}
 	}
 
+	/** Add the secondary indexes of a class on its existing table.
+	 * @param clazz Class of the entity. */
+	public void addIndexes(final Class<?> clazz) throws Exception {
+		final List<String> tmp = DataFactory.createIndexes(clazz);
+		for (final String elem : tmp) {
+			this.actions.add(new Action(elem));
+		}
+	}
+
 	@Override
 	public int getNumberOfStep() throws Exception {
 		if (!this.isGenerated) {
@@ -6,9 +6,10 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.Column;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
-@Table(name = "data")
+@Table(name = "data", indexes = @Index(columnList = "sha512"))
 @DataIfNotExists
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Data extends OIDGenericDataSoftDelete {
@@ -0,0 +1,46 @@
+package org.kar.archidata.model;
+
+import java.util.Date;
+
+import org.bson.types.ObjectId;
+import org.kar.archidata.annotation.DataIfNotExists;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Table(name = "media_job", indexes = @Index(columnList = "dataId, stage", unique = true))
+@DataIfNotExists
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MediaJob extends GenericData {
+	public enum Status {
+		PENDING, RUNNING, DONE, FAILED
+	}
+
+	@Column(nullable = false)
+	@Schema(description = "Id of the processed data")
+	public ObjectId dataId;
+	@Column(length = 64, nullable = false)
+	@Schema(description = "Name of the processing stage")
+	public String stage;
+	@Column(nullable = false)
+	@Schema(description = "State of the job")
+	public Status status;
+	@Column(nullable = false)
+	@Schema(description = "Number of failed executions")
+	public Integer tryCount;
+	@Column(nullable = false)
+	@Schema(description = "The job can not be executed before this time")
+	public Date nextTry;
+	@Column(length = 0)
+	@Schema(description = "Error of the last execution")
+	public String error;
+	@Column(length = 64)
+	@Schema(description = "Instance of the application that executes the job")
+	public String owner;
+	@Schema(description = "Start of the execution, the job is executed again when the lease of the owner is expired")
+	public Date claimedAt;
+}
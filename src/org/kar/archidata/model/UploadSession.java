@@ -0,0 +1,38 @@
+package org.kar.archidata.model;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.kar.archidata.annotation.DataIfNotExists;
+import org.kar.archidata.annotation.DataJson;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+
+@Table(name = "upload_session")
+@DataIfNotExists
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UploadSession extends UUIDGenericData {
+	@Column(length = 512, nullable = false)
+	@Schema(description = "Name of the uploaded file (used to detect the mime-type)")
+	public String fileName;
+	@Column(nullable = false)
+	@Schema(description = "Size in Byte of the file")
+	public Long size;
+	@Column(length = 128)
+	@Schema(description = "Sha512 of the file (checked at the end of the upload if set)")
+	public String sha512;
+	@DataJson
+	@Schema(description = "Received ranges of bytes: list of [first, last] pairs (last included)", readOnly = true)
+	public List<Long> received = new ArrayList<>();
+	@Column(nullable = false)
+	@Schema(description = "The session is removed after this time", readOnly = true)
+	public Date expireAt;
+	@Schema(description = "Data created at the end of the upload", readOnly = true)
+	public ObjectId dataId;
+}
@@ -10,6 +10,26 @@ public class ConfigBaseVariable {
 	static public String dbKeepConnected;
 	static public String dbPassword;
 	static public String bdDatabase;
+	static public String dbPoolMinSize;
+	static public String dbPoolMaxSize;
+	static public String dbPoolBorrowTimeout;
+	static public String dbPoolIdleTimeout;
+	static public String dbStatementCacheSize;
+	static public String dbEntityCache;
+	static public String dbSequenceBlockSize;
+	static public String dbIndexPartialDeleted;
+	static public String authTokenCacheSize;
+	static public String authTokenCacheTimeout;
+	static public String httpRangeMaxSize;
+	static public String mediaProcessingThreads;
+	static public String mediaProcessingQueueSize;
+	static public String mediaProcessingMaxTry;
+	static public String mediaProcessingLease;
+	static public String uploadSessionTimeout;
+	static public String proxyConnectTimeout;
+	static public String proxyReadTimeout;
+	static public String proxyMaxSize;
+	static public String proxyCacheSize;
 	static public String apiAdress;
 	static public String ssoAdress;
 	static public String ssoToken;
@@ -30,6 +50,26 @@ public class ConfigBaseVariable {
 		dbKeepConnected = System.getenv("DB_KEEP_CONNECTED");
 		dbPassword = System.getenv("DB_PASSWORD");
 		bdDatabase = System.getenv("DB_DATABASE");
+		dbPoolMinSize = System.getenv("DB_POOL_MIN_SIZE");
+		dbPoolMaxSize = System.getenv("DB_POOL_MAX_SIZE");
+		dbPoolBorrowTimeout = System.getenv("DB_POOL_BORROW_TIMEOUT");
+		dbPoolIdleTimeout = System.getenv("DB_POOL_IDLE_TIMEOUT");
+		dbStatementCacheSize = System.getenv("DB_STATEMENT_CACHE_SIZE");
+		dbEntityCache = System.getenv("DB_ENTITY_CACHE");
+		dbSequenceBlockSize = System.getenv("DB_SEQUENCE_BLOCK_SIZE");
+		dbIndexPartialDeleted = System.getenv("DB_INDEX_PARTIAL_DELETED");
+		authTokenCacheSize = System.getenv("AUTH_TOKEN_CACHE_SIZE");
+		authTokenCacheTimeout = System.getenv("AUTH_TOKEN_CACHE_TIMEOUT");
+		httpRangeMaxSize = System.getenv("HTTP_RANGE_MAX_SIZE");
+		mediaProcessingThreads = System.getenv("MEDIA_PROCESSING_THREADS");
+		mediaProcessingQueueSize = System.getenv("MEDIA_PROCESSING_QUEUE_SIZE");
+		mediaProcessingMaxTry = System.getenv("MEDIA_PROCESSING_MAX_TRY");
+		mediaProcessingLease = System.getenv("MEDIA_PROCESSING_LEASE");
+		uploadSessionTimeout = System.getenv("UPLOAD_SESSION_TIMEOUT");
+		proxyConnectTimeout = System.getenv("PROXY_CONNECT_TIMEOUT");
+		proxyReadTimeout = System.getenv("PROXY_READ_TIMEOUT");
+		proxyMaxSize = System.getenv("PROXY_MAX_SIZE");
+		proxyCacheSize = System.getenv("PROXY_CACHE_SIZE");
 		apiAdress = System.getenv("API_ADDRESS");
 		ssoAdress = System.getenv("SSO_ADDRESS");
 		ssoToken = System.getenv("SSO_TOKEN");
@@ -110,6 +150,186 @@ public class ConfigBaseVariable {
 		return Boolean.parseBoolean(dbKeepConnected);
 	}
 
+	/** Minimum number of SQL connection kept open in the pool.
+	 * @return number of connection (default 1) */
+	public static int getDBPoolMinSize() {
+		if (dbPoolMinSize == null) {
+			return 1;
+		}
+		return Integer.parseInt(dbPoolMinSize);
+	}
+
+	/** Maximum number of SQL connection that can be leased at the same time.
+	 * @return number of connection (default 10) */
+	public static int getDBPoolMaxSize() {
+		if (dbPoolMaxSize == null) {
+			return 10;
+		}
+		return Integer.parseInt(dbPoolMaxSize);
+	}
+
+	/** Maximum time to wait for a free SQL connection.
+	 * @return timeout in milliseconds (default 30s) */
+	public static long getDBPoolBorrowTimeout() {
+		if (dbPoolBorrowTimeout == null) {
+			return 30_000L;
+		}
+		return Long.parseLong(dbPoolBorrowTimeout);
+	}
+
+	/** Time after which an unused SQL connection (above the minimum size) is closed.
+	 * @return timeout in milliseconds (default 5 minutes) */
+	public static long getDBPoolIdleTimeout() {
+		if (dbPoolIdleTimeout == null) {
+			return 300_000L;
+		}
+		return Long.parseLong(dbPoolIdleTimeout);
+	}
+
+	/** Number of prepared statements kept by each SQL connection.
+	 * @return number of statements (default 64, 0 to disable the cache) */
+	public static int getDBStatementCacheSize() {
+		if (dbStatementCacheSize == null) {
+			return 64;
+		}
+		return Integer.parseInt(dbStatementCacheSize);
+	}
+
+	/** Enable the cache of the elements that have the DataCache annotation.
+	 * @return true if enable (default true) */
+	public static boolean getDBEntityCache() {
+		if (dbEntityCache == null) {
+			return true;
+		}
+		return Boolean.parseBoolean(dbEntityCache);
+	}
+
+	/** Number of ids reserved in a single request for the Long primary keys of MongoDB (the unused ids of a block are lost on restart).
+	 * @return size of a block (default 100, 1 to reserve the ids one by one) */
+	public static long getDBSequenceBlockSize() {
+		if (dbSequenceBlockSize == null) {
+			return 100;
+		}
+		return Long.parseLong(dbSequenceBlockSize);
+	}
+
+	/** The generated (non unique) indexes of the soft-deleted tables contain only the not deleted rows (SQLite and MongoDB, MySQL has no partial index).
+	 * @return true to create the partial indexes (default false: the requests with the deleted items can not use them) */
+	public static boolean getDBIndexPartialDeleted() {
+		if (dbIndexPartialDeleted == null) {
+			return false;
+		}
+		return Boolean.parseBoolean(dbIndexPartialDeleted);
+	}
+
+	/** Number of validated JWT kept by the authentication filter.
+	 * @return number of tokens (default 10000, 0 to disable the cache) */
+	public static int getAuthTokenCacheSize() {
+		if (authTokenCacheSize == null) {
+			return 10_000;
+		}
+		return Integer.parseInt(authTokenCacheSize);
+	}
+
+	/** Maximum time a validated JWT is kept by the authentication filter (the token expiration is always checked).
+	 * @return timeout in milliseconds (default 5 minutes) */
+	public static long getAuthTokenCacheTimeout() {
+		if (authTokenCacheTimeout == null) {
+			return 300_000L;
+		}
+		return Long.parseLong(authTokenCacheTimeout);
+	}
+
+	/** Maximum size sent for a range without end ("bytes=500-"), the client request the next part after.
+	 * @return size in bytes (default 16MB, 0 to send the end of the file) */
+	public static long getHttpRangeMaxSize() {
+		if (httpRangeMaxSize == null) {
+			return 16L * 1024 * 1024;
+		}
+		return Long.parseLong(httpRangeMaxSize);
+	}
+
+	/** Number of threads that process the media after the upload.
+	 * @return number of threads (default 2) */
+	public static int getMediaProcessingThreads() {
+		if (mediaProcessingThreads == null) {
+			return 2;
+		}
+		return Integer.parseInt(mediaProcessingThreads);
+	}
+
+	/** Number of media jobs waiting a free thread (the other jobs wait in the DB).
+	 * @return number of jobs (default 32) */
+	public static int getMediaProcessingQueueSize() {
+		if (mediaProcessingQueueSize == null) {
+			return 32;
+		}
+		return Integer.parseInt(mediaProcessingQueueSize);
+	}
+
+	/** Number of executions of a media job before it is set in error.
+	 * @return number of executions (default 5) */
+	public static int getMediaProcessingMaxTry() {
+		if (mediaProcessingMaxTry == null) {
+			return 5;
+		}
+		return Integer.parseInt(mediaProcessingMaxTry);
+	}
+
+	/** Time after which a running media job is executed again by an other instance (the instance that executes it is considered as stopped).
+	 * @return lease in milliseconds (default 30 minutes) */
+	public static long getMediaProcessingLease() {
+		if (mediaProcessingLease == null) {
+			return 30L * 60 * 1000;
+		}
+		return Long.parseLong(mediaProcessingLease);
+	}
+
+	/** Time without new chunk after which an upload session is removed (a finalized session is kept during this time).
+	 * @return timeout in milliseconds (default 24 hours) */
+	public static long getUploadSessionTimeout() {
+		if (uploadSessionTimeout == null) {
+			return 24L * 3600 * 1000;
+		}
+		return Long.parseLong(uploadSessionTimeout);
+	}
+
+	/** Timeout of the connection to the server of a proxied request.
+	 * @return timeout in milliseconds (default 5 s) */
+	public static long getProxyConnectTimeout() {
+		if (proxyConnectTimeout == null) {
+			return 5000;
+		}
+		return Long.parseLong(proxyConnectTimeout);
+	}
+
+	/** Timeout to receive the response headers of a proxied request, and maximum time without data when its content is read.
+	 * @return timeout in milliseconds (default 30 s) */
+	public static long getProxyReadTimeout() {
+		if (proxyReadTimeout == null) {
+			return 30000;
+		}
+		return Long.parseLong(proxyReadTimeout);
+	}
+
+	/** Maximum size of a proxied content.
+	 * @return size in bytes (default 20 MB) */
+	public static long getProxyMaxSize() {
+		if (proxyMaxSize == null) {
+			return 20L * 1024 * 1024;
+		}
+		return Long.parseLong(proxyMaxSize);
+	}
+
+	/** Size of the disk cache of the proxied contents.
+	 * @return size in bytes (default 0: no cache) */
+	public static long getProxyCacheSize() {
+		if (proxyCacheSize == null) {
+			return 0;
+		}
+		return Long.parseLong(proxyCacheSize);
+	}
+
 	public static String getlocalAddress() {
 		if (apiAdress == null) {
 			return "http://0.0.0.0:80/api/";
@@ -13,6 +13,7 @@ import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.tika.Tika;
 import org.bson.types.ObjectId;
@@ -22,10 +23,12 @@ import org.kar.archidata.dataAccess.DBAccess;
 import org.kar.archidata.dataAccess.QueryAnd;
 import org.kar.archidata.dataAccess.QueryCondition;
 import org.kar.archidata.dataAccess.addOnSQL.AddOnDataJson;
+import org.kar.archidata.dataAccess.options.AccessDeletedItems;
 import org.kar.archidata.dataAccess.options.Condition;
 import org.kar.archidata.dataAccess.options.ReadAllColumn;
 import org.kar.archidata.exception.FailException;
 import org.kar.archidata.exception.InputException;
+import org.kar.archidata.media.MediaProcessing;
 import org.kar.archidata.model.Data;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,9 +42,14 @@ public class DataTools {
 	private final static Logger LOGGER = LoggerFactory.getLogger(DataTools.class);
 
 	public final static int CHUNK_SIZE = 1024 * 1024; // 1MB chunks
+	/** @deprecated The uploads are copied with the small buffer of the thread (see {@link #COPY_BUFFER_SIZE}). */
+	@Deprecated
 	public final static int CHUNK_SIZE_IN = 50 * 1024 * 1024; // 1MB chunks
-	/** Upload some data */
-	private static long tmpFolderId = 1;
+	// Size of the buffer used to copy the uploads (one buffer by thread).
+	public final static int COPY_BUFFER_SIZE = 64 * 1024;
+	private final static ThreadLocal<byte[]> COPY_BUFFERS = ThreadLocal.withInitial(() -> new byte[COPY_BUFFER_SIZE]);
+	/** Id of the temporary files of the uploads (started at the current time: the files of a previous execution are not reused) */
+	private static final AtomicLong tmpFolderId = new AtomicLong(System.currentTimeMillis());
 	public final static String[] SUPPORTED_IMAGE_MIME_TYPE = { "image/jpeg", "image/png", "image/webp" };
 	public final static String[] SUPPORTED_AUDIO_MIME_TYPE = { "audio/x-matroska" };
 	public final static String[] SUPPORTED_VIDEO_MIME_TYPE = { "video/x-matroska", "video/webm" };
@@ -54,7 +62,7 @@ public class DataTools {
 	}
 
 	public static long getTmpDataId() {
-		return tmpFolderId++;
+		return tmpFolderId.getAndIncrement();
 	}
 
 	public static String getTmpFileInData(final long tmpFolderId) {
@@ -68,7 +76,7 @@ public class DataTools {
 	}
 
 	public static String getTmpFolder() {
-		final String filePath = ConfigBaseVariable.getTmpDataFolder() + File.separator + tmpFolderId++;
+		final String filePath = ConfigBaseVariable.getTmpDataFolder() + File.separator + getTmpDataId();
 		try {
 			createFolder(ConfigBaseVariable.getTmpDataFolder() + File.separator);
 		} catch (final IOException e) {
@@ -88,6 +96,49 @@ public class DataTools {
 		return null;
 	}
 
+	/** Get the data that have the same content (same sha512 and same size), the deleted data are included.
+	 * @return The data or null if the content is not stored. */
+	public static Data getWithContent(final DBAccess ioDb, final String sha512, final long size) {
+		try {
+			return ioDb.getWhere(Data.class,
+					new Condition(new QueryAnd(new QueryCondition("sha512", "=", sha512),
+							new QueryCondition("size", "=", size))),
+					new ReadAllColumn(), new AccessDeletedItems());
+		} catch (final Exception e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+	/** Create the data of a temporary file, or reuse the data that have the same content (the temporary file is removed and a deleted data is
+	 * restored).
+	 * @param mimeType Type of the data (null to detect it with the file name).
+	 * @return The new data or the previous data with the same content. */
+	public static Data createOrReuseData(
+			final DBAccess ioDb,
+			final long tmpUID,
+			final String originalFileName,
+			final String sha512,
+			final String mimeType) throws IOException, SQLException {
+		final long size = Files.size(Paths.get(getTmpFileInData(tmpUID)));
+		final Data previous = getWithContent(ioDb, sha512, size);
+		if (previous == null) {
+			LOGGER.info("Need to add the data in the BDD ... ");
+			if (mimeType == null) {
+				return createNewData(ioDb, tmpUID, originalFileName, sha512);
+			}
+			return createNewData(ioDb, tmpUID, originalFileName, sha512, mimeType);
+		}
+		LOGGER.info("Data already exist, reuse {}", previous.oid);
+		removeTemporaryFile(tmpUID);
+		if (Boolean.TRUE.equals(previous.deleted)) {
+			LOGGER.warn("Data already exist but deleted");
+			undelete(ioDb, previous.oid);
+			previous.deleted = false;
+		}
+		return previous;
+	}
+
 	public static Data getWithId(final DBAccess ioDb, final long id) {
 		try {
 			return ioDb.getWhere(Data.class, new Condition(new QueryAnd(
@@ -128,6 +179,7 @@ public class DataTools {
 
 		LOGGER.info("Move done");
 		// all is done the file is correctly installed...
+		MediaProcessing.submit(out);
 		return out;
 	}
 
@@ -180,35 +232,62 @@ public class DataTools {
 		}
 	}
 
-	// save uploaded file to a defined location on the server
-	public static String saveFile(final InputStream uploadedInputStream, final String serverLocation) {
-		String out = "";
+	/** Copy a stream in a file and compute its sha512 during the copy (the stream is read one time, with the copy buffer of the thread).
+	 * @param input Stream to copy (not closed).
+	 * @param destination File to create (or replace).
+	 * @return The sha512 of the data in hexadecimal. */
+	public static String copyAndHash(final InputStream input, final java.nio.file.Path destination) throws IOException {
+		final MessageDigest md;
 		try {
-			OutputStream outpuStream = new FileOutputStream(new File(serverLocation));
+			md = MessageDigest.getInstance("SHA-512");
+		} catch (final NoSuchAlgorithmException ex) {
+			throw new IOException("Can not find sha512 algorithms", ex);
+		}
+		final byte[] buffer = getCopyBuffer();
+		try (OutputStream output = Files.newOutputStream(destination)) {
 			int read = 0;
-			final byte[] bytes = new byte[CHUNK_SIZE_IN];
-			final MessageDigest md = MessageDigest.getInstance("SHA-512");
+			while ((read = input.read(buffer)) != -1) {
+				md.update(buffer, 0, read);
+				output.write(buffer, 0, read);
+			}
+		}
+		return bytesToHex(md.digest());
+	}
+
+	/** @return The copy buffer of the current thread (it must not be kept after the copy). */
+	public static byte[] getCopyBuffer() {
+		return COPY_BUFFERS.get();
+	}
 
-			outpuStream = new FileOutputStream(new File(serverLocation));
-			while ((read = uploadedInputStream.read(bytes)) != -1) {
-				// logger.debug("write {}", read);
-				md.update(bytes, 0, read);
-				outpuStream.write(bytes, 0, read);
+	/** Compute the sha512 of a file.
+	 * @return The sha512 in hexadecimal. */
+	public static String computeSha512(final java.nio.file.Path file) throws IOException {
+		final MessageDigest md;
+		try {
+			md = MessageDigest.getInstance("SHA-512");
+		} catch (final NoSuchAlgorithmException ex) {
+			throw new IOException("Can not find sha512 algorithms", ex);
+		}
+		final byte[] buffer = getCopyBuffer();
+		try (InputStream input = Files.newInputStream(file)) {
+			int read = 0;
+			while ((read = input.read(buffer)) != -1) {
+				md.update(buffer, 0, read);
 			}
+		}
+		return bytesToHex(md.digest());
+	}
+
+	// save uploaded file to a defined location on the server
+	public static String saveFile(final InputStream uploadedInputStream, final String serverLocation) {
+		String out = "";
+		try {
+			out = copyAndHash(uploadedInputStream, Paths.get(serverLocation));
 			LOGGER.info("Flush input stream ... {}", serverLocation);
-			outpuStream.flush();
-			outpuStream.close();
-			// create the end of sha512
-			final byte[] sha512Digest = md.digest();
-			// convert in hexadecimal
-			out = bytesToHex(sha512Digest);
 			uploadedInputStream.close();
 		} catch (final IOException ex) {
 			LOGGER.error("Can not write in temporary file ... ");
 			ex.printStackTrace();
-		} catch (final NoSuchAlgorithmException ex) {
-			LOGGER.error("Can not find sha512 algorithms");
-			ex.printStackTrace();
 		}
 		return out;
 	}
@@ -315,33 +394,25 @@ public class DataTools {
 
 		final long tmpUID = getTmpDataId();
 		final String sha512 = saveTemporaryFile(dataResponse, tmpUID);
-		Data data = getWithSha512(ioDb, sha512);
 		final String mimeType = getMimeType(dataResponse);
 		if (!Arrays.asList(SUPPORTED_IMAGE_MIME_TYPE).contains(mimeType)) {
+			removeTemporaryFile(tmpUID);
 			throw new FailException(Response.Status.NOT_ACCEPTABLE,
 					clazz.getCanonicalName() + "[" + id.toString() + "] Data CoverType is not accesptable: " + mimeType
 							+ "support only: " + String.join(", ", SUPPORTED_IMAGE_MIME_TYPE));
 
 		}
-		if (data == null) {
-			LOGGER.info("Need to add the data in the BDD ... ");
-			try {
-				data = createNewData(ioDb, tmpUID, url, sha512, mimeType);
-			} catch (final IOException ex) {
-				removeTemporaryFile(tmpUID);
-				throw new FailException(Response.Status.NOT_MODIFIED,
-						clazz.getCanonicalName() + "[" + id.toString() + "] can not create input media", ex);
-			} catch (final SQLException ex) {
-				removeTemporaryFile(tmpUID);
-				throw new FailException(Response.Status.NOT_MODIFIED,
-						clazz.getCanonicalName() + "[" + id.toString() + "] Error in SQL insertion", ex);
-			}
-		} else if (data.deleted) {
-			LOGGER.error("Data already exist but deleted");
-			undelete(ioDb, data.oid);
-			data.deleted = false;
-		} else {
-			LOGGER.error("Data already exist ... all good");
+		final Data data;
+		try {
+			data = createOrReuseData(ioDb, tmpUID, url, sha512, mimeType);
+		} catch (final IOException ex) {
+			removeTemporaryFile(tmpUID);
+			throw new FailException(Response.Status.NOT_MODIFIED,
+					clazz.getCanonicalName() + "[" + id.toString() + "] can not create input media", ex);
+		} catch (final SQLException ex) {
+			removeTemporaryFile(tmpUID);
+			throw new FailException(Response.Status.NOT_MODIFIED,
+					clazz.getCanonicalName() + "[" + id.toString() + "] Error in SQL insertion", ex);
 		}
 		// Fist step: retrieve all the Id of each parents:...
 		LOGGER.info("Find typeNode");
@@ -368,26 +439,17 @@ public class DataTools {
 
 		final long tmpUID = getTmpDataId();
 		final String sha512 = saveTemporaryFile(fileInputStream, tmpUID);
-		Data data = getWithSha512(ioDb, sha512);
-		if (data == null) {
-			LOGGER.info("Need to add the data in the BDD ... ");
-			try {
-				data = createNewData(ioDb, tmpUID, fileMetaData.getFileName(), sha512);
-			} catch (final IOException ex) {
-				removeTemporaryFile(tmpUID);
-				throw new FailException(Response.Status.NOT_MODIFIED,
-						clazz.getCanonicalName() + "[" + id.toString() + "] can not create input media", ex);
-			} catch (final SQLException ex) {
-				removeTemporaryFile(tmpUID);
-				throw new FailException(Response.Status.NOT_MODIFIED,
-						clazz.getCanonicalName() + "[" + id.toString() + "] Error in SQL insertion", ex);
-			}
-		} else if (data.deleted) {
-			LOGGER.error("Data already exist but deleted");
-			undelete(ioDb, data.oid);
-			data.deleted = false;
-		} else {
-			LOGGER.error("Data already exist ... all good");
+		final Data data;
+		try {
+			data = createOrReuseData(ioDb, tmpUID, fileMetaData.getFileName(), sha512, null);
+		} catch (final IOException ex) {
+			removeTemporaryFile(tmpUID);
+			throw new FailException(Response.Status.NOT_MODIFIED,
+					clazz.getCanonicalName() + "[" + id.toString() + "] can not create input media", ex);
+		} catch (final SQLException ex) {
+			removeTemporaryFile(tmpUID);
+			throw new FailException(Response.Status.NOT_MODIFIED,
+					clazz.getCanonicalName() + "[" + id.toString() + "] Error in SQL insertion", ex);
 		}
 		// Fist step: retrieve all the Id of each parents:...
 		LOGGER.info("Find typeNode");
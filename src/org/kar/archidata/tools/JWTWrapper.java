@@ -11,6 +11,7 @@ import java.util.Date;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.kar.archidata.filter.AuthenticationFilter;
 import org.slf4j.Logger;
@@ -68,6 +69,9 @@ public class JWTWrapper {
 
 	private static RSAKey rsaJWK = null;
 	private static RSAKey rsaPublicJWK = null;
+	// The verifier is thread safe: it is created one time for each public key.
+	private static volatile JWSVerifier rsaVerifier = null;
+	private static final AtomicLong keyGeneration = new AtomicLong();
 
 	public static class PublicKey {
 		public String key;
@@ -79,6 +83,26 @@ public class JWTWrapper {
 		public PublicKey() {}
 	}
 
+	private static void setPublicKey(final RSAKey publicKey) {
+		rsaPublicJWK = publicKey;
+		JWSVerifier verifier = null;
+		if (publicKey != null) {
+			try {
+				verifier = new RSASSAVerifier(publicKey);
+			} catch (final JOSEException ex) {
+				LOGGER.error("Can not create the JWT verifier: {}", ex.getMessage());
+			}
+		}
+		rsaVerifier = verifier;
+		keyGeneration.incrementAndGet();
+	}
+
+	/** Get the generation of the public key: it change each time the key is set (the tokens validated with an other generation must be checked again).
+	 * @return The generation of the key. */
+	public static long getKeyGeneration() {
+		return keyGeneration.get();
+	}
+
 	public static void initLocalTokenRemote(final String ssoUri, final String application)
 			throws IOException, ParseException {
 		// check Token:
@@ -110,7 +134,7 @@ public class JWTWrapper {
 			LOGGER.debug(response.toString());
 			final ObjectMapper mapper = ContextGenericTools.createObjectMapper();
 			final PublicKey values = mapper.readValue(response.toString(), PublicKey.class);
-			rsaPublicJWK = RSAKey.parse(values.key);
+			setPublicKey(RSAKey.parse(values.key));
 			return;
 		}
 		LOGGER.debug("GET JWT validator token not worked response code {} from {} ", responseCode, obj);
@@ -128,7 +152,7 @@ public class JWTWrapper {
 				LOGGER.error("USE UUID : {}", generatedStringForKey);
 			}
 			rsaJWK = new RSAKeyGenerator(2048).keyID(generatedStringForKey).generate();
-			rsaPublicJWK = rsaJWK.toPublicJWK();
+			setPublicKey(rsaJWK.toPublicJWK());
 			LOGGER.error("RSA key (all): " + rsaJWK.toJSONString());
 			LOGGER.error("RSA key (pub): " + rsaPublicJWK.toJSONString());
 		} catch (final JOSEException e) {
@@ -136,13 +160,13 @@ public class JWTWrapper {
 			e.printStackTrace();
 			LOGGER.debug("Can not generate teh  public abnd private keys ...");
 			rsaJWK = null;
-			rsaPublicJWK = null;
+			setPublicKey(null);
 		}
 	}
 
 	public static void initValidateToken(final String publicKey) {
 		try {
-			rsaPublicJWK = RSAKey.parse(publicKey);
+			setPublicKey(RSAKey.parse(publicKey));
 		} catch (final ParseException e) {
 			e.printStackTrace();
 			LOGGER.debug("Can not retrieve public Key !!!!!!!! RSAKey='{}'", publicKey);
@@ -224,9 +248,10 @@ public class JWTWrapper {
 				LOGGER.error("FAIL to parse signing");
 				return null;
 			}
+			final JWSVerifier verifier = rsaVerifier;
 			if (ConfigBaseVariable.getTestMode() && signedToken.endsWith(TestSigner.test_signature)) {
 				LOGGER.warn("Someone use a test token: {}", signedToken);
-			} else if (rsaPublicJWK == null) {
+			} else if (verifier == null) {
 				LOGGER.warn("JWT public key is not present !!!");
 				if (!ConfigBaseVariable.getTestMode()) {
 					return null;
@@ -238,7 +263,6 @@ public class JWTWrapper {
 					return null;
 				}
 			} else {
-				final JWSVerifier verifier = new RSASSAVerifier(rsaPublicJWK);
 				if (!signedJWT.verify(verifier)) {
 					LOGGER.error("JWT token is NOT verified ");
 					return null;
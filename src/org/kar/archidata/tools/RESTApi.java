@@ -1,6 +1,8 @@
 package org.kar.archidata.tools;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpClient.Version;
@@ -8,28 +10,66 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpRequest.Builder;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 import org.kar.archidata.exception.RESTErrorResponseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 
 import jakarta.ws.rs.core.HttpHeaders;
 
+/** Client of a REST API. The HTTP client is shared by all the requests of the instance (the connections are kept alive and reused), the bodies are
+ * parsed from the received stream. Each verb has an asynchronous variant that returns a CompletableFuture (completed exceptionally with a
+ * RESTErrorResponseException or an IOException). */
 public class RESTApi {
 	final static Logger LOGGER = LoggerFactory.getLogger(RESTApi.class);
+	static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+	/** Parse the bodies of the asynchronous calls: the read of the stream blocks until the data is received, it must not run on the threads of the
+	 * HTTP client. */
+	private static final ExecutorService PARSE_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		final Thread thread = new Thread(runnable, "RESTApi-parse");
+		thread.setDaemon(true);
+		return thread;
+	});
 	final String baseUrl;
 	private String token = null;
 	final ObjectMapper mapper;
+	final HttpClient client;
 
 	public RESTApi(final String baseUrl) {
+		this(baseUrl, createClient(baseUrl));
+	}
+
+	/** @param baseUrl Base of the URL of all the requests.
+	 * @param client HTTP client to use (it can be shared by several API). */
+	public RESTApi(final String baseUrl, final HttpClient client) {
 		this.baseUrl = baseUrl;
 		this.mapper = ContextGenericTools.createObjectMapper();
+		this.client = client;
+	}
+
+	/** Create the default client: HTTP/2 is negotiated on TLS connections, the clear connections stay in HTTP/1.1 (no upgrade round-trip).
+	 * @param baseUrl Base of the URL of the requests.
+	 * @return The new client. */
+	public static HttpClient createClient(final String baseUrl) {
+		final Version version = baseUrl != null && baseUrl.startsWith("https:") ? Version.HTTP_2 : Version.HTTP_1_1;
+		return HttpClient.newBuilder().version(version).connectTimeout(CONNECT_TIMEOUT).build();
 	}
 
 	public void setToken(final String token) {
@@ -38,26 +78,33 @@ public class RESTApi {
 
 	public <T> List<T> gets(final Class<T> clazz, final String urlOffset)
 			throws RESTErrorResponseException, IOException, InterruptedException {
-		final HttpClient client = HttpClient.newHttpClient();
-		Builder requestBuilding = HttpRequest.newBuilder().version(Version.HTTP_1_1)
-				.uri(URI.create(this.baseUrl + urlOffset));
-		if (this.token != null) {
-			requestBuilding = requestBuilding.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token);
-		}
-		final HttpRequest request = requestBuilding.GET().build();
-		final HttpResponse<String> httpResponse = client.send(request, HttpResponse.BodyHandlers.ofString());
-		if (httpResponse.statusCode() < 200 || httpResponse.statusCode() >= 300) {
-			try {
-				final RESTErrorResponseException out = this.mapper.readValue(httpResponse.body(),
-						RESTErrorResponseException.class);
-				throw out;
-			} catch (final MismatchedInputException ex) {
-				throw new IOException(
-						"Fail to get the data [" + httpResponse.statusCode() + "] " + httpResponse.body());
-			}
+		final List<T> out = new ArrayList<>();
+		gets(clazz, urlOffset, out::add);
+		return out;
+	}
+
+	/** Get a list of elements, each element is given to the consumer as soon as it is parsed (the list is never fully loaded in memory).
+	 * @param clazz Class model of the elements.
+	 * @param urlOffset Offset to call the API
+	 * @param consumer Receiver of the elements. */
+	public <T> void gets(final Class<T> clazz, final String urlOffset, final Consumer<? super T> consumer)
+			throws RESTErrorResponseException, IOException, InterruptedException {
+		final HttpRequest request = buildRequest("GET", urlOffset, null);
+		final HttpResponse<InputStream> httpResponse = this.client.send(request,
+				HttpResponse.BodyHandlers.ofInputStream());
+		try (InputStream input = httpResponse.body()) {
+			checkStatus(httpResponse.statusCode(), input);
+			readList(clazz, input, consumer);
 		}
-		return this.mapper.readValue(httpResponse.body(),
-				this.mapper.getTypeFactory().constructCollectionType(List.class, clazz));
+	}
+
+	public <T> CompletableFuture<List<T>> getsAsync(final Class<T> clazz, final String urlOffset) {
+		final HttpRequest request = buildRequest("GET", urlOffset, null);
+		return sendAsync(request, input -> {
+			final List<T> out = new ArrayList<>();
+			readList(clazz, input, out::add);
+			return out;
+		});
 	}
 
 	public <T> T get(final Class<T> clazz, final String urlOffset)
@@ -65,51 +112,100 @@ public class RESTApi {
 		return modelSendJson("GET", clazz, urlOffset, null);
 	}
 
+	public <T> CompletableFuture<T> getAsync(final Class<T> clazz, final String urlOffset) {
+		return modelSendJsonAsync("GET", clazz, urlOffset, null);
+	}
+
 	public <T, U> T post(final Class<T> clazz, final String urlOffset, final U data)
 			throws RESTErrorResponseException, IOException, InterruptedException {
 		return modelSend("POST", clazz, urlOffset, data);
 	}
 
+	public <T, U> CompletableFuture<T> postAsync(final Class<T> clazz, final String urlOffset, final U data) {
+		return modelSendAsync("POST", clazz, urlOffset, data);
+	}
+
 	public <T, U> T postJson(final Class<T> clazz, final String urlOffset, final String body)
 			throws RESTErrorResponseException, IOException, InterruptedException {
 		return modelSendJson("POST", clazz, urlOffset, body);
 	}
 
+	public <T> CompletableFuture<T> postJsonAsync(final Class<T> clazz, final String urlOffset, final String body) {
+		return modelSendJsonAsync("POST", clazz, urlOffset, body);
+	}
+
 	public <T> T postMap(final Class<T> clazz, final String urlOffset, final Map<String, Object> data)
 			throws RESTErrorResponseException, IOException, InterruptedException {
 		return modelSendMap("POST", clazz, urlOffset, data);
 	}
 
+	public <T> CompletableFuture<T> postMapAsync(
+			final Class<T> clazz,
+			final String urlOffset,
+			final Map<String, Object> data) {
+		return modelSendAsync("POST", clazz, urlOffset, data);
+	}
+
 	public <T, U> T put(final Class<T> clazz, final String urlOffset, final U data)
 			throws RESTErrorResponseException, IOException, InterruptedException {
 		return modelSend("PUT", clazz, urlOffset, data);
 	}
 
+	public <T, U> CompletableFuture<T> putAsync(final Class<T> clazz, final String urlOffset, final U data) {
+		return modelSendAsync("PUT", clazz, urlOffset, data);
+	}
+
 	public <T, U> T putJson(final Class<T> clazz, final String urlOffset, final String body)
 			throws RESTErrorResponseException, IOException, InterruptedException {
 		return modelSendJson("PUT", clazz, urlOffset, body);
 	}
 
+	public <T> CompletableFuture<T> putJsonAsync(final Class<T> clazz, final String urlOffset, final String body) {
+		return modelSendJsonAsync("PUT", clazz, urlOffset, body);
+	}
+
 	public <T> T putMap(final Class<T> clazz, final String urlOffset, final Map<String, Object> data)
 			throws RESTErrorResponseException, IOException, InterruptedException {
 		return modelSendMap("PUT", clazz, urlOffset, data);
 	}
 
+	public <T> CompletableFuture<T> putMapAsync(
+			final Class<T> clazz,
+			final String urlOffset,
+			final Map<String, Object> data) {
+		return modelSendAsync("PUT", clazz, urlOffset, data);
+	}
+
 	public <T, U> T patch(final Class<T> clazz, final String urlOffset, final U data)
 			throws RESTErrorResponseException, IOException, InterruptedException {
 		return modelSend("PATCH", clazz, urlOffset, data);
 	}
 
+	public <T, U> CompletableFuture<T> patchAsync(final Class<T> clazz, final String urlOffset, final U data) {
+		return modelSendAsync("PATCH", clazz, urlOffset, data);
+	}
+
 	public <T, U> T patchJson(final Class<T> clazz, final String urlOffset, final String body)
 			throws RESTErrorResponseException, IOException, InterruptedException {
 		return modelSendJson("PATCH", clazz, urlOffset, body);
 	}
 
+	public <T> CompletableFuture<T> patchJsonAsync(final Class<T> clazz, final String urlOffset, final String body) {
+		return modelSendJsonAsync("PATCH", clazz, urlOffset, body);
+	}
+
 	public <T> T patchMap(final Class<T> clazz, final String urlOffset, final Map<String, Object> data)
 			throws RESTErrorResponseException, IOException, InterruptedException {
 		return modelSendMap("PATCH", clazz, urlOffset, data);
 	}
 
+	public <T> CompletableFuture<T> patchMapAsync(
+			final Class<T> clazz,
+			final String urlOffset,
+			final Map<String, Object> data) {
+		return modelSendAsync("PATCH", clazz, urlOffset, data);
+	}
+
 	protected <T, U> T modelSend(final String model, final Class<T> clazz, final String urlOffset, final U data)
 			throws RESTErrorResponseException, IOException, InterruptedException {
 		if (data == null) {
@@ -120,90 +216,52 @@ public class RESTApi {
 		}
 	}
 
-	@SuppressWarnings("unchecked")
-	public <T, U> T modelSendJson(final String model, final Class<T> clazz, final String urlOffset, String body)
+	protected <T, U> CompletableFuture<T> modelSendAsync(
+			final String model,
+			final Class<T> clazz,
+			final String urlOffset,
+			final U data) {
+		if (data == null) {
+			return modelSendJsonAsync(model, clazz, urlOffset, null);
+		}
+		final String body;
+		try {
+			body = this.mapper.writeValueAsString(data);
+		} catch (final JsonProcessingException ex) {
+			return CompletableFuture.failedFuture(ex);
+		}
+		return modelSendJsonAsync(model, clazz, urlOffset, body);
+	}
+
+	public <T> T modelSendJson(final String model, final Class<T> clazz, final String urlOffset, final String body)
 			throws RESTErrorResponseException, IOException, InterruptedException {
-		final HttpClient client = HttpClient.newHttpClient();
-		// client.property(HttpUrlConnectorProvider.SET_METHOD_WORKAROUND, true);
-		Builder requestBuilding = HttpRequest.newBuilder().version(Version.HTTP_1_1)
-				.uri(URI.create(this.baseUrl + urlOffset));
 		LOGGER.trace("call {}: {}", model, URI.create(this.baseUrl + urlOffset));
 		LOGGER.trace("DATA: {}", body);
-		if (this.token != null) {
-			requestBuilding = requestBuilding.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token);
-		}
-		if (body == null) {
-			body = "";
-		} else {
-			requestBuilding = requestBuilding.header("Content-Type", "application/json");
+		final HttpRequest request = buildRequest(model, urlOffset, body);
+		final HttpResponse<InputStream> httpResponse = this.client.send(request,
+				HttpResponse.BodyHandlers.ofInputStream());
+		try (InputStream input = httpResponse.body()) {
+			checkStatus(httpResponse.statusCode(), input);
+			return readBody(clazz, input);
 		}
-		LOGGER.trace("publish body: {}", body);
-		final HttpRequest request = requestBuilding.method(model, BodyPublishers.ofString(body)).build();
-		final HttpResponse<String> httpResponse = client.send(request, HttpResponse.BodyHandlers.ofString());
-		if (httpResponse.statusCode() < 200 || httpResponse.statusCode() >= 300) {
-			LOGGER.trace("Receive Error: {}", httpResponse.body());
-			try {
-				final RESTErrorResponseException out = this.mapper.readValue(httpResponse.body(),
-						RESTErrorResponseException.class);
-				throw out;
-			} catch (final MismatchedInputException ex) {
-				throw new IOException(
-						"Fail to get the data [" + httpResponse.statusCode() + "] " + httpResponse.body());
-			} catch (final JsonParseException ex) {
-				ex.printStackTrace();
-				LOGGER.error("body: {}", httpResponse.body());
-				throw new IOException(
-						"Fail to get the ERROR data [" + httpResponse.statusCode() + "] " + httpResponse.body());
-			}
-		}
-		if (clazz == Void.class || clazz == void.class) {
-			return null;
-		}
-		if (clazz.equals(String.class)) {
-			return (T) httpResponse.body();
-		}
-		LOGGER.trace("Receive model: {} with data: '{}'", clazz.getCanonicalName(), httpResponse.body());
-		return this.mapper.readValue(httpResponse.body(), clazz);
 	}
 
-	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> modelSendJsonAsync(
+			final String model,
+			final Class<T> clazz,
+			final String urlOffset,
+			final String body) {
+		LOGGER.trace("call async {}: {}", model, URI.create(this.baseUrl + urlOffset));
+		final HttpRequest request = buildRequest(model, urlOffset, body);
+		return sendAsync(request, input -> readBody(clazz, input));
+	}
+
 	public <T> T modelSendMap(
 			final String model,
 			final Class<T> clazz,
 			final String urlOffset,
 			final Map<String, Object> data) throws RESTErrorResponseException, IOException, InterruptedException {
-		final HttpClient client = HttpClient.newHttpClient();
-		String body = null;
-		Builder requestBuilding = HttpRequest.newBuilder().version(Version.HTTP_1_1)
-				.uri(URI.create(this.baseUrl + urlOffset));
-		if (this.token != null) {
-			requestBuilding = requestBuilding.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token);
-		}
-		if (data == null) {
-			body = "";
-		} else {
-			body = this.mapper.writeValueAsString(data);
-			requestBuilding = requestBuilding.header("Content-Type", "application/json");
-		}
-		final HttpRequest request = requestBuilding.method(model, BodyPublishers.ofString(body)).build();
-		final HttpResponse<String> httpResponse = client.send(request, HttpResponse.BodyHandlers.ofString());
-		if (httpResponse.statusCode() < 200 || httpResponse.statusCode() >= 300) {
-			try {
-				final RESTErrorResponseException out = this.mapper.readValue(httpResponse.body(),
-						RESTErrorResponseException.class);
-				throw out;
-			} catch (final MismatchedInputException ex) {
-				throw new IOException(
-						"Fail to get the data [" + httpResponse.statusCode() + "] " + httpResponse.body());
-			}
-		}
-		if (clazz == Void.class || clazz == void.class) {
-			return null;
-		}
-		if (clazz.equals(String.class)) {
-			return (T) httpResponse.body();
-		}
-		return this.mapper.readValue(httpResponse.body(), clazz);
+		return modelSend(model, clazz, urlOffset, data);
 	}
 
 	/**
@@ -226,6 +284,10 @@ public class RESTApi {
 		return simpleRequest("DELETE", clazz, urlOffset);
 	}
 
+	public <T> CompletableFuture<T> deleteAsync(final Class<T> clazz, final String urlOffset) {
+		return simpleRequestAsync("DELETE", clazz, urlOffset);
+	}
+
 	/**
 	 * Call an ARCHIVE on a REST API
 	 * @param urlOffset Offset to call the API
@@ -246,6 +308,10 @@ public class RESTApi {
 		return simpleRequest("ARCHIVE", clazz, urlOffset);
 	}
 
+	public <T> CompletableFuture<T> archiveAsync(final Class<T> clazz, final String urlOffset) {
+		return simpleRequestAsync("ARCHIVE", clazz, urlOffset);
+	}
+
 	/**
 	 * Call an RESTORE on a REST API
 	 * @param urlOffset Offset to call the API
@@ -266,6 +332,10 @@ public class RESTApi {
 		return simpleRequest("RESTORE", clazz, urlOffset);
 	}
 
+	public <T> CompletableFuture<T> restoreAsync(final Class<T> clazz, final String urlOffset) {
+		return simpleRequestAsync("RESTORE", clazz, urlOffset);
+	}
+
 	/**
 	 * Call a key on a REST API with retrieving some data
 	 * @param <T> Type of data that might be received.
@@ -276,30 +346,107 @@ public class RESTApi {
 	 */
 	public <T> T simpleRequest(final String model, final Class<T> clazz, final String urlOffset)
 			throws RESTErrorResponseException, IOException, InterruptedException {
-		final HttpClient client = HttpClient.newHttpClient();
-		Builder requestBuilding = HttpRequest.newBuilder().version(Version.HTTP_1_1)
-				.uri(URI.create(this.baseUrl + urlOffset));
+		return modelSendJson(model, clazz, urlOffset, null);
+	}
+
+	public <T> CompletableFuture<T> simpleRequestAsync(final String model, final Class<T> clazz, final String urlOffset) {
+		return modelSendJsonAsync(model, clazz, urlOffset, null);
+	}
+
+	private HttpRequest buildRequest(final String model, final String urlOffset, final String body) {
+		Builder requestBuilding = HttpRequest.newBuilder().uri(URI.create(this.baseUrl + urlOffset));
 		if (this.token != null) {
 			requestBuilding = requestBuilding.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token);
 		}
-		final HttpRequest request = requestBuilding.method(model, BodyPublishers.ofString("")).build();
-		final HttpResponse<String> httpResponse = client.send(request, HttpResponse.BodyHandlers.ofString());
-		if (httpResponse.statusCode() < 200 || httpResponse.statusCode() >= 300) {
-			try {
-				final RESTErrorResponseException out = this.mapper.readValue(httpResponse.body(),
-						RESTErrorResponseException.class);
-				throw out;
-			} catch (final MismatchedInputException ex) {
-				throw new IOException(
-						"Fail to get the data [" + httpResponse.statusCode() + "] " + httpResponse.body());
-			}
+		if (body == null) {
+			return requestBuilding.method(model, BodyPublishers.noBody()).build();
+		}
+		requestBuilding = requestBuilding.header("Content-Type", "application/json");
+		return requestBuilding.method(model, BodyPublishers.ofString(body)).build();
+	}
+
+	@FunctionalInterface
+	private interface BodyReader<T> {
+		T read(InputStream input) throws IOException;
+	}
+
+	/** Send a request without waiting the response: the future completes with the headers, then the body is parsed from the stream (like the
+	 * synchronous calls, it is never fully loaded in memory) on the parse executor. */
+	private <T> CompletableFuture<T> sendAsync(final HttpRequest request, final BodyReader<T> reader) {
+		return this.client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+				.thenApplyAsync(httpResponse -> {
+					try (InputStream input = httpResponse.body()) {
+						checkStatus(httpResponse.statusCode(), input);
+						return reader.read(input);
+					} catch (final RESTErrorResponseException | IOException ex) {
+						throw new CompletionException(ex);
+					}
+				}, PARSE_EXECUTOR);
+	}
+
+	/** Throw the error sent by the server when the status is not a success (the error body is small and read in memory). */
+	private void checkStatus(final int status, final InputStream input) throws RESTErrorResponseException, IOException {
+		if (status >= 200 && status < 300) {
+			return;
 		}
+		final byte[] body = input.readAllBytes();
+		LOGGER.trace("Receive Error: {}", new String(body, StandardCharsets.UTF_8));
+		try {
+			final RESTErrorResponseException out = this.mapper.readValue(body, RESTErrorResponseException.class);
+			throw out;
+		} catch (final MismatchedInputException ex) {
+			throw new IOException(
+					"Fail to get the data [" + status + "] " + new String(body, StandardCharsets.UTF_8));
+		} catch (final JsonParseException ex) {
+			LOGGER.error("body: {}", new String(body, StandardCharsets.UTF_8));
+			throw new IOException(
+					"Fail to get the ERROR data [" + status + "] " + new String(body, StandardCharsets.UTF_8));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T readBody(final Class<T> clazz, final InputStream input) throws IOException {
 		if (clazz == Void.class || clazz == void.class) {
+			drain(input);
 			return null;
 		}
 		if (clazz.equals(String.class)) {
-			return (T) httpResponse.body();
+			return (T) new String(input.readAllBytes(), StandardCharsets.UTF_8);
+		}
+		final T out;
+		try (JsonParser parser = createParser(input)) {
+			out = this.mapper.readValue(parser, clazz);
+		}
+		drain(input);
+		return out;
+	}
+
+	/** Parse a JSON array element by element. */
+	private <T> void readList(final Class<T> clazz, final InputStream input, final Consumer<? super T> consumer)
+			throws IOException {
+		try (JsonParser parser = createParser(input)) {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new IOException("Fail to get the data: the body is not a JSON array");
+			}
+			while (parser.nextToken() != JsonToken.END_ARRAY) {
+				if (parser.currentToken() == null) {
+					throw new IOException("Fail to get the data: the JSON array is not closed");
+				}
+				consumer.accept(this.mapper.readValue(parser, clazz));
+			}
 		}
-		return this.mapper.readValue(httpResponse.body(), clazz);
+		drain(input);
+	}
+
+	private JsonParser createParser(final InputStream input) throws IOException {
+		final JsonParser parser = this.mapper.getFactory().createParser(input);
+		// The stream is closed by the caller after the end of the body is read (the connection can be reused).
+		parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+		return parser;
+	}
+
+	/** Read the end of the body: a response that is not fully read can not release its connection. */
+	private static void drain(final InputStream input) throws IOException {
+		input.transferTo(OutputStream.nullOutputStream());
 	}
 }
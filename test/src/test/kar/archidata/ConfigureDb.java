@@ -39,8 +39,13 @@ public class ConfigureDb {
 	final static private Logger LOGGER = LoggerFactory.getLogger(ConfigureDb.class);
 	final static private String modeTestForced = null;// "MONGO";
 	public static DBAccess da = null;
+	// Mode of the current test (set by a test that run on a specific DB).
+	private static String modeTestCurrent = null;
 
-	public static void configure() throws IOException, InternalServerErrorException, DataAccessException {
+	private static String getModeTest() {
+		if (modeTestCurrent != null) {
+			return modeTestCurrent;
+		}
 		String modeTest = System.getenv("TEST_E2E_MODE");
 		if (modeTest == null || modeTest.isEmpty() || "false".equalsIgnoreCase(modeTest)) {
 			modeTest = "SQLITE-MEMORY";
@@ -51,6 +56,18 @@ public class ConfigureDb {
 		if (modeTestForced != null) {
 			modeTest = modeTestForced;
 		}
+		return modeTest;
+	}
+
+	public static void configure() throws IOException, InternalServerErrorException, DataAccessException {
+		configure(getModeTest());
+	}
+
+	/** Configure the DB of a test that run on a specific DB.
+	 * @param modeTest "SQLITE-MEMORY", "SQLITE", "MY-SQL" or "MONGO". */
+	public static void configure(final String modeTest)
+			throws IOException, InternalServerErrorException, DataAccessException {
+		modeTestCurrent = modeTest;
 		final List<Class<?>> listObject = List.of( //
 				SerializeAsJson.class, //
 				SerializeListAsJson.class, //
@@ -104,16 +121,7 @@ public class ConfigureDb {
 	}
 
 	public static void removeDB() {
-		String modeTest = System.getenv("TEST_E2E_MODE");
-		if (modeTest == null || modeTest.isEmpty() || "false".equalsIgnoreCase(modeTest)) {
-			modeTest = "SQLITE-MEMORY";
-		} else if ("true".equalsIgnoreCase(modeTest)) {
-			modeTest = "MY-SQL";
-		}
-		// override the local test:
-		if (modeTestForced != null) {
-			modeTest = modeTestForced;
-		}
+		final String modeTest = getModeTest();
 		DbConfig config = null;
 		try {
 			config = new DbConfig();
@@ -153,5 +161,6 @@ public class ConfigureDb {
 		da.close();
 		DbIoFactory.closeAllForceMode();
 		ConfigBaseVariable.clearAllValue();
+		modeTestCurrent = null;
 	}
 }
@@ -0,0 +1,62 @@
+package test.kar.archidata.api;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.kar.archidata.api.HttpRange;
+
+public class TestHttpRange {
+
+	@Test
+	public void testNoRange() {
+		Assertions.assertNull(HttpRange.parse(null, 1000, 0));
+		Assertions.assertNull(HttpRange.parse("items=0-10", 1000, 0));
+		Assertions.assertNull(HttpRange.parse("bytes=abc", 1000, 0));
+		Assertions.assertNull(HttpRange.parse("bytes=10-5", 1000, 0));
+	}
+
+	@Test
+	public void testSimpleRange() {
+		Assertions.assertEquals(List.of(new HttpRange(0, 99)), HttpRange.parse("bytes=0-99", 1000, 0));
+		Assertions.assertEquals(List.of(new HttpRange(900, 999)), HttpRange.parse("bytes=900-2000", 1000, 0));
+		Assertions.assertEquals(List.of(new HttpRange(500, 999)), HttpRange.parse("bytes=500-", 1000, 0));
+		// The range without end is limited.
+		Assertions.assertEquals(List.of(new HttpRange(500, 599)), HttpRange.parse("bytes=500-", 1000, 100));
+		// The bounded range is not limited.
+		Assertions.assertEquals(List.of(new HttpRange(0, 499)), HttpRange.parse("bytes=0-499", 1000, 100));
+	}
+
+	@Test
+	public void testSuffixRange() {
+		Assertions.assertEquals(List.of(new HttpRange(500, 999)), HttpRange.parse("bytes=-500", 1000, 0));
+		Assertions.assertEquals(List.of(new HttpRange(0, 999)), HttpRange.parse("bytes=-5000", 1000, 0));
+	}
+
+	@Test
+	public void testMultiRange() {
+		Assertions.assertEquals(List.of(new HttpRange(0, 9), new HttpRange(100, 109)),
+				HttpRange.parse("bytes=100-109, 0-9", 1000, 0));
+		// overlapping and adjacent ranges are merged.
+		Assertions.assertEquals(List.of(new HttpRange(0, 29)), HttpRange.parse("bytes=0-9,10-19,15-29", 1000, 0));
+	}
+
+	@Test
+	public void testNotSatisfiable() {
+		Assertions.assertEquals(List.of(), HttpRange.parse("bytes=1000-", 1000, 0));
+		Assertions.assertEquals(List.of(), HttpRange.parse("bytes=-0", 1000, 0));
+		Assertions.assertEquals(List.of(new HttpRange(0, 9)), HttpRange.parse("bytes=0-9,2000-3000", 1000, 0));
+	}
+
+	@Test
+	public void testIfRange() {
+		final long lastModified = 1_700_000_000_000L;
+		final String etag = HttpRange.createETag(1000, lastModified);
+		Assertions.assertTrue(HttpRange.ifRangeMatch(null, etag, lastModified));
+		Assertions.assertTrue(HttpRange.ifRangeMatch(etag, etag, lastModified));
+		Assertions.assertFalse(HttpRange.ifRangeMatch("\"other\"", etag, lastModified));
+		Assertions.assertFalse(HttpRange.ifRangeMatch("W/" + etag, etag, lastModified));
+		Assertions.assertTrue(HttpRange.ifRangeMatch("Tue, 14 Nov 2023 22:13:20 GMT", etag, lastModified));
+		Assertions.assertFalse(HttpRange.ifRangeMatch("Tue, 14 Nov 2023 22:13:21 GMT", etag, lastModified));
+	}
+}
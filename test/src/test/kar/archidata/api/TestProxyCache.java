@@ -0,0 +1,76 @@
+package test.kar.archidata.api;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.kar.archidata.api.ProxyCache;
+
+public class TestProxyCache {
+
+	@Test
+	public void testExpireAt() {
+		final long now = 1000000;
+		Assertions.assertEquals(now, ProxyCache.getExpireAt(null, now));
+		Assertions.assertEquals(now + 60000, ProxyCache.getExpireAt("public, max-age=60", now));
+		Assertions.assertEquals(now + 10000, ProxyCache.getExpireAt("max-age=60, s-maxage=10", now));
+		Assertions.assertEquals(now, ProxyCache.getExpireAt("no-cache, max-age=60", now));
+		Assertions.assertEquals(-1, ProxyCache.getExpireAt("no-store", now));
+		Assertions.assertEquals(-1, ProxyCache.getExpireAt("private, max-age=60", now));
+	}
+
+	private static File createContent(final ProxyCache cache, final int size) throws Exception {
+		final File file = cache.createTempFile();
+		Files.write(file.toPath(), new byte[size]);
+		return file;
+	}
+
+	@Test
+	public void testLeastRecentlyUsed() throws Exception {
+		final File folder = Files.createTempDirectory("proxy_cache_test").toFile();
+		final ProxyCache cache = new ProxyCache(folder, 250);
+		final long expireAt = System.currentTimeMillis() + 60000;
+		for (final String url : new String[] { "http://a/1", "http://a/2" }) {
+			cache.put(new ProxyCache.Entry(url, "image/png", "\"e\"", null, "max-age=60", expireAt, 100),
+					createContent(cache, 100));
+		}
+		// "1" is used: "2" is the least recently used.
+		Assertions.assertNotNull(cache.get("http://a/1"));
+		cache.put(new ProxyCache.Entry("http://a/3", "image/png", null, null, "max-age=60", expireAt, 100),
+				createContent(cache, 100));
+		Assertions.assertNotNull(cache.get("http://a/1"));
+		Assertions.assertNull(cache.get("http://a/2"));
+		Assertions.assertNotNull(cache.get("http://a/3"));
+		Assertions.assertEquals(200, cache.getTotalSize());
+		final ProxyCache.Entry entry = cache.get("http://a/1");
+		Assertions.assertTrue(entry.isFresh());
+		Assertions.assertEquals(100, cache.getFile(entry).length());
+
+		// The entries are reloaded from the disk.
+		final ProxyCache reloaded = new ProxyCache(folder, 250);
+		Assertions.assertNotNull(reloaded.get("http://a/1"));
+		Assertions.assertNull(reloaded.get("http://a/2"));
+		Assertions.assertEquals(200, reloaded.getTotalSize());
+	}
+
+	@Test
+	public void testOpenThenRemove() throws Exception {
+		final File folder = Files.createTempDirectory("proxy_cache_test").toFile();
+		final ProxyCache cache = new ProxyCache(folder, 250);
+		final ProxyCache.Entry entry = new ProxyCache.Entry("http://a/1", "image/png", "\"e\"", null, "max-age=60",
+				System.currentTimeMillis() + 60000, 100);
+		cache.put(entry, createContent(cache, 100));
+		try (FileChannel channel = cache.open(entry)) {
+			Assertions.assertNotNull(channel);
+			cache.remove(entry.url());
+			Assertions.assertNull(cache.get(entry.url()));
+			Assertions.assertEquals(0, cache.getTotalSize());
+			// The opened content is still readable.
+			Assertions.assertEquals(100, channel.read(ByteBuffer.allocate(200)));
+		}
+		Assertions.assertNull(cache.open(entry));
+	}
+}
@@ -0,0 +1,41 @@
+package test.kar.archidata.api;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.kar.archidata.api.UploadSessionResource;
+import org.kar.archidata.model.UploadSession;
+
+public class TestUploadSessionRange {
+
+	@Test
+	public void testAddRange() {
+		List<Long> received = List.of();
+		received = UploadSessionResource.addRange(received, 100, 199);
+		Assertions.assertEquals(List.of(100L, 199L), received);
+		received = UploadSessionResource.addRange(received, 300, 399);
+		Assertions.assertEquals(List.of(100L, 199L, 300L, 399L), received);
+		// before the other ranges
+		received = UploadSessionResource.addRange(received, 0, 9);
+		Assertions.assertEquals(List.of(0L, 9L, 100L, 199L, 300L, 399L), received);
+		// adjacent to the previous and the next range
+		received = UploadSessionResource.addRange(received, 200, 299);
+		Assertions.assertEquals(List.of(0L, 9L, 100L, 399L), received);
+		// chunk sent again
+		received = UploadSessionResource.addRange(received, 150, 250);
+		Assertions.assertEquals(List.of(0L, 9L, 100L, 399L), received);
+		received = UploadSessionResource.addRange(received, 5, 120);
+		Assertions.assertEquals(List.of(0L, 399L), received);
+	}
+
+	@Test
+	public void testComplete() {
+		final UploadSession session = new UploadSession();
+		session.size = 400L;
+		session.received = UploadSessionResource.addRange(List.of(), 0, 198);
+		Assertions.assertFalse(UploadSessionResource.isComplete(session));
+		session.received = UploadSessionResource.addRange(session.received, 199, 399);
+		Assertions.assertTrue(UploadSessionResource.isComplete(session));
+	}
+}
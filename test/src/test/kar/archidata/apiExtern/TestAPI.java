@@ -1,5 +1,9 @@
 package test.kar.archidata.apiExtern;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -8,6 +12,7 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.kar.archidata.exception.RESTErrorResponseException;
 import org.kar.archidata.tools.ConfigBaseVariable;
 import org.kar.archidata.tools.RESTApi;
 import org.slf4j.Logger;
@@ -93,4 +98,28 @@ public class TestAPI {
 		Assertions.assertNotNull(archivedData.name);
 		Assertions.assertNull(archivedData.archive);
 	}
+
+	@Order(3)
+	@Test
+	public void getsValues() throws Exception {
+		final List<SimpleArchiveTable> values = api.gets(SimpleArchiveTable.class, TestAPI.ENDPOINT_NAME);
+		Assertions.assertTrue(values.stream().anyMatch(elem -> TestAPI.idTest.equals(elem.id)));
+		final List<SimpleArchiveTable> streamed = new ArrayList<>();
+		api.gets(SimpleArchiveTable.class, TestAPI.ENDPOINT_NAME, streamed::add);
+		Assertions.assertEquals(values.size(), streamed.size());
+		final List<SimpleArchiveTable> async = api.getsAsync(SimpleArchiveTable.class, TestAPI.ENDPOINT_NAME).get();
+		Assertions.assertEquals(values.size(), async.size());
+	}
+
+	@Order(4)
+	@Test
+	public void asyncValue() throws Exception {
+		final SimpleArchiveTable retrieve = api
+				.getAsync(SimpleArchiveTable.class, TestAPI.ENDPOINT_NAME + "/" + TestAPI.idTest).get();
+		Assertions.assertNotNull(retrieve);
+		Assertions.assertEquals(TestAPI.idTest, retrieve.id);
+		final ExecutionException ex = Assertions.assertThrows(ExecutionException.class,
+				() -> api.getAsync(SimpleArchiveTable.class, TestAPI.ENDPOINT_NAME + "/99999").get());
+		Assertions.assertInstanceOf(RESTErrorResponseException.class, ex.getCause());
+	}
 }
@@ -0,0 +1,58 @@
+package test.kar.archidata.dataAccess;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.kar.archidata.dataAccess.DataFactory;
+import org.kar.archidata.dataAccess.DataFactory.IndexDefinition;
+import org.kar.archidata.dataAccess.QueryOptions;
+import org.kar.archidata.dataAccess.addOnSQL.model.LinkTableGeneric;
+import org.kar.archidata.dataAccess.options.OverrideTableName;
+import org.kar.archidata.model.Data;
+
+import test.kar.archidata.dataAccess.model.SimpleTable;
+import test.kar.archidata.dataAccess.model.TypeManyToOneRoot;
+
+public class TestDataFactoryIndex {
+
+	@Test
+	public void testNoIndex() throws Exception {
+		// The primary key is unique but it is not a secondary index.
+		Assertions.assertEquals(0, DataFactory.getIndexes(SimpleTable.class, "SimpleTable", null).size());
+	}
+
+	@Test
+	public void testManyToOneIndex() throws Exception {
+		final List<IndexDefinition> indexes = DataFactory.getIndexes(TypeManyToOneRoot.class, "TypeManyToOneRoot",
+				null);
+		Assertions.assertEquals(1, indexes.size());
+		Assertions.assertEquals("idx_TypeManyToOneRoot_remoteId", indexes.get(0).name());
+		Assertions.assertFalse(indexes.get(0).unique());
+		final List<String> sql = DataFactory.createTable(TypeManyToOneRoot.class);
+		Assertions.assertTrue(sql.stream().anyMatch(elem -> elem.contains("idx_TypeManyToOneRoot_remoteId")));
+	}
+
+	@Test
+	public void testTableIndexes() throws Exception {
+		final List<IndexDefinition> indexes = DataFactory.getIndexes(Data.class, "data", null);
+		Assertions.assertEquals(1, indexes.size());
+		Assertions.assertEquals("sha512", indexes.get(0).columns().get(0).name());
+		final List<IndexDefinition> links = DataFactory.getIndexes(LinkTableGeneric.class, "root_link_remote", null);
+		Assertions.assertEquals(2, links.size());
+		Assertions.assertEquals(2, links.get(0).columns().size());
+		Assertions.assertEquals("object2Id", links.get(1).columns().get(0).name());
+		final List<String> sql = DataFactory.createIndexes(LinkTableGeneric.class,
+				new QueryOptions(new OverrideTableName("root_link_remote")));
+		Assertions.assertEquals(2, sql.size());
+		Assertions.assertTrue(sql.get(1).contains("`idx_root_link_remote_object2Id` ON `root_link_remote`"));
+	}
+
+	@Test
+	public void testLongName() throws Exception {
+		final String tableName = "a_very_long_table_name_that_will_be_linked_with_an_other_long_name";
+		for (final IndexDefinition index : DataFactory.getIndexes(LinkTableGeneric.class, tableName, null)) {
+			Assertions.assertTrue(index.name().length() <= 64);
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package test.kar.archidata.dataAccess;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kar.archidata.annotation.DataCache;
+import org.kar.archidata.dataAccess.DBAccessSQL;
+import org.kar.archidata.dataAccess.DataFactory;
+import org.kar.archidata.dataAccess.EntityCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import test.kar.archidata.ConfigureDb;
+import test.kar.archidata.StepwiseExtension;
+import test.kar.archidata.dataAccess.model.SimpleTable;
+import test.kar.archidata.dataAccess.model.TypeOneToManyRoot;
+
+@ExtendWith(StepwiseExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TestEntityCache {
+	final static private Logger LOGGER = LoggerFactory.getLogger(TestEntityCache.class);
+	private static SimpleTable element = null;
+
+	@BeforeAll
+	public static void configureWebServer() throws Exception {
+		EntityCache.configure(SimpleTable.class, new EntityCache.Config(10, 60000, DataCache.Policy.LRU, false));
+		ConfigureDb.configure();
+	}
+
+	@AfterAll
+	public static void removeDataBase() throws IOException {
+		ConfigureDb.clear();
+		EntityCache.configure(SimpleTable.class, null);
+	}
+
+	private static EntityCache.Stats getStats() {
+		final EntityCache cache = ConfigureDb.da.getEntityCache();
+		Assertions.assertNotNull(cache);
+		return cache.getStats(SimpleTable.class);
+	}
+
+	@Order(1)
+	@Test
+	public void testCreateTable() throws Exception {
+		final List<String> sqlCommand = DataFactory.createTable(SimpleTable.class);
+		if (ConfigureDb.da instanceof final DBAccessSQL daSQL) {
+			for (final String elem : sqlCommand) {
+				LOGGER.debug("request: '{}'", elem);
+				daSQL.executeSimpleQuery(elem);
+			}
+		}
+	}
+
+	@Order(2)
+	@Test
+	public void testReadTwice() throws Exception {
+		final SimpleTable test = new SimpleTable();
+		test.data = "cached";
+		element = ConfigureDb.da.insert(test);
+		final EntityCache.Stats before = getStats();
+		final SimpleTable first = ConfigureDb.da.get(SimpleTable.class, element.id);
+		final SimpleTable second = ConfigureDb.da.get(SimpleTable.class, element.id);
+		Assertions.assertEquals("cached", first.data);
+		Assertions.assertEquals("cached", second.data);
+		// Each read get its own copy.
+		Assertions.assertNotSame(first, second);
+		final EntityCache.Stats after = getStats();
+		Assertions.assertEquals(before.hit() + 1, after.hit());
+		Assertions.assertEquals(1, after.size());
+		// A modification of the copy does not change the cache.
+		second.data = "modified";
+		Assertions.assertEquals("cached", ConfigureDb.da.get(SimpleTable.class, element.id).data);
+	}
+
+	@Order(3)
+	@Test
+	public void testUpdateInvalidate() throws Exception {
+		final SimpleTable update = new SimpleTable();
+		update.data = "updated";
+		ConfigureDb.da.update(update, element.id, List.of("data"));
+		Assertions.assertEquals(0, getStats().size());
+		Assertions.assertEquals("updated", ConfigureDb.da.get(SimpleTable.class, element.id).data);
+	}
+
+	@Order(4)
+	@Test
+	public void testTransactionInvalidate() throws Exception {
+		ConfigureDb.da.get(SimpleTable.class, element.id);
+		ConfigureDb.da.transaction(tx -> {
+			final SimpleTable update = new SimpleTable();
+			update.data = "in transaction";
+			tx.update(update, element.id, List.of("data"));
+			Assertions.assertEquals("in transaction", tx.get(SimpleTable.class, element.id).data);
+		});
+		Assertions.assertEquals("in transaction", ConfigureDb.da.get(SimpleTable.class, element.id).data);
+	}
+
+	@Order(5)
+	@Test
+	public void testDeleteInvalidate() throws Exception {
+		ConfigureDb.da.get(SimpleTable.class, element.id);
+		ConfigureDb.da.delete(SimpleTable.class, element.id);
+		Assertions.assertNull(ConfigureDb.da.get(SimpleTable.class, element.id));
+	}
+
+	@Order(6)
+	@Test
+	public void testWarmUp() throws Exception {
+		for (int iii = 0; iii < 5; iii++) {
+			final SimpleTable test = new SimpleTable();
+			test.data = "warm_" + iii;
+			ConfigureDb.da.insert(test);
+		}
+		ConfigureDb.da.getEntityCache().invalidateAll(SimpleTable.class);
+		ConfigureDb.da.warmUpEntityCache(SimpleTable.class);
+		Assertions.assertEquals(5, getStats().size());
+	}
+
+	@Order(7)
+	@Test
+	public void testStaleFill() throws Exception {
+		final EntityCache cache = ConfigureDb.da.getEntityCache();
+		cache.invalidateAll(SimpleTable.class);
+		final long generation = cache.getGeneration(SimpleTable.class);
+		final SimpleTable value = new SimpleTable();
+		value.id = 1000L;
+		value.data = "stale";
+		// A write during the read: the value read before is not stored.
+		cache.invalidate(SimpleTable.class, value.id);
+		cache.put(SimpleTable.class, value.id, value, generation);
+		Assertions.assertEquals(0, getStats().size());
+		cache.put(SimpleTable.class, value.id, value, cache.getGeneration(SimpleTable.class));
+		Assertions.assertEquals(1, getStats().size());
+	}
+
+	@Order(8)
+	@Test
+	public void testOneToManyNotCached() throws Exception {
+		EntityCache.configure(TypeOneToManyRoot.class, new EntityCache.Config(10, 60000, DataCache.Policy.LRU, false));
+		Assertions.assertNull(EntityCache.getConfig(TypeOneToManyRoot.class));
+		EntityCache.configure(TypeOneToManyRoot.class, null);
+	}
+}
@@ -0,0 +1,77 @@
+package test.kar.archidata.dataAccess;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.kar.archidata.dataAccess.EntityCodec;
+import org.kar.archidata.dataAccess.QueryOptions;
+import org.kar.archidata.dataAccess.options.OptionRenameColumn;
+import org.kar.archidata.dataAccess.options.ReadAllColumn;
+
+import com.mongodb.MongoClientSettings;
+
+import test.kar.archidata.dataAccess.model.Enum1ForTest;
+import test.kar.archidata.dataAccess.model.SimpleTable;
+import test.kar.archidata.dataAccess.model.TypesEnum1;
+
+public class TestEntityCodec {
+	private final EntityCodec.Context context = new EntityCodec.Context(null,
+			MongoClientSettings.getDefaultCodecRegistry());
+
+	private Object decode(final Class<?> clazz, final BsonDocument doc, final QueryOptions options) throws Exception {
+		return EntityCodec.get(clazz, options).decode(new BsonDocumentReader(doc), this.context, options,
+				new ArrayList<>());
+	}
+
+	@Test
+	public void testCodecIsCached() throws Exception {
+		Assertions.assertSame(EntityCodec.get(SimpleTable.class, null), EntityCodec.get(SimpleTable.class, null));
+		Assertions.assertNotSame(EntityCodec.get(SimpleTable.class, null),
+				EntityCodec.get(SimpleTable.class, new QueryOptions(new ReadAllColumn())));
+	}
+
+	@Test
+	public void testDecode() throws Exception {
+		final BsonDocument doc = new BsonDocument("_id", new BsonObjectId()).append("id", new BsonInt64(42))
+				.append("createdAt", new BsonDateTime(1000)).append("data", new BsonString("value"))
+				.append("unknown", new BsonString("skipped"));
+		final SimpleTable out = (SimpleTable) decode(SimpleTable.class, doc, null);
+		Assertions.assertEquals(42L, out.id);
+		Assertions.assertEquals("value", out.data);
+		// @DataNotRead field:
+		Assertions.assertNull(out.createdAt);
+		final SimpleTable outAll = (SimpleTable) decode(SimpleTable.class, doc,
+				new QueryOptions(new ReadAllColumn()));
+		Assertions.assertEquals(new Date(1000), outAll.createdAt);
+	}
+
+	@Test
+	public void testDecodeNullAndMissing() throws Exception {
+		final BsonDocument doc = new BsonDocument("id", new BsonInt32(3)).append("data", BsonNull.VALUE);
+		final TypesEnum1 out = (TypesEnum1) decode(TypesEnum1.class, doc, null);
+		Assertions.assertEquals(3L, out.id);
+		Assertions.assertNull(out.data);
+		final TypesEnum1 outEnum = (TypesEnum1) decode(TypesEnum1.class,
+				new BsonDocument("data", new BsonString("ENUM_VALUE_3")), null);
+		Assertions.assertNull(outEnum.id);
+		Assertions.assertEquals(Enum1ForTest.ENUM_VALUE_3, outEnum.data);
+	}
+
+	@Test
+	public void testDecodeRenamed() throws Exception {
+		final BsonDocument doc = new BsonDocument("id", new BsonInt64(7)).append("other", new BsonString("renamed"));
+		final SimpleTable out = (SimpleTable) decode(SimpleTable.class, doc,
+				new QueryOptions(new OptionRenameColumn("data", "other")));
+		Assertions.assertEquals("renamed", out.data);
+	}
+}
@@ -0,0 +1,40 @@
+package test.kar.archidata.dataAccess;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.kar.archidata.dataAccess.EntityDescriptor;
+import org.kar.archidata.dataAccess.EntityDescriptor.ColumnDescriptor;
+import org.kar.archidata.dataAccess.QueryOptions;
+import org.kar.archidata.dataAccess.options.OverrideTableName;
+
+import test.kar.archidata.dataAccess.model.SimpleTable;
+import test.kar.archidata.dataAccess.model.SimpleTableSoftDelete;
+
+public class TestEntityDescriptor {
+
+	@Test
+	public void testDescriptorIsCached() throws Exception {
+		Assertions.assertSame(EntityDescriptor.get(SimpleTable.class), EntityDescriptor.get(SimpleTable.class));
+	}
+
+	@Test
+	public void testGenericFields() throws Exception {
+		final EntityDescriptor descriptor = EntityDescriptor.get(SimpleTableSoftDelete.class);
+		Assertions.assertEquals("SimpleTableSoftDelete", descriptor.getTableName(null));
+		Assertions.assertEquals("other",
+				descriptor.getTableName(new QueryOptions(new OverrideTableName("other"))));
+		Assertions.assertNotNull(descriptor.getPrimaryKey());
+		Assertions.assertEquals("id", descriptor.getPrimaryKey().getName());
+		Assertions.assertNotNull(descriptor.getDeleted());
+		Assertions.assertEquals("deleted", descriptor.getDeleted().getName());
+		Assertions.assertNotNull(descriptor.getCreationTimestamp());
+		Assertions.assertNotNull(descriptor.getUpdateTimestamp());
+		final List<String> names = descriptor.getColumns().stream().map(ColumnDescriptor::getName).toList();
+		Assertions.assertTrue(names.contains("data"));
+		Assertions.assertFalse(descriptor.getColumn("data").isGeneric());
+		Assertions.assertTrue(descriptor.getColumn("id").isGeneric());
+		Assertions.assertTrue(descriptor.newInstance() instanceof SimpleTableSoftDelete);
+	}
+}
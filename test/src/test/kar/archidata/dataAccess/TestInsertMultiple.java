@@ -0,0 +1,142 @@
+package test.kar.archidata.dataAccess;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kar.archidata.dataAccess.DBAccessSQL;
+import org.kar.archidata.dataAccess.DataFactory;
+import org.kar.archidata.dataAccess.options.BulkOrdered;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import test.kar.archidata.ConfigureDb;
+import test.kar.archidata.StepwiseExtension;
+import test.kar.archidata.dataAccess.model.SimpleTable;
+import test.kar.archidata.dataAccess.model.TypeManyToManyRemote;
+import test.kar.archidata.dataAccess.model.TypeManyToManyRoot;
+
+@ExtendWith(StepwiseExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TestInsertMultiple {
+	final static private Logger LOGGER = LoggerFactory.getLogger(TestInsertMultiple.class);
+
+	@BeforeAll
+	public static void configureWebServer() throws Exception {
+		ConfigureDb.configure();
+	}
+
+	@AfterAll
+	public static void removeDataBase() throws IOException {
+		ConfigureDb.clear();
+	}
+
+	@Order(1)
+	@Test
+	public void testCreateTable() throws Exception {
+		final List<String> sqlCommand = DataFactory.createTable(SimpleTable.class);
+		sqlCommand.addAll(DataFactory.createTable(TypeManyToManyRoot.class));
+		sqlCommand.addAll(DataFactory.createTable(TypeManyToManyRemote.class));
+		if (ConfigureDb.da instanceof final DBAccessSQL daSQL) {
+			for (final String elem : sqlCommand) {
+				LOGGER.debug("request: '{}'", elem);
+				daSQL.executeSimpleQuery(elem);
+			}
+		}
+	}
+
+	@Order(2)
+	@Test
+	public void testInsertMultiple() throws Exception {
+		final List<SimpleTable> data = new ArrayList<>();
+		for (int iii = 0; iii < 1500; iii++) {
+			final SimpleTable elem = new SimpleTable();
+			elem.data = "value_" + iii;
+			data.add(elem);
+		}
+		final List<SimpleTable> inserted = ConfigureDb.da.insertMultiple(data);
+		Assertions.assertEquals(1500, inserted.size());
+		for (int iii = 0; iii < inserted.size(); iii++) {
+			Assertions.assertNotNull(inserted.get(iii).id);
+			if (iii != 0) {
+				Assertions.assertTrue(inserted.get(iii - 1).id < inserted.get(iii).id);
+			}
+		}
+		// The IDs must match the inserted data:
+		for (final int iii : List.of(0, 999, 1000, 1499)) {
+			final SimpleTable retrieve = ConfigureDb.da.get(SimpleTable.class, inserted.get(iii).id);
+			Assertions.assertNotNull(retrieve);
+			Assertions.assertEquals("value_" + iii, retrieve.data);
+		}
+		Assertions.assertEquals(1500, ConfigureDb.da.countWhere(SimpleTable.class));
+	}
+
+	@Order(3)
+	@Test
+	public void testInsertMultipleWithLinks() throws Exception {
+		final List<TypeManyToManyRemote> remotes = new ArrayList<>();
+		for (int iii = 0; iii < 3; iii++) {
+			final TypeManyToManyRemote remote = new TypeManyToManyRemote();
+			remote.data = "remote_" + iii;
+			remotes.add(remote);
+		}
+		ConfigureDb.da.insertMultiple(remotes);
+
+		final List<TypeManyToManyRoot> roots = new ArrayList<>();
+		for (int iii = 0; iii < 10; iii++) {
+			final TypeManyToManyRoot root = new TypeManyToManyRoot();
+			root.otherData = "root_" + iii;
+			root.remote = List.of(remotes.get(iii % 3).id, remotes.get((iii + 1) % 3).id);
+			roots.add(root);
+		}
+		ConfigureDb.da.insertMultiple(roots);
+
+		for (int iii = 0; iii < 10; iii++) {
+			final TypeManyToManyRoot retrieve = ConfigureDb.da.get(TypeManyToManyRoot.class, roots.get(iii).id);
+			Assertions.assertNotNull(retrieve);
+			Assertions.assertEquals("root_" + iii, retrieve.otherData);
+			Assertions.assertNotNull(retrieve.remote);
+			Assertions.assertEquals(2, retrieve.remote.size());
+			Assertions.assertTrue(retrieve.remote.contains(remotes.get(iii % 3).id));
+			Assertions.assertTrue(retrieve.remote.contains(remotes.get((iii + 1) % 3).id));
+		}
+	}
+
+	@Order(4)
+	@Test
+	public void testUpdateAndDeleteMultiple() throws Exception {
+		final List<SimpleTable> data = new ArrayList<>();
+		for (int iii = 0; iii < 5; iii++) {
+			final SimpleTable elem = new SimpleTable();
+			elem.data = "bulk_" + iii;
+			data.add(elem);
+		}
+		final List<SimpleTable> inserted = ConfigureDb.da.insertMultiple(data, new BulkOrdered(false));
+		Assertions.assertEquals(5, inserted.size());
+		for (int iii = 0; iii < inserted.size(); iii++) {
+			Assertions.assertEquals("bulk_" + iii, inserted.get(iii).data);
+			inserted.get(iii).data = "updated_" + iii;
+		}
+		final long updated = ConfigureDb.da.updateMultiple(inserted, List.of("data"));
+		Assertions.assertEquals(5, updated);
+		for (int iii = 0; iii < inserted.size(); iii++) {
+			final SimpleTable retrieve = ConfigureDb.da.get(SimpleTable.class, inserted.get(iii).id);
+			Assertions.assertEquals("updated_" + iii, retrieve.data);
+		}
+		final long countBefore = ConfigureDb.da.countWhere(SimpleTable.class);
+		final long deleted = ConfigureDb.da.deleteMultiple(SimpleTable.class,
+				List.of(inserted.get(0).id, inserted.get(2).id, inserted.get(4).id));
+		Assertions.assertEquals(3, deleted);
+		Assertions.assertEquals(countBefore - 3, ConfigureDb.da.countWhere(SimpleTable.class));
+		Assertions.assertNull(ConfigureDb.da.get(SimpleTable.class, inserted.get(2).id));
+		Assertions.assertNotNull(ConfigureDb.da.get(SimpleTable.class, inserted.get(3).id));
+	}
+}
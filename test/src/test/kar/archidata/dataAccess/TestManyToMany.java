@@ -1,6 +1,7 @@
 package test.kar.archidata.dataAccess;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterAll;
@@ -170,6 +171,40 @@ public class TestManyToMany {
 		ConfigureDb.da.delete(TypeManyToManyRoot.class, insertedData.id);
 	}
 
+	@Order(4)
+	@Test
+	public void testUpdateLinks() throws Exception {
+		final List<Long> remotes = new ArrayList<>();
+		for (int iii = 0; iii < 3; iii++) {
+			final TypeManyToManyRemote remote = new TypeManyToManyRemote();
+			remote.data = "remote-update-" + iii;
+			remotes.add(ConfigureDb.da.insert(remote).id);
+		}
+		final TypeManyToManyRoot test = new TypeManyToManyRoot();
+		test.otherData = "update links";
+		test.remote = List.of(remotes.get(0), remotes.get(1));
+		final TypeManyToManyRoot insertedData = ConfigureDb.da.insert(test);
+
+		// Remove the first link and add the third one.
+		final TypeManyToManyRoot update = new TypeManyToManyRoot();
+		update.remote = List.of(remotes.get(1), remotes.get(2));
+		ConfigureDb.da.update(update, insertedData.id, List.of("remote"));
+		TypeManyToManyRoot retrieve = ConfigureDb.da.get(TypeManyToManyRoot.class, insertedData.id);
+		Assertions.assertNotNull(retrieve.remote);
+		Assertions.assertEquals(2, retrieve.remote.size());
+		Assertions.assertTrue(retrieve.remote.contains(remotes.get(1)));
+		Assertions.assertTrue(retrieve.remote.contains(remotes.get(2)));
+		Assertions.assertEquals("update links", retrieve.otherData);
+
+		// Remove all the links.
+		update.remote = null;
+		ConfigureDb.da.update(update, insertedData.id, List.of("remote"));
+		retrieve = ConfigureDb.da.get(TypeManyToManyRoot.class, insertedData.id);
+		Assertions.assertNull(retrieve.remote);
+
+		ConfigureDb.da.delete(TypeManyToManyRoot.class, insertedData.id);
+	}
+
 	/* API TODO: - Replace list (permet de les ordonnées) - remove all links - delete en cascade .... (compliqué...) */
 
 }
@@ -19,8 +19,10 @@ import org.slf4j.LoggerFactory;
 import test.kar.archidata.ConfigureDb;
 import test.kar.archidata.StepwiseExtension;
 import test.kar.archidata.dataAccess.model.TypeOneToManyRemote;
+import test.kar.archidata.dataAccess.model.TypeOneToManyRemoteExpand;
 import test.kar.archidata.dataAccess.model.TypeOneToManyRoot;
 import test.kar.archidata.dataAccess.model.TypeOneToManyRootExpand;
+import test.kar.archidata.dataAccess.model.TypeOneToManyRootExpandRemote;
 import test.kar.archidata.dataAccess.model.TypeOneToManyUUIDRemote;
 import test.kar.archidata.dataAccess.model.TypeOneToManyUUIDRoot;
 import test.kar.archidata.dataAccess.model.TypeOneToManyUUIDRootExpand;
@@ -133,6 +135,34 @@ public class TestOneToMany {
 		Assertions.assertEquals(insertedRemote20.rootId, retreiveRootExpand2.remotes.get(0).rootId);
 		Assertions.assertEquals(insertedRemote20.data, retreiveRootExpand2.remotes.get(0).data);
 
+		// The mapping field of the remote is a relation object (not the raw key).
+		final List<TypeOneToManyRootExpandRemote> retreiveRootsExpandRemote = ConfigureDb.da
+				.gets(TypeOneToManyRootExpandRemote.class);
+		Assertions.assertEquals(2, retreiveRootsExpandRemote.size());
+		final TypeOneToManyRootExpandRemote retreiveRootExpandRemote1 = retreiveRootsExpandRemote.get(0);
+		Assertions.assertEquals(insertedRoot.id, retreiveRootExpandRemote1.id);
+		Assertions.assertNotNull(retreiveRootExpandRemote1.remotes);
+		Assertions.assertEquals(2, retreiveRootExpandRemote1.remotes.size());
+		Assertions.assertEquals(insertedRemote10.id, retreiveRootExpandRemote1.remotes.get(0).id);
+		Assertions.assertEquals(insertedRemote11.id, retreiveRootExpandRemote1.remotes.get(1).id);
+		final TypeOneToManyRemoteExpand remoteExpand = retreiveRootExpandRemote1.remotes.get(0);
+		Assertions.assertNotNull(remoteExpand.root);
+		Assertions.assertEquals(insertedRoot.id, remoteExpand.root.id);
+		final TypeOneToManyRootExpandRemote retreiveRootExpandRemote2 = retreiveRootsExpandRemote.get(1);
+		Assertions.assertEquals(insertedRoot2.id, retreiveRootExpandRemote2.id);
+		Assertions.assertNotNull(retreiveRootExpandRemote2.remotes);
+		Assertions.assertEquals(1, retreiveRootExpandRemote2.remotes.size());
+		Assertions.assertEquals(insertedRemote20.id, retreiveRootExpandRemote2.remotes.get(0).id);
+
+		// A parent without remote has an empty list.
+		final TypeOneToManyRoot root3 = new TypeOneToManyRoot();
+		root3.otherData = "plouf 3";
+		final TypeOneToManyRoot insertedRoot3 = ConfigureDb.da.insert(root3);
+		final TypeOneToManyRootExpand retreiveRootExpand3 = ConfigureDb.da.get(TypeOneToManyRootExpand.class,
+				insertedRoot3.id);
+		Assertions.assertNotNull(retreiveRootExpand3.remotes);
+		Assertions.assertEquals(0, retreiveRootExpand3.remotes.size());
+
 	}
 
 	@Order(2)
@@ -0,0 +1,147 @@
+package test.kar.archidata.dataAccess;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kar.archidata.dataAccess.DBAccessSQL;
+import org.kar.archidata.dataAccess.DataFactory;
+import org.kar.archidata.dataAccess.Page;
+import org.kar.archidata.dataAccess.options.After;
+import org.kar.archidata.dataAccess.options.CountTotal;
+import org.kar.archidata.dataAccess.options.Limit;
+import org.kar.archidata.dataAccess.options.Offset;
+import org.kar.archidata.dataAccess.options.OrderBy;
+import org.kar.archidata.dataAccess.options.OrderItem;
+import org.kar.archidata.db.DbIoSql;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import test.kar.archidata.ConfigureDb;
+import test.kar.archidata.StepwiseExtension;
+import test.kar.archidata.dataAccess.model.SimpleTable;
+
+@ExtendWith(StepwiseExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TestPage {
+	final static private Logger LOGGER = LoggerFactory.getLogger(TestPage.class);
+	private static final int NB_ELEMENTS = 25;
+
+	@BeforeAll
+	public static void configureWebServer() throws Exception {
+		ConfigureDb.configure();
+	}
+
+	@AfterAll
+	public static void removeDataBase() throws IOException {
+		ConfigureDb.clear();
+	}
+
+	@Order(1)
+	@Test
+	public void testCreateTable() throws Exception {
+		final List<String> sqlCommand = DataFactory.createTable(SimpleTable.class);
+		if (ConfigureDb.da instanceof final DBAccessSQL daSQL) {
+			for (final String elem : sqlCommand) {
+				LOGGER.debug("request: '{}'", elem);
+				daSQL.executeSimpleQuery(elem);
+			}
+		}
+		final List<SimpleTable> data = new ArrayList<>();
+		for (int iii = 0; iii < NB_ELEMENTS; iii++) {
+			final SimpleTable elem = new SimpleTable();
+			elem.data = "value_" + (iii % 5);
+			data.add(elem);
+		}
+		ConfigureDb.da.insertMultiple(data);
+	}
+
+	@Order(2)
+	@Test
+	public void testOffset() throws Exception {
+		final OrderBy order = new OrderBy(new OrderItem("id", OrderItem.Order.ASC));
+		final List<SimpleTable> all = ConfigureDb.da.getsWhere(SimpleTable.class, order);
+		Assertions.assertEquals(NB_ELEMENTS, all.size());
+
+		final List<SimpleTable> part = ConfigureDb.da.getsWhere(SimpleTable.class, order, new Limit(10),
+				new Offset(20));
+		Assertions.assertEquals(5, part.size());
+		Assertions.assertEquals(all.get(20).id, part.get(0).id);
+
+		final Page<SimpleTable> page = ConfigureDb.da.getPage(SimpleTable.class, order, new Limit(10), new Offset(10),
+				new CountTotal());
+		Assertions.assertEquals(10, page.items().size());
+		Assertions.assertEquals(all.get(10).id, page.items().get(0).id);
+		Assertions.assertEquals(NB_ELEMENTS, page.total());
+		Assertions.assertTrue(page.hasNext());
+
+		final Page<SimpleTable> last = ConfigureDb.da.getPage(SimpleTable.class, order, new Limit(10), new Offset(20));
+		Assertions.assertEquals(5, last.items().size());
+		Assertions.assertFalse(last.hasNext());
+		Assertions.assertNull(last.total());
+
+		final Page<SimpleTable> empty = ConfigureDb.da.getPage(SimpleTable.class, order, new Limit(10), new Offset(50),
+				new CountTotal());
+		Assertions.assertEquals(0, empty.items().size());
+		Assertions.assertEquals(NB_ELEMENTS, empty.total());
+	}
+
+	@Order(3)
+	@Test
+	public void testKeyset() throws Exception {
+		final OrderBy order = new OrderBy(new OrderItem("id", OrderItem.Order.ASC));
+		final List<SimpleTable> all = ConfigureDb.da.getsWhere(SimpleTable.class, order);
+		final List<SimpleTable> read = new ArrayList<>();
+		Page<SimpleTable> page = ConfigureDb.da.getPage(SimpleTable.class, order, new Limit(7), new CountTotal());
+		Assertions.assertEquals(NB_ELEMENTS, page.total());
+		read.addAll(page.items());
+		while (page.hasNext()) {
+			page = ConfigureDb.da.getPage(SimpleTable.class, order, new Limit(7), new After(order, page.next()),
+					new CountTotal());
+			Assertions.assertEquals(NB_ELEMENTS, page.total());
+			read.addAll(page.items());
+		}
+		Assertions.assertEquals(NB_ELEMENTS, read.size());
+		for (int iii = 0; iii < NB_ELEMENTS; iii++) {
+			Assertions.assertEquals(all.get(iii).id, read.get(iii).id);
+		}
+	}
+
+	@Order(4)
+	@Test
+	public void testKeysetMultipleColumns() throws Exception {
+		final OrderBy order = new OrderBy(new OrderItem("data", OrderItem.Order.DESC),
+				new OrderItem("id", OrderItem.Order.ASC));
+		final List<SimpleTable> all = ConfigureDb.da.getsWhere(SimpleTable.class, order);
+		final List<SimpleTable> read = new ArrayList<>();
+		Page<SimpleTable> page = ConfigureDb.da.getPage(SimpleTable.class, order, new Limit(4));
+		read.addAll(page.items());
+		while (page.hasNext()) {
+			page = ConfigureDb.da.getPage(SimpleTable.class, order, new Limit(4), new After(order, page.next()));
+			read.addAll(page.items());
+		}
+		Assertions.assertEquals(NB_ELEMENTS, read.size());
+		for (int iii = 0; iii < NB_ELEMENTS; iii++) {
+			Assertions.assertEquals(all.get(iii).id, read.get(iii).id);
+		}
+	}
+
+	@Order(5)
+	@Test
+	public void testWindowFunctionVersion() {
+		Assertions.assertTrue(DbIoSql.isWindowFunctionSupported("SQLite", "3.45.1"));
+		Assertions.assertFalse(DbIoSql.isWindowFunctionSupported("SQLite", "3.22.0"));
+		Assertions.assertTrue(DbIoSql.isWindowFunctionSupported("MySQL", "8.0.36"));
+		Assertions.assertFalse(DbIoSql.isWindowFunctionSupported("MySQL", "5.7.44"));
+		Assertions.assertTrue(DbIoSql.isWindowFunctionSupported("MySQL", "5.5.5-10.6.12-MariaDB"));
+		Assertions.assertFalse(DbIoSql.isWindowFunctionSupported("MariaDB", "10.1.48-MariaDB"));
+	}
+}
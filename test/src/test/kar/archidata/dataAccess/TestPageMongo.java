@@ -0,0 +1,16 @@
+package test.kar.archidata.dataAccess;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import test.kar.archidata.ConfigureDb;
+
+/** Same tests as {@link TestPage} on a MongoDB (the keyset pagination is a filter of the collection). */
+@EnabledIfEnvironmentVariable(named = "TEST_E2E_MONGO", matches = "true")
+public class TestPageMongo extends TestPage {
+
+	@BeforeAll
+	public static void configureWebServer() throws Exception {
+		ConfigureDb.configure("MONGO");
+	}
+}
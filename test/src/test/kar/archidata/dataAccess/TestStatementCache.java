@@ -0,0 +1,93 @@
+package test.kar.archidata.dataAccess;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kar.archidata.dataAccess.DBAccessSQL;
+import org.kar.archidata.dataAccess.DataFactory;
+import org.kar.archidata.db.StatementCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import test.kar.archidata.ConfigureDb;
+import test.kar.archidata.StepwiseExtension;
+import test.kar.archidata.dataAccess.model.SimpleTable;
+
+@ExtendWith(StepwiseExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TestStatementCache {
+	final static private Logger LOGGER = LoggerFactory.getLogger(TestStatementCache.class);
+
+	@BeforeAll
+	public static void configureWebServer() throws Exception {
+		ConfigureDb.configure();
+	}
+
+	@AfterAll
+	public static void removeDataBase() throws IOException {
+		ConfigureDb.clear();
+	}
+
+	@Order(1)
+	@Test
+	public void testCreateTable() throws Exception {
+		final List<String> sqlCommand = DataFactory.createTable(SimpleTable.class);
+		if (ConfigureDb.da instanceof final DBAccessSQL daSQL) {
+			for (final String elem : sqlCommand) {
+				LOGGER.debug("request: '{}'", elem);
+				daSQL.executeSimpleQuery(elem);
+			}
+		}
+	}
+
+	@Order(2)
+	@Test
+	public void testReuseStatement() throws Exception {
+		if (!(ConfigureDb.da instanceof final DBAccessSQL daSQL)) {
+			return;
+		}
+		for (int iii = 0; iii < 5; iii++) {
+			final SimpleTable elem = new SimpleTable();
+			elem.data = "value_" + iii;
+			daSQL.insert(elem);
+		}
+		final StatementCache.Stats before = daSQL.getStatementCacheStats();
+		final DBAccessSQL.QueryCacheStats selectBefore = DBAccessSQL.getSelectCacheStats();
+		for (int iii = 0; iii < 10; iii++) {
+			Assertions.assertEquals(5, daSQL.gets(SimpleTable.class).size());
+		}
+		final StatementCache.Stats after = daSQL.getStatementCacheStats();
+		final DBAccessSQL.QueryCacheStats selectAfter = DBAccessSQL.getSelectCacheStats();
+		Assertions.assertTrue(after.hit() - before.hit() >= 9);
+		Assertions.assertTrue(after.miss() - before.miss() <= 1);
+		Assertions.assertTrue(selectAfter.hit() - selectBefore.hit() >= 9);
+	}
+
+	@Order(3)
+	@Test
+	public void testNestedSameRequest() throws Exception {
+		if (!(ConfigureDb.da instanceof final DBAccessSQL daSQL)) {
+			return;
+		}
+		// The streamed request is in progress when the same request is executed.
+		try (Stream<SimpleTable> stream = daSQL.streamWhere(SimpleTable.class)) {
+			stream.forEach(elem -> {
+				try {
+					Assertions.assertEquals(5, daSQL.gets(SimpleTable.class).size());
+				} catch (final Exception ex) {
+					Assertions.fail(ex);
+				}
+			});
+		}
+		Assertions.assertEquals(5, daSQL.gets(SimpleTable.class).size());
+	}
+}
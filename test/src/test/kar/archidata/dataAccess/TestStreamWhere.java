@@ -0,0 +1,114 @@
+package test.kar.archidata.dataAccess;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kar.archidata.dataAccess.DBAccessSQL;
+import org.kar.archidata.dataAccess.DataFactory;
+import org.kar.archidata.dataAccess.options.FetchSize;
+import org.kar.archidata.dataAccess.options.OrderBy;
+import org.kar.archidata.dataAccess.options.OrderItem;
+import org.kar.archidata.db.DbConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import test.kar.archidata.ConfigureDb;
+import test.kar.archidata.StepwiseExtension;
+import test.kar.archidata.dataAccess.model.SimpleTable;
+
+@ExtendWith(StepwiseExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TestStreamWhere {
+	final static private Logger LOGGER = LoggerFactory.getLogger(TestStreamWhere.class);
+
+	@BeforeAll
+	public static void configureWebServer() throws Exception {
+		ConfigureDb.configure();
+	}
+
+	@AfterAll
+	public static void removeDataBase() throws IOException {
+		ConfigureDb.clear();
+	}
+
+	@Order(1)
+	@Test
+	public void testCreateTable() throws Exception {
+		final List<String> sqlCommand = DataFactory.createTable(SimpleTable.class);
+		if (ConfigureDb.da instanceof final DBAccessSQL daSQL) {
+			for (final String elem : sqlCommand) {
+				LOGGER.debug("request: '{}'", elem);
+				daSQL.executeSimpleQuery(elem);
+			}
+		}
+		final List<SimpleTable> data = new ArrayList<>();
+		for (int iii = 0; iii < 1234; iii++) {
+			final SimpleTable elem = new SimpleTable();
+			elem.data = "value_" + iii;
+			data.add(elem);
+		}
+		ConfigureDb.da.insertMultiple(data);
+	}
+
+	@Order(2)
+	@Test
+	public void testStreamAll() throws Exception {
+		try (Stream<SimpleTable> stream = ConfigureDb.da.streamWhere(SimpleTable.class, new FetchSize(100),
+				new OrderBy(new OrderItem("id", OrderItem.Order.ASC)))) {
+			final List<SimpleTable> values = stream.toList();
+			Assertions.assertEquals(1234, values.size());
+			for (int iii = 0; iii < values.size(); iii++) {
+				Assertions.assertEquals("value_" + iii, values.get(iii).data);
+			}
+		}
+	}
+
+	@Order(3)
+	@Test
+	public void testStreamPartialRead() throws Exception {
+		try (Stream<SimpleTable> stream = ConfigureDb.da.streamWhere(SimpleTable.class, new FetchSize(10))) {
+			Assertions.assertEquals(25, stream.limit(25).count());
+		}
+		// The DB is still usable after closing a stream that has not been fully read.
+		Assertions.assertEquals(1234, ConfigureDb.da.countWhere(SimpleTable.class));
+	}
+
+	@Order(4)
+	@Test
+	public void testFetchSizeReachDriver() throws Exception {
+		if (!(ConfigureDb.da instanceof final DBAccessSQL daSQL)) {
+			return;
+		}
+		final List<Integer> fetchSizes = new ArrayList<>();
+		try (DBAccessSQL access = new DBAccessSQL(daSQL.getInterface()) {
+			@Override
+			protected void setStreamFetchSize(final PreparedStatement ps, final int fetchSize) throws SQLException {
+				super.setStreamFetchSize(ps, fetchSize);
+				fetchSizes.add(ps.getFetchSize());
+			}
+		}; Stream<SimpleTable> stream = access.streamWhere(SimpleTable.class, new FetchSize(42))) {
+			Assertions.assertEquals(25, stream.limit(25).count());
+		}
+		Assertions.assertEquals(List.of(42), fetchSizes);
+	}
+
+	@Order(5)
+	@Test
+	public void testMySqlCursorFetch() throws Exception {
+		final DbConfig config = new DbConfig("mysql", "localhost", null, "root", "pass", "test", false, List.of());
+		Assertions.assertTrue(config.getUrl().contains("useCursorFetch=true"));
+	}
+
+}
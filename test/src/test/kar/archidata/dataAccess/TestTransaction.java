@@ -0,0 +1,144 @@
+package test.kar.archidata.dataAccess;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kar.archidata.dataAccess.DBAccessSQL;
+import org.kar.archidata.dataAccess.DataFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import test.kar.archidata.ConfigureDb;
+import test.kar.archidata.StepwiseExtension;
+import test.kar.archidata.dataAccess.model.SimpleTable;
+import test.kar.archidata.dataAccess.model.TypeManyToManyRemote;
+import test.kar.archidata.dataAccess.model.TypeManyToManyRoot;
+
+@ExtendWith(StepwiseExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TestTransaction {
+	final static private Logger LOGGER = LoggerFactory.getLogger(TestTransaction.class);
+
+	@BeforeAll
+	public static void configureWebServer() throws Exception {
+		ConfigureDb.configure();
+	}
+
+	@AfterAll
+	public static void removeDataBase() throws IOException {
+		ConfigureDb.clear();
+	}
+
+	private static SimpleTable create(final String data) {
+		final SimpleTable out = new SimpleTable();
+		out.data = data;
+		return out;
+	}
+
+	@Order(1)
+	@Test
+	public void testCreateTable() throws Exception {
+		final List<String> sqlCommand = DataFactory.createTable(SimpleTable.class);
+		sqlCommand.addAll(DataFactory.createTable(TypeManyToManyRoot.class));
+		sqlCommand.addAll(DataFactory.createTable(TypeManyToManyRemote.class));
+		if (ConfigureDb.da instanceof final DBAccessSQL daSQL) {
+			for (final String elem : sqlCommand) {
+				LOGGER.debug("request: '{}'", elem);
+				daSQL.executeSimpleQuery(elem);
+			}
+		}
+	}
+
+	@Order(2)
+	@Test
+	public void testCommit() throws Exception {
+		ConfigureDb.da.transaction(tx -> {
+			tx.insert(create("commit_1"));
+			tx.insert(create("commit_2"));
+		});
+		Assertions.assertEquals(2, ConfigureDb.da.countWhere(SimpleTable.class));
+	}
+
+	@Order(3)
+	@Test
+	public void testRollback() throws Exception {
+		if (!(ConfigureDb.da instanceof DBAccessSQL)) {
+			return;
+		}
+		Assertions.assertThrows(IllegalStateException.class, () -> ConfigureDb.da.transaction(tx -> {
+			tx.insert(create("rollback_1"));
+			throw new IllegalStateException("cancel");
+		}));
+		Assertions.assertEquals(2, ConfigureDb.da.countWhere(SimpleTable.class));
+	}
+
+	@Order(4)
+	@Test
+	public void testSavepoint() throws Exception {
+		if (!(ConfigureDb.da instanceof DBAccessSQL)) {
+			return;
+		}
+		ConfigureDb.da.transaction(tx -> {
+			tx.insert(create("outer"));
+			Assertions.assertThrows(IllegalStateException.class, () -> tx.transaction(inner -> {
+				inner.insert(create("inner"));
+				throw new IllegalStateException("cancel inner");
+			}));
+		});
+		Assertions.assertEquals(3, ConfigureDb.da.countWhere(SimpleTable.class));
+	}
+
+	@Order(5)
+	@Test
+	public void testReadOnly() throws Exception {
+		if (!(ConfigureDb.da instanceof DBAccessSQL)) {
+			return;
+		}
+		ConfigureDb.da.transaction(true, tx -> {
+			Assertions.assertEquals(3, tx.countWhere(SimpleTable.class));
+		});
+		Assertions.assertThrows(Exception.class, () -> ConfigureDb.da.transaction(true, tx -> {
+			tx.insert(create("read_only"));
+		}));
+		// The access is writable after a read-only transaction.
+		ConfigureDb.da.insert(create("after"));
+		Assertions.assertEquals(4, ConfigureDb.da.countWhere(SimpleTable.class));
+	}
+
+	@Order(6)
+	@Test
+	public void testLinksInTransaction() throws Exception {
+		final TypeManyToManyRemote remote = new TypeManyToManyRemote();
+		remote.data = "remote";
+		final TypeManyToManyRemote insertedRemote = ConfigureDb.da.insert(remote);
+		if (ConfigureDb.da instanceof DBAccessSQL) {
+			Assertions.assertThrows(IllegalStateException.class, () -> ConfigureDb.da.transaction(tx -> {
+				final TypeManyToManyRoot root = new TypeManyToManyRoot();
+				root.otherData = "cancelled";
+				root.remote = List.of(insertedRemote.id);
+				tx.insert(root);
+				throw new IllegalStateException("cancel");
+			}));
+			Assertions.assertEquals(0, ConfigureDb.da.countWhere(TypeManyToManyRoot.class));
+		}
+		final TypeManyToManyRoot root = new TypeManyToManyRoot();
+		root.otherData = "root";
+		root.remote = List.of(insertedRemote.id);
+		ConfigureDb.da.transaction(tx -> {
+			tx.insert(root);
+		});
+		final TypeManyToManyRoot retrieve = ConfigureDb.da.get(TypeManyToManyRoot.class, root.id);
+		Assertions.assertNotNull(retrieve);
+		Assertions.assertNotNull(retrieve.remote);
+		Assertions.assertEquals(1, retrieve.remote.size());
+		Assertions.assertEquals(insertedRemote.id, retrieve.remote.get(0));
+	}
+}
@@ -0,0 +1,83 @@
+package test.kar.archidata.dataAccess;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kar.archidata.dataAccess.DBAccessSQL;
+import org.kar.archidata.dataAccess.DataFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import test.kar.archidata.ConfigureDb;
+import test.kar.archidata.StepwiseExtension;
+import test.kar.archidata.dataAccess.model.TypesPrimitiveTable;
+
+@ExtendWith(StepwiseExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TestTypesPrimitive {
+	final static private Logger LOGGER = LoggerFactory.getLogger(TestTypesPrimitive.class);
+
+	@BeforeAll
+	public static void configureWebServer() throws Exception {
+		ConfigureDb.configure();
+	}
+
+	@AfterAll
+	public static void removeDataBase() throws IOException {
+		ConfigureDb.clear();
+	}
+
+	@Order(1)
+	@Test
+	public void testCreateTable() throws Exception {
+		final List<String> sqlCommand = DataFactory.createTable(TypesPrimitiveTable.class);
+		if (ConfigureDb.da instanceof final DBAccessSQL daSQL) {
+			for (final String elem : sqlCommand) {
+				LOGGER.debug("request: '{}'", elem);
+				daSQL.executeSimpleQuery(elem);
+			}
+		}
+	}
+
+	@Order(2)
+	@Test
+	public void testPrimitives() throws Exception {
+		final TypesPrimitiveTable test = new TypesPrimitiveTable();
+		test.doubleData = 95.5;
+		test.floatData = 12.25f;
+		test.intData = -42;
+		test.longData = 541684354354L;
+		test.booleanData = true;
+		final TypesPrimitiveTable insertedData = ConfigureDb.da.insert(test);
+		Assertions.assertNotNull(insertedData);
+		Assertions.assertNotNull(insertedData.id);
+
+		final TypesPrimitiveTable retrieve = ConfigureDb.da.get(TypesPrimitiveTable.class, insertedData.id);
+		Assertions.assertNotNull(retrieve);
+		Assertions.assertEquals(insertedData.id, retrieve.id);
+		Assertions.assertEquals(95.5, retrieve.doubleData);
+		Assertions.assertEquals(12.25f, retrieve.floatData);
+		Assertions.assertEquals(-42, retrieve.intData);
+		Assertions.assertEquals(541684354354L, retrieve.longData);
+		Assertions.assertTrue(retrieve.booleanData);
+
+		retrieve.doubleData = -1.5;
+		retrieve.booleanData = false;
+		ConfigureDb.da.update(retrieve, retrieve.id);
+		final TypesPrimitiveTable updated = ConfigureDb.da.get(TypesPrimitiveTable.class, insertedData.id);
+		Assertions.assertNotNull(updated);
+		Assertions.assertEquals(-1.5, updated.doubleData);
+		Assertions.assertFalse(updated.booleanData);
+		Assertions.assertEquals(-42, updated.intData);
+
+		ConfigureDb.da.delete(TypesPrimitiveTable.class, insertedData.id);
+	}
+}
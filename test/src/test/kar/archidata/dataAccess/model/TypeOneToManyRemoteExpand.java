@@ -0,0 +1,22 @@
+package test.kar.archidata.dataAccess.model;
+
+import org.kar.archidata.model.GenericData;
+
+import dev.morphia.annotations.Entity;
+import jakarta.persistence.Column;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+@Table(name = "TypeOneToManyRemote")
+//for Mongo
+@Entity(value = "TypeOneToManyRemote")
+public class TypeOneToManyRemoteExpand extends GenericData {
+
+	@ManyToOne(fetch = FetchType.LAZY, targetEntity = TypeOneToManyRoot.class)
+	@Column(name = "rootId")
+	public TypeOneToManyRoot root;
+
+	public String data;
+
+}
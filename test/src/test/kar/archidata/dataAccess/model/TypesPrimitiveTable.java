@@ -0,0 +1,21 @@
+package test.kar.archidata.dataAccess.model;
+
+import dev.morphia.annotations.Entity;
+import jakarta.persistence.Column;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+@Entity
+public class TypesPrimitiveTable {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(nullable = false, unique = true)
+	public Long id = null;
+
+	public double doubleData;
+	public float floatData;
+	public int intData;
+	public long longData;
+	public boolean booleanData;
+}
@@ -0,0 +1,70 @@
+package test.kar.archidata.filter;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.kar.archidata.filter.UserByTokenCache;
+import org.kar.archidata.model.UserByToken;
+import org.kar.archidata.tools.JWTWrapper;
+
+public class TestUserByTokenCache {
+
+	private static UserByToken createUser(final long id) {
+		final UserByToken out = new UserByToken();
+		out.id = id;
+		out.name = "user_" + id;
+		out.type = UserByToken.TYPE_USER;
+		return out;
+	}
+
+	private static Date inOneHour() {
+		return new Date(System.currentTimeMillis() + 3_600_000L);
+	}
+
+	@Test
+	public void testGetAfterPut() {
+		final UserByTokenCache cache = new UserByTokenCache(10, 60_000L);
+		Assertions.assertNull(cache.get("token_1"));
+		final UserByToken user = createUser(1);
+		cache.put("token_1", user, inOneHour(), JWTWrapper.getKeyGeneration());
+		Assertions.assertSame(user, cache.get("token_1"));
+		Assertions.assertNull(cache.get("token_2"));
+		final UserByTokenCache.Stats stats = cache.getStats();
+		Assertions.assertEquals(1, stats.hit());
+		Assertions.assertEquals(2, stats.miss());
+		Assertions.assertEquals(1, stats.size());
+	}
+
+	@Test
+	public void testExpiredToken() {
+		final UserByTokenCache cache = new UserByTokenCache(10, 60_000L);
+		cache.put("token_1", createUser(1), new Date(System.currentTimeMillis() - 1000), JWTWrapper.getKeyGeneration());
+		Assertions.assertNull(cache.get("token_1"));
+		Assertions.assertEquals(0, cache.getStats().size());
+	}
+
+	@Test
+	public void testOtherKeyGeneration() {
+		final UserByTokenCache cache = new UserByTokenCache(10, 60_000L);
+		cache.put("token_1", createUser(1), inOneHour(), JWTWrapper.getKeyGeneration() - 1);
+		Assertions.assertNull(cache.get("token_1"));
+	}
+
+	@Test
+	public void testBounded() {
+		final UserByTokenCache cache = new UserByTokenCache(5, 60_000L);
+		for (int iii = 0; iii < 20; iii++) {
+			cache.put("token_" + iii, createUser(iii), inOneHour(), JWTWrapper.getKeyGeneration());
+		}
+		Assertions.assertTrue(cache.getStats().size() <= 5);
+		Assertions.assertNotNull(cache.get("token_19"));
+	}
+
+	@Test
+	public void testDisabled() {
+		final UserByTokenCache cache = new UserByTokenCache(0, 60_000L);
+		cache.put("token_1", createUser(1), inOneHour(), JWTWrapper.getKeyGeneration());
+		Assertions.assertNull(cache.get("token_1"));
+	}
+}
@@ -0,0 +1,159 @@
+package test.kar.archidata.media;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kar.archidata.dataAccess.DBAccess;
+import org.kar.archidata.dataAccess.DBAccessSQL;
+import org.kar.archidata.dataAccess.DataFactory;
+import org.kar.archidata.dataAccess.QueryCondition;
+import org.kar.archidata.dataAccess.options.Condition;
+import org.kar.archidata.db.DbConfig;
+import org.kar.archidata.media.MediaProcessing;
+import org.kar.archidata.media.MediaProcessingStage;
+import org.kar.archidata.model.Data;
+import org.kar.archidata.model.MediaJob;
+import org.kar.archidata.tools.ConfigBaseVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import test.kar.archidata.ConfigureDb;
+import test.kar.archidata.StepwiseExtension;
+
+@ExtendWith(StepwiseExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TestMediaProcessing {
+	final static private Logger LOGGER = LoggerFactory.getLogger(TestMediaProcessing.class);
+	private static final String MIME_SUCCESS = "application/x-test-success";
+	private static final String MIME_FAIL = "application/x-test-fail";
+	private static final AtomicInteger processed = new AtomicInteger();
+
+	static class TestStage implements MediaProcessingStage {
+		@Override
+		public String getName() {
+			return "test";
+		}
+
+		@Override
+		public boolean accept(final Data data) {
+			return MIME_SUCCESS.equals(data.mimeType) || MIME_FAIL.equals(data.mimeType);
+		}
+
+		@Override
+		public void process(final DBAccess db, final Data data, final File file) throws Exception {
+			if (MIME_FAIL.equals(data.mimeType)) {
+				throw new IOException("expected error");
+			}
+			processed.incrementAndGet();
+		}
+	}
+
+	@BeforeAll
+	public static void configureWebServer() throws Exception {
+		ConfigureDb.configure();
+	}
+
+	@AfterAll
+	public static void removeDataBase() throws Exception {
+		MediaProcessing.stop();
+		ConfigureDb.clear();
+	}
+
+	private static Data createData(final String mimeType) throws Exception {
+		final Data data = new Data();
+		data.sha512 = "sha512";
+		data.mimeType = mimeType;
+		data.size = 12L;
+		return ConfigureDb.da.insert(data);
+	}
+
+	private static MediaJob waitJob(final Data data, final MediaJob.Status status) throws Exception {
+		for (int iii = 0; iii < 100; iii++) {
+			final List<MediaJob> jobs = ConfigureDb.da.getsWhere(MediaJob.class,
+					new Condition(new QueryCondition("dataId", "=", data.oid)));
+			Assertions.assertEquals(1, jobs.size());
+			if (jobs.get(0).status == status && (status != MediaJob.Status.PENDING || jobs.get(0).tryCount > 0)) {
+				return jobs.get(0);
+			}
+			Thread.sleep(100);
+		}
+		Assertions.fail("The job is not in the state " + status);
+		return null;
+	}
+
+	@Order(1)
+	@Test
+	public void testCreateTable() throws Exception {
+		final List<String> sqlCommand = DataFactory.createTable(Data.class);
+		sqlCommand.addAll(DataFactory.createTable(MediaJob.class));
+		if (ConfigureDb.da instanceof final DBAccessSQL daSQL) {
+			for (final String elem : sqlCommand) {
+				LOGGER.debug("request: '{}'", elem);
+				daSQL.executeSimpleQuery(elem);
+			}
+		}
+		MediaProcessing.register(new TestStage());
+		MediaProcessing.start(new DbConfig());
+	}
+
+	@Order(2)
+	@Test
+	public void testProcess() throws Exception {
+		final Data data = createData(MIME_SUCCESS);
+		MediaProcessing.submit(data);
+		// The job is created only one time.
+		MediaProcessing.submit(data);
+		waitJob(data, MediaJob.Status.DONE);
+		Assertions.assertEquals(1, processed.get());
+	}
+
+	@Order(3)
+	@Test
+	public void testRetry() throws Exception {
+		final Data data = createData(MIME_FAIL);
+		MediaProcessing.submit(data);
+		final MediaJob job = waitJob(data, MediaJob.Status.PENDING);
+		Assertions.assertEquals(1, job.tryCount);
+		Assertions.assertNotNull(job.error);
+		Assertions.assertTrue(job.nextTry.getTime() > System.currentTimeMillis());
+	}
+
+	private static Data createRunningJob(final long claimedAt) throws Exception {
+		final Data data = createData(MIME_SUCCESS);
+		final MediaJob job = new MediaJob();
+		job.dataId = data.oid;
+		job.stage = "test";
+		job.status = MediaJob.Status.RUNNING;
+		job.tryCount = 0;
+		job.nextTry = new Date();
+		job.owner = "other-instance";
+		job.claimedAt = new Date(claimedAt);
+		ConfigureDb.da.insert(job);
+		return data;
+	}
+
+	@Order(4)
+	@Test
+	public void testLeaseExpired() throws Exception {
+		// The job of an other instance is executed again only when its lease is expired.
+		final Data running = createRunningJob(System.currentTimeMillis());
+		final Data expired = createRunningJob(
+				System.currentTimeMillis() - 2 * ConfigBaseVariable.getMediaProcessingLease());
+		waitJob(expired, MediaJob.Status.DONE);
+		final MediaJob job = ConfigureDb.da.getWhere(MediaJob.class,
+				new Condition(new QueryCondition("dataId", "=", running.oid)));
+		Assertions.assertEquals(MediaJob.Status.RUNNING, job.status);
+		Assertions.assertEquals("other-instance", job.owner);
+	}
+}